@@ -21,9 +21,11 @@ abstract class AbstractBlockSafety implements BlockSafety {
         }
 
         if (isBlockAir(downOne)) {
-            CoreLogger.finer("Air detected below %s", actual);
             final boolean waterBelow = hasTwoBlocksOfWaterBelow(downOne);
-            CoreLogger.finer("Has 2 blocks of water below [%s]", waterBelow);
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Air detected below %s", actual);
+                CoreLogger.finer("Has 2 blocks of water below [%s]", waterBelow);
+            }
             return waterBelow;
         }
         return true;
@@ -0,0 +1,44 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.EntityType;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A link to a single chunk of a world that was loaded at the time it was obtained.
+ * <p>
+ * Entities are addressed by their index in the snapshot taken by the last call to {@link #readEntities()} so that
+ * walking a chunk does not create an object for every entity in it.
+ */
+interface ChunkLink {
+
+    /**
+     * Whether the chunk is still loaded.  Chunks may be unloaded by the server between ticks.
+     *
+     * @return true if the chunk is still loaded.
+     */
+    boolean isLoaded();
+
+    /**
+     * Takes a snapshot of the entities currently in the chunk.  Players are never included.
+     *
+     * @return the number of entities in the snapshot.
+     */
+    int readEntities();
+
+    /**
+     * Gets the type of an entity from the last snapshot.
+     *
+     * @param index the index of the entity in the last snapshot.
+     * @return the type of the entity or null if the type is not one known to Multiverse.
+     */
+    @Nullable
+    EntityType getEntityType(int index);
+
+    /**
+     * Removes an entity from the last snapshot from the world if it is still present there.
+     *
+     * @param index the index of the entity in the last snapshot.
+     * @return true if the entity was removed, false if it had already left the world.
+     */
+    boolean removeEntity(int index);
+}
@@ -0,0 +1,52 @@
+package com.mvplugin.core;
+
+/**
+ * A copy of the blocks of a single chunk taken at one moment.  Unlike the chunk itself, a snapshot may be read from
+ * any thread.
+ * <p>
+ * Block positions are relative to the chunk: x and z run from 0 to 15.
+ */
+interface ChunkSnapshotLink {
+
+    /**
+     * @return the x coordinate of the chunk, in chunks.
+     */
+    int getX();
+
+    /**
+     * @return the z coordinate of the chunk, in chunks.
+     */
+    int getZ();
+
+    /**
+     * @return the height of the world the chunk belongs to.  Blocks exist from 0 up to, but not including, this.
+     */
+    int getMaxHeight();
+
+    /**
+     * Gets the lowest y coordinate above which the column holds only air.
+     *
+     * @param x the x coordinate within the chunk.
+     * @param z the z coordinate within the chunk.
+     * @return the y coordinate of the first air block above the highest non-air block.
+     */
+    int getHighestBlockY(int x, int z);
+
+    /**
+     * Whether the block would stop a player from standing in its place, by the same rules as
+     * {@link AbstractBlockSafety}.
+     */
+    boolean isSolid(int x, int y, int z);
+
+    /**
+     * Whether the block would hurt a player standing in or on it, such as lava or fire.
+     */
+    boolean isHazard(int x, int y, int z);
+
+    boolean isAir(int x, int y, int z);
+
+    /**
+     * Whether the block is water, which a player can neither stand on nor should be left in.
+     */
+    boolean isWater(int x, int y, int z);
+}
@@ -0,0 +1,195 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.PrefixIndex;
+import com.mvplugin.core.world.WorldListing;
+import com.mvplugin.core.world.WorldListing.SortOrder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.BasePlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Answers tab completion requests for world names, world aliases, online players and world properties.
+ * <p>
+ * Each kind of name is kept in its own {@link PrefixIndex} so that finding the first few matches does not depend on
+ * how many names there are.  The world indexes follow {@link WorldManager#getWorldListing()} and are rebuilt the
+ * first time they are needed after the listing changes or any world's alias changes.  Players are added and removed
+ * as {@link EventProcessor} is told they join and quit.
+ * <p>
+ * Destination strings are completed by {@link com.mvplugin.core.destination.DestinationRegistry#completeDestination(String, int)},
+ * which uses this index for the worlds and players they name.
+ */
+public class CompletionIndex {
+
+    @NotNull
+    private final MultiverseCoreAPI api;
+    @NotNull
+    private final PrefixIndex loadedWorlds = new PrefixIndex();
+    @NotNull
+    private final PrefixIndex unloadedWorlds = new PrefixIndex();
+    @NotNull
+    private final PrefixIndex aliases = new PrefixIndex();
+    @NotNull
+    private final PrefixIndex players = new PrefixIndex();
+    @NotNull
+    private final PrefixIndex properties = new PrefixIndex();
+
+    /** The world each indexed name and alias belongs to, keyed in lower case. */
+    @NotNull
+    private volatile Map<String, WorldListing.Entry> entries = Collections.emptyMap();
+
+    /** The listing the world indexes were built from. */
+    @Nullable
+    private WorldListing indexedListing = null;
+    private int indexedAliasVersion = 0;
+
+    CompletionIndex(@NotNull final MultiverseCoreAPI api) {
+        this.api = api;
+        final List<String> names = new ArrayList<String>();
+        for (final PropertyAccessorTable.Accessor accessor : WorldProperties.getAccessorTable().getAccessors()) {
+            if (!accessor.isImmutable()) {
+                names.add(accessor.getName());
+            }
+        }
+        properties.replaceAll(names);
+    }
+
+    /**
+     * Gets the names of managed worlds starting with the given text, ignoring case.  Loaded worlds are also matched
+     * by their alias.
+     *
+     * @param prefix the text typed so far.
+     * @param limit the most names to return.
+     * @param loaded true for only loaded worlds, false for only unloaded worlds or null for both.
+     * @return at most {@code limit} names, sorted ignoring case.
+     */
+    @NotNull
+    public List<String> completeWorlds(@NotNull final String prefix, final int limit, @Nullable final Boolean loaded) {
+        refreshWorlds();
+        if (Boolean.FALSE.equals(loaded)) {
+            return unloadedWorlds.complete(prefix, limit);
+        }
+        final List<String> loadedNames = loadedWorlds.complete(prefix, limit);
+        final List<String> aliasNames = aliases.complete(prefix, limit);
+        if (loaded != null) {
+            return PrefixIndex.merge(limit, loadedNames, aliasNames);
+        }
+        return PrefixIndex.merge(limit, loadedNames, aliasNames, unloadedWorlds.complete(prefix, limit));
+    }
+
+    /**
+     * Gets the names of managed worlds starting with the given text that the given player may see, by the same rules
+     * as the world list.
+     *
+     * @param prefix the text typed so far.
+     * @param limit the most names to return.
+     * @param loaded true for only loaded worlds, false for only unloaded worlds or null for both.
+     * @param viewer the player the names are for, or null to return every name.
+     * @return at most {@code limit} names, sorted ignoring case.
+     * @see PermissionCache#canSee(BasePlayer, WorldListing.Entry)
+     */
+    @NotNull
+    public List<String> completeWorlds(@NotNull final String prefix, final int limit, @Nullable final Boolean loaded,
+                                       @Nullable final BasePlayer viewer) {
+        if (viewer == null) {
+            return completeWorlds(prefix, limit, loaded);
+        }
+        final PermissionCache permissions = api.getPermissionCache();
+        // Only as many worlds are checked as it takes to fill the limit, fetching more while too many are hidden.
+        int fetch = limit;
+        while (true) {
+            final List<String> names = completeWorlds(prefix, fetch, loaded);
+            final Map<String, WorldListing.Entry> entries = this.entries;
+            final List<String> visible = new ArrayList<String>(Math.min(limit, names.size()));
+            for (final String name : names) {
+                if (visible.size() >= limit) {
+                    break;
+                }
+                final WorldListing.Entry entry = entries.get(name.toLowerCase(Locale.ENGLISH));
+                if (entry != null && permissions.canSee(viewer, entry)) {
+                    visible.add(name);
+                }
+            }
+            if (visible.size() >= limit || names.size() < fetch) {
+                return visible;
+            }
+            fetch = fetch > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : fetch * 2;
+        }
+    }
+
+    /**
+     * Gets the names of online players starting with the given text, ignoring case.
+     *
+     * @param prefix the text typed so far.
+     * @param limit the most names to return.
+     * @return at most {@code limit} names, sorted ignoring case.
+     */
+    @NotNull
+    public List<String> completePlayers(@NotNull final String prefix, final int limit) {
+        return players.complete(prefix, limit);
+    }
+
+    /**
+     * Gets the names of the world properties that can be changed starting with the given text, ignoring case.
+     *
+     * @param prefix the text typed so far.
+     * @param limit the most names to return.
+     * @return at most {@code limit} names, sorted ignoring case.
+     */
+    @NotNull
+    public List<String> completeProperties(@NotNull final String prefix, final int limit) {
+        return properties.complete(prefix, limit);
+    }
+
+    void playerJoined(@NotNull final String playerName) {
+        players.add(playerName);
+    }
+
+    void playerQuit(@NotNull final String playerName) {
+        players.remove(playerName);
+    }
+
+    private synchronized void refreshWorlds() {
+        final WorldListing listing = api.getWorldManager().getWorldListing();
+        // Read before the aliases are so that a change made while rebuilding is picked up next time.
+        final int aliasVersion = WorldProperties.getAliasVersion();
+        if (listing == indexedListing && aliasVersion == indexedAliasVersion) {
+            return;
+        }
+        final List<String> loadedNames = new ArrayList<String>(listing.size());
+        final List<String> unloadedNames = new ArrayList<String>();
+        final List<String> aliasNames = new ArrayList<String>();
+        final Map<String, WorldListing.Entry> entries = new HashMap<String, WorldListing.Entry>(listing.size() * 2);
+        for (final WorldListing.Entry entry : listing.getWorlds(SortOrder.NAME)) {
+            entries.put(entry.getName().toLowerCase(Locale.ENGLISH), entry);
+            final MultiverseWorld world = entry.getWorld();
+            if (world == null) {
+                unloadedNames.add(entry.getName());
+                continue;
+            }
+            loadedNames.add(entry.getName());
+            final String alias = world.getProperties().getAlias();
+            // Arguments are split on spaces, so an alias containing one could never be typed as a single argument.
+            if (!alias.isEmpty() && alias.indexOf(' ') < 0 && !alias.equalsIgnoreCase(entry.getName())) {
+                aliasNames.add(alias);
+                if (!entries.containsKey(alias.toLowerCase(Locale.ENGLISH))) {
+                    entries.put(alias.toLowerCase(Locale.ENGLISH), entry);
+                }
+            }
+        }
+        if (listing != indexedListing) {
+            loadedWorlds.replaceAll(loadedNames);
+            unloadedWorlds.replaceAll(unloadedNames);
+        }
+        aliases.replaceAll(aliasNames);
+        this.entries = entries;
+        indexedListing = listing;
+        indexedAliasVersion = aliasVersion;
+    }
+}
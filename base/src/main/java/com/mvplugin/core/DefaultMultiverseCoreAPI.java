@@ -1,9 +1,13 @@
 package com.mvplugin.core;
 
+import com.mvplugin.core.destination.AnchorStore;
 import com.mvplugin.core.destination.DestinationRegistry;
+import com.mvplugin.core.metrics.MetricsRegistry;
 import com.mvplugin.core.plugin.MultiverseCore;
 import com.mvplugin.core.util.BlockSafety;
 import com.mvplugin.core.util.SafeTeleporter;
+import com.mvplugin.core.util.TaskScheduler;
+import com.mvplugin.core.world.WorldPurger;
 import org.jetbrains.annotations.NotNull;
 import pluginbase.plugin.ServerInterface;
 
@@ -23,18 +27,64 @@ class DefaultMultiverseCoreAPI implements MultiverseCoreAPI {
     private final DestinationRegistry destinationRegistry;
     @NotNull
     private PlayerTracker playerTracker;
+    @NotNull
+    private final TaskScheduler taskScheduler;
+    @NotNull
+    private final WorldPurger worldPurger;
+    @NotNull
+    private final SpawnGovernor spawnGovernor;
+    @NotNull
+    private final WorldHibernator worldHibernator;
+    @NotNull
+    private final SpawnChunkReleaser spawnChunkReleaser;
+    @NotNull
+    private final PermissionCache permissionCache;
+    @NotNull
+    private final CompletionIndex completionIndex;
+    @NotNull
+    private final SafeLocationPool safeLocationPool;
+    @NotNull
+    private final MetricsRegistry metrics;
+    @NotNull
+    private final MetricsExporter metricsExporter;
 
     DefaultMultiverseCoreAPI(@NotNull MultiverseCore core,
             @NotNull ServerInterface serverInterface,
             @NotNull final WorldManagerUtil worldManagerUtil,
-            @NotNull final BlockSafety blockSafety) {
+            @NotNull final BlockSafety blockSafety,
+            @NotNull final TaskScheduler taskScheduler) {
         this.serverInterface = serverInterface;
+        this.metrics = new MetricsRegistry();
+        this.taskScheduler = taskScheduler;
+        this.permissionCache = new PermissionCache();
         this.worldManager = new WorldManager(this, worldManagerUtil);
+        this.worldManager.getStartupProfile().recordTo(metrics);
         this.blockSafety = blockSafety;
         this.eventProcessor = new EventProcessor(core);
         this.safeTeleporter = new DefaultSafeTeleporter(this);
-        this.destinationRegistry = new DestinationRegistry(this);
+        this.destinationRegistry = new DestinationRegistry(this,
+                new AnchorStore(taskScheduler, worldManagerUtil.getAnchorsFile()));
         this.playerTracker = new PlayerTracker();
+        this.worldPurger = new DefaultWorldPurger(core);
+        this.spawnGovernor = new SpawnGovernor(core);
+        this.worldHibernator = new WorldHibernator(core);
+        this.spawnChunkReleaser = new SpawnChunkReleaser(core);
+        this.completionIndex = new CompletionIndex(this);
+        this.safeLocationPool = new SafeLocationPool(core);
+        this.metricsExporter = new MetricsExporter(core, metrics);
+    }
+
+    /**
+     * Starts the background tasks of the API.
+     *
+     * These reach the API through the core object, so this must only be called once the core returns this API.
+     */
+    void start() {
+        spawnGovernor.start();
+        worldHibernator.start();
+        spawnChunkReleaser.start();
+        safeLocationPool.start();
+        metricsExporter.start();
     }
 
     /**
@@ -94,4 +144,58 @@ class DefaultMultiverseCoreAPI implements MultiverseCoreAPI {
     public PlayerTracker getPlayerTracker() {
         return playerTracker;
     }
+
+    @NotNull
+    @Override
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    @NotNull
+    @Override
+    public WorldPurger getWorldPurger() {
+        return worldPurger;
+    }
+
+    @NotNull
+    @Override
+    public SpawnGovernor getSpawnGovernor() {
+        return spawnGovernor;
+    }
+
+    @NotNull
+    @Override
+    public WorldHibernator getWorldHibernator() {
+        return worldHibernator;
+    }
+
+    @NotNull
+    @Override
+    public SpawnChunkReleaser getSpawnChunkReleaser() {
+        return spawnChunkReleaser;
+    }
+
+    @NotNull
+    @Override
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    @NotNull
+    @Override
+    public CompletionIndex getCompletionIndex() {
+        return completionIndex;
+    }
+
+    @NotNull
+    @Override
+    public SafeLocationPool getSafeLocationPool() {
+        return safeLocationPool;
+    }
+
+    @NotNull
+    @Override
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
 }
@@ -1,6 +1,8 @@
 package com.mvplugin.core;
 
 import com.mvplugin.core.exceptions.TeleportException;
+import com.mvplugin.core.metrics.Timer;
+import com.mvplugin.core.util.BlockSafety;
 import com.mvplugin.core.util.CoreLogger;
 import com.mvplugin.core.util.SafeTeleporter;
 import org.jetbrains.annotations.NotNull;
@@ -15,6 +17,15 @@ import pluginbase.minecraft.location.MutableEntityCoordinates;
 import static com.mvplugin.core.util.Language.DefaultSafeTeleporter.*;
 
 class DefaultSafeTeleporter implements SafeTeleporter {
+
+    static final String SEARCH_TIMER = "safe_location.search";
+    static final String NOT_FOUND_COUNTER = "safe_location.not_found";
+
+    /** Checking a location looks at the block above it. */
+    private static final int BLOCKS_CHECKED_ABOVE = 1;
+    /** Checking a location looks at the block below it and, if that is air, for two blocks of water below that. */
+    private static final int BLOCKS_CHECKED_BELOW = 3;
+
     @NotNull
     protected final MultiverseCoreAPI api;
 
@@ -33,12 +44,26 @@ class DefaultSafeTeleporter implements SafeTeleporter {
     public EntityCoordinates getSafeLocation(@NotNull final EntityCoordinates location, final int height, final int width) {
         // Check around the player first in a configurable radius:
         // TODO: Make this configurable
-        final EntityCoordinates safe = checkAboveAndBelowLocation(location, height, width);
+        final Timer timer = api.getMetrics().timer(SEARCH_TIMER);
+        final long start = timer.start();
+        final EntityCoordinates safe;
+        try {
+            final BlockSafety blockSafety = api.getBlockSafety().forArea(location.getWorld(),
+                    location.getBlockX() - width, location.getBlockY() - height - BLOCKS_CHECKED_BELOW,
+                    location.getBlockZ() - width, location.getBlockX() + width,
+                    location.getBlockY() + height + BLOCKS_CHECKED_ABOVE, location.getBlockZ() + width);
+            safe = checkAboveAndBelowLocation(blockSafety, location, height, width);
+        } finally {
+            timer.stop(start);
+        }
         if (safe != null) {
-            CoreLogger.fine("Found a safe location: %s", safe); // TODO plugin.getLocationManipulation().strCoordsRaw(safe));
+            if (CoreLogger.isFineEnabled()) {
+                CoreLogger.fine("Found a safe location: %s", safe); // TODO plugin.getLocationManipulation().strCoordsRaw(safe));
+            }
             return getBlockCenteredCoordinates(safe);
         } else {
             CoreLogger.fine("Uh oh! No safe location found!");
+            api.getMetrics().counter(NOT_FOUND_COUNTER).increment();
             return null;
         }
     }
@@ -52,24 +77,27 @@ class DefaultSafeTeleporter implements SafeTeleporter {
     }
 
     @Nullable
-    private EntityCoordinates checkAboveAndBelowLocation(@NotNull final EntityCoordinates location, final int height, final int width) {
-        CoreLogger.finer("Given Location of: %s", location); // TODO plugin.getLocationManipulation().strCoordsRaw(l));
-        CoreLogger.finer("Checking +-%s with a radius of %s", height, width);
+    private EntityCoordinates checkAboveAndBelowLocation(@NotNull final BlockSafety blockSafety,
+                                                         @NotNull final EntityCoordinates location, final int height, final int width) {
+        if (CoreLogger.isFinerEnabled()) {
+            CoreLogger.finer("Given Location of: %s", location); // TODO plugin.getLocationManipulation().strCoordsRaw(l));
+            CoreLogger.finer("Checking +-%s with a radius of %s", height, width);
+        }
         // For now this will just do a straight up block.
         // Check the main level
-        EntityCoordinates safe = checkAroundLocation(location, width);
+        EntityCoordinates safe = checkAroundLocation(blockSafety, location, width);
         if (safe != null)
             return safe;
 
         // We've already checked zero right above this.
         for (int currentLevel = 1; currentLevel <= height; currentLevel++) {
             // Check above
-            if ((safe = checkAroundLocation(Locations.getEntityCoordinates(location.getWorld(), location.getX(),
+            if ((safe = checkAroundLocation(blockSafety, Locations.getEntityCoordinates(location.getWorld(), location.getX(),
                     location.getY() + currentLevel, location.getZ(), location.getPitch(), location.getYaw()), width)) != null)
                 return safe;
 
             // Check below
-            if ((safe = checkAroundLocation(Locations.getEntityCoordinates(location.getWorld(), location.getX(),
+            if ((safe = checkAroundLocation(blockSafety, Locations.getEntityCoordinates(location.getWorld(), location.getX(),
                     location.getY() - currentLevel, location.getZ(), location.getPitch(), location.getYaw()), width)) != null)
                 return safe;
         }
@@ -78,16 +106,17 @@ class DefaultSafeTeleporter implements SafeTeleporter {
     }
 
     @Nullable
-    private EntityCoordinates checkAroundLocation(@NotNull final EntityCoordinates location, final int radius) {
+    private EntityCoordinates checkAroundLocation(@NotNull final BlockSafety blockSafety,
+                                                  @NotNull final EntityCoordinates location, final int radius) {
         // Let's check the center of the 'circle' first...
-        if (api.getBlockSafety().isSafeLocation(location)) {
+        if (blockSafety.isSafeLocation(location)) {
             return location;
         }
 
         // Now we're going to search in expanding concentric circles...
         for (int currentRadius = 0; currentRadius <= radius; currentRadius++) {
             MutableEntityCoordinates locToCheck = location.mutableCopy();
-            if (checkAroundSpecificDiameter(locToCheck, currentRadius)) {
+            if (checkAroundSpecificDiameter(blockSafety, locToCheck, currentRadius)) {
                 // If a safe area was found: Return the checkLoc, it is the safe location.
                 return locToCheck;
             }
@@ -96,17 +125,18 @@ class DefaultSafeTeleporter implements SafeTeleporter {
         return null;
     }
 
-    private boolean checkAroundSpecificDiameter(@NotNull final MutableEntityCoordinates checkLoc, final int radius) {
+    private boolean checkAroundSpecificDiameter(@NotNull final BlockSafety blockSafety,
+                                                @NotNull final MutableEntityCoordinates checkLoc, final int radius) {
         // Check out at the radius provided.
         checkLoc.add(radius, 0, 0);
-        if (api.getBlockSafety().isSafeLocation(checkLoc)) {
+        if (blockSafety.isSafeLocation(checkLoc)) {
             return true;
         }
 
         // Move up to the first corner..
         for (int i = 0; i < radius; i++) {
             checkLoc.add(0, 0, 1);
-            if (api.getBlockSafety().isSafeLocation(checkLoc)) {
+            if (blockSafety.isSafeLocation(checkLoc)) {
                 return true;
             }
         }
@@ -114,7 +144,7 @@ class DefaultSafeTeleporter implements SafeTeleporter {
         // Move to the second corner..
         for (int i = 0; i < radius * 2; i++) {
             checkLoc.add(-1, 0, 0);
-            if (api.getBlockSafety().isSafeLocation(checkLoc)) {
+            if (blockSafety.isSafeLocation(checkLoc)) {
                 return true;
             }
         }
@@ -122,7 +152,7 @@ class DefaultSafeTeleporter implements SafeTeleporter {
         // Move to the third corner..
         for (int i = 0; i < radius * 2; i++) {
             checkLoc.add(0, 0, -1);
-            if (api.getBlockSafety().isSafeLocation(checkLoc)) {
+            if (blockSafety.isSafeLocation(checkLoc)) {
                 return true;
             }
         }
@@ -130,7 +160,7 @@ class DefaultSafeTeleporter implements SafeTeleporter {
         // Move to the last corner..
         for (int i = 0; i < radius * 2; i++) {
             checkLoc.add(1, 0, 0);
-            if (api.getBlockSafety().isSafeLocation(checkLoc)) {
+            if (blockSafety.isSafeLocation(checkLoc)) {
                 return true;
             }
         }
@@ -138,7 +168,7 @@ class DefaultSafeTeleporter implements SafeTeleporter {
         // Move back to just before the starting point.
         for (int i = 0; i < radius - 1; i++) {
             checkLoc.add(0, 0, 1);
-            if (api.getBlockSafety().isSafeLocation(checkLoc)) {
+            if (blockSafety.isSafeLocation(checkLoc)) {
                 return true;
             }
         }
@@ -0,0 +1,349 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.EntityType;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.CoreLogger;
+import com.mvplugin.core.util.Language;
+import com.mvplugin.core.world.PurgeResult;
+import com.mvplugin.core.world.WorldPurger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.BasePlayer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purges worlds incrementally by walking their loaded chunks a few at a time, never spending more than a fixed amount
+ * of time per tick.
+ */
+final class DefaultWorldPurger implements WorldPurger {
+
+    /** The default amount of main thread time a purge may use each tick. */
+    static final long DEFAULT_TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    /** The number of entities gathered before they are removed from the world together. */
+    static final int BATCH_SIZE = 128;
+    /** How many entities are looked at between checks of the clock, so that a crowded chunk cannot overrun a tick. */
+    static final int DEADLINE_CHECK_INTERVAL = 64;
+    /** How often, in ticks, the sender of a purge is told how far along it is. */
+    static final int PROGRESS_INTERVAL = 100;
+
+    private static final String ALL = "ALL";
+    private static final String ANIMALS = "ANIMALS";
+    private static final String MONSTERS = "MONSTERS";
+
+    @NotNull
+    private final MultiverseCore core;
+    private final long tickBudgetNanos;
+
+    DefaultWorldPurger(@NotNull final MultiverseCore core) {
+        this(core, DEFAULT_TICK_BUDGET_NANOS);
+    }
+
+    DefaultWorldPurger(@NotNull final MultiverseCore core, final long tickBudgetNanos) {
+        this.core = core;
+        this.tickBudgetNanos = tickBudgetNanos;
+    }
+
+    @Override
+    public void purgeWorlds(@NotNull final List<MultiverseWorld> worlds) {
+        for (final MultiverseWorld world : worlds) {
+            purgeWorld(world);
+        }
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<PurgeResult> purgeWorld(@NotNull final MultiverseWorld world) {
+        return purgeWorld(world, getSpawnExceptions(world),
+                world.getAnimalSpawnLimit() == 0, world.getMonsterSpawnLimit() == 0);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<PurgeResult> purgeWorld(@NotNull final MultiverseWorld mvworld,
+                                                     @NotNull final List<String> thingsToKill,
+                                                     final boolean negateAnimals,
+                                                     final boolean negateMonsters) {
+        return purgeWorld(mvworld, thingsToKill, negateAnimals, negateMonsters, null);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<PurgeResult> purgeWorld(@NotNull final MultiverseWorld mvworld,
+                                                     @NotNull final List<String> thingsToKill,
+                                                     final boolean negateAnimals,
+                                                     final boolean negateMonsters,
+                                                     @Nullable final BasePlayer sender) {
+        final Set<EntityType> typesToKill = createKillTable(thingsToKill, negateAnimals, negateMonsters);
+        final PurgeTask task = new PurgeTask(mvworld.getName(), mvworld.getWorldLink(), typesToKill, sender);
+        CoreLogger.fine("Purging world '%s' of the entity types %s", mvworld.getName(), typesToKill);
+        core.getTaskScheduler().runTask(task);
+        return task.future;
+    }
+
+    @Override
+    public boolean shouldWeKillThisType(@NotNull final EntityType type,
+                                        @NotNull final List<String> thingsToKill,
+                                        final boolean negateAnimals,
+                                        final boolean negateMonsters) {
+        final Set<String> names = normalizeNames(thingsToKill);
+        return killDecision(type, names, negateAnimals, negateMonsters,
+                specifiedAnimals(names), specifiedMonsters(names));
+    }
+
+    @Override
+    public boolean shouldWeKillThisType(@NotNull final MultiverseWorld w, @NotNull final EntityType type) {
+        return shouldWeKillThisType(type, getSpawnExceptions(w),
+                w.getAnimalSpawnLimit() == 0, w.getMonsterSpawnLimit() == 0);
+    }
+
+    /**
+     * Gets the animals and monsters a world spares, which are the only ones killed when the world does allow them
+     * to spawn, and the only ones left alone when it does not.
+     */
+    @NotNull
+    private static List<String> getSpawnExceptions(@NotNull final MultiverseWorld world) {
+        final List<String> exceptions = new ArrayList<String>(world.getAnimalSpawnExceptions());
+        exceptions.addAll(world.getMonsterSpawnExceptions());
+        return exceptions;
+    }
+
+    /**
+     * Works out ahead of time which of the registered entity types will be killed so that each entity encountered
+     * during the purge only costs a single set lookup.
+     */
+    @NotNull
+    static Set<EntityType> createKillTable(@NotNull final List<String> thingsToKill,
+                                           final boolean negateAnimals,
+                                           final boolean negateMonsters) {
+        final Set<String> names = normalizeNames(thingsToKill);
+        final boolean specifiedAnimals = specifiedAnimals(names);
+        final boolean specifiedMonsters = specifiedMonsters(names);
+        final Set<EntityType> typesToKill = new HashSet<EntityType>();
+        for (final EntityType type : EntityType.values()) {
+            if (killDecision(type, names, negateAnimals, negateMonsters, specifiedAnimals, specifiedMonsters)) {
+                typesToKill.add(type);
+            }
+        }
+        return typesToKill;
+    }
+
+    private static boolean killDecision(@NotNull final EntityType type, @NotNull final Set<String> thingsToKill,
+                                        final boolean negateAnimals, final boolean negateMonsters,
+                                        final boolean specifiedAnimals, final boolean specifiedMonsters) {
+        boolean negate = false;
+        boolean specified = false;
+        if (type.isAnimal()) {
+            if (specifiedAnimals && !negateAnimals) {
+                return true;
+            }
+            specified = specifiedAnimals;
+            negate = negateAnimals;
+        } else if (type.isMonster()) {
+            if (specifiedMonsters && !negateMonsters) {
+                return true;
+            }
+            specified = specifiedMonsters;
+            negate = negateMonsters;
+        }
+        if (thingsToKill.contains(type.name())) {
+            if (!negate) {
+                return true;
+            }
+            specified = true;
+        }
+        return !specified && negate;
+    }
+
+    @NotNull
+    private static Set<String> normalizeNames(@NotNull final List<String> thingsToKill) {
+        final Set<String> names = new HashSet<String>(thingsToKill.size());
+        for (final String name : thingsToKill) {
+            names.add(name.toUpperCase(Locale.ENGLISH));
+        }
+        return names;
+    }
+
+    private static boolean specifiedAnimals(@NotNull final Set<String> names) {
+        return names.contains(ANIMALS) || names.contains(ALL);
+    }
+
+    private static boolean specifiedMonsters(@NotNull final Set<String> names) {
+        return names.contains(MONSTERS) || names.contains(ALL);
+    }
+
+    /**
+     * Processes as many entities as the tick budget allows and then reschedules itself for the next tick until every
+     * chunk that was loaded when the purge started has been visited.  A chunk that is only partly done when the time
+     * runs out is picked up again where it was left on the next tick.
+     */
+    private final class PurgeTask implements Runnable {
+
+        @NotNull
+        private final String worldName;
+        @NotNull
+        private final WorldLink worldLink;
+        @NotNull
+        private final Set<EntityType> typesToKill;
+        @Nullable
+        private final BasePlayer sender;
+        @NotNull
+        private final CompletableFuture<PurgeResult> future = new CompletableFuture<PurgeResult>();
+        // The indices of the entities to remove from the current chunk.
+        @NotNull
+        private final int[] batch = new int[BATCH_SIZE];
+        private int batchSize = 0;
+
+        @Nullable
+        private List<ChunkLink> chunks;
+        private int chunkIndex = 0;
+        // The chunk being scanned, or null when the next one should be started.
+        @Nullable
+        private ChunkLink chunk;
+        private int entityCount = 0;
+        private int entityIndex = 0;
+        private int chunksScanned = 0;
+        private int entitiesScanned = 0;
+        private int entitiesRemoved = 0;
+        private int ticks = 0;
+        private long workNanos = 0L;
+
+        private PurgeTask(@NotNull final String worldName, @NotNull final WorldLink worldLink,
+                          @NotNull final Set<EntityType> typesToKill, @Nullable final BasePlayer sender) {
+            this.worldName = worldName;
+            this.worldLink = worldLink;
+            this.typesToKill = typesToKill;
+            this.sender = sender;
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            final long deadline = start + tickBudgetNanos;
+            ticks++;
+            try {
+                if (chunks == null) {
+                    chunks = worldLink.getLoadedChunks();
+                }
+                final boolean done = scan(chunks, deadline);
+                removeBatch();
+                if (done) {
+                    workNanos += System.nanoTime() - start;
+                    finish();
+                    return;
+                }
+            } catch (RuntimeException e) {
+                workNanos += System.nanoTime() - start;
+                CoreLogger.warning("Purging world '%s' stopped early: %s", worldName, e.getMessage());
+                if (sender != null) {
+                    core.getMessager().message(sender, Language.WorldPurger.FAILED, worldName, entitiesRemoved, e.getMessage());
+                }
+                future.completeExceptionally(e);
+                return;
+            }
+            workNanos += System.nanoTime() - start;
+            if (ticks % PROGRESS_INTERVAL == 0) {
+                reportProgress();
+            }
+            core.getTaskScheduler().runTask(this);
+        }
+
+        /**
+         * Scans entities until the deadline passes, always making some progress.
+         *
+         * @return true if every chunk has been scanned.
+         */
+        private boolean scan(@NotNull final List<ChunkLink> chunks, final long deadline) {
+            int sinceLastCheck = 0;
+            while (true) {
+                if (chunk == null) {
+                    if (chunkIndex >= chunks.size()) {
+                        return true;
+                    }
+                    startChunk(chunks.get(chunkIndex++));
+                }
+                if (chunk != null) {
+                    while (entityIndex < entityCount && sinceLastCheck < DEADLINE_CHECK_INTERVAL) {
+                        scanEntity(chunk, entityIndex++);
+                        sinceLastCheck++;
+                    }
+                    if (entityIndex < entityCount) {
+                        // Stopped part way through the chunk to look at the clock.
+                        sinceLastCheck = 0;
+                        if (System.nanoTime() >= deadline) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    removeBatch();
+                    chunk = null;
+                }
+                sinceLastCheck = 0;
+                if (System.nanoTime() >= deadline) {
+                    return chunkIndex >= chunks.size();
+                }
+            }
+        }
+
+        private void startChunk(@NotNull final ChunkLink next) {
+            if (!next.isLoaded()) {
+                return;
+            }
+            chunksScanned++;
+            chunk = next;
+            entityCount = next.readEntities();
+            entityIndex = 0;
+        }
+
+        private void scanEntity(@NotNull final ChunkLink chunk, final int index) {
+            entitiesScanned++;
+            final EntityType type = chunk.getEntityType(index);
+            if (type != null && typesToKill.contains(type)) {
+                batch[batchSize++] = index;
+                if (batchSize >= BATCH_SIZE) {
+                    removeBatch();
+                }
+            }
+        }
+
+        private void removeBatch() {
+            if (chunk != null) {
+                for (int i = 0; i < batchSize; i++) {
+                    if (chunk.removeEntity(batch[i])) {
+                        entitiesRemoved++;
+                    }
+                }
+            }
+            batchSize = 0;
+        }
+
+        private void reportProgress() {
+            final int totalChunks = chunks != null ? chunks.size() : 0;
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Purging world '%s': %s/%s chunks scanned, %s entities removed",
+                        worldName, chunkIndex, totalChunks, entitiesRemoved);
+            }
+            if (sender != null) {
+                core.getMessager().message(sender, Language.WorldPurger.PROGRESS,
+                        worldName, chunkIndex, totalChunks, entitiesRemoved);
+            }
+        }
+
+        private void finish() {
+            final PurgeResult result = new PurgeResult(worldName, chunksScanned, entitiesScanned, entitiesRemoved,
+                    ticks, workNanos);
+            CoreLogger.fine("Finished purging world '%s': %s", worldName, result);
+            if (sender != null) {
+                core.getMessager().message(sender, Language.WorldPurger.COMPLETE,
+                        entitiesRemoved, entitiesScanned, worldName, ticks);
+            }
+            future.complete(result);
+        }
+    }
+}
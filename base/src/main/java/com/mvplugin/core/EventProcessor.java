@@ -1,7 +1,9 @@
 package com.mvplugin.core;
 
+import com.mvplugin.core.metrics.Timer;
 import com.mvplugin.core.plugin.MultiverseCore;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Any events that occur in minecraft that Multiverse-Core cares about should be passed into this interface.
@@ -10,6 +12,12 @@ import org.jetbrains.annotations.NotNull;
  */
 final class EventProcessor {
 
+    static final String WORLD_UNLOAD_TIMER = "listener.world_unload";
+    static final String WORLD_PROPERTIES_CHANGED_TIMER = "listener.world_properties_changed";
+    static final String PLAYER_JOIN_TIMER = "listener.player_join";
+    static final String PLAYER_QUIT_TIMER = "listener.player_quit";
+    static final String PERMISSIONS_CHANGED_TIMER = "listener.permissions_changed";
+
     @NotNull
     private MultiverseCore core;
 
@@ -26,19 +34,67 @@ final class EventProcessor {
      * @param world The world being unloaded.
      */
     public void worldUnload(@NotNull final MultiverseWorld world) {
+        final Timer timer = core.getMetrics().timer(WORLD_UNLOAD_TIMER);
+        final long start = timer.start();
         core.getWorldManager().removeWorldFromMemory(world);
+        timer.stop(start);
+    }
+
+    /**
+     * Call this when the server implementation changes a property of a world that Multiverse reads from the world,
+     * such as its spawn location or difficulty.
+     *
+     * This discards the values Multiverse has cached for the world so they are read from the world again.
+     *
+     * @param world The world that was changed.
+     */
+    public void worldPropertiesChanged(@NotNull final MultiverseWorld world) {
+        final Timer timer = core.getMetrics().timer(WORLD_PROPERTIES_CHANGED_TIMER);
+        final long start = timer.start();
+        world.getProperties().invalidateCachedValues();
+        core.getWorldManager().invalidateWorldListing();
+        timer.stop(start);
     }
 
     public void playerJoin(@NotNull String playerName, @NotNull String worldName) {
+        final Timer timer = core.getMetrics().timer(PLAYER_JOIN_TIMER);
+        final long start = timer.start();
+        // Permission plugins commonly grant different permissions per world.
+        core.getPermissionCache().invalidatePlayer(playerName);
+        core.getCompletionIndex().playerJoined(playerName);
         MultiverseWorld world = core.getWorldManager().getWorld(worldName);
         if (world == null) {
             core.getPlayerTracker().playerLeftMultiverseWorlds(playerName);
         } else {
             core.getPlayerTracker().playerJoinedMultiverseWorld(playerName, world);
         }
+        timer.stop(start);
     }
 
     public void playerQuit(@NotNull String playerName) {
+        final Timer timer = core.getMetrics().timer(PLAYER_QUIT_TIMER);
+        final long start = timer.start();
         core.getPlayerTracker().playerLeftMultiverseWorlds(playerName);
+        core.getPermissionCache().invalidatePlayer(playerName);
+        core.getCompletionIndex().playerQuit(playerName);
+        timer.stop(start);
+    }
+
+    /**
+     * Call this when the permissions of a player, or of everyone, may have changed.
+     *
+     * This discards the permission decisions Multiverse has cached so they are checked again.
+     *
+     * @param playerName The player whose permissions changed or null if it may have been anyone.
+     */
+    public void permissionsChanged(@Nullable String playerName) {
+        final Timer timer = core.getMetrics().timer(PERMISSIONS_CHANGED_TIMER);
+        final long start = timer.start();
+        if (playerName == null) {
+            core.getPermissionCache().invalidateAll();
+        } else {
+            core.getPermissionCache().invalidatePlayer(playerName);
+        }
+        timer.stop(start);
     }
 }
@@ -0,0 +1,92 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.metrics.MetricsRegistry;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.CoreLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Offers the core's metrics through JMX and periodically writes them to the configured export file.
+ * <p>
+ * The file is written on a background thread and replaced in one move, so a scraper never reads half of it.
+ */
+final class MetricsExporter {
+
+    @NotNull
+    private final MultiverseCore core;
+    @NotNull
+    private final MetricsRegistry metrics;
+    /** Set while a write is running so a slow disk does not pile up writes. */
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    MetricsExporter(@NotNull final MultiverseCore core, @NotNull final MetricsRegistry metrics) {
+        this.core = core;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers the metrics with JMX if enabled and starts writing the export file.  Writing stops on its own once
+     * the metrics are no longer the core's active metrics, such as after a reload.
+     */
+    void start() {
+        if (core.getMVConfig().isMetricsJmxEnabled()) {
+            metrics.registerMBeans();
+        }
+        core.getTaskScheduler().runTaskLater(new Runnable() {
+            @Override
+            public void run() {
+                if (core.getMetrics() != metrics) {
+                    return;
+                }
+                export();
+                core.getTaskScheduler().runTaskLater(this, getIntervalTicks());
+            }
+        }, getIntervalTicks());
+    }
+
+    private long getIntervalTicks() {
+        return Math.max(1, core.getMVConfig().getMetricsExportSeconds()) * 20L;
+    }
+
+    private void export() {
+        final String path = core.getMVConfig().getMetricsExportFile();
+        if (path == null || path.trim().isEmpty() || !writing.compareAndSet(false, true)) {
+            return;
+        }
+        final File file = new File(path.trim());
+        core.getTaskScheduler().runTaskAsynchronously(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    write(metrics, file);
+                } catch (IOException e) {
+                    CoreLogger.warning("Could not write metrics to '%s': %s", file, e.getMessage());
+                } finally {
+                    writing.set(false);
+                }
+            }
+        });
+    }
+
+    static void write(@NotNull final MetricsRegistry metrics, @NotNull final File file) throws IOException {
+        final StringBuilder text = new StringBuilder();
+        metrics.writeText(text);
+        final Path target = file.toPath();
+        final Path temp = new File(file.getPath() + ".tmp").toPath();
+        Files.write(temp, text.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
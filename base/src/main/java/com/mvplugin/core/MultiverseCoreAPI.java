@@ -1,8 +1,11 @@
 package com.mvplugin.core;
 
 import com.mvplugin.core.destination.DestinationRegistry;
+import com.mvplugin.core.metrics.MetricsRegistry;
 import com.mvplugin.core.util.BlockSafety;
 import com.mvplugin.core.util.SafeTeleporter;
+import com.mvplugin.core.util.TaskScheduler;
+import com.mvplugin.core.world.WorldPurger;
 import org.jetbrains.annotations.NotNull;
 import pluginbase.plugin.ServerInterface;
 
@@ -44,4 +47,76 @@ public interface MultiverseCoreAPI {
 
     @NotNull
     PlayerTracker getPlayerTracker();
+
+    /**
+     * Gets the scheduler used to run tasks on the server.
+     *
+     * @return the scheduler used to run tasks on the server.
+     */
+    @NotNull
+    TaskScheduler getTaskScheduler();
+
+    /**
+     * Gets the world purger which removes entities from worlds that don't belong there.
+     *
+     * @return the world purger.
+     */
+    @NotNull
+    WorldPurger getWorldPurger();
+
+    /**
+     * Gets the spawn governor which reduces creature spawning in the busiest worlds while the server is lagging.
+     *
+     * @return the spawn governor.
+     */
+    @NotNull
+    SpawnGovernor getSpawnGovernor();
+
+    /**
+     * Gets the world hibernator which unloads idle worlds and loads them again when they are needed.
+     *
+     * @return the world hibernator.
+     */
+    @NotNull
+    WorldHibernator getWorldHibernator();
+
+    /**
+     * Gets the spawn chunk releaser which stops keeping the spawn chunks of empty worlds in memory.
+     *
+     * @return the spawn chunk releaser.
+     */
+    @NotNull
+    SpawnChunkReleaser getSpawnChunkReleaser();
+
+    /**
+     * Gets the cache of world specific permission decisions made for each player.
+     *
+     * @return the permission cache.
+     */
+    @NotNull
+    PermissionCache getPermissionCache();
+
+    /**
+     * Gets the index used to tab complete world names, aliases, players and world properties.
+     *
+     * @return the completion index.
+     */
+    @NotNull
+    CompletionIndex getCompletionIndex();
+
+    /**
+     * Gets the pool of safe locations that random destinations teleport to.
+     *
+     * @return the safe location pool.
+     */
+    @NotNull
+    SafeLocationPool getSafeLocationPool();
+
+    /**
+     * Gets the registry of the counters and timers Multiverse keeps about itself.
+     *
+     * @return the metrics registry.
+     */
+    @NotNull
+    MetricsRegistry getMetrics();
 }
@@ -2,14 +2,18 @@ package com.mvplugin.core;
 
 import com.mvplugin.core.command.CreateCommand;
 import com.mvplugin.core.command.DeleteCommand;
+import com.mvplugin.core.command.HibernationCommand;
 import com.mvplugin.core.command.ImportCommand;
 import com.mvplugin.core.command.InfoCommand;
 import com.mvplugin.core.command.ListCommand;
 import com.mvplugin.core.command.LoadCommand;
+import com.mvplugin.core.command.MetricsCommand;
 import com.mvplugin.core.command.ModifyAddCommand;
+import com.mvplugin.core.command.ModifyBulkCommand;
 import com.mvplugin.core.command.ModifyClearCommand;
 import com.mvplugin.core.command.ModifyRemoveCommand;
 import com.mvplugin.core.command.ModifySetCommand;
+import com.mvplugin.core.command.StartupCommand;
 import com.mvplugin.core.command.TeleportCommand;
 import com.mvplugin.core.command.UnloadCommand;
 import com.mvplugin.core.plugin.MultiverseCore;
@@ -47,7 +51,11 @@ class MultiverseCoreInitializer {
         pluginAgent.registerCommand(ModifyAddCommand.class);
         pluginAgent.registerCommand(ModifyRemoveCommand.class);
         pluginAgent.registerCommand(ModifyClearCommand.class);
+        pluginAgent.registerCommand(ModifyBulkCommand.class);
         pluginAgent.registerCommand(InfoCommand.class);
+        pluginAgent.registerCommand(HibernationCommand.class);
+        pluginAgent.registerCommand(MetricsCommand.class);
+        pluginAgent.registerCommand(StartupCommand.class);
 
         pluginAgent.setVersionInfoModifier(new VersionInfo(pluginAgent.getPluginBase().getPlugin()));
     }
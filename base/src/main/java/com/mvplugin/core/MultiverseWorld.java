@@ -24,6 +24,9 @@ import java.util.UUID;
 
 public final class MultiverseWorld {
 
+    @NotNull
+    private static final PropertyAccessorTable ACCESSORS = WorldProperties.getAccessorTable();
+
     @NotNull
     private final WorldProperties properties;
     @NotNull
@@ -48,6 +51,21 @@ public final class MultiverseWorld {
         return properties;
     }
 
+    /**
+     * Gets the properties of this world for changing them through the generic property setters, which may reach
+     * settings shared with a profile.  The world first gets its own copy of anything it shares.
+     */
+    @NotNull
+    private WorldProperties getPropertiesForUpdate() {
+        properties.unshareValues();
+        return properties;
+    }
+
+    @NotNull
+    WorldLink getWorldLink() {
+        return worldLink;
+    }
+
     /**
      * Gets the name of this world.  The name cannot be changed.
      * <p>
@@ -133,6 +151,13 @@ public final class MultiverseWorld {
 
     @Nullable
     public static String getPropertyDescriptionKey(String name) throws NoSuchFieldException {
+        final PropertyAccessorTable.Accessor accessor = ACCESSORS.getAccessor(name);
+        if (accessor != null) {
+            if (accessor.isImmutable()) {
+                throw new NoSuchFieldException();
+            }
+            return accessor.getDescription();
+        }
         String[] path = PropertyAliases.getPropertyName(WorldProperties.class, name);
         if (path == null) {
             path = name.split("\\.");
@@ -304,6 +329,46 @@ public final class MultiverseWorld {
         return getProperties().getPlayerLimit();
     }
 
+    /**
+     * Gets the number of seconds this world may be empty before it is unloaded to save memory.
+     *
+     * @return the number of seconds before hibernation or a negative number if this world never hibernates.
+     */
+    public int getHibernateAfter() {
+        return getProperties().getHibernateAfter();
+    }
+
+    public void setHibernateAfter(final int seconds) {
+        getProperties().setHibernateAfter(seconds);
+    }
+
+    /**
+     * Gets the number of seconds this world may be empty before its spawn chunks are no longer kept in memory.
+     *
+     * @return the number of seconds before the spawn chunks are released or a negative number if they never are.
+     */
+    public int getReleaseSpawnAfter() {
+        return getProperties().getReleaseSpawnAfter();
+    }
+
+    public void setReleaseSpawnAfter(final int seconds) {
+        getProperties().setReleaseSpawnAfter(seconds);
+    }
+
+    /**
+     * Gets the name of the property profile this world takes its unset values from.
+     *
+     * @return the name of the profile or an empty string if the world uses the built in defaults.
+     */
+    @NotNull
+    public String getProfile() {
+        return getProperties().getProfile();
+    }
+
+    public void setProfile(@Nullable final String profile) {
+        getProperties().setProfile(profile);
+    }
+
     @NotNull
     public List<String> getWorldBlacklist() {
         return getProperties().getWorldBlackList();
@@ -357,6 +422,16 @@ public final class MultiverseWorld {
         getProperties().getSpawning().setWaterLimit(limit);
     }
 
+    @NotNull
+    public List<String> getAnimalSpawnExceptions() {
+        return getProperties().getSpawning().getAnimalExceptions();
+    }
+
+    @NotNull
+    public List<String> getMonsterSpawnExceptions() {
+        return getProperties().getSpawning().getMonsterExceptions();
+    }
+
     public boolean isPreventingSpawnsList() {
         return false;  //To change body of implemented methods use File | Settings | File Templates.
     }
@@ -382,7 +457,7 @@ public final class MultiverseWorld {
     }
 
     public void setScale(@NotNull PortalType portalType, double scale) {
-        getProperties().getConnectedWorld(portalType).setScale(scale);
+        getProperties().getConnectedWorldForUpdate(portalType).setScale(scale);
     }
 
     public boolean getPortalForm(@NotNull PortalType portalType) {
@@ -390,48 +465,75 @@ public final class MultiverseWorld {
     }
 
     public void setPortalForm(@NotNull PortalType portalType, boolean portalForm) {
-        getProperties().getConnectedWorld(portalType).setPortalForm(portalForm);
+        getProperties().getConnectedWorldForUpdate(portalType).setPortalForm(portalForm);
     }
 
     @Nullable
     public Object getProperty(@NotNull String name) throws NoSuchFieldException {
+        final PropertyAccessorTable.Accessor accessor = ACCESSORS.getAccessor(name);
+        if (accessor != null) {
+            return accessor.get(getProperties());
+        }
         return getProperties().getProperty(name);
     }
 
     public void setProperty(@NotNull String name, @NotNull String value) throws IllegalAccessException, NoSuchFieldException, PropertyVetoException, IllegalArgumentException {
-        getProperties().setProperty(name, value);
+        final PropertyAccessorTable.Accessor accessor = ACCESSORS.getAccessor(name);
+        if (accessor == null || !accessor.set(getProperties(), value)) {
+            getPropertiesForUpdate().setProperty(name, value);
+        }
+        if (accessor != null && WorldProperties.isAlias(accessor)) {
+            WorldProperties.aliasChanged();
+        }
     }
 
     public void addProperty(@NotNull String name, @NotNull String value) throws IllegalAccessException, NoSuchFieldException, PropertyVetoException, IllegalArgumentException {
-        getProperties().addProperty(name, value);
+        getPropertiesForUpdate().addProperty(name, value);
     }
 
     public void removeProperty(@NotNull String name, @NotNull String value) throws IllegalAccessException, NoSuchFieldException, PropertyVetoException, IllegalArgumentException {
-        getProperties().removeProperty(name, value);
+        getPropertiesForUpdate().removeProperty(name, value);
     }
 
     public void clearProperty(@NotNull String name, @Nullable String value) throws IllegalAccessException, NoSuchFieldException, PropertyVetoException, IllegalArgumentException {
-        getProperties().clearProperty(name, value);
+        getPropertiesForUpdate().clearProperty(name, value);
     }
 
     @Nullable
     public Object getPropertyUnchecked(@NotNull String name) {
+        final PropertyAccessorTable.Accessor accessor = ACCESSORS.getAccessor(name);
+        if (accessor != null) {
+            return accessor.get(getProperties());
+        }
         return getProperties().getPropertyUnchecked(name);
     }
 
     public boolean setPropertyUnchecked(@NotNull String name, @NotNull String value) {
-        return getProperties().setPropertyUnchecked(name, value);
+        final PropertyAccessorTable.Accessor accessor = ACCESSORS.getAccessor(name);
+        if (accessor != null) {
+            if (WorldProperties.isAlias(accessor)) {
+                WorldProperties.aliasChanged();
+            }
+            try {
+                if (accessor.set(getProperties(), value)) {
+                    return true;
+                }
+            } catch (PropertyVetoException e) {
+                return false;
+            }
+        }
+        return getPropertiesForUpdate().setPropertyUnchecked(name, value);
     }
 
     public boolean addPropertyUnchecked(@NotNull String name, @NotNull String value) {
-        return getProperties().addPropertyUnchecked(name, value);
+        return getPropertiesForUpdate().addPropertyUnchecked(name, value);
     }
 
     public boolean removePropertyUnchecked(@NotNull String name, @NotNull String value) {
-        return getProperties().removePropertyUnchecked(name, value);
+        return getPropertiesForUpdate().removePropertyUnchecked(name, value);
     }
 
     public boolean clearPropertyUnchecked(@NotNull String name, @Nullable String value) {
-        return getProperties().clearPropertyUnchecked(name, value);
+        return getPropertiesForUpdate().clearPropertyUnchecked(name, value);
     }
 }
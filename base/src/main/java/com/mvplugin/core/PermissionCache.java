@@ -0,0 +1,166 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.Perms;
+import com.mvplugin.core.world.WorldListing;
+import org.jetbrains.annotations.NotNull;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.permission.Perm;
+import pluginbase.permission.Permissible;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the outcome of world specific permission checks, such as {@link com.mvplugin.core.util.Perms#ACCESS},
+ * for each player so that checking the same permission for the same world again is a map lookup instead of a query
+ * to the permission backend.
+ * <p>
+ * Decisions are forgotten when the player leaves or changes worlds, when a world is added or removed, when
+ * {@link EventProcessor#permissionsChanged(String)} is called and, since not every permission plugin announces its
+ * changes, once they are older than {@link #MAX_AGE_MILLIS}.  Only players are cached; checks made by anything else,
+ * such as the console, always go to the permission backend.
+ */
+public class PermissionCache {
+
+    /** The longest a decision is trusted for before the permission backend is asked again. */
+    public static final long MAX_AGE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /** The decisions made for each player, keyed by player name. */
+    @NotNull
+    private final Map<String, PlayerDecisions> players = new ConcurrentHashMap<String, PlayerDecisions>();
+    @NotNull
+    private final LongAdder hits = new LongAdder();
+    @NotNull
+    private final LongAdder misses = new LongAdder();
+
+    PermissionCache() { }
+
+    /**
+     * Checks whether the given permissible has the world specific form of a permission, using a remembered decision
+     * where possible.
+     *
+     * @param permissible the player or other permissible to check.
+     * @param perm the permission to check.
+     * @param worldName the name of the world the permission is specific to.
+     * @return true if the permissible has the permission for the world.
+     */
+    public boolean hasPermission(@NotNull final Permissible permissible, @NotNull final Perm perm,
+                                 @NotNull final String worldName) {
+        if (!(permissible instanceof BasePlayer) || !((BasePlayer) permissible).isPlayer()) {
+            return permissible.hasPerm(perm, worldName);
+        }
+        final String playerName = ((BasePlayer) permissible).getName();
+        final long now = System.currentTimeMillis();
+        PlayerDecisions decisions = players.get(playerName);
+        if (decisions == null || now - decisions.created > MAX_AGE_MILLIS) {
+            decisions = new PlayerDecisions(now);
+            players.put(playerName, decisions);
+        }
+        final Map<String, Boolean> worlds = decisions.getWorlds(perm);
+        final Boolean cached = worlds.get(worldName);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        final boolean result = permissible.hasPerm(perm, worldName);
+        worlds.put(worldName, result);
+        return result;
+    }
+
+    /**
+     * Checks whether a world should be shown to the given player at all, such as in the world list or in tab
+     * completions.  The player needs access to the world, permission to load worlds if it is not loaded and
+     * permission to modify it if it is hidden.
+     *
+     * @param player the player the world would be shown to.
+     * @param entry the world.
+     * @return true if the world may be shown to the player.
+     */
+    public boolean canSee(@NotNull final BasePlayer player, @NotNull final WorldListing.Entry entry) {
+        if (!hasPermission(player, Perms.ACCESS, entry.getName())) {
+            return false;
+        }
+        if (!entry.isLoaded()) {
+            return Perms.CMD_LOAD.hasPermission(player);
+        }
+        return !entry.isHidden() || Perms.CMD_MODIFY.hasPermission(player, entry.getName());
+    }
+
+    /**
+     * Forgets every decision made for the given player.
+     *
+     * @param playerName the name of the player.
+     */
+    public void invalidatePlayer(@NotNull final String playerName) {
+        players.remove(playerName);
+    }
+
+    /**
+     * Forgets every decision made for the given world, for all players.
+     *
+     * @param worldName the name of the world.
+     */
+    public void invalidateWorld(@NotNull final String worldName) {
+        for (final PlayerDecisions decisions : players.values()) {
+            for (final Map<String, Boolean> worlds : decisions.perms.values()) {
+                for (final String name : worlds.keySet()) {
+                    if (name.equalsIgnoreCase(worldName)) {
+                        worlds.remove(name);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets every decision.
+     */
+    public void invalidateAll() {
+        players.clear();
+    }
+
+    /**
+     * Gets the number of checks that were answered from the cache.
+     *
+     * @return the number of cache hits so far.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of checks that had to ask the permission backend.
+     *
+     * @return the number of cache misses so far.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static final class PlayerDecisions {
+        private final long created;
+        /** The decisions for each permission, keyed by world name. */
+        @NotNull
+        private final Map<Perm, Map<String, Boolean>> perms = new ConcurrentHashMap<Perm, Map<String, Boolean>>(4);
+
+        private PlayerDecisions(final long created) {
+            this.created = created;
+        }
+
+        @NotNull
+        private Map<String, Boolean> getWorlds(@NotNull final Perm perm) {
+            Map<String, Boolean> worlds = perms.get(perm);
+            if (worlds == null) {
+                worlds = new ConcurrentHashMap<String, Boolean>();
+                final Map<String, Boolean> existing = perms.putIfAbsent(perm, worlds);
+                if (existing != null) {
+                    worlds = existing;
+                }
+            }
+            return worlds;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.mvplugin.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.config.annotation.HandlePropertyWith;
+import pluginbase.config.annotation.NoTypeKey;
+import pluginbase.config.annotation.ValidateWith;
+import pluginbase.config.field.DependentField;
+import pluginbase.config.field.FieldMap;
+import pluginbase.config.field.FieldMapper;
+import pluginbase.config.field.PropertyVetoException;
+import pluginbase.config.field.Validator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A table of precompiled accessors for the properties of a {@link pluginbase.config.properties.PropertiesWrapper}
+ * class, built once per class.
+ * <p>
+ * Every property the wrapper itself would find is resolved up front, under its dotted name and any aliases, to a
+ * chain of {@link MethodHandle}s along with its description, validator and mutability.  Reading or setting a property
+ * through the table is then a single map lookup and handle invocation rather than an alias lookup, a split of the
+ * property path and a walk of the field map.
+ * <p>
+ * Only simple values (strings, numbers, booleans and enums) without a custom property handler can be set through the
+ * table.  Everything else is left to the wrapper, which callers should fall back to whenever this table returns
+ * false.
+ */
+final class PropertyAccessorTable {
+
+    private static final MethodHandle DEPENDENT_GET;
+    private static final MethodHandle DEPENDENT_SET;
+
+    static {
+        Method get = null;
+        Method set = null;
+        for (final Method method : DependentField.class.getMethods()) {
+            if (method.getName().equals("get") && method.getParameterTypes().length == 0) {
+                get = method;
+            } else if (method.getName().equals("set") && method.getParameterTypes().length == 1) {
+                set = method;
+            }
+        }
+        if (get == null || set == null) {
+            throw new ExceptionInInitializerError("DependentField is missing its get or set method");
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            DEPENDENT_GET = lookup.unreflect(get).asType(MethodType.methodType(Object.class, DependentField.class));
+            DEPENDENT_SET = lookup.unreflect(set).asType(MethodType.methodType(void.class, DependentField.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @NotNull
+    private final Map<String, Accessor> accessors;
+    @NotNull
+    private final Collection<Accessor> properties;
+
+    private PropertyAccessorTable(@NotNull final Map<String, Accessor> accessors,
+                                  @NotNull final Collection<Accessor> properties) {
+        this.accessors = accessors;
+        this.properties = properties;
+    }
+
+    /**
+     * Builds the accessor table for the given properties class.
+     *
+     * @param clazz the properties class.
+     * @param aliases the aliases of the class mapped to the property path they stand for.
+     * @return the accessor table for the class.
+     */
+    @NotNull
+    static PropertyAccessorTable build(@NotNull final Class<?> clazz, @NotNull final Map<String, String[]> aliases) {
+        final Map<String, Accessor> byPath = new LinkedHashMap<String, Accessor>();
+        try {
+            collect(clazz, clazz, new ArrayList<String>(), null, byPath);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not build the property accessors of " + clazz.getName(), e);
+        }
+        final Map<String, Accessor> accessors = new HashMap<String, Accessor>(byPath.size() + aliases.size());
+        for (final Map.Entry<String, Accessor> entry : byPath.entrySet()) {
+            accessors.put(entry.getKey().toLowerCase(Locale.ENGLISH), entry.getValue());
+        }
+        for (final Map.Entry<String, String[]> alias : aliases.entrySet()) {
+            final Accessor accessor = byPath.get(join(Arrays.asList(alias.getValue())));
+            if (accessor != null) {
+                accessors.put(alias.getKey().toLowerCase(Locale.ENGLISH), accessor);
+            }
+        }
+        return new PropertyAccessorTable(Collections.unmodifiableMap(accessors),
+                Collections.unmodifiableCollection(byPath.values()));
+    }
+
+    private static void collect(@NotNull final Class<?> root, @NotNull final Class<?> clazz,
+                                @NotNull final List<String> path, @Nullable final MethodHandle owner,
+                                @NotNull final Map<String, Accessor> byPath) throws IllegalAccessException {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (final Field field : clazz.getDeclaredFields()) {
+            // Transient fields are never stored, so they are left to the wrapper.
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                    || field.isSynthetic()) {
+                continue;
+            }
+            field.setAccessible(true);
+            path.add(field.getName());
+            MethodHandle getter = lookup.unreflectGetter(field);
+            if (owner != null) {
+                getter = MethodHandles.filterReturnValue(owner, getter);
+            }
+            final Class<?> type = field.getType();
+            if (!DependentField.class.isAssignableFrom(type) && type.getEnclosingClass() != null
+                    && type.isAnnotationPresent(NoTypeKey.class)) {
+                collect(root, type, path, getter, byPath);
+            } else {
+                final pluginbase.config.field.Field property = findProperty(root, path);
+                if (property != null) {
+                    final String name = join(path);
+                    byPath.put(name, createAccessor(name, field, owner, getter, property));
+                }
+            }
+            path.remove(path.size() - 1);
+        }
+    }
+
+    @NotNull
+    private static Accessor createAccessor(@NotNull final String name, @NotNull final Field field,
+                                           @Nullable final MethodHandle owner, @NotNull MethodHandle getter,
+                                           @NotNull final pluginbase.config.field.Field property)
+            throws IllegalAccessException {
+        final boolean dependent = DependentField.class.isAssignableFrom(field.getType());
+        final Class<?> valueType;
+        MethodHandle setter = null;
+        if (dependent) {
+            valueType = getDependentValueType(field);
+            setter = MethodHandles.filterArguments(DEPENDENT_SET, 0,
+                    getter.asType(getter.type().changeReturnType(DependentField.class)));
+            getter = MethodHandles.filterReturnValue(
+                    getter.asType(getter.type().changeReturnType(DependentField.class)), DEPENDENT_GET);
+        } else {
+            valueType = box(field.getType());
+            if (!Modifier.isFinal(field.getModifiers())) {
+                setter = MethodHandles.lookup().unreflectSetter(field);
+                if (owner != null) {
+                    setter = MethodHandles.filterArguments(setter, 0, owner);
+                }
+            }
+        }
+        getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        MethodHandle rawSetter = null;
+        if (setter != null && !property.isImmutable()) {
+            rawSetter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            if (!field.isAnnotationPresent(HandlePropertyWith.class) && isSimpleType(valueType)) {
+                setter = rawSetter;
+            } else {
+                setter = null;
+            }
+        } else {
+            setter = null;
+        }
+        return new Accessor(name, valueType, getter, setter, rawSetter, createValidator(field),
+                property.getDescription(), property.isImmutable());
+    }
+
+    @Nullable
+    private static pluginbase.config.field.Field findProperty(@NotNull final Class<?> root,
+                                                             @NotNull final List<String> path) {
+        FieldMap fieldMap = FieldMapper.getFieldMap(root);
+        pluginbase.config.field.Field property = null;
+        for (final String name : path) {
+            property = fieldMap.getField(name);
+            if (property == null) {
+                return null;
+            }
+            fieldMap = property;
+        }
+        return property;
+    }
+
+    @NotNull
+    private static Class<?> getDependentValueType(@NotNull final Field field) {
+        final Type type = field.getGenericType();
+        if (type instanceof ParameterizedType) {
+            final Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                return (Class<?>) argument;
+            }
+        }
+        return Object.class;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Validator<Object> createValidator(@NotNull final Field field) {
+        final ValidateWith validateWith = field.getAnnotation(ValidateWith.class);
+        if (validateWith == null) {
+            return null;
+        }
+        try {
+            final Constructor<? extends Validator> constructor = validateWith.value().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not create the validator for " + field, e);
+        }
+    }
+
+    private static boolean isSimpleType(@NotNull final Class<?> type) {
+        return type == String.class || type == Boolean.class || type == Integer.class || type == Long.class
+                || type == Double.class || type == Float.class || type.isEnum();
+    }
+
+    @NotNull
+    private static Class<?> box(@NotNull final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        }
+        return type;
+    }
+
+    @NotNull
+    private static String join(@NotNull final List<String> path) {
+        final StringBuilder builder = new StringBuilder();
+        for (final String name : path) {
+            if (builder.length() > 0) {
+                builder.append('.');
+            }
+            builder.append(name);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets the accessor for the given property name or alias, ignoring case.
+     *
+     * @param name the dotted property name or an alias.
+     * @return the accessor for the property or null if the table does not know it.
+     */
+    @Nullable
+    Accessor getAccessor(@NotNull final String name) {
+        final Accessor accessor = accessors.get(name);
+        return accessor != null ? accessor : accessors.get(name.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Gets the accessors of every property in the table, once each, in declaration order.
+     *
+     * @return the accessors of every property in the table.
+     */
+    @NotNull
+    Collection<Accessor> getAccessors() {
+        return properties;
+    }
+
+    /**
+     * The precompiled accessor for a single property.
+     */
+    static final class Accessor {
+
+        @NotNull
+        private final String name;
+        @NotNull
+        private final Class<?> type;
+        @NotNull
+        private final MethodHandle getter;
+        @Nullable
+        private final MethodHandle setter;
+        @Nullable
+        private final MethodHandle rawSetter;
+        @Nullable
+        private final Validator<Object> validator;
+        @Nullable
+        private final String description;
+        private final boolean immutable;
+
+        private Accessor(@NotNull final String name, @NotNull final Class<?> type, @NotNull final MethodHandle getter,
+                         @Nullable final MethodHandle setter, @Nullable final MethodHandle rawSetter,
+                         @Nullable final Validator<Object> validator, @Nullable final String description,
+                         final boolean immutable) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+            this.rawSetter = rawSetter;
+            this.validator = validator;
+            this.description = description;
+            this.immutable = immutable;
+        }
+
+        /**
+         * Gets the canonical dotted name of the property.
+         */
+        @NotNull
+        String getName() {
+            return name;
+        }
+
+        @NotNull
+        Class<?> getType() {
+            return type;
+        }
+
+        @Nullable
+        String getDescription() {
+            return description;
+        }
+
+        boolean isImmutable() {
+            return immutable;
+        }
+
+        @Nullable
+        Object get(@NotNull final Object properties) {
+            try {
+                return (Object) getter.invokeExact(properties);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Could not read property " + name, t);
+            }
+        }
+
+        /**
+         * Sets the property from the given string if it is a simple value this accessor knows how to convert.
+         *
+         * @param properties the properties object to set the property on.
+         * @param value the new value as given by the user.
+         * @return true if the property was set; false if the caller must set it some other way.
+         * @throws PropertyVetoException if the property's validator rejects the new value.
+         */
+        boolean set(@NotNull final Object properties, @NotNull final String value) throws PropertyVetoException {
+            if (setter == null) {
+                return false;
+            }
+            Object newValue = convert(value);
+            if (newValue == null) {
+                return false;
+            }
+            if (validator != null) {
+                newValue = validator.validateChange(newValue, get(properties));
+            }
+            try {
+                setter.invokeExact(properties, newValue);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Could not set property " + name, t);
+            }
+            return true;
+        }
+
+        /**
+         * Writes a value previously read with {@link #get(Object)}, bypassing conversion and validation.  This is
+         * meant for undoing changes and copying values between properties objects, so it works for every mutable
+         * property regardless of its type.
+         *
+         * @param properties the properties object to write the property on.
+         * @param value the value to write.
+         * @return true if the value was written; false if the property cannot be written.
+         */
+        boolean assign(@NotNull final Object properties, @Nullable final Object value) {
+            if (rawSetter == null) {
+                return false;
+            }
+            try {
+                rawSetter.invokeExact(properties, value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Could not assign property " + name, t);
+            }
+            return true;
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        private Object convert(@NotNull final String value) {
+            try {
+                if (type == String.class) {
+                    return value;
+                } else if (type == Boolean.class) {
+                    if (value.equalsIgnoreCase("true")) {
+                        return Boolean.TRUE;
+                    } else if (value.equalsIgnoreCase("false")) {
+                        return Boolean.FALSE;
+                    }
+                } else if (type == Integer.class) {
+                    return Integer.valueOf(value);
+                } else if (type == Long.class) {
+                    return Long.valueOf(value);
+                } else if (type == Double.class) {
+                    return Double.valueOf(value);
+                } else if (type == Float.class) {
+                    return Float.valueOf(value);
+                } else if (type.isEnum()) {
+                    return Enum.valueOf(type.asSubclass(Enum.class), value.toUpperCase(Locale.ENGLISH));
+                }
+            } catch (IllegalArgumentException ignore) {
+                // Includes NumberFormatException; the wrapper produces the proper error for the user.
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.CoreLogger;
+import com.mvplugin.core.util.PropertyDescriptions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.config.field.PropertyVetoException;
+import pluginbase.messages.Message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Stages several property changes for a world so that they can be applied together.
+ * <p>
+ * Nothing happens to the world until {@link #commit()} is called.  The staged changes are then validated, both one
+ * at a time and against each other, and written to the server in a single pass with each property written only once.
+ * The world is saved once afterwards.  If any change is rejected, every change made by the transaction is undone and
+ * the server is left untouched.
+ * <p>
+ * Transactions are obtained from {@link WorldManager#beginTransaction(MultiverseWorld)} and, like the rest of the
+ * world API, must only be used from the main server thread.
+ */
+public final class PropertyTransaction {
+
+    private static final PropertyAccessorTable ACCESSORS = WorldProperties.getAccessorTable();
+
+    @NotNull
+    private final WorldManager worldManager;
+    @NotNull
+    private final MultiverseWorld world;
+    @NotNull
+    private final Map<String, String> changes = new LinkedHashMap<String, String>();
+    private boolean finished = false;
+
+    PropertyTransaction(@NotNull final WorldManager worldManager, @NotNull final MultiverseWorld world) {
+        this.worldManager = worldManager;
+        this.world = world;
+    }
+
+    /**
+     * Gets the world this transaction modifies.
+     *
+     * @return the world this transaction modifies.
+     */
+    @NotNull
+    public MultiverseWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Stages a new value for a property.  Staging the same property again replaces the earlier value.
+     *
+     * @param name the name or alias of the property.
+     * @param value the new value as it would be given to {@link MultiverseWorld#setProperty(String, String)}.
+     * @return this transaction.
+     * @throws NoSuchFieldException if there is no property with the given name.
+     * @throws IllegalStateException if the transaction was already committed or rolled back.
+     */
+    @NotNull
+    public PropertyTransaction set(@NotNull final String name, @NotNull final String value) throws NoSuchFieldException {
+        checkOpen();
+        MultiverseWorld.getPropertyDescriptionKey(name);
+        final PropertyAccessorTable.Accessor accessor = ACCESSORS.getAccessor(name);
+        changes.put(accessor != null ? accessor.getName() : name, value);
+        return this;
+    }
+
+    /**
+     * Gets the staged changes, keyed by property name.
+     *
+     * @return the staged changes in the order they will be applied.
+     */
+    @NotNull
+    public Map<String, String> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    /**
+     * Validates and applies every staged change, then saves the world in the background.
+     * <p>
+     * If this throws, none of the staged changes remain applied and the transaction may not be used again.
+     *
+     * @return a future that is completed once the world has been saved.
+     * @throws PropertyVetoException if a change is rejected by its property or by a rule spanning several properties.
+     * @throws IllegalAccessException if one of the properties cannot be set.
+     * @throws NoSuchFieldException if one of the properties no longer exists.
+     * @throws IllegalArgumentException if a value cannot be converted to its property's type.
+     * @throws IllegalStateException if the transaction was already committed or rolled back.
+     */
+    @NotNull
+    public CompletableFuture<Void> commit() throws PropertyVetoException, IllegalAccessException,
+            NoSuchFieldException, IllegalArgumentException {
+        checkOpen();
+        finished = true;
+        if (changes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final WorldProperties properties = world.getProperties();
+        final List<Snapshot> snapshots = new ArrayList<Snapshot>(changes.size());
+        boolean applied = false;
+        properties.deferWorldWrites();
+        try {
+            for (final Map.Entry<String, String> change : changes.entrySet()) {
+                snapshots.add(new Snapshot(change.getKey(), world.getPropertyUnchecked(change.getKey())));
+                world.setProperty(change.getKey(), change.getValue());
+            }
+            validate(changes.keySet());
+            properties.applyDeferredWrites();
+            applied = true;
+        } finally {
+            if (!applied) {
+                undo(properties, snapshots);
+                properties.discardDeferredWrites();
+            }
+        }
+        CoreLogger.finer("Applied %s property changes to world '%s'", changes.size(), world.getName());
+        return worldManager.saveWorlds(Collections.singletonList(world));
+    }
+
+    /**
+     * Discards the staged changes.  The world is left as it is.
+     *
+     * @throws IllegalStateException if the transaction was already committed or rolled back.
+     */
+    public void rollback() {
+        checkOpen();
+        finished = true;
+        changes.clear();
+    }
+
+    private void checkOpen() {
+        if (finished) {
+            throw new IllegalStateException("This transaction has already been committed or rolled back");
+        }
+    }
+
+    /**
+     * Checks the rules that span more than one property or depend on the state of other worlds.
+     */
+    private void validate(@NotNull final Collection<String> changed) throws PropertyVetoException {
+        if (changed.contains("respawnWorld")) {
+            final String respawnWorld = world.getRespawnToWorld();
+            if (!respawnWorld.isEmpty() && !respawnWorld.equalsIgnoreCase(world.getName())
+                    && !worldManager.isLoaded(respawnWorld)) {
+                throw new PropertyVetoException(Message.bundleMessage(PropertyDescriptions.INVALID_RESPAWN_WORLD));
+            }
+        }
+    }
+
+    private void undo(@NotNull final WorldProperties properties, @NotNull final List<Snapshot> snapshots) {
+        final ListIterator<Snapshot> iterator = snapshots.listIterator(snapshots.size());
+        while (iterator.hasPrevious()) {
+            final Snapshot snapshot = iterator.previous();
+            try {
+                snapshot.restore(properties);
+            } catch (RuntimeException e) {
+                CoreLogger.getLogger().log(Level.WARNING, String.format("Could not undo the change to '%s' in world '%s'",
+                        snapshot.name, world.getName()), e);
+            }
+        }
+    }
+
+    private final class Snapshot {
+        @NotNull
+        private final String name;
+        @Nullable
+        private final Object value;
+
+        private Snapshot(@NotNull final String name, @Nullable final Object value) {
+            this.name = name;
+            // Collections are changed in place, so keep a copy of what they held.
+            this.value = value instanceof List ? new ArrayList<Object>((List<?>) value) : value;
+        }
+
+        private void restore(@NotNull final WorldProperties properties) {
+            final PropertyAccessorTable.Accessor accessor = ACCESSORS.getAccessor(name);
+            if (accessor != null && accessor.assign(properties, value)) {
+                if (WorldProperties.isAlias(accessor)) {
+                    WorldProperties.aliasChanged();
+                }
+                return;
+            }
+            if (value != null && !world.setPropertyUnchecked(name, value.toString())) {
+                CoreLogger.warning("Could not undo the change to '%s' in world '%s'", name, world.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.metrics.Timer;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.CoreConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.minecraft.location.FacingCoordinates;
+import pluginbase.minecraft.location.Locations;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a small pool of safe locations ready for each world that random destinations lead to.
+ * <p>
+ * Every few ticks, each pool that has fallen below the configured size has one chunk, chosen at random within the
+ * configured radius of the world's spawn, copied into a snapshot on the main thread.  The snapshot is then searched
+ * for a safe place to stand on a background thread and the result, if any, is added to the pool.  Chunks that have
+ * not been generated yet are skipped.  Locations older than the configured age are discarded since the world may
+ * have changed around them.
+ * <p>
+ * A world only gets a pool once a location has been asked for, so the first random teleport to a world may find the
+ * pool empty.
+ */
+public final class SafeLocationPool {
+
+    /** The number of random columns of a snapshot searched before it is given up on. */
+    static final int COLUMNS_PER_CHUNK = 8;
+    /** The nether has a roof of bedrock, so searches there start below it. */
+    static final int NETHER_CEILING = 120;
+
+    static final String SEARCH_TIMER = "random.search";
+    static final String EMPTY_COUNTER = "random.pool_empty";
+
+    private static final double BLOCK_CENTER = .5D;
+
+    @NotNull
+    private final MultiverseCore core;
+    @NotNull
+    private final ConcurrentMap<String, WorldPool> pools = new ConcurrentHashMap<String, WorldPool>();
+    /** Only used from the main thread. */
+    @NotNull
+    private final Random random = new Random();
+
+    SafeLocationPool(@NotNull final MultiverseCore core) {
+        this.core = core;
+    }
+
+    /**
+     * Starts periodically topping up the pools.  This stops on its own once it is no longer the core's active pool,
+     * such as after a reload.
+     */
+    void start() {
+        core.getTaskScheduler().runTaskLater(new Runnable() {
+            @Override
+            public void run() {
+                if (core.getSafeLocationPool() != SafeLocationPool.this) {
+                    return;
+                }
+                refill(System.currentTimeMillis());
+                core.getTaskScheduler().runTaskLater(this, getRefillTicks());
+            }
+        }, getRefillTicks());
+    }
+
+    private long getRefillTicks() {
+        return Math.max(1, core.getMVConfig().getRandomTeleportRefillTicks());
+    }
+
+    /**
+     * Takes a safe location in the given world out of the pool.
+     *
+     * @param world the world to find a location in.
+     * @return a safe location or null if none is ready yet.
+     */
+    @Nullable
+    public EntityCoordinates poll(@NotNull final MultiverseWorld world) {
+        return poll(world, System.currentTimeMillis());
+    }
+
+    @Nullable
+    EntityCoordinates poll(@NotNull final MultiverseWorld world, final long now) {
+        final String key = world.getName().toLowerCase();
+        WorldPool pool = pools.get(key);
+        if (pool == null) {
+            pool = new WorldPool();
+            final WorldPool existing = pools.putIfAbsent(key, pool);
+            if (existing != null) {
+                pool = existing;
+            }
+        }
+        final long oldest = getOldestAllowed(now);
+        PooledLocation pooled;
+        while ((pooled = pool.locations.poll()) != null) {
+            if (pooled.created >= oldest) {
+                return pooled.location;
+            }
+        }
+        core.getMetrics().counter(EMPTY_COUNTER).increment();
+        return null;
+    }
+
+    /**
+     * Gets the number of safe locations currently ready for the given world.
+     *
+     * @param world the world to check.
+     * @return the number of locations in the world's pool, which may include some that are about to expire.
+     */
+    public int getAvailable(@NotNull final MultiverseWorld world) {
+        final WorldPool pool = pools.get(world.getName().toLowerCase());
+        return pool != null ? pool.locations.size() : 0;
+    }
+
+    private long getOldestAllowed(final long now) {
+        return now - core.getMVConfig().getRandomTeleportMaxAgeSeconds() * 1000L;
+    }
+
+    void refill(final long now) {
+        final CoreConfig config = core.getMVConfig();
+        final long oldest = getOldestAllowed(now);
+        final Iterator<Map.Entry<String, WorldPool>> it = pools.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<String, WorldPool> entry = it.next();
+            final MultiverseWorld world = core.getWorldManager().getWorld(entry.getKey());
+            if (world == null) {
+                it.remove();
+                continue;
+            }
+            final WorldPool pool = entry.getValue();
+            final Iterator<PooledLocation> locations = pool.locations.iterator();
+            while (locations.hasNext()) {
+                if (locations.next().created < oldest) {
+                    locations.remove();
+                }
+            }
+            if (pool.locations.size() + pool.pending.get() < config.getRandomTeleportPoolSize()) {
+                search(world, pool, Math.max(0, config.getRandomTeleportRadius()), now);
+            }
+        }
+    }
+
+    private void search(@NotNull final MultiverseWorld world, @NotNull final WorldPool pool, final int radius,
+                        final long now) {
+        final FacingCoordinates spawn = world.getSpawnLocation();
+        final int blockX = spawn.getBlockX() + random.nextInt(radius * 2 + 1) - radius;
+        final int blockZ = spawn.getBlockZ() + random.nextInt(radius * 2 + 1) - radius;
+        final ChunkSnapshotLink snapshot = world.getWorldLink().getChunkSnapshot(blockX >> 4, blockZ >> 4);
+        if (snapshot == null) {
+            return;
+        }
+        final String worldName = world.getName();
+        final int ceiling = world.getEnvironment() == WorldEnvironment.NETHER ? NETHER_CEILING : snapshot.getMaxHeight();
+        pool.pending.incrementAndGet();
+        final Timer timer = core.getMetrics().timer(SEARCH_TIMER);
+        core.getTaskScheduler().runTaskAsynchronously(new Runnable() {
+            @Override
+            public void run() {
+                final long start = timer.start();
+                try {
+                    final EntityCoordinates location = findSafeLocation(worldName, snapshot, ceiling,
+                            ThreadLocalRandom.current());
+                    if (location != null) {
+                        pool.locations.add(new PooledLocation(location, now));
+                    }
+                } finally {
+                    timer.stop(start);
+                    pool.pending.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Searches a few random columns of a snapshot, from the top down, for a place a player can stand.
+     *
+     * @param world the name of the world the snapshot was taken in.
+     * @param snapshot the snapshot to search.
+     * @param ceiling the highest y coordinate a player's feet may be placed at.
+     * @param random the source of the columns to search.
+     * @return the location of the player's feet in the center of the block or null if none of the columns had room.
+     */
+    @Nullable
+    static EntityCoordinates findSafeLocation(@NotNull final String world, @NotNull final ChunkSnapshotLink snapshot,
+                                              final int ceiling, @NotNull final Random random) {
+        final int top = Math.min(ceiling, snapshot.getMaxHeight() - 2);
+        for (int i = 0; i < COLUMNS_PER_CHUNK; i++) {
+            final int x = random.nextInt(16);
+            final int z = random.nextInt(16);
+            for (int y = Math.min(top, snapshot.getHighestBlockY(x, z)); y > 0; y--) {
+                if (isSafe(snapshot, x, y, z)) {
+                    return Locations.getEntityCoordinates(world, (snapshot.getX() << 4) + x + BLOCK_CENTER, y,
+                            (snapshot.getZ() << 4) + z + BLOCK_CENTER, 0F, 0F);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether a player's feet may be placed at the given block: there must be dry room for the player's body, a solid
+     * block to stand on and nothing harmful around the player.
+     */
+    static boolean isSafe(@NotNull final ChunkSnapshotLink snapshot, final int x, final int y, final int z) {
+        return !snapshot.isSolid(x, y, z) && !snapshot.isSolid(x, y + 1, z)
+                && !snapshot.isWater(x, y, z) && !snapshot.isWater(x, y + 1, z)
+                && snapshot.isSolid(x, y - 1, z)
+                && !snapshot.isHazard(x, y - 1, z) && !snapshot.isHazard(x, y, z) && !snapshot.isHazard(x, y + 1, z);
+    }
+
+    private static final class WorldPool {
+        private final Queue<PooledLocation> locations = new ConcurrentLinkedQueue<PooledLocation>();
+        /** The number of snapshots still being searched, so a pool isn't overfilled while searches are running. */
+        private final AtomicInteger pending = new AtomicInteger();
+    }
+
+    private static final class PooledLocation {
+        @NotNull
+        private final EntityCoordinates location;
+        private final long created;
+
+        private PooledLocation(@NotNull final EntityCoordinates location, final long created) {
+            this.location = location;
+            this.created = created;
+        }
+    }
+}
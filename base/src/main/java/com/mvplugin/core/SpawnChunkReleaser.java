@@ -0,0 +1,331 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.CoreLogger;
+import org.jetbrains.annotations.NotNull;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.minecraft.Entity;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.minecraft.location.FacingCoordinates;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops keeping the spawn chunks of empty worlds in memory and keeps them in memory again once they are needed.
+ * <p>
+ * A world's spawn chunks are released once it has been empty for longer than its releaseSpawnAfter property allows.
+ * When a player nears the spawn of a released world, or a teleport to it is about to happen, the spawn chunks are
+ * loaded a few per tick and then kept in memory again.
+ * <p>
+ * Only the value in effect on the server is changed; the keepSpawnInMemory property of the world is left alone.
+ */
+public final class SpawnChunkReleaser {
+
+    /** How often, in ticks, loaded worlds are checked. */
+    static final long CHECK_INTERVAL = 100L;
+    /** The radius, in chunks, of the area around spawn that the server keeps in memory. */
+    static final int SPAWN_CHUNK_RADIUS = 10;
+    /** How close, in blocks, a player must be to a released world's spawn for its spawn chunks to be restored. */
+    static final int APPROACH_DISTANCE = 256;
+    /** How many spawn chunks are loaded per tick while a released world is being restored. */
+    static final int PRELOAD_CHUNKS_PER_TICK = 8;
+
+    @NotNull
+    private final MultiverseCoreAPI api;
+    @NotNull
+    private final Map<String, Long> emptySince = new HashMap<String, Long>();
+    @NotNull
+    private final Map<String, ReleasedWorld> releasedWorlds = new HashMap<String, ReleasedWorld>();
+
+    SpawnChunkReleaser(@NotNull final MultiverseCoreAPI api) {
+        this.api = api;
+    }
+
+    /**
+     * Starts periodically checking for worlds whose spawn chunks can be released.  The checks stop on their own once
+     * this is no longer the API's active releaser, such as after a reload.
+     */
+    void start() {
+        api.getTaskScheduler().runTaskLater(new Runnable() {
+            @Override
+            public void run() {
+                if (api.getSpawnChunkReleaser() != SpawnChunkReleaser.this) {
+                    return;
+                }
+                checkWorlds(System.nanoTime());
+                api.getTaskScheduler().runTaskLater(this, CHECK_INTERVAL);
+            }
+        }, CHECK_INTERVAL);
+    }
+
+    /**
+     * Whether the spawn chunks of the given world are currently not being kept in memory by this releaser.
+     *
+     * @param world the world to check.
+     * @return true if the world's spawn chunks are currently released.
+     */
+    public boolean isReleased(@NotNull final MultiverseWorld world) {
+        return releasedWorlds.containsKey(world.getName().toLowerCase());
+    }
+
+    /**
+     * Gets the names of all worlds whose spawn chunks are currently released.
+     *
+     * @return the names of all worlds whose spawn chunks are currently released.
+     */
+    @NotNull
+    public Collection<String> getReleasedWorlds() {
+        final List<String> names = new ArrayList<String>(releasedWorlds.size());
+        for (final ReleasedWorld releasedWorld : releasedWorlds.values()) {
+            names.add(releasedWorld.name);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Gets the number of chunks that the given world had loaded when its spawn chunks were released but no longer has
+     * loaded, as of the last check.
+     *
+     * @param world the world to check.
+     * @return the number of chunks being kept out of memory or 0 if the world's spawn chunks are not released.
+     */
+    public int getChunksKeptUnloaded(@NotNull final MultiverseWorld world) {
+        final ReleasedWorld releasedWorld = releasedWorlds.get(world.getName().toLowerCase());
+        return releasedWorld != null ? releasedWorld.getChunksKeptUnloaded() : 0;
+    }
+
+    /**
+     * Gets the number of chunks being kept out of memory across all worlds, as of the last check.
+     *
+     * @return the number of chunks being kept out of memory.
+     */
+    public int getChunksKeptUnloaded() {
+        int total = 0;
+        for (final ReleasedWorld releasedWorld : releasedWorlds.values()) {
+            total += releasedWorld.getChunksKeptUnloaded();
+        }
+        return total;
+    }
+
+    /**
+     * Starts loading the spawn chunks of the given world if they are released, such as when someone is about to be
+     * teleported there.  This must be called from the main thread.
+     *
+     * @param world the world that is about to be needed.
+     * @return a future completed once the world's spawn chunks are loaded and kept in memory again.
+     */
+    @NotNull
+    public CompletableFuture<Void> prepare(@NotNull final MultiverseWorld world) {
+        final ReleasedWorld releasedWorld = releasedWorlds.get(world.getName().toLowerCase());
+        if (releasedWorld == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return restore(world, releasedWorld);
+    }
+
+    void checkWorlds(final long nanoTime) {
+        forgetUnloadedWorlds();
+        final List<MultiverseWorld> toRelease = new ArrayList<MultiverseWorld>();
+        for (final MultiverseWorld world : api.getWorldManager().getWorlds()) {
+            final String key = world.getName().toLowerCase();
+            final ReleasedWorld releasedWorld = releasedWorlds.get(key);
+            if (releasedWorld != null) {
+                if (!world.isKeepSpawnInMemoryEnabled()) {
+                    // Turned off by hand so there is nothing left to restore.
+                    releasedWorlds.remove(key);
+                } else if (releasedWorld.restoring == null) {
+                    if (world.getReleaseSpawnAfter() < 0 || isApproached(world)) {
+                        restore(world, releasedWorld);
+                    } else {
+                        releasedWorld.loadedChunks = world.getWorldLink().getLoadedChunks().size();
+                    }
+                }
+                continue;
+            }
+            if (!isAutomatic(world) || !world.getPlayers().isEmpty()) {
+                emptySince.remove(key);
+                continue;
+            }
+            final Long since = emptySince.get(key);
+            if (since == null) {
+                emptySince.put(key, nanoTime);
+            } else if (nanoTime - since >= TimeUnit.SECONDS.toNanos(world.getReleaseSpawnAfter())) {
+                toRelease.add(world);
+            }
+        }
+        for (final MultiverseWorld world : toRelease) {
+            release(world);
+        }
+    }
+
+    private static boolean isAutomatic(@NotNull final MultiverseWorld world) {
+        return world.isKeepSpawnInMemoryEnabled() && world.getReleaseSpawnAfter() >= 0;
+    }
+
+    private static boolean isApproached(@NotNull final MultiverseWorld world) {
+        final FacingCoordinates spawn = world.getSpawnLocation();
+        final double maxDistanceSquared = (double) APPROACH_DISTANCE * APPROACH_DISTANCE;
+        for (final BasePlayer player : world.getPlayers()) {
+            if (!(player instanceof Entity)) {
+                return true;
+            }
+            final EntityCoordinates location = ((Entity) player).getLocation();
+            final double dx = location.getX() - spawn.getX();
+            final double dz = location.getZ() - spawn.getZ();
+            if (dx * dx + dz * dz <= maxDistanceSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release(@NotNull final MultiverseWorld world) {
+        final String key = world.getName().toLowerCase();
+        emptySince.remove(key);
+        final WorldLink worldLink = world.getWorldLink();
+        final int loadedChunks = worldLink.getLoadedChunks().size();
+        worldLink.setKeepSpawnInMemory(false);
+        releasedWorlds.put(key, new ReleasedWorld(world.getName(), loadedChunks));
+        CoreLogger.info("World '%s' has been empty for %s seconds; its spawn chunks are no longer kept in memory.",
+                world.getName(), world.getReleaseSpawnAfter());
+    }
+
+    @NotNull
+    private CompletableFuture<Void> restore(@NotNull final MultiverseWorld world,
+                                            @NotNull final ReleasedWorld releasedWorld) {
+        if (releasedWorld.restoring != null) {
+            return releasedWorld.restoring;
+        }
+        final PreloadTask task = new PreloadTask(world, releasedWorld);
+        releasedWorld.restoring = task.future;
+        CoreLogger.fine("Loading the spawn chunks of world '%s' again.", world.getName());
+        api.getTaskScheduler().runTask(task);
+        return task.future;
+    }
+
+    private void forgetUnloadedWorlds() {
+        final Iterator<Map.Entry<String, ReleasedWorld>> it = releasedWorlds.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<String, ReleasedWorld> entry = it.next();
+            if (!api.getWorldManager().isLoaded(entry.getKey())) {
+                if (entry.getValue().restoring != null) {
+                    entry.getValue().restoring.complete(null);
+                }
+                it.remove();
+            }
+        }
+        final Iterator<String> names = emptySince.keySet().iterator();
+        while (names.hasNext()) {
+            if (!api.getWorldManager().isLoaded(names.next())) {
+                names.remove();
+            }
+        }
+    }
+
+    /**
+     * Gathers the chunk coordinates around the given spawn, nearest first, so that the chunks players are most likely
+     * to arrive in are loaded first.
+     */
+    @NotNull
+    static List<int[]> spawnChunks(final int spawnChunkX, final int spawnChunkZ, final int radius) {
+        final List<int[]> chunks = new ArrayList<int[]>((2 * radius + 1) * (2 * radius + 1));
+        chunks.add(new int[] {spawnChunkX, spawnChunkZ});
+        for (int ring = 1; ring <= radius; ring++) {
+            for (int offset = -ring; offset < ring; offset++) {
+                chunks.add(new int[] {spawnChunkX + offset, spawnChunkZ - ring});
+                chunks.add(new int[] {spawnChunkX + ring, spawnChunkZ + offset});
+                chunks.add(new int[] {spawnChunkX - offset, spawnChunkZ + ring});
+                chunks.add(new int[] {spawnChunkX - ring, spawnChunkZ - offset});
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Loads a released world's spawn chunks a few per tick and then has the server keep them in memory again.
+     */
+    private final class PreloadTask implements Runnable {
+
+        @NotNull
+        private final MultiverseWorld world;
+        @NotNull
+        private final ReleasedWorld releasedWorld;
+        @NotNull
+        private final List<int[]> chunks;
+        @NotNull
+        private final CompletableFuture<Void> future = new CompletableFuture<Void>();
+        private int chunkIndex = 0;
+        private int chunksLoaded = 0;
+
+        private PreloadTask(@NotNull final MultiverseWorld world, @NotNull final ReleasedWorld releasedWorld) {
+            this.world = world;
+            this.releasedWorld = releasedWorld;
+            final FacingCoordinates spawn = world.getSpawnLocation();
+            this.chunks = spawnChunks((int) Math.floor(spawn.getX()) >> 4, (int) Math.floor(spawn.getZ()) >> 4,
+                    SPAWN_CHUNK_RADIUS);
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                // The world was unloaded in the meantime.
+                return;
+            }
+            final WorldLink worldLink = world.getWorldLink();
+            try {
+                int loadedThisTick = 0;
+                while (chunkIndex < chunks.size() && loadedThisTick < PRELOAD_CHUNKS_PER_TICK) {
+                    final int[] chunk = chunks.get(chunkIndex++);
+                    if (!worldLink.isChunkLoaded(chunk[0], chunk[1])) {
+                        worldLink.loadChunk(chunk[0], chunk[1]);
+                        loadedThisTick++;
+                    }
+                }
+                chunksLoaded += loadedThisTick;
+                if (chunkIndex < chunks.size()) {
+                    api.getTaskScheduler().runTask(this);
+                    return;
+                }
+                if (world.isKeepSpawnInMemoryEnabled()) {
+                    worldLink.setKeepSpawnInMemory(true);
+                }
+                CoreLogger.fine("Loaded %s spawn chunks of world '%s' which are kept in memory again.",
+                        chunksLoaded, world.getName());
+            } catch (RuntimeException e) {
+                CoreLogger.warning("Could not load the spawn chunks of world '%s': %s", world.getName(), e.getMessage());
+            }
+            releasedWorlds.remove(world.getName().toLowerCase());
+            emptySince.remove(world.getName().toLowerCase());
+            future.complete(null);
+        }
+    }
+
+    /**
+     * The releaser's state for a single world along with how many chunks it had loaded when it was released.
+     */
+    private static final class ReleasedWorld {
+
+        @NotNull
+        private final String name;
+        private final int chunksAtRelease;
+        private int loadedChunks;
+        private CompletableFuture<Void> restoring = null;
+
+        private ReleasedWorld(@NotNull final String name, final int chunksAtRelease) {
+            this.name = name;
+            this.chunksAtRelease = chunksAtRelease;
+            this.loadedChunks = chunksAtRelease;
+        }
+
+        private int getChunksKeptUnloaded() {
+            return Math.max(0, chunksAtRelease - loadedChunks);
+        }
+    }
+}
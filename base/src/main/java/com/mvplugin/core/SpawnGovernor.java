@@ -0,0 +1,275 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.CoreConfig;
+import com.mvplugin.core.util.CoreLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Temporarily reduces creature spawning in the busiest worlds while the server is unable to keep up.
+ * <p>
+ * The governor measures the time between server ticks and, every few seconds, compares the average against the
+ * configured target.  When the server is too slow, the worlds holding the most entities have their spawn limits
+ * lowered and their ticks between spawns raised by a fraction of the configured values.  Once the server recovers,
+ * the fraction is raised again step by step until the configured values are back in place.
+ * <p>
+ * The configured values of a world are never changed by the governor; only the values in effect on the server are.
+ */
+public final class SpawnGovernor {
+
+    @NotNull
+    private final MultiverseCore core;
+    @NotNull
+    private final Map<String, GovernedWorld> governedWorlds = new HashMap<String, GovernedWorld>();
+
+    private long lastTickNanos = 0L;
+    private long tickIntervalSum = 0L;
+    private int tickIntervalCount = 0;
+    private volatile double averageTickMillis = 0D;
+
+    SpawnGovernor(@NotNull final MultiverseCore core) {
+        this.core = core;
+    }
+
+    /**
+     * Starts measuring the server's tick time.  The governor stops on its own once it is no longer the core's active
+     * governor, such as after a reload.
+     */
+    void start() {
+        core.getTaskScheduler().runTask(new Runnable() {
+            @Override
+            public void run() {
+                if (core.getSpawnGovernor() != SpawnGovernor.this) {
+                    restoreAll();
+                    return;
+                }
+                tick(System.nanoTime());
+                core.getTaskScheduler().runTask(this);
+            }
+        });
+    }
+
+    /**
+     * Gets the average time between server ticks, in milliseconds, as of the last measurement.
+     *
+     * @return the average time between server ticks or 0 if nothing has been measured yet.
+     */
+    public double getAverageTickMillis() {
+        return averageTickMillis;
+    }
+
+    /**
+     * Whether the spawning in the given world is currently being reduced by the governor.
+     *
+     * @param world the world to check.
+     * @return true if the spawning in the world is currently reduced.
+     */
+    public boolean isGoverning(@NotNull final MultiverseWorld world) {
+        return governedWorlds.containsKey(world.getName().toLowerCase());
+    }
+
+    /**
+     * Gets the fraction of the configured spawning currently in effect for the given world.
+     *
+     * @param world the world to check.
+     * @return a value between the configured minimum and 1 where 1 means the configured values are in effect.
+     */
+    public double getSpawnFactor(@NotNull final MultiverseWorld world) {
+        final GovernedWorld governedWorld = governedWorlds.get(world.getName().toLowerCase());
+        return governedWorld != null ? governedWorld.factor : 1D;
+    }
+
+    /**
+     * Gets the number of adjustments the governor has made to the given world since it last had its configured
+     * spawning in effect.
+     *
+     * @param world the world to check.
+     * @return the number of adjustments made to the world.
+     */
+    public int getAdjustmentCount(@NotNull final MultiverseWorld world) {
+        final GovernedWorld governedWorld = governedWorlds.get(world.getName().toLowerCase());
+        return governedWorld != null ? governedWorld.adjustments : 0;
+    }
+
+    void tick(final long nanoTime) {
+        if (lastTickNanos != 0L) {
+            tickIntervalSum += nanoTime - lastTickNanos;
+            tickIntervalCount++;
+        }
+        lastTickNanos = nanoTime;
+        if (tickIntervalCount >= core.getMVConfig().getSpawnGovernorSampleTicks()) {
+            final double average = tickIntervalSum / (double) tickIntervalCount / 1000000D;
+            tickIntervalSum = 0L;
+            tickIntervalCount = 0;
+            evaluate(average);
+        }
+    }
+
+    void evaluate(final double averageTickMillis) {
+        this.averageTickMillis = averageTickMillis;
+        final CoreConfig config = core.getMVConfig();
+        if (!config.isSpawnGovernorEnabled()) {
+            restoreAll();
+            return;
+        }
+        final Collection<MultiverseWorld> worlds = core.getWorldManager().getWorlds();
+        forgetUnloadedWorlds();
+        if (averageTickMillis > config.getSpawnGovernorTargetTickMillis()) {
+            reduceBusiestWorlds(worlds, config, averageTickMillis);
+        } else if (averageTickMillis < config.getSpawnGovernorRecoveryTickMillis()) {
+            restoreWorlds(worlds, config, averageTickMillis);
+        }
+    }
+
+    private void reduceBusiestWorlds(@NotNull final Collection<MultiverseWorld> worlds,
+                                     @NotNull final CoreConfig config, final double averageTickMillis) {
+        if (worlds.isEmpty()) {
+            return;
+        }
+        final Map<MultiverseWorld, Integer> entityCounts = new HashMap<MultiverseWorld, Integer>(worlds.size());
+        long totalEntities = 0L;
+        for (final MultiverseWorld world : worlds) {
+            final int count = world.getWorldLink().getEntityCount();
+            entityCounts.put(world, count);
+            totalEntities += count;
+        }
+        final double averageEntities = totalEntities / (double) worlds.size();
+        final double minimumFactor = Math.max(0D, Math.min(1D, config.getSpawnGovernorMinimumFactor()));
+        for (final Map.Entry<MultiverseWorld, Integer> entry : entityCounts.entrySet()) {
+            final MultiverseWorld world = entry.getKey();
+            final int entities = entry.getValue();
+            if (entities == 0 || entities < averageEntities) {
+                continue;
+            }
+            final String key = world.getName().toLowerCase();
+            GovernedWorld governedWorld = governedWorlds.get(key);
+            if (governedWorld == null) {
+                governedWorld = new GovernedWorld(world.getWorldLink());
+            }
+            final double factor = Math.max(minimumFactor, governedWorld.factor - config.getSpawnGovernorStep());
+            if (factor >= governedWorld.factor) {
+                continue;
+            }
+            governedWorlds.put(key, governedWorld);
+            governedWorld.factor = factor;
+            governedWorld.adjustments++;
+            apply(world, governedWorld);
+            CoreLogger.info("Average tick time is %.1fms (target %.1fms); reduced spawning in '%s' (%s entities) to %.0f%% of configured.",
+                    averageTickMillis, config.getSpawnGovernorTargetTickMillis(), world.getName(), entities, factor * 100D);
+        }
+    }
+
+    private void restoreWorlds(@NotNull final Collection<MultiverseWorld> worlds,
+                               @NotNull final CoreConfig config, final double averageTickMillis) {
+        for (final MultiverseWorld world : worlds) {
+            final String key = world.getName().toLowerCase();
+            final GovernedWorld governedWorld = governedWorlds.get(key);
+            if (governedWorld == null) {
+                continue;
+            }
+            governedWorld.factor = Math.min(1D, governedWorld.factor + config.getSpawnGovernorStep());
+            governedWorld.adjustments++;
+            apply(world, governedWorld);
+            if (governedWorld.factor >= 1D) {
+                governedWorlds.remove(key);
+                CoreLogger.info("Average tick time is %.1fms; restored configured spawning in '%s'.",
+                        averageTickMillis, world.getName());
+            } else {
+                CoreLogger.info("Average tick time is %.1fms; raised spawning in '%s' to %.0f%% of configured.",
+                        averageTickMillis, world.getName(), governedWorld.factor * 100D);
+            }
+        }
+    }
+
+    private void restoreAll() {
+        if (governedWorlds.isEmpty()) {
+            return;
+        }
+        for (final MultiverseWorld world : core.getWorldManager().getWorlds()) {
+            final GovernedWorld governedWorld = governedWorlds.remove(world.getName().toLowerCase());
+            if (governedWorld != null) {
+                governedWorld.factor = 1D;
+                apply(world, governedWorld);
+                CoreLogger.info("Restored configured spawning in '%s'.", world.getName());
+            }
+        }
+        governedWorlds.clear();
+    }
+
+    private void forgetUnloadedWorlds() {
+        final Iterator<String> it = governedWorlds.keySet().iterator();
+        while (it.hasNext()) {
+            if (!core.getWorldManager().isLoaded(it.next())) {
+                it.remove();
+            }
+        }
+    }
+
+    private void apply(@NotNull final MultiverseWorld world, @NotNull final GovernedWorld governedWorld) {
+        final WorldLink worldLink = world.getWorldLink();
+        final double factor = governedWorld.factor;
+        worldLink.setAnimalSpawnLimit(scaleLimit(base(world.getAnimalSpawnLimit(), governedWorld.animalLimit), factor));
+        worldLink.setMonsterSpawnLimit(scaleLimit(base(world.getMonsterSpawnLimit(), governedWorld.monsterLimit), factor));
+        worldLink.setAmbientSpawnLimit(scaleLimit(base(world.getAmbientSpawnLimit(), governedWorld.ambientLimit), factor));
+        worldLink.setWaterAnimalSpawnLimit(scaleLimit(base(world.getWaterAnimalSpawnLimit(), governedWorld.waterLimit), factor));
+        worldLink.setTicksPerAnimalSpawns(scaleTicks(base(world.getTicksPerAnimalSpawn(), governedWorld.animalTicks), factor));
+        worldLink.setTicksPerMonsterSpawns(scaleTicks(base(world.getTicksPerMonsterSpawn(), governedWorld.monsterTicks), factor));
+    }
+
+    /**
+     * A configured value of -1 means the server default is used, in which case the value that was in effect before
+     * the governor first touched the world is used instead.
+     */
+    private static int base(final int configured, final int original) {
+        return configured >= 0 ? configured : original;
+    }
+
+    private static long base(final long configured, final long original) {
+        return configured >= 0 ? configured : original;
+    }
+
+    static int scaleLimit(final int limit, final double factor) {
+        if (limit <= 0) {
+            return limit;
+        }
+        return Math.max(1, (int) Math.floor(limit * factor));
+    }
+
+    static long scaleTicks(final long ticks, final double factor) {
+        if (ticks <= 0 || factor <= 0D) {
+            return ticks;
+        }
+        return (long) Math.ceil(ticks / factor);
+    }
+
+    /**
+     * The governor's state for a single world along with the spawn values that were in effect when it started
+     * governing the world.
+     */
+    private static final class GovernedWorld {
+
+        private final int animalLimit;
+        private final int monsterLimit;
+        private final int ambientLimit;
+        private final int waterLimit;
+        private final long animalTicks;
+        private final long monsterTicks;
+
+        private double factor = 1D;
+        private int adjustments = 0;
+
+        private GovernedWorld(@NotNull final WorldLink worldLink) {
+            this.animalLimit = worldLink.getAnimalSpawnLimit();
+            this.monsterLimit = worldLink.getMonsterSpawnLimit();
+            this.ambientLimit = worldLink.getAmbientSpawnLimit();
+            this.waterLimit = worldLink.getWaterAnimalSpawnLimit();
+            this.animalTicks = worldLink.getTicksPerAnimalSpawns();
+            this.monsterTicks = worldLink.getTicksPerMonsterSpawns();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How long Multiverse took to load the worlds it manages when it started, broken down into phases and by world.
+ * <p>
+ * The profile is filled in while the initial worlds load and does not change afterwards.  For each world it holds
+ * the time spent reading and saving its world file and the time the server implementation spent creating it.
+ * Worlds the server had already loaded only have their world file read.
+ */
+public final class StartupProfile {
+
+    static final String AGGREGATE_TIMER = "startup.aggregate";
+    static final String WORLD_LOAD_TIMER = "startup.world_load";
+    static final String WORLD_PROPERTIES_TIMER = "startup.world_properties";
+    static final String WORLD_CREATE_TIMER = "startup.world_create";
+
+    private static final Comparator<WorldTiming> SLOWEST_FIRST = new Comparator<WorldTiming>() {
+        @Override
+        public int compare(final WorldTiming a, final WorldTiming b) {
+            return a.totalNanos < b.totalNanos ? 1 : a.totalNanos > b.totalNanos ? -1 : 0;
+        }
+    };
+
+    @NotNull
+    private final Map<String, WorldTiming> worlds = new ConcurrentHashMap<String, WorldTiming>();
+    private volatile long aggregationNanos = 0L;
+    private volatile long totalNanos = 0L;
+
+    StartupProfile() { }
+
+    void setAggregationNanos(final long nanos) {
+        this.aggregationNanos = nanos;
+    }
+
+    void setTotalNanos(final long nanos) {
+        this.totalNanos = nanos;
+    }
+
+    /**
+     * Gets the timing of the given world, adding it to the profile if needed.
+     */
+    @NotNull
+    WorldTiming getWorldTiming(@NotNull final String worldName) {
+        final String key = worldName.toLowerCase(Locale.ENGLISH);
+        WorldTiming timing = worlds.get(key);
+        if (timing == null) {
+            timing = new WorldTiming(worldName);
+            worlds.put(key, timing);
+        }
+        return timing;
+    }
+
+    /**
+     * Gets the time spent working out which worlds to load, which includes listing the world files.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getAggregationNanos() {
+        return aggregationNanos;
+    }
+
+    /**
+     * Gets the time spent loading the initial worlds, from finding them until the last one was loaded.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Gets the timing of every world Multiverse tried to load when it started.
+     *
+     * @return the timings, slowest world first.
+     */
+    @NotNull
+    public List<WorldTiming> getWorldTimings() {
+        final List<WorldTiming> timings = new ArrayList<WorldTiming>(worlds.values());
+        Collections.sort(timings, SLOWEST_FIRST);
+        return timings;
+    }
+
+    /**
+     * Gets the timings of the worlds that took longest to load.
+     *
+     * @param count the most timings to return.
+     * @return the timings, slowest world first.
+     */
+    @NotNull
+    public List<WorldTiming> getSlowestWorlds(final int count) {
+        final List<WorldTiming> timings = getWorldTimings();
+        return timings.size() > count ? timings.subList(0, count) : timings;
+    }
+
+    /**
+     * Adds the times of this profile to the startup timers of the given metrics.
+     */
+    void recordTo(@NotNull final MetricsRegistry metrics) {
+        metrics.timer(AGGREGATE_TIMER).record(aggregationNanos);
+        for (final WorldTiming timing : worlds.values()) {
+            metrics.timer(WORLD_LOAD_TIMER).record(timing.totalNanos);
+            metrics.timer(WORLD_PROPERTIES_TIMER).record(timing.propertiesNanos);
+            if (timing.createNanos > 0L) {
+                metrics.timer(WORLD_CREATE_TIMER).record(timing.createNanos);
+            }
+        }
+    }
+
+    /**
+     * The time it took to load a single world.
+     */
+    public static final class WorldTiming {
+
+        @NotNull
+        private final String name;
+        private volatile long propertiesNanos = 0L;
+        private volatile long createNanos = 0L;
+        private volatile long totalNanos = 0L;
+        private volatile boolean loaded = false;
+
+        private WorldTiming(@NotNull final String name) {
+            this.name = name;
+        }
+
+        void addPropertiesNanos(final long nanos) {
+            propertiesNanos += nanos;
+        }
+
+        void addCreateNanos(final long nanos) {
+            createNanos += nanos;
+        }
+
+        void finish(final long nanos, final boolean loaded) {
+            this.totalNanos = nanos;
+            this.loaded = loaded;
+        }
+
+        /**
+         * @return the name of the world.
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the time in nanoseconds spent reading and saving the world's file.
+         */
+        public long getPropertiesNanos() {
+            return propertiesNanos;
+        }
+
+        /**
+         * @return the time in nanoseconds the server implementation spent creating the world, or 0 if the server had
+         * already loaded it or it was not loaded.
+         */
+        public long getCreateNanos() {
+            return createNanos;
+        }
+
+        /**
+         * @return the time in nanoseconds spent on the world in total.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return whether the world was loaded, rather than skipped or failed.
+         */
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.1fms (properties %.1fms, create %.1fms)%s", name, totalNanos / 1000000D,
+                    propertiesNanos / 1000000D, createNanos / 1000000D, loaded ? "" : ", not loaded");
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.exceptions.WorldManagementException;
+import com.mvplugin.core.util.CoreLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unloads worlds that have been empty for longer than their hibernateAfter property allows and loads them again when
+ * they are needed.
+ * <p>
+ * A hibernating world is unloaded through {@link WorldManager#unloadWorld(MultiverseWorld)} and so remains managed in
+ * the same way as a world that is not automatically loaded.  Destinations targeting a hibernating world wake it
+ * before teleporting.
+ */
+public final class WorldHibernator {
+
+    /** How often, in ticks, loaded worlds are checked for emptiness. */
+    static final long CHECK_INTERVAL = 100L;
+    /** How long, in ticks, to wait after a hibernation before sampling how much heap was reclaimed. */
+    static final long HEAP_SAMPLE_DELAY = 200L;
+
+    @NotNull
+    private final MultiverseCoreAPI api;
+    @NotNull
+    private final Map<String, Long> emptySince = new HashMap<String, Long>();
+    /** The names of hibernating worlds, keyed by their lower case name. */
+    @NotNull
+    private final Map<String, String> hibernatingWorlds = new ConcurrentHashMap<String, String>();
+    /** The names of hibernating worlds, keyed by their lower case alias. */
+    @NotNull
+    private final Map<String, String> hibernatingAliases = new ConcurrentHashMap<String, String>();
+
+    private final AtomicLong hibernateCount = new AtomicLong();
+    private final AtomicLong wakeCount = new AtomicLong();
+    private final AtomicLong chunksReleased = new AtomicLong();
+    private final AtomicLong entitiesReleased = new AtomicLong();
+    private final AtomicLong heapReclaimed = new AtomicLong();
+
+    WorldHibernator(@NotNull final MultiverseCoreAPI api) {
+        this.api = api;
+    }
+
+    /**
+     * Starts periodically checking for idle worlds.  The checks stop on their own once this is no longer the API's
+     * active hibernator, such as after a reload.
+     */
+    void start() {
+        api.getTaskScheduler().runTaskLater(new Runnable() {
+            @Override
+            public void run() {
+                if (api.getWorldHibernator() != WorldHibernator.this) {
+                    return;
+                }
+                checkWorlds(System.nanoTime());
+                api.getTaskScheduler().runTaskLater(this, CHECK_INTERVAL);
+            }
+        }, CHECK_INTERVAL);
+    }
+
+    /**
+     * Whether the given world is currently unloaded because it was idle.
+     *
+     * @param name the name or alias of the world, in any case.
+     * @return true if the world is hibernating.
+     */
+    public boolean isHibernating(@NotNull final String name) {
+        return getHibernatingWorldName(name) != null;
+    }
+
+    /**
+     * Gets the name of a hibernating world as it was when the world went into hibernation.
+     *
+     * @param name the name or alias of the world, in any case.
+     * @return the name of the world or null if no such world is hibernating.
+     */
+    @Nullable
+    private String getHibernatingWorldName(@NotNull final String name) {
+        final String key = name.toLowerCase();
+        final String worldName = hibernatingWorlds.get(key);
+        return worldName != null ? worldName : hibernatingAliases.get(key);
+    }
+
+    private boolean stopHibernating(@NotNull final String worldName) {
+        if (hibernatingWorlds.remove(worldName.toLowerCase()) == null) {
+            return false;
+        }
+        hibernatingAliases.values().removeAll(Collections.singleton(worldName));
+        return true;
+    }
+
+    /**
+     * Gets the names of all worlds that are currently hibernating.
+     *
+     * @return the names of all worlds that are currently hibernating.
+     */
+    @NotNull
+    public Collection<String> getHibernatingWorlds() {
+        return Collections.unmodifiableCollection(hibernatingWorlds.values());
+    }
+
+    /**
+     * Loads the given world if it is hibernating.  This must be called from the main thread.
+     *
+     * @param worldNameOrAlias the name or alias of the world, in any case.
+     * @return the newly loaded world or null if the world was not hibernating or could not be loaded.
+     */
+    @Nullable
+    public MultiverseWorld wake(@NotNull final String worldNameOrAlias) {
+        final String name = getHibernatingWorldName(worldNameOrAlias);
+        if (name == null || !stopHibernating(name)) {
+            return null;
+        }
+        final MultiverseWorld loaded = api.getWorldManager().getWorld(name);
+        if (loaded != null) {
+            // Loaded by other means, such as the load command.
+            return loaded;
+        }
+        final long start = System.nanoTime();
+        try {
+            final MultiverseWorld world = api.getWorldManager().loadWorld(name);
+            wakeCount.incrementAndGet();
+            CoreLogger.info("Woke world '%s' from hibernation in %sms.", name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return world;
+        } catch (WorldManagementException e) {
+            CoreLogger.warning("Could not wake world '%s' from hibernation: %s", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loads the given world during the next tick if it is hibernating.  This may be called from any thread.
+     * <p>
+     * The server only allows worlds to be loaded from the main thread so the load itself still happens there, but
+     * the caller does not have to wait for it.
+     *
+     * @param name the name or alias of the world, in any case.
+     * @return a future completed with the loaded world, or with null if the world was not hibernating or could not be
+     * loaded.
+     */
+    @NotNull
+    public CompletableFuture<MultiverseWorld> wakeAsync(@NotNull final String name) {
+        final CompletableFuture<MultiverseWorld> future = new CompletableFuture<MultiverseWorld>();
+        if (!isHibernating(name)) {
+            future.complete(null);
+            return future;
+        }
+        api.getTaskScheduler().runTask(new Runnable() {
+            @Override
+            public void run() {
+                future.complete(wake(name));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Gets the number of times a world has been put into hibernation.
+     *
+     * @return the number of times a world has been put into hibernation.
+     */
+    public long getHibernateCount() {
+        return hibernateCount.get();
+    }
+
+    /**
+     * Gets the number of times a world has been woken from hibernation.
+     *
+     * @return the number of times a world has been woken from hibernation.
+     */
+    public long getWakeCount() {
+        return wakeCount.get();
+    }
+
+    /**
+     * Gets the total number of loaded chunks that were released by hibernating worlds.
+     *
+     * @return the total number of chunks released.
+     */
+    public long getChunksReleased() {
+        return chunksReleased.get();
+    }
+
+    /**
+     * Gets the total number of entities that were released by hibernating worlds.
+     *
+     * @return the total number of entities released.
+     */
+    public long getEntitiesReleased() {
+        return entitiesReleased.get();
+    }
+
+    /**
+     * Gets an estimate of the heap memory reclaimed by hibernating worlds, in bytes.
+     * <p>
+     * This is the drop in used heap measured shortly after each hibernation, so other activity on the server makes it
+     * a rough figure only.
+     *
+     * @return an estimate of the heap memory reclaimed, in bytes.
+     */
+    public long getHeapReclaimed() {
+        return heapReclaimed.get();
+    }
+
+    void checkWorlds(final long nanoTime) {
+        final List<MultiverseWorld> toHibernate = new ArrayList<MultiverseWorld>();
+        for (final MultiverseWorld world : api.getWorldManager().getWorlds()) {
+            final String key = world.getName().toLowerCase();
+            if (hibernatingWorlds.containsKey(key)) {
+                // Loaded by other means, such as the load command.
+                stopHibernating(world.getName());
+            }
+            final int hibernateAfter = world.getHibernateAfter();
+            if (hibernateAfter < 0 || !world.getPlayers().isEmpty()) {
+                emptySince.remove(key);
+                continue;
+            }
+            final Long since = emptySince.get(key);
+            if (since == null) {
+                emptySince.put(key, nanoTime);
+            } else if (nanoTime - since >= TimeUnit.SECONDS.toNanos(hibernateAfter)) {
+                toHibernate.add(world);
+            }
+        }
+        for (final MultiverseWorld world : toHibernate) {
+            hibernate(world);
+        }
+    }
+
+    private void hibernate(@NotNull final MultiverseWorld world) {
+        final String name = world.getName();
+        emptySince.remove(name.toLowerCase());
+        final WorldLink worldLink = world.getWorldLink();
+        final int chunks = worldLink.getLoadedChunks().size();
+        final int entities = worldLink.getEntityCount();
+        final long usedHeapBefore = usedHeap();
+        try {
+            api.getWorldManager().unloadWorld(world);
+        } catch (WorldManagementException e) {
+            CoreLogger.fine("World '%s' could not be hibernated: %s", name, e.getMessage());
+            return;
+        }
+        hibernatingWorlds.put(name.toLowerCase(), name);
+        final String alias = world.getAlias();
+        if (!alias.equalsIgnoreCase(name)) {
+            hibernatingAliases.put(alias.toLowerCase(), name);
+        }
+        hibernateCount.incrementAndGet();
+        chunksReleased.addAndGet(chunks);
+        entitiesReleased.addAndGet(entities);
+        CoreLogger.info("World '%s' has been empty for %s seconds and is now hibernating, releasing %s chunks and %s entities.",
+                name, world.getHibernateAfter(), chunks, entities);
+        api.getTaskScheduler().runTaskLater(new Runnable() {
+            @Override
+            public void run() {
+                final long reclaimed = usedHeapBefore - usedHeap();
+                if (reclaimed > 0L) {
+                    heapReclaimed.addAndGet(reclaimed);
+                }
+            }
+        }, HEAP_SAMPLE_DELAY);
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
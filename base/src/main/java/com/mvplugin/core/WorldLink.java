@@ -4,10 +4,12 @@ import com.mvplugin.core.minecraft.Difficulty;
 import com.mvplugin.core.minecraft.WorldEnvironment;
 import com.mvplugin.core.minecraft.WorldType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import pluginbase.minecraft.BasePlayer;
 import pluginbase.minecraft.location.FacingCoordinates;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 interface WorldLink {
@@ -40,6 +42,44 @@ interface WorldLink {
     @NotNull
     Collection<BasePlayer> getPlayers();
 
+    /**
+     * Gets a snapshot of the chunks that are currently loaded in this world.
+     *
+     * @return the chunks that are currently loaded in this world.
+     */
+    @NotNull
+    List<ChunkLink> getLoadedChunks();
+
+    int getEntityCount();
+
+    boolean isChunkLoaded(int x, int z);
+
+    void loadChunk(int x, int z);
+
+    /**
+     * Takes a snapshot of a chunk.  A chunk that is not loaded is loaded for the snapshot, then left for the server
+     * to unload.  Chunks that have not been generated yet are never generated for a snapshot.  This must be called
+     * from the main thread.
+     *
+     * @param x the x coordinate of the chunk, in chunks.
+     * @param z the z coordinate of the chunk, in chunks.
+     * @return a snapshot of the chunk or null if it does not exist yet or could not be loaded.
+     */
+    @Nullable
+    ChunkSnapshotLink getChunkSnapshot(int x, int z);
+
+    int getAnimalSpawnLimit();
+
+    int getMonsterSpawnLimit();
+
+    int getAmbientSpawnLimit();
+
+    int getWaterAnimalSpawnLimit();
+
+    long getTicksPerAnimalSpawns();
+
+    long getTicksPerMonsterSpawns();
+
     void setEnableWeather(final boolean enableWeather);
 
     void setDifficulty(@NotNull final Difficulty difficulty);
@@ -51,4 +91,16 @@ interface WorldLink {
     void setTime(final long time);
 
     void setKeepSpawnInMemory(boolean keepSpawnInMemory);
+
+    void setAnimalSpawnLimit(final int limit);
+
+    void setMonsterSpawnLimit(final int limit);
+
+    void setAmbientSpawnLimit(final int limit);
+
+    void setWaterAnimalSpawnLimit(final int limit);
+
+    void setTicksPerAnimalSpawns(final long ticks);
+
+    void setTicksPerMonsterSpawns(final long ticks);
 }
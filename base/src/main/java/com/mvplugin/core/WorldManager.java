@@ -4,15 +4,20 @@ import com.mvplugin.core.exceptions.MultiverseException;
 import com.mvplugin.core.exceptions.TeleportException;
 import com.mvplugin.core.exceptions.WorldCreationException;
 import com.mvplugin.core.exceptions.WorldManagementException;
+import com.mvplugin.core.metrics.Timer;
 import com.mvplugin.core.minecraft.Generator;
 import com.mvplugin.core.minecraft.WorldEnvironment;
 import com.mvplugin.core.minecraft.WorldType;
 import com.mvplugin.core.util.CoreLogger;
 import com.mvplugin.core.util.Language;
 import com.mvplugin.core.util.SafeTeleporter;
+import com.mvplugin.core.world.BulkModifyResult;
 import com.mvplugin.core.world.WorldCreationSettings;
+import com.mvplugin.core.world.WorldListing;
+import com.mvplugin.core.world.WorldPurger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import pluginbase.config.field.PropertyVetoException;
 import pluginbase.messages.BundledMessage;
 import pluginbase.messages.Message;
 import pluginbase.messages.PluginBaseException;
@@ -27,8 +32,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.logging.Level;
 
 /**
  * Multiverse 2 World Manager API
@@ -38,18 +49,51 @@ import java.util.Map;
  */
 public final class WorldManager {
 
+    static final String CREATE_TIMER = "world.create";
+    static final String LOAD_TIMER = "world.load";
+    static final String UNLOAD_TIMER = "world.unload";
+    static final String SAVE_TIMER = "world.properties.save";
+
     @NotNull
     private final MultiverseCoreAPI api;
     @NotNull
     private final Map<String, MultiverseWorld> worldsMap;
     @NotNull
     private final WorldManagerUtil worldManagerUtil;
+    @NotNull
+    private final StartupProfile startupProfile = new StartupProfile();
+
+    /**
+     * Copies of the properties of the worlds waiting for the next batched save, keyed by lower case name.  Guarded by
+     * itself.
+     */
+    @NotNull
+    private final Map<String, WorldProperties> pendingSaves = new LinkedHashMap<String, WorldProperties>();
+    @Nullable
+    private CompletableFuture<Void> pendingSaveFuture = null;
+
+    /** Incremented whenever a world is added to or removed from {@link #worldsMap}. */
+    private int registryVersion = 0;
+    @Nullable
+    private WorldListing worldListing = null;
+    private int worldListingVersion = -1;
+    private int worldListingUtilVersion = -1;
 
     WorldManager(@NotNull final MultiverseCoreAPI api, @NotNull final WorldManagerUtil worldManagerUtil) {
         this.api = api;
         this.worldManagerUtil = worldManagerUtil;
         this.worldsMap = new HashMap<String, MultiverseWorld>();
-        this.worldsMap.putAll(worldManagerUtil.loadInitialWorlds());
+        this.worldsMap.putAll(worldManagerUtil.loadInitialWorlds(startupProfile));
+    }
+
+    /**
+     * Gets how long loading the worlds took when Multiverse started, broken down into phases and by world.
+     *
+     * @return the startup profile.
+     */
+    @NotNull
+    public StartupProfile getStartupProfile() {
+        return startupProfile;
     }
 
     /**
@@ -123,12 +167,27 @@ public final class WorldManager {
      */
     @NotNull
     public MultiverseWorld addWorld(@NotNull final WorldCreationSettings settings) throws WorldCreationException {
+        return addWorld(settings, CREATE_TIMER);
+    }
+
+    @NotNull
+    private MultiverseWorld addWorld(@NotNull final WorldCreationSettings settings, @NotNull final String timerName)
+            throws WorldCreationException {
         if (this.worldsMap.containsKey(settings.name().toLowerCase())) {
             throw new WorldCreationException(Message.bundleMessage(Language.WORLD_ALREADY_EXISTS, settings.name()));
         }
-        MultiverseWorld mvWorld = this.worldManagerUtil.createWorld(settings);
+        final Timer timer = this.api.getMetrics().timer(timerName);
+        final long start = timer.start();
+        final MultiverseWorld mvWorld;
+        try {
+            mvWorld = this.worldManagerUtil.createWorld(settings);
+        } finally {
+            timer.stop(start);
+        }
         mvWorld.setAdjustSpawn(settings.adjustSpawn());
         this.worldsMap.put(settings.name().toLowerCase(), mvWorld);
+        this.registryVersion++;
+        this.api.getPermissionCache().invalidateWorld(settings.name());
         CoreLogger.fine("World '%s' has been added to multiverse management", settings.name());
         return mvWorld;
     }
@@ -220,7 +279,7 @@ public final class WorldManager {
             settings.adjustSpawn(properties.isAdjustingSpawn());
 
             try {
-                return addWorld(settings);
+                return addWorld(settings, LOAD_TIMER);
             } catch (final WorldCreationException e) {
                 throw new WorldManagementException(Message.bundleMessage(Language.WORLD_LOAD_ERROR, name), e);
             }
@@ -268,17 +327,250 @@ public final class WorldManager {
             } catch (final TeleportException e) {
                 throw new WorldManagementException(Message.bundleMessage(Language.WORLD_UNLOAD_ERROR, world.getName()), e);
             }
-            if (this.worldManagerUtil.unloadWorldFromServer(world)) {
-                removeWorldFromMemory(world);
-                CoreLogger.fine("World '%s' was unloaded from memory.", world.getName());
-            } else {
-                throw new WorldManagementException(Message.bundleMessage(Language.WORLD_COULD_NOT_UNLOAD_FROM_SERVER, world.getName()));
+            final Timer timer = this.api.getMetrics().timer(UNLOAD_TIMER);
+            final long start = timer.start();
+            try {
+                if (this.worldManagerUtil.unloadWorldFromServer(world)) {
+                    removeWorldFromMemory(world);
+                    CoreLogger.fine("World '%s' was unloaded from memory.", world.getName());
+                } else {
+                    throw new WorldManagementException(Message.bundleMessage(Language.WORLD_COULD_NOT_UNLOAD_FROM_SERVER, world.getName()));
+                }
+            } finally {
+                timer.stop(start);
             }
         }
     }
 
     public void saveWorld(@NotNull MultiverseWorld world) throws MultiverseException {
-        worldManagerUtil.saveWorld(world);
+        saveProperties(world);
+    }
+
+    private void saveProperties(@NotNull final MultiverseWorld world) throws MultiverseException {
+        saveProperties(world.getProperties());
+    }
+
+    private void saveProperties(@NotNull final WorldProperties properties) throws MultiverseException {
+        final Timer timer = api.getMetrics().timer(SAVE_TIMER);
+        final long start = timer.start();
+        try {
+            worldManagerUtil.saveWorld(properties);
+        } finally {
+            timer.stop(start);
+        }
+    }
+
+    /**
+     * Saves the given worlds together on a background thread.
+     * <p>
+     * The worlds' properties are copied when this is called, which must be on the main thread, and only the copies are
+     * written in the background.  Worlds passed in while a batch is still waiting to be written join that batch,
+     * replacing any earlier copy, so many calls in quick succession result in a single write of each world.  The
+     * returned future is completed once the batch has been written, or completed exceptionally if any world in it
+     * could not be saved.
+     *
+     * @param worlds the worlds to save.
+     * @return a future that is completed once the worlds have been saved.
+     */
+    @NotNull
+    public CompletableFuture<Void> saveWorlds(@NotNull final Collection<MultiverseWorld> worlds) {
+        if (worlds.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final Map<String, WorldProperties> copies = new LinkedHashMap<String, WorldProperties>(worlds.size());
+        for (final MultiverseWorld world : worlds) {
+            copies.put(world.getName().toLowerCase(), world.getProperties().copyForSaving());
+        }
+        final CompletableFuture<Void> future;
+        final boolean schedule;
+        synchronized (pendingSaves) {
+            pendingSaves.putAll(copies);
+            schedule = pendingSaveFuture == null;
+            if (schedule) {
+                pendingSaveFuture = new CompletableFuture<Void>();
+            }
+            future = pendingSaveFuture;
+        }
+        if (schedule) {
+            api.getTaskScheduler().runTaskAsynchronously(new Runnable() {
+                @Override
+                public void run() {
+                    savePendingWorlds();
+                }
+            });
+        }
+        return future;
+    }
+
+    private void savePendingWorlds() {
+        final List<WorldProperties> worlds;
+        final CompletableFuture<Void> future;
+        synchronized (pendingSaves) {
+            worlds = new ArrayList<WorldProperties>(pendingSaves.values());
+            future = pendingSaveFuture;
+            pendingSaves.clear();
+            pendingSaveFuture = null;
+        }
+        MultiverseException failure = null;
+        for (final WorldProperties world : worlds) {
+            try {
+                saveProperties(world);
+            } catch (MultiverseException e) {
+                CoreLogger.getLogger().log(Level.WARNING, String.format("Could not save world '%s'", world.getName()), e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        CoreLogger.finer("Saved %s worlds in one batch", worlds.size());
+        if (future != null) {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Brings Multiverse up to date with the world files without rebuilding anything that has not changed.
+     * <p>
+     * Only world files that have changed since Multiverse last read or wrote them, or whose profile has changed, are
+     * read again, and their changes are applied to the existing worlds in place.  Worlds whose file was removed are
+     * unloaded and forgotten, and worlds whose file is new are loaded if they are set to auto load.  Everything else,
+     * including players being tracked and worlds that are hibernating, is left as it is.
+     */
+    public void reloadWorlds() {
+        final Set<String> changedProfiles = worldManagerUtil.reloadProfiles();
+        final Collection<String> fileNames = worldManagerUtil.getWorldFileNames();
+        final Set<String> lowerFileNames = new HashSet<String>(fileNames.size() * 2);
+        for (final String name : fileNames) {
+            lowerFileNames.add(name.toLowerCase());
+        }
+        final Set<String> known = new HashSet<String>();
+        for (final String name : worldManagerUtil.getManagedWorldNames()) {
+            known.add(name.toLowerCase());
+        }
+
+        int unloaded = 0;
+        for (final MultiverseWorld world : new ArrayList<MultiverseWorld>(getWorlds())) {
+            if (!lowerFileNames.contains(world.getName().toLowerCase())) {
+                try {
+                    unloadWorld(world);
+                    worldManagerUtil.forgetWorldProperties(world.getName());
+                    unloaded++;
+                } catch (WorldManagementException e) {
+                    CoreLogger.getLogger().log(Level.WARNING, String.format("Could not unload world '%s' whose file was removed", world.getName()), e);
+                }
+            }
+        }
+        for (final String name : known) {
+            if (!lowerFileNames.contains(name) && !isLoaded(name)) {
+                worldManagerUtil.forgetWorldProperties(name);
+                unloaded++;
+            }
+        }
+
+        int changed = 0;
+        int loaded = 0;
+        for (final String name : fileNames) {
+            try {
+                if (!known.contains(name.toLowerCase())) {
+                    if (worldManagerUtil.getWorldProperties(name).isAutoLoad() && !isLoaded(name)) {
+                        loadWorld(name);
+                        loaded++;
+                    }
+                } else if (worldManagerUtil.hasWorldFileChanged(name) || (!changedProfiles.isEmpty()
+                        && changedProfiles.contains(worldManagerUtil.getWorldProperties(name).getProfile().toLowerCase()))) {
+                    if (worldManagerUtil.reloadWorldProperties(name) > 0) {
+                        changed++;
+                        CoreLogger.fine("Applied changes to world '%s' from its file", name);
+                    }
+                }
+            } catch (MultiverseException e) {
+                CoreLogger.getLogger().log(Level.WARNING, String.format("Could not reload world '%s'", name), e);
+            }
+        }
+        if (changed > 0) {
+            invalidateWorldListing();
+        }
+        CoreLogger.config("Reloaded worlds: %s changed, %s loaded, %s removed", changed, loaded, unloaded);
+    }
+
+    /**
+     * Starts a transaction for changing several properties of the given world at once.
+     * <p>
+     * The changes are validated together, written to the server in one pass and saved once when the transaction is
+     * committed; if any of them is rejected, none of them are kept.
+     *
+     * @param world the world to modify.
+     * @return a new transaction for the world.
+     */
+    @NotNull
+    public PropertyTransaction beginTransaction(@NotNull final MultiverseWorld world) {
+        return new PropertyTransaction(this, world);
+    }
+
+    /**
+     * Sets a property on every loaded world matched by the given selector and saves the modified worlds in one
+     * batched background write.
+     * <p>
+     * See {@link com.mvplugin.core.world.WorldSelector} for common selectors.
+     *
+     * @param selector selects the worlds to modify.
+     * @param propertyName the name or alias of the property to set.
+     * @param value the value to set the property to.
+     * @return the worlds that were modified and those that rejected the change.
+     * @throws NoSuchFieldException if there is no property with the given name.
+     */
+    @NotNull
+    public BulkModifyResult modifyWorlds(@NotNull final Predicate<? super MultiverseWorld> selector,
+                                         @NotNull final String propertyName, @NotNull final String value)
+            throws NoSuchFieldException {
+        final List<MultiverseWorld> selected = new ArrayList<MultiverseWorld>();
+        for (final MultiverseWorld world : getWorlds()) {
+            if (selector.test(world)) {
+                selected.add(world);
+            }
+        }
+        return modifyWorlds(selected, propertyName, value);
+    }
+
+    /**
+     * Sets a property on each of the given worlds and saves the modified worlds in one batched background write.
+     * <p>
+     * A world rejecting the value does not stop the change being applied to the others; the reason is recorded in
+     * the result instead.
+     *
+     * @param worlds the worlds to modify.
+     * @param propertyName the name or alias of the property to set.
+     * @param value the value to set the property to.
+     * @return the worlds that were modified and those that rejected the change.
+     * @throws NoSuchFieldException if there is no property with the given name.
+     */
+    @NotNull
+    public BulkModifyResult modifyWorlds(@NotNull final Collection<MultiverseWorld> worlds,
+                                         @NotNull final String propertyName, @NotNull final String value)
+            throws NoSuchFieldException {
+        MultiverseWorld.getPropertyDescriptionKey(propertyName);
+        final List<MultiverseWorld> modified = new ArrayList<MultiverseWorld>(worlds.size());
+        final List<String> modifiedNames = new ArrayList<String>(worlds.size());
+        final Map<String, BundledMessage> failures = new LinkedHashMap<String, BundledMessage>();
+        for (final MultiverseWorld world : worlds) {
+            try {
+                world.setProperty(propertyName, value);
+                modified.add(world);
+                modifiedNames.add(world.getName());
+            } catch (PropertyVetoException e) {
+                failures.put(world.getName(), e.getBundledMessage());
+            } catch (IllegalAccessException e) {
+                failures.put(world.getName(), Message.bundleMessage(Language.Command.Modify.Set.PROPERTY_CANNOT_BE_SET, propertyName));
+            } catch (IllegalArgumentException e) {
+                failures.put(world.getName(), Message.bundleMessage(Language.Command.Modify.PROBABLY_INVALID_VALUE, propertyName));
+            }
+        }
+        CoreLogger.fine("Set '%s' to '%s' in %s worlds (%s rejected)", propertyName, value, modified.size(), failures.size());
+        return new BulkModifyResult(modifiedNames, failures, saveWorlds(modified));
     }
 
     /**
@@ -288,6 +580,50 @@ public final class WorldManager {
      */
     void removeWorldFromMemory(@NotNull final MultiverseWorld world) {
         this.worldsMap.remove(world.getName().toLowerCase());
+        this.registryVersion++;
+    }
+
+    /**
+     * Gets a sorted listing of every world Multiverse manages, loaded or not.
+     * <p>
+     * The listing is only built again after worlds have been added, removed, loaded, unloaded or reloaded, so this is
+     * cheap to call repeatedly.
+     *
+     * @return a listing of all managed worlds.
+     */
+    @NotNull
+    public WorldListing getWorldListing() {
+        final int utilVersion = this.worldManagerUtil.getRegistryVersion();
+        WorldListing listing = this.worldListing;
+        if (listing == null || this.worldListingVersion != this.registryVersion
+                || this.worldListingUtilVersion != utilVersion) {
+            final Map<String, WorldEnvironment> unloaded = new HashMap<String, WorldEnvironment>();
+            for (final String name : getUnloadedWorlds()) {
+                WorldEnvironment environment = null;
+                try {
+                    environment = this.worldManagerUtil.getWorldProperties(name).getEnvironment();
+                } catch (MultiverseException e) {
+                    CoreLogger.fine("Could not determine the environment of unloaded world '%s'", name);
+                }
+                unloaded.put(name, environment);
+            }
+            listing = new WorldListing(getWorlds(), unloaded);
+            this.worldListing = listing;
+            this.worldListingVersion = this.registryVersion;
+            this.worldListingUtilVersion = this.worldManagerUtil.getRegistryVersion();
+            if (CoreLogger.isFinestEnabled()) {
+                CoreLogger.finest("Rebuilt the world listing with %s worlds", listing.size());
+            }
+        }
+        return listing;
+    }
+
+    /**
+     * Discards the cached world listing so that it is built again the next time it is needed.  This must be called
+     * when a property recorded by the listing, such as a world's environment, changes.
+     */
+    void invalidateWorldListing() {
+        this.registryVersion++;
     }
 
     /**
@@ -309,6 +645,16 @@ public final class WorldManager {
         }
     }
 
+    /**
+     * Gets the world purger which removes entities from worlds that don't belong there.
+     *
+     * @return the world purger.
+     */
+    @NotNull
+    public WorldPurger getWorldPurger() {
+        return this.api.getWorldPurger();
+    }
+
     // TODO docs
     @NotNull
     public Collection<String> getUnloadedWorlds() {
@@ -352,6 +698,8 @@ public final class WorldManager {
             } catch (final PluginBaseException e) {
                 throw new WorldManagementException(Message.bundleMessage(Language.WORLD_REMOVE_ERROR, name), e);
             }
+            invalidateWorldListing();
+            this.api.getPermissionCache().invalidateWorld(name);
             return true;
         }
         return false;
@@ -493,8 +841,6 @@ public final class WorldManager {
      */
     //TODO void loadDefaultWorlds();
 
-    //TODO WorldPurger getWorldPurger();
-
     /**
      * Gets the world players will spawn in on first join.
      * Currently this always returns worlds.get(0) from Bukkit.
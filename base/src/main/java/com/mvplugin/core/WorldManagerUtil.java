@@ -17,6 +17,7 @@ import pluginbase.plugin.ServerInterface;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -26,21 +27,51 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
+import java.util.zip.CRC32;
 
 abstract class WorldManagerUtil {
 
     static final String WORLD_FILE_EXT = ".conf";
+    static final String PROFILES_FOLDER = "profiles";
+    static final String ANCHORS_FILE = "anchors.dat";
+    /** How many of the slowest worlds to log once the initial worlds are loaded. */
+    static final int SLOWEST_WORLDS_LOGGED = 5;
 
     @NotNull
     protected final ServerInterface serverInterface;
     @NotNull
     private final File worldsFolder;
+    @NotNull
+    private final File anchorsFile;
 
     @NotNull
     private final Map<String, WorldProperties> worldPropertiesMap;
+    /** Incremented whenever a world is added to or removed from {@link #worldPropertiesMap}. */
+    private int registryVersion = 0;
     @NotNull
     private final Map<String, String> defaultGens;
+    /** What each world file looked like when it was last read or written, keyed by world name. */
+    @NotNull
+    private final Map<String, FileStamp> fileStamps = new ConcurrentHashMap<String, FileStamp>();
+    /** The profile being filled in while the initial worlds load, otherwise null. */
+    @Nullable
+    private StartupProfile loadingProfile = null;
+
+    @NotNull
+    private final File profilesFolder;
+    /** The profiles read so far, keyed by lower case name.  These are templates and are never changed. */
+    @NotNull
+    private final Map<String, WorldProperties> profiles = new ConcurrentHashMap<String, WorldProperties>();
+    @NotNull
+    private final Map<String, FileStamp> profileStamps = new ConcurrentHashMap<String, FileStamp>();
+    /** The built in defaults that worlds without a profile share unchanged settings with. */
+    @NotNull
+    private final WorldProperties defaultTemplate = new WorldProperties();
+    /** The profile named by the last world file read, which the next new world file most likely names too. */
+    @NotNull
+    private volatile String lastProfileRead = "";
 
     public WorldManagerUtil(@NotNull ServerInterface serverInterface, @NotNull File pluginDataFolder) {
         this.serverInterface = serverInterface;
@@ -48,6 +79,11 @@ abstract class WorldManagerUtil {
         if (!worldsFolder.exists()) {
             worldsFolder.mkdirs();
         }
+        this.anchorsFile = new File(pluginDataFolder, ANCHORS_FILE);
+        this.profilesFolder = new File(pluginDataFolder, PROFILES_FOLDER);
+        if (!profilesFolder.exists()) {
+            profilesFolder.mkdirs();
+        }
         this.worldPropertiesMap = new HashMap<>();
         this.defaultGens = getDefaultWorldGenerators();
         getDefaultWorldGenerators();
@@ -55,24 +91,47 @@ abstract class WorldManagerUtil {
 
     abstract Map<String, String> getDefaultWorldGenerators();
 
-    // Names should be lower case
+    /**
+     * Gets the file the anchors are kept in.
+     */
+    @NotNull
+    File getAnchorsFile() {
+        return anchorsFile;
+    }
+
+    /**
+     * Loads the worlds Multiverse manages, timing each phase and each world in the given profile.
+     *
+     * @param profile The profile to fill in.
+     * @return The loaded worlds by lower case name.
+     */
     @NotNull
-    Map<String, MultiverseWorld> loadInitialWorlds() {
+    Map<String, MultiverseWorld> loadInitialWorlds(@NotNull final StartupProfile profile) {
+        final long start = System.nanoTime();
+        loadingProfile = profile;
         InitialWorldAggregator worldAggregator = createInitialWorldAggregator(worldsFolder);
+        profile.setAggregationNanos(System.nanoTime() - start);
         Map<String, MultiverseWorld> initialWorldsMap = new HashMap<>(worldAggregator.getNumberOfPotentialWorlds());
         Iterator<String> loadableWorldsIterator = worldAggregator.getLoadableWorldsIterator();
         while (loadableWorldsIterator.hasNext()) {
             String worldName = loadableWorldsIterator.next();
+            final long worldStart = System.nanoTime();
             MultiverseWorld multiverseWorld = createMultiverseWorldByName(worldName);
             if (multiverseWorld != null) {
                 initialWorldsMap.put(multiverseWorld.getName().toLowerCase(), multiverseWorld);
             } else {
                 cacheNotLoadedWorldPropertiesLogErrors(worldName);
             }
+            profile.getWorldTiming(worldName).finish(System.nanoTime() - worldStart, multiverseWorld != null);
         }
+        loadingProfile = null;
+        profile.setTotalNanos(System.nanoTime() - start);
 
         // Simple Output to the Console to show how many Worlds were loaded.
         CoreLogger.config("Multiverse is now managing: %s", worldAggregator.getCommaSeparatedWorldNames());
+        CoreLogger.config("Loading %s worlds took %.1fms, of which %.1fms was spent finding them. Slowest worlds: %s",
+                worldAggregator.getNumberOfPotentialWorlds(), profile.getTotalNanos() / 1000000D,
+                profile.getAggregationNanos() / 1000000D, profile.getSlowestWorlds(SLOWEST_WORLDS_LOGGED));
         return initialWorldsMap;
     }
 
@@ -104,17 +163,15 @@ abstract class WorldManagerUtil {
     @NotNull
     private WorldProperties loadOrCreateWorldProperties(@NotNull final String worldName) throws MultiverseException {
         File file = getWorldFile(worldName);
+        final long start = System.nanoTime();
         try {
             if (!file.exists()) {
                 file.createNewFile();
             }
             DataSource dataSource = HoconDataSource.builder().setCommentsEnabled(true).setFile(file).build();
-            WorldProperties defaults = new WorldProperties(worldName);
-            WorldProperties worldProperties = dataSource.loadToObject(defaults);
-            if (worldProperties == null) {
-                worldProperties = defaults;
-            }
+            WorldProperties worldProperties = readWorldProperties(worldName, dataSource);
             saveWorldProperties(worldProperties, dataSource, file);
+            recordFileStamp(worldName, file);
             return worldProperties;
         } catch (IOException e) {
             throw new MultiverseException(Message.bundleMessage(Language.WORLD_SAVE_FILE_ERROR, file), e);
@@ -123,12 +180,132 @@ abstract class WorldManagerUtil {
                 throw (MultiverseException) e;
             }
             throw new MultiverseException(e);
+        } finally {
+            final StartupProfile profile = loadingProfile;
+            if (profile != null) {
+                profile.getWorldTiming(worldName).addPropertiesNanos(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Reads a world's properties from its file.  If the file names a profile, every value the file does not set is
+     * taken from that profile rather than from the built in defaults.
+     * <p>
+     * A file using a profile only holds its differences from it, so it has to be read on top of the profile's
+     * values.  To parse the file only once, it is read on top of the profile it most likely names: the one it named
+     * when it was last read, or for a new world the one the last world file read named.  It is only read again when
+     * it turns out to name a different profile.
+     */
+    @NotNull
+    private WorldProperties readWorldProperties(@NotNull final String worldName, @NotNull final DataSource dataSource)
+            throws PluginBaseException {
+        final WorldProperties known = worldPropertiesMap.get(worldName);
+        final String expected = known != null ? known.getProfile() : lastProfileRead;
+        WorldProperties template = expected.isEmpty() ? null : getProfile(expected);
+        WorldProperties worldProperties = readWorldProperties(worldName, dataSource, template);
+        final String named = worldProperties.getProfile();
+        if (!named.equalsIgnoreCase(expected)) {
+            final WorldProperties namedTemplate = named.isEmpty() ? null : getProfile(named);
+            if (namedTemplate != template) {
+                template = namedTemplate;
+                worldProperties = readWorldProperties(worldName, dataSource, template);
+            }
+        }
+        // A profile that does not exist is no use as a guess for the next world.
+        lastProfileRead = template != null ? named : "";
+        worldProperties.shareUnchangedValuesWith(template != null ? template : defaultTemplate);
+        return worldProperties;
+    }
+
+    @NotNull
+    private WorldProperties readWorldProperties(@NotNull final String worldName, @NotNull final DataSource dataSource,
+                                                @Nullable final WorldProperties profile) throws PluginBaseException {
+        final WorldProperties defaults = new WorldProperties(worldName);
+        if (profile != null) {
+            defaults.copyChangesFrom(profile);
+        }
+        final WorldProperties worldProperties = dataSource.loadToObject(defaults);
+        return worldProperties != null ? worldProperties : defaults;
+    }
+
+    /**
+     * Gets the profile with the given name, reading it from the profiles folder if it has not been read yet.
+     *
+     * @param name the name of the profile.
+     * @return the profile or null if there is no usable profile by that name.
+     */
+    @Nullable
+    WorldProperties getProfile(@NotNull final String name) {
+        final String key = name.toLowerCase();
+        WorldProperties profile = profiles.get(key);
+        if (profile != null) {
+            return profile;
+        }
+        final File file = new File(profilesFolder, name + WORLD_FILE_EXT);
+        if (!file.isFile()) {
+            CoreLogger.warning("Profile '%s' does not exist, the built in defaults will be used instead.", name);
+            return null;
+        }
+        try {
+            DataSource dataSource = HoconDataSource.builder().setCommentsEnabled(true).setFile(file).build();
+            final WorldProperties defaults = new WorldProperties();
+            profile = dataSource.loadToObject(defaults);
+            if (profile == null) {
+                profile = defaults;
+            }
+            profileStamps.put(key, FileStamp.of(file));
+        } catch (PluginBaseException | IOException e) {
+            CoreLogger.getLogger().log(Level.WARNING, String.format("Could not read profile '%s' from '%s'", name, file), e);
+            return null;
+        }
+        profiles.put(key, profile);
+        CoreLogger.fine("Read profile '%s'", name);
+        return profile;
+    }
+
+    /**
+     * Forgets every profile whose file has changed or been removed so that it is read again the next time it is
+     * needed.
+     *
+     * @return the lower case names of the profiles that changed.
+     */
+    @NotNull
+    Set<String> reloadProfiles() {
+        final Set<String> changed = new HashSet<String>();
+        for (final Map.Entry<String, FileStamp> entry : profileStamps.entrySet()) {
+            final File file = entry.getValue().file;
+            boolean same = entry.getValue().matches(file);
+            if (!same && file.isFile()) {
+                try {
+                    same = FileStamp.of(file).hash == entry.getValue().hash;
+                } catch (IOException ignore) {
+                }
+            }
+            if (!same) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (final String name : changed) {
+            profiles.remove(name);
+            profileStamps.remove(name);
         }
+        return changed;
     }
 
     private void saveWorldProperties(@NotNull WorldProperties properties, @NotNull DataSource dataSource, @NotNull File file) throws MultiverseException {
+        Object toSave = properties;
+        if (!properties.getProfile().isEmpty()) {
+            final WorldProperties profile = getProfile(properties.getProfile());
+            if (profile != null) {
+                final Map<String, Object> overrides = properties.getOverrides(profile);
+                if (overrides != null) {
+                    toSave = overrides;
+                }
+            }
+        }
         try {
-            dataSource.save(properties);
+            dataSource.save(toSave);
         } catch (PluginBaseException e) {
             throw new MultiverseException(Message.bundleMessage(Language.WORLD_SAVE_FILE_ERROR, file), e);
         }
@@ -139,7 +316,15 @@ abstract class WorldManagerUtil {
         settings.env(properties.getEnvironment());
         settings.generator(properties.getGenerator());
         settings.adjustSpawn(properties.isAdjustingSpawn());
+        final StartupProfile profile = loadingProfile;
+        final StartupProfile.WorldTiming timing = profile != null ? profile.getWorldTiming(properties.getName()) : null;
+        // Server implementations read the world file again while creating the world, which is timed separately.
+        final long propertiesNanos = timing != null ? timing.getPropertiesNanos() : 0L;
+        final long start = System.nanoTime();
         MultiverseWorld world = createWorld(settings);
+        if (timing != null) {
+            timing.addCreateNanos(System.nanoTime() - start - (timing.getPropertiesNanos() - propertiesNanos));
+        }
         world.setAdjustSpawn(settings.adjustSpawn());
         return world;
     }
@@ -174,23 +359,29 @@ abstract class WorldManagerUtil {
         } else {
             final WorldProperties worldProperties = loadOrCreateWorldProperties(worldName);
             worldPropertiesMap.put(worldName, worldProperties);
+            registryVersion++;
             return worldProperties;
         }
     }
 
     @NotNull
     public String getCorrectlyCasedWorldName(@NotNull final String name) {
-        String correctName = getCorrectlyCasedWorldNameFromServer(name);
-        if (correctName == null) {
-            for (final String propsName : this.worldPropertiesMap.keySet()) {
-                if (name.equalsIgnoreCase(propsName)) {
-                    return propsName;
-                }
+        final String correctName = getCorrectlyCasedWorldNameFromServer(name);
+        if (correctName != null) {
+            return correctName;
+        }
+        for (final String propsName : this.worldPropertiesMap.keySet()) {
+            if (name.equalsIgnoreCase(propsName)) {
+                return propsName;
             }
         }
-        for (final File file : serverInterface.getWorldContainer().listFiles()) {
-            if (isThisAWorld(file) && file.getName().equalsIgnoreCase(name)) {
-                return file.getName();
+        final File[] files = serverInterface.getWorldContainer().listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                // Compare the name first, checking every folder for world files is far more expensive.
+                if (file.getName().equalsIgnoreCase(name) && isThisAWorld(file)) {
+                    return file.getName();
+                }
             }
         }
         return name;
@@ -260,6 +451,17 @@ abstract class WorldManagerUtil {
         }
         CoreLogger.fine("Removed world properties for world '%s'", worldName);
         this.worldPropertiesMap.remove(worldName);
+        this.fileStamps.remove(worldName);
+        this.registryVersion++;
+    }
+
+    /**
+     * Gets a number that changes whenever a world becomes or stops being managed.
+     *
+     * @return the current version of the set of managed worlds.
+     */
+    int getRegistryVersion() {
+        return registryVersion;
     }
 
     @NotNull
@@ -268,9 +470,160 @@ abstract class WorldManagerUtil {
     }
 
     public void saveWorld(@NotNull MultiverseWorld world) throws MultiverseException {
-        File worldFile = getWorldFile(world.getName());
+        saveWorld(world.getProperties());
+    }
+
+    /**
+     * Writes a world's properties to its file.
+     *
+     * @param properties the properties of the world, which may be a copy made for saving.
+     * @throws MultiverseException if the file could not be written.
+     */
+    void saveWorld(@NotNull WorldProperties properties) throws MultiverseException {
+        File worldFile = getWorldFile(properties.getName());
         DataSource dataSource = HoconDataSource.builder().setCommentsEnabled(true).setFile(worldFile).build();
-        saveWorldProperties(world.getProperties(), dataSource, worldFile);
+        saveWorldProperties(properties, dataSource, worldFile);
+        recordFileStamp(properties.getName(), worldFile);
+    }
+
+    /**
+     * Gets the names of all worlds that currently have a file in the worlds folder.
+     *
+     * @return the names of all worlds with a world file.
+     */
+    @NotNull
+    public Collection<String> getWorldFileNames() {
+        final File[] files = worldsFolder.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(final File dir, @NotNull final String name) {
+                return name.endsWith(WORLD_FILE_EXT);
+            }
+        });
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        final List<String> names = new ArrayList<String>(files.length);
+        for (final File file : files) {
+            names.add(file.getName().substring(0, file.getName().length() - WORLD_FILE_EXT.length()));
+        }
+        return names;
+    }
+
+    /**
+     * Checks whether the world's file has been changed by something other than Multiverse since it was last read or
+     * written.
+     * <p>
+     * The file is only read if its modification time or size has changed, and a file that was merely touched is not
+     * considered changed.
+     *
+     * @param worldName the name of the world.
+     * @return true if the file's contents are different from when Multiverse last read or wrote them.
+     */
+    public boolean hasWorldFileChanged(@NotNull final String worldName) {
+        final String name = getCorrectlyCasedWorldName(worldName);
+        final File file = getWorldFile(name);
+        final FileStamp stamp = fileStamps.get(name);
+        if (stamp == null) {
+            return true;
+        }
+        if (stamp.matches(file)) {
+            return false;
+        }
+        try {
+            final FileStamp current = FileStamp.of(file);
+            if (current.hash == stamp.hash) {
+                fileStamps.put(name, current);
+                return false;
+            }
+        } catch (IOException e) {
+            CoreLogger.getLogger().log(Level.WARNING, String.format("Could not read world file '%s'", file), e);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the world's file again and copies any values that changed onto the world's existing properties, so that
+     * anything holding on to them, such as the loaded world, sees the new values.
+     *
+     * @param worldName the name of the world.
+     * @return the number of properties that changed.
+     * @throws MultiverseException if the world file could not be read.
+     */
+    public int reloadWorldProperties(@NotNull final String worldName) throws MultiverseException {
+        final String name = getCorrectlyCasedWorldName(worldName);
+        final WorldProperties current = worldPropertiesMap.get(name);
+        if (current == null) {
+            getWorldProperties(name);
+            return 0;
+        }
+        final File file = getWorldFile(name);
+        try {
+            DataSource dataSource = HoconDataSource.builder().setCommentsEnabled(true).setFile(file).build();
+            WorldProperties reloaded = readWorldProperties(name, dataSource);
+            recordFileStamp(name, file);
+            return current.copyChangesFrom(reloaded);
+        } catch (PluginBaseException e) {
+            if (e instanceof MultiverseException) {
+                throw (MultiverseException) e;
+            }
+            throw new MultiverseException(e);
+        }
+    }
+
+    /**
+     * Forgets the cached properties of a world whose file no longer exists.  Unlike
+     * {@link #removeWorldProperties(String)}, this does not touch the file system.
+     *
+     * @param worldName the name of the world.
+     */
+    public void forgetWorldProperties(@NotNull final String worldName) {
+        for (final String propsName : new ArrayList<String>(this.worldPropertiesMap.keySet())) {
+            if (worldName.equalsIgnoreCase(propsName)) {
+                this.worldPropertiesMap.remove(propsName);
+                this.fileStamps.remove(propsName);
+                this.registryVersion++;
+            }
+        }
+    }
+
+    private void recordFileStamp(@NotNull final String worldName, @NotNull final File file) {
+        try {
+            fileStamps.put(worldName, FileStamp.of(file));
+        } catch (IOException e) {
+            fileStamps.remove(worldName);
+            CoreLogger.fine("Could not fingerprint world file '%s': %s", file, e.getMessage());
+        }
+    }
+
+    /**
+     * The modification time, size and a hash of the contents of a file.
+     */
+    private static final class FileStamp {
+        @NotNull
+        private final File file;
+        private final long modified;
+        private final long length;
+        private final long hash;
+
+        private FileStamp(@NotNull final File file, final long modified, final long length, final long hash) {
+            this.file = file;
+            this.modified = modified;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        @NotNull
+        static FileStamp of(@NotNull final File file) throws IOException {
+            final long modified = file.lastModified();
+            final byte[] contents = Files.readAllBytes(file.toPath());
+            final CRC32 crc = new CRC32();
+            crc.update(contents);
+            return new FileStamp(file, modified, contents.length, crc.getValue());
+        }
+
+        boolean matches(@NotNull final File file) {
+            return file.lastModified() == modified && file.length() == length;
+        }
     }
 
     /**
@@ -33,9 +33,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,6 +51,16 @@ import static com.mvplugin.core.util.PropertyDescriptions.*;
 @NoTypeKey
 final class WorldProperties extends PropertiesWrapper {
 
+    /** Marks a {@link Proxy} whose value has not been read from the world since it was last invalidated. */
+    private static final Object UNCACHED = new Object();
+    /** How long the cached spawn location is used before it is read from the world again. */
+    private static final long SPAWN_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
+    /** Counts changes to the alias of any world so that anything indexing aliases can tell when to rebuild. */
+    private static final AtomicInteger ALIAS_VERSION = new AtomicInteger();
+
+    private static final Map<String, String[]> ALIASES = new LinkedHashMap<String, String[]>();
+
     static {
         createAlias("curr", "currency");
         createAlias("scaling", "scale");
@@ -70,6 +84,21 @@ final class WorldProperties extends PropertiesWrapper {
 
     private static void createAlias(@NotNull String alias, @NotNull String... propertyName) {
         PropertyAliases.createAlias(WorldProperties.class, alias, propertyName);
+        ALIASES.put(alias, propertyName);
+    }
+
+    /**
+     * Gets the precompiled accessors for the properties of this class.  The table is built the first time it is
+     * needed.
+     */
+    @NotNull
+    static PropertyAccessorTable getAccessorTable() {
+        return AccessorTableHolder.TABLE;
+    }
+
+    private static final class AccessorTableHolder {
+        private static final PropertyAccessorTable TABLE = PropertyAccessorTable.build(WorldProperties.class,
+                Collections.unmodifiableMap(ALIASES));
     }
 
     @Immutable
@@ -131,6 +160,12 @@ final class WorldProperties extends PropertiesWrapper {
             return worldLink.getDifficulty();
         }
 
+        @Override
+        protected boolean isCacheable() {
+            // Commands and other plugins change this without an event, and it is cheap to read.
+            return false;
+        }
+
         @Override
         public void setValue(final Difficulty value) {
             worldLink.setDifficulty(value);
@@ -143,6 +178,12 @@ final class WorldProperties extends PropertiesWrapper {
             return TimeHelper.asString(worldLink.getTime());
         }
 
+        @Override
+        protected boolean isCacheable() {
+            // The time changes every tick.
+            return false;
+        }
+
         @Override
         protected void setValue(final String value) {
             worldLink.setTime(TimeHelper.asLong(value));
@@ -162,6 +203,12 @@ final class WorldProperties extends PropertiesWrapper {
             return worldLink.getSpawnLocation();
         }
 
+        @Override
+        protected long getRecheckNanos() {
+            // The vanilla setworldspawn command moves the spawn without an event.
+            return SPAWN_RECHECK_NANOS;
+        }
+
         @Override
         protected void setValue(final FacingCoordinates value) {
             worldLink.setSpawnLocation(value);
@@ -191,6 +238,12 @@ final class WorldProperties extends PropertiesWrapper {
             return worldLink.getPVP();
         }
 
+        @Override
+        protected boolean isCacheable() {
+            // Other plugins change this without an event, and it is cheap to read.
+            return false;
+        }
+
         @Override
         protected void setValue(final Boolean value) {
             worldLink.setPVP(value);
@@ -204,11 +257,13 @@ final class WorldProperties extends PropertiesWrapper {
     private Proxy<Boolean> keepSpawnInMemory = new Proxy<Boolean>(true) {
         @Override
         protected Boolean getValue() {
-            return worldLink.getKeepSpawnInMemory();
+            // The spawn chunk releaser turns this off on the server temporarily, which must not end up in the config.
+            return backupValue;
         }
 
         @Override
         protected void setValue(final Boolean value) {
+            backupValue = value;
             worldLink.setKeepSpawnInMemory(value);
         }
     };
@@ -293,6 +348,28 @@ final class WorldProperties extends PropertiesWrapper {
     @Description(GAME_MODE_KEY)
     @NotNull
     private GameMode gameMode = GameMode.SURVIVAL;
+    @Comment({
+            "The hibernateAfter property is the number of seconds this world may be empty before it is unloaded to save memory.",
+            "A hibernating world stays managed and is loaded again as soon as someone teleports to it.",
+            "A value of -1 or lower disables hibernation."
+    })
+    @Description(HIBERNATE_AFTER_KEY)
+    private int hibernateAfter = -1;
+    @Comment({
+            "The releaseSpawnAfter property is the number of seconds this world may be empty before its spawn chunks are no longer kept in memory.",
+            "The spawn chunks are loaded and kept in memory again when a player nears spawn or is teleported to this world.",
+            "This only applies while keepSpawnInMemory is true. A value of -1 or lower disables it."
+    })
+    @Description(RELEASE_SPAWN_AFTER_KEY)
+    private int releaseSpawnAfter = -1;
+    @Comment({
+            "The profile property names a profile in the profiles folder that supplies every value not set in this file.",
+            "Worlds using a profile only store the values that differ from it.",
+            "Leave it empty to use the built in defaults. A change takes effect the next time this file is read."
+    })
+    @Description(PROFILE_KEY)
+    @NotNull
+    private String profile = "";
 
     @NotNull
     @Immutable
@@ -308,7 +385,7 @@ final class WorldProperties extends PropertiesWrapper {
     // TODO Add comments and description
     @NotNull
     @Immutable
-    private final Map<PortalType, ConnectedWorld> connectedWorlds = new HashMap<PortalType, ConnectedWorld>(PortalType.values().length) {{
+    private Map<PortalType, ConnectedWorld> connectedWorlds = new HashMap<PortalType, ConnectedWorld>(PortalType.values().length) {{
         // TODO will this actually work with SerializationConfigurable?
         for (PortalType portalType : PortalType.values()) {
             // This is not ideal... Better options?
@@ -325,6 +402,16 @@ final class WorldProperties extends PropertiesWrapper {
     @Immutable
     private transient WorldLink worldLink;
 
+    /**
+     * Whether {@link #connectedWorlds} is shared with a profile and must be copied before it is changed.  Most worlds
+     * never change these settings, so sharing them saves a map and an object per portal type for every world.
+     */
+    private transient boolean connectedWorldsShared = false;
+
+    /** The values waiting to be written to the world while writes are deferred, or null when they are not. */
+    @Nullable
+    private transient Map<Proxy<?>, Object> deferredWrites = null;
+
     public WorldProperties() { }
 
     public WorldProperties(String name) {
@@ -333,6 +420,135 @@ final class WorldProperties extends PropertiesWrapper {
 
     public void linkToWorld(@Nullable WorldLink worldLink) {
         this.worldLink = worldLink;
+        if (worldLink != null) {
+            worldLink.setKeepSpawnInMemory(isKeepSpawnInMemory());
+        }
+        this.spawning.linkToWorld(worldLink);
+        invalidateCachedValues();
+    }
+
+    /**
+     * Discards the cached values of every property that is read from the world so that they are read from the world
+     * again the next time they are needed.  This must be called whenever the world changes one of these values by
+     * means other than the setters of this class.
+     */
+    void invalidateCachedValues() {
+        name.invalidate();
+        uuid.invalidate();
+        type.invalidate();
+        environment.invalidate();
+        difficulty.invalidate();
+        spawnLocation.invalidate();
+        seed.invalidate();
+        pvp.invalidate();
+        keepSpawnInMemory.invalidate();
+        allowWeather.invalidate();
+    }
+
+    /**
+     * Holds back every change that would be written to the world until {@link #applyDeferredWrites()} or
+     * {@link #discardDeferredWrites()} is called.  In the meantime the new values are read back as if they had been
+     * written.
+     */
+    void deferWorldWrites() {
+        if (deferredWrites == null) {
+            deferredWrites = new LinkedHashMap<Proxy<?>, Object>();
+        }
+        spawning.deferWorldWrites();
+    }
+
+    /**
+     * Writes every deferred change to the world, each property once, and stops deferring.
+     */
+    void applyDeferredWrites() {
+        final Map<Proxy<?>, Object> writes = deferredWrites;
+        deferredWrites = null;
+        if (writes != null) {
+            for (final Map.Entry<Proxy<?>, Object> write : writes.entrySet()) {
+                write.getKey().write(write.getValue());
+            }
+        }
+        spawning.applyDeferredWrites();
+    }
+
+    /**
+     * Throws away every deferred change without writing it to the world and stops deferring.
+     */
+    void discardDeferredWrites() {
+        deferredWrites = null;
+        spawning.discardDeferredWrites();
+        invalidateCachedValues();
+    }
+
+    /**
+     * Copies every value of the given properties that differs from this one onto this one, writing the changes to
+     * the world in a single pass.  This is how changes made to a world file by hand are picked up without replacing
+     * the world's properties object.
+     *
+     * @param source properties freshly read from the world's file.
+     * @return the number of properties that changed.
+     */
+    int copyChangesFrom(@NotNull final WorldProperties source) {
+        int changed = 0;
+        deferWorldWrites();
+        try {
+            for (final PropertyAccessorTable.Accessor accessor : getAccessorTable().getAccessors()) {
+                if (accessor.isImmutable()) {
+                    continue;
+                }
+                Object value = accessor.get(source);
+                final Object current = accessor.get(this);
+                if (value == null ? current == null : value.equals(current)) {
+                    continue;
+                }
+                if (value instanceof List) {
+                    value = new ArrayList<Object>((List<?>) value);
+                }
+                if (accessor.assign(this, value)) {
+                    changed++;
+                    if (isAlias(accessor)) {
+                        aliasChanged();
+                    }
+                }
+            }
+            for (final Map.Entry<PortalType, ConnectedWorld> entry : source.connectedWorlds.entrySet()) {
+                final ConnectedWorld connectedWorld = connectedWorlds.get(entry.getKey());
+                if (connectedWorld == null || !connectedWorld.isSameAs(entry.getValue())) {
+                    getConnectedWorldForUpdate(entry.getKey()).copyFrom(entry.getValue());
+                    changed++;
+                }
+            }
+        } finally {
+            applyDeferredWrites();
+        }
+        return changed;
+    }
+
+    /**
+     * Copies every value that is stored in the world file into new properties that are not linked to the world, so
+     * that they can be written on another thread while the world keeps changing.  This must be called on the main
+     * thread, since reading some of the values asks the world for them.
+     *
+     * @return a copy of these properties that nothing else holds.
+     */
+    @NotNull
+    WorldProperties copyForSaving() {
+        final WorldProperties copy = new WorldProperties(getName());
+        for (final PropertyAccessorTable.Accessor accessor : getAccessorTable().getAccessors()) {
+            if (accessor.isImmutable()) {
+                continue;
+            }
+            Object value = accessor.get(this);
+            if (value instanceof List) {
+                value = new ArrayList<Object>((List<?>) value);
+            }
+            accessor.assign(copy, value);
+        }
+        copy.profile = profile;
+        for (final Map.Entry<PortalType, ConnectedWorld> entry : connectedWorlds.entrySet()) {
+            copy.getConnectedWorldForUpdate(entry.getKey()).copyFrom(entry.getValue());
+        }
+        return copy;
     }
 
     @NotNull
@@ -420,6 +636,26 @@ final class WorldProperties extends PropertiesWrapper {
 
     public void setAlias(@NotNull String alias) {
         this.alias = alias;
+        aliasChanged();
+    }
+
+    /**
+     * Gets a number that changes whenever the alias of any world changes.
+     */
+    static int getAliasVersion() {
+        return ALIAS_VERSION.get();
+    }
+
+    /**
+     * Records that the alias of a world changed.  Writes made through the {@link PropertyAccessorTable} bypass
+     * {@link #setAlias(String)}, so whatever makes them must call this itself.
+     */
+    static void aliasChanged() {
+        ALIAS_VERSION.incrementAndGet();
+    }
+
+    static boolean isAlias(@NotNull final PropertyAccessorTable.Accessor accessor) {
+        return accessor.getName().equals("alias");
     }
 
     public boolean isHidden() {
@@ -513,6 +749,31 @@ final class WorldProperties extends PropertiesWrapper {
         this.gameMode = gameMode;
     }
 
+    public int getHibernateAfter() {
+        return hibernateAfter;
+    }
+
+    public void setHibernateAfter(int hibernateAfter) {
+        this.hibernateAfter = hibernateAfter;
+    }
+
+    public int getReleaseSpawnAfter() {
+        return releaseSpawnAfter;
+    }
+
+    public void setReleaseSpawnAfter(int releaseSpawnAfter) {
+        this.releaseSpawnAfter = releaseSpawnAfter;
+    }
+
+    @NotNull
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(@Nullable String profile) {
+        this.profile = profile != null ? profile : "";
+    }
+
     @NotNull
     public String getName() {
         return name.get();
@@ -533,8 +794,27 @@ final class WorldProperties extends PropertiesWrapper {
         return worldBlackList;
     }
 
+    /**
+     * Gets a copy of the connected world settings for the given portal type.  The settings may be shared with other
+     * worlds, so changing the copy changes nothing; use {@link #getConnectedWorldForUpdate(PortalType)} for that.
+     */
     @NotNull
     public ConnectedWorld getConnectedWorld(@NotNull PortalType portalType) {
+        final ConnectedWorld copy = new ConnectedWorld();
+        final ConnectedWorld connectedWorld = connectedWorlds.get(portalType);
+        if (connectedWorld != null) {
+            copy.copyFrom(connectedWorld);
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the connected world settings for the given portal type so that they can be changed, first making this
+     * world's own copy of them if they are currently shared.
+     */
+    @NotNull
+    ConnectedWorld getConnectedWorldForUpdate(@NotNull PortalType portalType) {
+        unshareValues();
         ConnectedWorld connectedWorld = connectedWorlds.get(portalType);
         if (connectedWorld == null) {
             connectedWorld = new ConnectedWorld();
@@ -543,6 +823,128 @@ final class WorldProperties extends PropertiesWrapper {
         return connectedWorld;
     }
 
+    /**
+     * Makes this world's own copy of every nested setting it currently shares with a profile.  This must be called
+     * before anything that may change these settings without going through
+     * {@link #getConnectedWorldForUpdate(PortalType)}, such as the generic property setters.
+     */
+    void unshareValues() {
+        if (connectedWorldsShared) {
+            final Map<PortalType, ConnectedWorld> copy = new HashMap<PortalType, ConnectedWorld>(connectedWorlds.size() + 1);
+            for (final Map.Entry<PortalType, ConnectedWorld> entry : connectedWorlds.entrySet()) {
+                final ConnectedWorld connectedWorld = new ConnectedWorld();
+                connectedWorld.copyFrom(entry.getValue());
+                copy.put(entry.getKey(), connectedWorld);
+            }
+            connectedWorlds = copy;
+            connectedWorldsShared = false;
+        }
+    }
+
+    /**
+     * @return true if this world currently shares some of its nested settings with a profile.
+     */
+    boolean isSharingValues() {
+        return connectedWorldsShared;
+    }
+
+    /**
+     * Makes this world use the template's objects for any nested settings that are the same in both, so that worlds
+     * created from the same profile do not each hold their own copy of them.  They are copied again as soon as this
+     * world changes them.
+     *
+     * @param template the profile or defaults this world was created from.  It must never be changed afterwards.
+     */
+    void shareUnchangedValuesWith(@NotNull final WorldProperties template) {
+        if (connectedWorlds != template.connectedWorlds && isSameConnectedWorlds(template)) {
+            connectedWorlds = template.connectedWorlds;
+            connectedWorldsShared = true;
+        }
+    }
+
+    /**
+     * Gets the values of this world that differ from the given profile, nested the way they appear in a world file,
+     * so that a world using the profile can be stored without repeating the profile's values.
+     *
+     * @param template the profile this world uses.
+     * @return the values that differ from the profile, or null if some of them cannot be stored this way, in which
+     *     case the whole world must be stored.
+     */
+    @Nullable
+    Map<String, Object> getOverrides(@NotNull final WorldProperties template) {
+        final Map<String, Object> overrides = new LinkedHashMap<String, Object>();
+        for (final PropertyAccessorTable.Accessor accessor : getAccessorTable().getAccessors()) {
+            final Object value = accessor.get(this);
+            final Object templateValue = accessor.get(template);
+            if (value == null ? templateValue == null : value.equals(templateValue)) {
+                continue;
+            }
+            if (accessor.isImmutable()) {
+                continue;
+            }
+            final Object serialized = serializeOverride(value);
+            if (serialized == null) {
+                return null;
+            }
+            Map<String, Object> section = overrides;
+            final String[] path = accessor.getName().split("\\.");
+            for (int i = 0; i < path.length - 1; i++) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> next = (Map<String, Object>) section.get(path[i]);
+                if (next == null) {
+                    next = new LinkedHashMap<String, Object>();
+                    section.put(path[i], next);
+                }
+                section = next;
+            }
+            section.put(path[path.length - 1], serialized);
+        }
+        if (!isSameConnectedWorlds(template)) {
+            // These can only be stored as a whole.
+            return null;
+        }
+        overrides.put("profile", profile);
+        return overrides;
+    }
+
+    private boolean isSameConnectedWorlds(@NotNull final WorldProperties template) {
+        if (connectedWorlds == template.connectedWorlds) {
+            return true;
+        }
+        if (connectedWorlds.size() != template.connectedWorlds.size()) {
+            return false;
+        }
+        for (final Map.Entry<PortalType, ConnectedWorld> entry : connectedWorlds.entrySet()) {
+            final ConnectedWorld other = template.connectedWorlds.get(entry.getKey());
+            if (other == null || !other.isSameAs(entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Object serializeOverride(@Nullable final Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else if (value instanceof FacingCoordinates) {
+            return FacingCoordinatesSerializer.toMap((FacingCoordinates) value);
+        } else if (value instanceof List) {
+            final List<Object> list = new ArrayList<Object>(((List<?>) value).size());
+            for (final Object element : (List<?>) value) {
+                final Object serialized = serializeOverride(element);
+                if (serialized == null) {
+                    return null;
+                }
+                list.add(serialized);
+            }
+            return list;
+        }
+        return null;
+    }
+
     private static class ScaleValidator implements Validator<Double> {
         @Nullable
         @Override
@@ -594,71 +996,224 @@ final class WorldProperties extends PropertiesWrapper {
 
         @Comment({"The animalTicks property specifies the rate in ticks at which animals are spawned."})
         @Description(ANIMAL_TICKS_KEY)
-        private long animalTicks = -1L;
+        private SpawningProxy<Long> animalTicks = new SpawningProxy<Long>(-1L) {
+            @Override
+            protected void apply(@NotNull final WorldLink worldLink, final Long value) {
+                worldLink.setTicksPerAnimalSpawns(value >= 0L ? value : defaultAnimalTicks);
+            }
+        };
         @Comment({"The monsterTicks property specifies the rate in ticks at which monsters are spawned."})
         @Description(MONSTER_TICKS_KEY)
-        private long monsterTicks = -1L;
+        private SpawningProxy<Long> monsterTicks = new SpawningProxy<Long>(-1L) {
+            @Override
+            protected void apply(@NotNull final WorldLink worldLink, final Long value) {
+                worldLink.setTicksPerMonsterSpawns(value >= 0L ? value : defaultMonsterTicks);
+            }
+        };
         @Comment({"The animalLimit property specifies how many animal entities are allowed to be spawned per chunk."})
         @Description(ANIMAL_LIMIT_KEY)
-        private int animalLimit = -1;
+        private SpawningProxy<Integer> animalLimit = new SpawningProxy<Integer>(-1) {
+            @Override
+            protected void apply(@NotNull final WorldLink worldLink, final Integer value) {
+                worldLink.setAnimalSpawnLimit(value >= 0 ? value : defaultAnimalLimit);
+            }
+        };
         @Comment({"The monsterLimit property specifies how many monster entities are allowed to be spawned per chunk."})
         @Description(MONSTER_LIMIT_KEY)
-        private int monsterLimit = -1;
+        private SpawningProxy<Integer> monsterLimit = new SpawningProxy<Integer>(-1) {
+            @Override
+            protected void apply(@NotNull final WorldLink worldLink, final Integer value) {
+                worldLink.setMonsterSpawnLimit(value >= 0 ? value : defaultMonsterLimit);
+            }
+        };
         @Comment({"The ambientLimit property specifies how many ambient entities are allowed to be spawned per chunk."})
         @Description(AMBIENT_LIMIT_KEY)
-        private int ambientLimit = -1;
+        private SpawningProxy<Integer> ambientLimit = new SpawningProxy<Integer>(-1) {
+            @Override
+            protected void apply(@NotNull final WorldLink worldLink, final Integer value) {
+                worldLink.setAmbientSpawnLimit(value >= 0 ? value : defaultAmbientLimit);
+            }
+        };
         @Comment({"The waterLimit property specifies how many water entities are allowed to be spawned per chunk."})
         @Description(WATER_LIMIT_KEY)
-        private int waterLimit = -1;
+        private SpawningProxy<Integer> waterLimit = new SpawningProxy<Integer>(-1) {
+            @Override
+            protected void apply(@NotNull final WorldLink worldLink, final Integer value) {
+                worldLink.setWaterAnimalSpawnLimit(value >= 0 ? value : defaultWaterLimit);
+            }
+        };
+        @Comment({
+                "The animalExceptions property lists the animals that a purge of this world leaves alone.",
+                "When animalLimit is 0, every other animal is removed."
+        })
+        @Description(ANIMAL_EXCEPTIONS_KEY)
+        @NotNull
+        private List<String> animalExceptions = new ArrayList<String>();
+        @Comment({
+                "The monsterExceptions property lists the monsters that a purge of this world leaves alone.",
+                "When monsterLimit is 0, every other monster is removed."
+        })
+        @Description(MONSTER_EXCEPTIONS_KEY)
+        @NotNull
+        private List<String> monsterExceptions = new ArrayList<String>();
+
+        @Immutable
+        private transient WorldLink worldLink;
+
+        // The values the server used before any of the configured values were applied.  These are what a negative
+        // configured value reverts to.
+        private transient long defaultAnimalTicks;
+        private transient long defaultMonsterTicks;
+        private transient int defaultAnimalLimit;
+        private transient int defaultMonsterLimit;
+        private transient int defaultAmbientLimit;
+        private transient int defaultWaterLimit;
+
+        // The settings changed while writes to the world are deferred, or null when they are not.
+        @Nullable
+        private transient Set<SpawningProxy<?>> deferredApplies = null;
 
         private Spawning() { }
 
+        /**
+         * Links these settings to the given world, remembering the world's current values as the defaults and then
+         * applying the configured values to it.
+         */
+        private void linkToWorld(@Nullable final WorldLink worldLink) {
+            this.worldLink = worldLink;
+            if (worldLink == null) {
+                return;
+            }
+            defaultAnimalTicks = worldLink.getTicksPerAnimalSpawns();
+            defaultMonsterTicks = worldLink.getTicksPerMonsterSpawns();
+            defaultAnimalLimit = worldLink.getAnimalSpawnLimit();
+            defaultMonsterLimit = worldLink.getMonsterSpawnLimit();
+            defaultAmbientLimit = worldLink.getAmbientSpawnLimit();
+            defaultWaterLimit = worldLink.getWaterAnimalSpawnLimit();
+            animalTicks.apply();
+            monsterTicks.apply();
+            animalLimit.apply();
+            monsterLimit.apply();
+            ambientLimit.apply();
+            waterLimit.apply();
+        }
+
+        private void deferWorldWrites() {
+            if (deferredApplies == null) {
+                deferredApplies = new LinkedHashSet<SpawningProxy<?>>();
+            }
+        }
+
+        private void applyDeferredWrites() {
+            final Set<SpawningProxy<?>> applies = deferredApplies;
+            deferredApplies = null;
+            if (applies != null) {
+                for (final SpawningProxy<?> proxy : applies) {
+                    proxy.apply();
+                }
+            }
+        }
+
+        private void discardDeferredWrites() {
+            deferredApplies = null;
+        }
+
         public long getAnimalTicks() {
-            return animalTicks;
+            return animalTicks.get();
         }
 
         public void setAnimalTicks(long animalTicks) {
-            this.animalTicks = animalTicks;
+            this.animalTicks.set(animalTicks);
         }
 
         public long getMonsterTicks() {
-            return monsterTicks;
+            return monsterTicks.get();
         }
 
         public void setMonsterTicks(long monsterTicks) {
-            this.monsterTicks = monsterTicks;
+            this.monsterTicks.set(monsterTicks);
         }
 
         public int getAnimalLimit() {
-            return animalLimit;
+            return animalLimit.get();
         }
 
         public void setAnimalLimit(int animalLimit) {
-            this.animalLimit = animalLimit;
+            this.animalLimit.set(animalLimit);
         }
 
         public int getMonsterLimit() {
-            return monsterLimit;
+            return monsterLimit.get();
         }
 
         public void setMonsterLimit(int monsterLimit) {
-            this.monsterLimit = monsterLimit;
+            this.monsterLimit.set(monsterLimit);
         }
 
         public int getAmbientLimit() {
-            return ambientLimit;
+            return ambientLimit.get();
         }
 
         public void setAmbientLimit(int ambientLimit) {
-            this.ambientLimit = ambientLimit;
+            this.ambientLimit.set(ambientLimit);
         }
 
         public int getWaterLimit() {
-            return waterLimit;
+            return waterLimit.get();
         }
 
         public void setWaterLimit(int waterLimit) {
-            this.waterLimit = waterLimit;
+            this.waterLimit.set(waterLimit);
+        }
+
+        @NotNull
+        public List<String> getAnimalExceptions() {
+            return animalExceptions;
+        }
+
+        @NotNull
+        public List<String> getMonsterExceptions() {
+            return monsterExceptions;
+        }
+
+        /**
+         * The configured value is always what is read back so that temporary changes made directly to the world,
+         * such as by the spawn governor, never end up in the world's config.
+         */
+        private abstract class SpawningProxy<T> extends DependentField<T, WorldLink> {
+
+            private SpawningProxy(T initialValue) {
+                super(initialValue);
+            }
+
+            @Nullable
+            @Override
+            protected WorldLink getDependency() {
+                return worldLink;
+            }
+
+            @Override
+            protected T getDependentValue() {
+                return backupValue;
+            }
+
+            @Override
+            protected void setDependentValue(@Nullable T t) {
+                backupValue = t;
+                if (deferredApplies != null) {
+                    deferredApplies.add(this);
+                } else {
+                    apply();
+                }
+            }
+
+            private void apply() {
+                if (worldLink != null && backupValue != null) {
+                    apply(worldLink, backupValue);
+                }
+            }
+
+            protected abstract void apply(@NotNull WorldLink worldLink, T value);
         }
     }
 
@@ -693,10 +1248,29 @@ final class WorldProperties extends PropertiesWrapper {
         public void setPortalForm(@NotNull boolean portalForm) {
             this.portalForm = portalForm;
         }
+
+        private boolean isSameAs(@NotNull final ConnectedWorld other) {
+            return scale == other.scale && portalForm == other.portalForm;
+        }
+
+        private void copyFrom(@NotNull final ConnectedWorld other) {
+            this.scale = other.scale;
+            this.portalForm = other.portalForm;
+        }
     }
 
+    /**
+     * A property whose value lives in the world.  The value read from the world is cached until the property is set
+     * through this class or {@link #invalidateCachedValues()} is called, as reading it from the world usually means
+     * converting or copying it.  Values the world may change without notice are either not cached or read again
+     * once their cached copy is older than {@link #getRecheckNanos()}.
+     */
     private abstract class Proxy<T> extends DependentField<T, WorldLink> {
 
+        @Nullable
+        private volatile Object cachedValue = UNCACHED;
+        private volatile long cachedAt = 0L;
+
         private Proxy(T initialValue) {
             super(initialValue);
         }
@@ -708,13 +1282,53 @@ final class WorldProperties extends PropertiesWrapper {
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         protected T getDependentValue() {
-            return getValue();
+            final Map<Proxy<?>, Object> writes = deferredWrites;
+            if (writes != null && writes.containsKey(this)) {
+                return (T) writes.get(this);
+            }
+            Object value = cachedValue;
+            final long recheckNanos = getRecheckNanos();
+            if (value == UNCACHED || (recheckNanos > 0L && System.nanoTime() - cachedAt > recheckNanos)) {
+                value = getValue();
+                if (isCacheable()) {
+                    cachedAt = System.nanoTime();
+                    cachedValue = value;
+                }
+            }
+            return (T) value;
         }
 
         @Override
         protected void setDependentValue(@Nullable T t) {
+            if (deferredWrites != null) {
+                deferredWrites.put(this, t);
+                return;
+            }
             setValue(t);
+            invalidate();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void write(@Nullable Object value) {
+            setDependentValue((T) value);
+        }
+
+        protected boolean isCacheable() {
+            return true;
+        }
+
+        /**
+         * @return how long, in nanoseconds, a cached value is used before it is read from the world again, or 0 to
+         * use it until it is invalidated.
+         */
+        protected long getRecheckNanos() {
+            return 0L;
+        }
+
+        void invalidate() {
+            cachedValue = UNCACHED;
         }
 
         protected abstract T getValue();
@@ -841,6 +1455,11 @@ final class WorldProperties extends PropertiesWrapper {
             if (facingCoordinates == null) {
                 return Locations.NULL_FACING;
             }
+            return toMap(facingCoordinates);
+        }
+
+        @NotNull
+        private static Map<String, Object> toMap(@NotNull final FacingCoordinates facingCoordinates) {
             Map<String, Object> result = new LinkedHashMap<String, Object>(6);
             result.put("x", facingCoordinates.getX());
             result.put("y", facingCoordinates.getY());
@@ -0,0 +1,199 @@
+package com.mvplugin.core.command;
+
+import com.mvplugin.core.CompletionIndex;
+import com.mvplugin.core.MultiverseCoreAPI;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.util.PrefixIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.command.CommandInfo;
+import pluginbase.minecraft.BasePlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Suggests completions for Multiverse commands as they are typed.
+ * <p>
+ * Every way a command can be typed, such as {@code mv teleport}, {@code mv tp} and {@code mvtp}, is read from its
+ * {@link CommandInfo} and kept in a {@link PrefixIndex} so the command names themselves can be completed.  Once a
+ * command is recognized, its arguments are completed from the {@link CompletionIndex} and the destination registry.
+ * Worlds the sender may not see, as in the world list, are left out.  Server implementations pass the sender, label
+ * and arguments they are given for tab completion to {@link #complete(BasePlayer, String, String[])}.
+ */
+public final class CommandCompleter {
+
+    /** The most suggestions returned for a single argument. */
+    public static final int MAX_COMPLETIONS = 50;
+
+    private enum Argument {
+        NONE,
+        WORLD,
+        LOADED_WORLD,
+        UNLOADED_WORLD,
+        ENVIRONMENT,
+        PROPERTY,
+        DESTINATION,
+        PLAYER_OR_DESTINATION,
+    }
+
+    /** The arguments of each command, in the order they are typed. */
+    private static final Map<Class<? extends MultiverseCommand>, Argument[]> ARGUMENTS
+            = new LinkedHashMap<Class<? extends MultiverseCommand>, Argument[]>();
+
+    static {
+        ARGUMENTS.put(ImportCommand.class, arguments(Argument.NONE, Argument.ENVIRONMENT));
+        ARGUMENTS.put(LoadCommand.class, arguments(Argument.UNLOADED_WORLD));
+        ARGUMENTS.put(UnloadCommand.class, arguments(Argument.LOADED_WORLD));
+        ARGUMENTS.put(ListCommand.class, arguments());
+        ARGUMENTS.put(DeleteCommand.class, arguments(Argument.WORLD));
+        ARGUMENTS.put(CreateCommand.class, arguments(Argument.NONE, Argument.ENVIRONMENT));
+        ARGUMENTS.put(TeleportCommand.class, arguments(Argument.PLAYER_OR_DESTINATION, Argument.DESTINATION));
+        ARGUMENTS.put(ModifySetCommand.class, arguments(Argument.PROPERTY, Argument.NONE, Argument.LOADED_WORLD));
+        ARGUMENTS.put(ModifyAddCommand.class, arguments(Argument.PROPERTY, Argument.NONE, Argument.LOADED_WORLD));
+        ARGUMENTS.put(ModifyRemoveCommand.class, arguments(Argument.PROPERTY, Argument.NONE, Argument.LOADED_WORLD));
+        ARGUMENTS.put(ModifyClearCommand.class, arguments(Argument.PROPERTY, Argument.NONE, Argument.LOADED_WORLD));
+        ARGUMENTS.put(ModifyBulkCommand.class, arguments(Argument.PROPERTY));
+        ARGUMENTS.put(InfoCommand.class, arguments(Argument.LOADED_WORLD));
+        ARGUMENTS.put(HibernationCommand.class, arguments());
+        ARGUMENTS.put(MetricsCommand.class, arguments(Argument.NONE));
+        ARGUMENTS.put(StartupCommand.class, arguments(Argument.NONE));
+    }
+
+    @NotNull
+    private static Argument[] arguments(@NotNull final Argument... arguments) {
+        return arguments;
+    }
+
+    @NotNull
+    private final MultiverseCoreAPI api;
+    /** Every way of typing a command, lower case with single spaces, mapped to the arguments of the command. */
+    @NotNull
+    private final Map<String, Argument[]> commandLines = new HashMap<String, Argument[]>();
+    @NotNull
+    private final PrefixIndex commandLineIndex = new PrefixIndex();
+    private final int longestCommandLine;
+    @NotNull
+    private final PrefixIndex environments = new PrefixIndex();
+
+    /**
+     * Creates a completer for the commands registered under the given prefix.
+     *
+     * @param api the Multiverse API.
+     * @param commandPrefix the prefix commands are registered with, such as {@code mv}.
+     */
+    public CommandCompleter(@NotNull final MultiverseCoreAPI api, @NotNull final String commandPrefix) {
+        this.api = api;
+        int longest = 0;
+        for (final Map.Entry<Class<? extends MultiverseCommand>, Argument[]> command : ARGUMENTS.entrySet()) {
+            final CommandInfo info = command.getKey().getAnnotation(CommandInfo.class);
+            if (info == null) {
+                continue;
+            }
+            final List<String> lines = new ArrayList<String>();
+            lines.add(commandPrefix + " " + info.primaryAlias());
+            for (final String alias : info.prefixedAliases()) {
+                lines.add(commandPrefix + " " + alias);
+            }
+            for (final String alias : info.directlyPrefixedAliases()) {
+                lines.add(commandPrefix + alias);
+            }
+            for (final String line : lines) {
+                final String key = line.toLowerCase(Locale.ENGLISH);
+                commandLines.put(key, command.getValue());
+                commandLineIndex.add(key);
+                longest = Math.max(longest, key.split(" ").length);
+            }
+        }
+        this.longestCommandLine = longest;
+        for (final WorldEnvironment environment : WorldEnvironment.values()) {
+            environments.add(environment.name());
+        }
+    }
+
+    /**
+     * Suggests completions for the last argument of a command that is being typed.
+     *
+     * @param sender the one typing the command, used to leave out worlds they may not see.  Null to suggest every
+     *               world.
+     * @param label the command as typed, without its slash, such as {@code mv} or {@code mvtp}.
+     * @param args the arguments typed after the label.  The last one is being completed and may be empty.
+     * @return the suggestions for the last argument, sorted ignoring case.  Empty if there are none.
+     */
+    @NotNull
+    public List<String> complete(@Nullable final BasePlayer sender, @NotNull final String label,
+                                 @NotNull final String[] args) {
+        if (args.length == 0) {
+            return Collections.emptyList();
+        }
+        final String partial = args[args.length - 1];
+        // Try the longest command first so that "mv modify set" is not mistaken for "mv modify".
+        for (int words = Math.min(args.length - 1, longestCommandLine - 1); words >= 0; words--) {
+            final Argument[] arguments = commandLines.get(commandLine(label, args, words));
+            if (arguments != null) {
+                final int index = args.length - 1 - words;
+                if (index >= arguments.length) {
+                    return Collections.emptyList();
+                }
+                return completeArgument(arguments[index], partial, sender);
+            }
+        }
+        return completeCommandLine(commandLine(label, args, args.length - 1), partial);
+    }
+
+    @NotNull
+    private static String commandLine(@NotNull final String label, @NotNull final String[] args, final int words) {
+        final StringBuilder builder = new StringBuilder(label);
+        for (int i = 0; i < words; i++) {
+            builder.append(' ').append(args[i]);
+        }
+        return builder.toString().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Suggests the next word of every command line that starts with what has been typed.
+     */
+    @NotNull
+    private List<String> completeCommandLine(@NotNull final String typed, @NotNull final String partial) {
+        final String prefix = typed + " ";
+        final List<String> result = new ArrayList<String>();
+        for (final String line : commandLineIndex.complete(prefix + partial, Integer.MAX_VALUE)) {
+            final int end = line.indexOf(' ', prefix.length());
+            final String word = end < 0 ? line.substring(prefix.length()) : line.substring(prefix.length(), end);
+            if (!result.contains(word)) {
+                result.add(word);
+            }
+        }
+        return PrefixIndex.merge(MAX_COMPLETIONS, result);
+    }
+
+    @NotNull
+    private List<String> completeArgument(@NotNull final Argument argument, @NotNull final String partial,
+                                          @Nullable final BasePlayer sender) {
+        final CompletionIndex index = api.getCompletionIndex();
+        switch (argument) {
+            case WORLD:
+                return index.completeWorlds(partial, MAX_COMPLETIONS, null, sender);
+            case LOADED_WORLD:
+                return index.completeWorlds(partial, MAX_COMPLETIONS, true, sender);
+            case UNLOADED_WORLD:
+                return index.completeWorlds(partial, MAX_COMPLETIONS, false, sender);
+            case ENVIRONMENT:
+                return environments.complete(partial, MAX_COMPLETIONS);
+            case PROPERTY:
+                return index.completeProperties(partial, MAX_COMPLETIONS);
+            case DESTINATION:
+                return api.getDestinationRegistry().completeDestination(partial, MAX_COMPLETIONS, sender);
+            case PLAYER_OR_DESTINATION:
+                return PrefixIndex.merge(MAX_COMPLETIONS, index.completePlayers(partial, MAX_COMPLETIONS),
+                        api.getDestinationRegistry().completeDestination(partial, MAX_COMPLETIONS, sender));
+            default:
+                return Collections.emptyList();
+        }
+    }
+}
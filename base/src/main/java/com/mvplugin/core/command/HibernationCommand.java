@@ -0,0 +1,63 @@
+package com.mvplugin.core.command;
+
+import com.mvplugin.core.SpawnChunkReleaser;
+import com.mvplugin.core.WorldHibernator;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.Perms;
+import org.jetbrains.annotations.NotNull;
+import pluginbase.command.CommandContext;
+import pluginbase.command.CommandInfo;
+import pluginbase.command.CommandProvider;
+import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.permission.Perm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.mvplugin.core.util.Language.Command.Hibernation.*;
+
+@CommandInfo(
+        primaryAlias = "hibernation",
+        desc = "Shows which worlds are hibernating and what hibernation has saved.",
+        directlyPrefixedAliases = "hibernation",
+        min = 0,
+        max = 0
+)
+public class HibernationCommand extends MultiverseCommand {
+    protected HibernationCommand(@NotNull final CommandProvider<MultiverseCore> plugin) {
+        super(plugin);
+    }
+
+    @Override
+    public Perm getPerm() {
+        return Perms.CMD_HIBERNATION;
+    }
+
+    @NotNull
+    @Override
+    public Message getHelp() {
+        return HELP;
+    }
+
+    @Override
+    public boolean runCommand(@NotNull final BasePlayer sender, @NotNull final CommandContext context) {
+        final WorldHibernator hibernator = getPlugin().getWorldHibernator();
+        final List<String> worlds = new ArrayList<String>(hibernator.getHibernatingWorlds());
+        Collections.sort(worlds);
+        final SpawnChunkReleaser releaser = getPlugin().getSpawnChunkReleaser();
+        final List<String> releasedWorlds = new ArrayList<String>(releaser.getReleasedWorlds());
+        Collections.sort(releasedWorlds);
+        getMessager().message(sender, STATUS,
+                worlds.isEmpty() ? "none" : worlds.toString(),
+                hibernator.getHibernateCount(),
+                hibernator.getWakeCount(),
+                hibernator.getChunksReleased(),
+                hibernator.getEntitiesReleased(),
+                hibernator.getHeapReclaimed() / (1024L * 1024L),
+                releasedWorlds.isEmpty() ? "none" : releasedWorlds.toString(),
+                releaser.getChunksKeptUnloaded());
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package com.mvplugin.core.command;
 
 import com.mvplugin.core.MultiverseWorld;
+import com.mvplugin.core.SpawnGovernor;
 import com.mvplugin.core.exceptions.MultiverseException;
 import com.mvplugin.core.plugin.MultiverseCore;
 import com.mvplugin.core.util.Perms;
@@ -42,7 +43,11 @@ public class InfoCommand extends MultiverseCommand {
     public boolean runCommand(@NotNull final BasePlayer sender, @NotNull final CommandContext context) {
         try {
             MultiverseWorld world = getWorldFromContext(sender, context, 0);
+            SpawnGovernor spawnGovernor = getPlugin().getSpawnGovernor();
             getMessager().message(sender, INFO,
+                    getPlugin().getSpawnChunkReleaser().getChunksKeptUnloaded(world),
+                    spawnGovernor.getAdjustmentCount(world),
+                    Math.round(spawnGovernor.getSpawnFactor(world) * 100D),
                     world.getAmbientSpawnLimit(),
                     world.getWaterAnimalSpawnLimit(),
                     world.getMonsterSpawnLimit(),
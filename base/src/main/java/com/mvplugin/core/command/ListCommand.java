@@ -1,10 +1,11 @@
 package com.mvplugin.core.command;
 
-import com.mvplugin.core.MultiverseWorld;
 import com.mvplugin.core.minecraft.WorldEnvironment;
 import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.Language;
 import com.mvplugin.core.util.MultiverseTheme;
 import com.mvplugin.core.util.Perms;
+import com.mvplugin.core.world.WorldListing;
 import org.jetbrains.annotations.NotNull;
 import pluginbase.command.CommandContext;
 import pluginbase.command.CommandInfo;
@@ -15,16 +16,23 @@ import pluginbase.messages.Theme;
 import pluginbase.minecraft.BasePlayer;
 import pluginbase.permission.Perm;
 
+import java.util.List;
+
 import static com.mvplugin.core.util.Language.Command.List.*;
 
 @CommandInfo(
         primaryAlias = "list",
         desc = "Lists all worlds managed by multiverse.",
+        usage = "[PAGE]",
         directlyPrefixedAliases = {"list", "l"},
+        flags = "e:p:s:lu",
         min = 0,
-        max = 0
+        max = 1
 )
 public class ListCommand extends MultiverseCommand {
+
+    static final int WORLDS_PER_PAGE = 8;
+
     protected ListCommand(@NotNull final CommandProvider<MultiverseCore> plugin) {
         super(plugin);
     }
@@ -42,42 +50,94 @@ public class ListCommand extends MultiverseCommand {
 
     @Override
     public boolean runCommand(@NotNull BasePlayer sender, @NotNull CommandContext context) {
+        int page = 1;
+        if (context.argsLength() > 0) {
+            try {
+                page = Integer.parseInt(context.getString(0));
+            } catch (NumberFormatException ignore) {
+                page = 0;
+            }
+            if (page < 1) {
+                getMessager().message(sender, INVALID_PAGE, context.getString(0));
+                return true;
+            }
+        }
+        WorldEnvironment environment = null;
+        if (context.hasFlag('e')) {
+            environment = WorldEnvironment.getFromString(context.getFlag('e'));
+            if (environment == null) {
+                getMessager().message(sender, Language.INVALID_ENVIRONMENT, context.getFlag('e'));
+                return true;
+            }
+        }
+        WorldListing.SortOrder order = WorldListing.SortOrder.STATE;
+        if (context.hasFlag('s')) {
+            order = WorldListing.SortOrder.getFromString(context.getFlag('s'));
+            if (order == null) {
+                getMessager().message(sender, INVALID_SORT, context.getFlag('s'));
+                return true;
+            }
+        }
+        if (context.hasFlag('l') && context.hasFlag('u')) {
+            getMessager().message(sender, CONFLICTING_FLAGS);
+            return true;
+        }
+        final Boolean loaded = context.hasFlag('l') ? Boolean.TRUE : context.hasFlag('u') ? Boolean.FALSE : null;
+
+        final List<WorldListing.Entry> worlds = getPlugin().getWorldManager().getWorldListing()
+                .select(order, environment, loaded, context.getFlag('p'));
+
+        // Permissions are only checked for as many worlds as it takes to fill the requested page.
+        final int skip = (page - 1) * WORLDS_PER_PAGE;
+        int visible = 0;
+        boolean more = false;
         final StringBuilder builder = new StringBuilder();
-        for (@NotNull final MultiverseWorld world : getPlugin().getWorldManager().getWorlds()) {
-            if (!Perms.ACCESS.hasPermission(sender, world.getName())
-                    || (world.isHidden() && !Perms.CMD_MODIFY.hasPermission(sender, world.getName()))) {
+        for (final WorldListing.Entry entry : worlds) {
+            if (!getPlugin().getPermissionCache().canSee(sender, entry)) {
                 continue;
             }
-            if (builder.length() != 0) {
-                builder.append("\n");
+            if (visible >= skip + WORLDS_PER_PAGE) {
+                more = true;
+                break;
             }
-            MultiverseTheme color = MultiverseTheme.UNKNOWN_WORLD;
-            WorldEnvironment env = world.getEnvironment();
-            if (env == WorldEnvironment.NETHER) {
-                color = MultiverseTheme.WORLD_NETHER;
-            } else if (env == WorldEnvironment.NORMAL) {
-                color = MultiverseTheme.WORLD_NORMAL;
-            } else if (env == WorldEnvironment.THE_END) {
-                color = MultiverseTheme.WORLD_THE_END;
+            if (visible++ < skip) {
+                continue;
             }
-            if (world.isHidden()) {
-                builder.append(MultiverseTheme.HIDDEN_WORLD).append("[H]");
+            if (builder.length() != 0) {
+                builder.append("\n");
             }
-            builder.append(Theme.PLAIN);
-            builder.append(world.getAlias()).append(Theme.PLAIN);
-            builder.append(" - ").append(color).append(world.getEnvironment());
-
+            appendWorld(builder, entry);
         }
-        for (@NotNull final String name : getPlugin().getWorldManager().getUnloadedWorlds()) {
-            if (Perms.ACCESS.hasPermission(sender, name)
-                    && Perms.CMD_LOAD.hasPermission(sender)) {
-                if (builder.length() != 0) {
-                    builder.append("\n");
-                }
-                builder.append(ChatColor.GRAY).append(name).append(" - UNLOADED");
-            }
+        if (builder.length() == 0) {
+            getMessager().message(sender, NO_WORLDS);
+            return true;
+        }
+        getMessager().message(sender, LIST_WORLDS, page, builder.toString());
+        if (more) {
+            getMessager().message(sender, MORE_WORLDS, page + 1);
         }
-        getMessager().message(sender, LIST_WORLDS, builder.toString());
         return true;
     }
+
+    private static void appendWorld(@NotNull final StringBuilder builder, @NotNull final WorldListing.Entry entry) {
+        if (!entry.isLoaded()) {
+            builder.append(ChatColor.GRAY).append(entry.getName()).append(" - UNLOADED");
+            return;
+        }
+        MultiverseTheme color = MultiverseTheme.UNKNOWN_WORLD;
+        WorldEnvironment env = entry.getEnvironment();
+        if (env == WorldEnvironment.NETHER) {
+            color = MultiverseTheme.WORLD_NETHER;
+        } else if (env == WorldEnvironment.NORMAL) {
+            color = MultiverseTheme.WORLD_NORMAL;
+        } else if (env == WorldEnvironment.THE_END) {
+            color = MultiverseTheme.WORLD_THE_END;
+        }
+        if (entry.isHidden()) {
+            builder.append(MultiverseTheme.HIDDEN_WORLD).append("[H]");
+        }
+        builder.append(Theme.PLAIN);
+        builder.append(entry.getDisplayName()).append(Theme.PLAIN);
+        builder.append(" - ").append(color).append(env);
+    }
 }
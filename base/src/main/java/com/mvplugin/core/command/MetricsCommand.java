@@ -0,0 +1,75 @@
+package com.mvplugin.core.command;
+
+import com.mvplugin.core.metrics.Counter;
+import com.mvplugin.core.metrics.Histogram;
+import com.mvplugin.core.metrics.Timer;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.Perms;
+import org.jetbrains.annotations.NotNull;
+import pluginbase.command.CommandContext;
+import pluginbase.command.CommandInfo;
+import pluginbase.command.CommandProvider;
+import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.permission.Perm;
+
+import java.util.Map;
+
+import static com.mvplugin.core.util.Language.Command.Metrics.*;
+
+@CommandInfo(
+        primaryAlias = "metrics",
+        desc = "Shows the counters and timers Multiverse keeps about itself.",
+        usage = "[PREFIX]",
+        directlyPrefixedAliases = "metrics",
+        min = 0,
+        max = 1
+)
+public class MetricsCommand extends MultiverseCommand {
+    protected MetricsCommand(@NotNull final CommandProvider<MultiverseCore> plugin) {
+        super(plugin);
+    }
+
+    @Override
+    public Perm getPerm() {
+        return Perms.CMD_METRICS;
+    }
+
+    @NotNull
+    @Override
+    public Message getHelp() {
+        return HELP;
+    }
+
+    @Override
+    public boolean runCommand(@NotNull final BasePlayer sender, @NotNull final CommandContext context) {
+        final String prefix = context.argsLength() > 0 ? context.getString(0).toLowerCase() : "";
+        boolean any = false;
+        for (final Map.Entry<String, Object> entry : getPlugin().getMetrics().getMetrics().entrySet()) {
+            final String name = entry.getKey();
+            if (!name.startsWith(prefix)) {
+                continue;
+            }
+            if (!any) {
+                getMessager().message(sender, HEADER);
+                any = true;
+            }
+            final Object metric = entry.getValue();
+            if (metric instanceof Counter) {
+                getMessager().message(sender, COUNTER, name, ((Counter) metric).getCount());
+            } else if (metric instanceof Timer) {
+                final Timer timer = (Timer) metric;
+                getMessager().message(sender, TIMER, name, timer.getCount(), timer.getMeanMillis(),
+                        timer.get95thPercentileMillis(), timer.get99thPercentileMillis(), timer.getMaxMillis());
+            } else if (metric instanceof Histogram) {
+                final Histogram histogram = (Histogram) metric;
+                getMessager().message(sender, HISTOGRAM, name, histogram.getCount(), histogram.getMean(),
+                        histogram.get95thPercentile(), histogram.get99thPercentile(), histogram.getMax());
+            }
+        }
+        if (!any) {
+            getMessager().message(sender, NO_METRICS);
+        }
+        return true;
+    }
+}
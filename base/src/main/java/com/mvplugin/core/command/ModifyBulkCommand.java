@@ -0,0 +1,124 @@
+package com.mvplugin.core.command;
+
+import com.mvplugin.core.MultiverseWorld;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.Perms;
+import com.mvplugin.core.world.BulkModifyResult;
+import com.mvplugin.core.world.WorldSelector;
+import org.jetbrains.annotations.NotNull;
+import pluginbase.command.CommandContext;
+import pluginbase.command.CommandInfo;
+import pluginbase.command.CommandProvider;
+import pluginbase.messages.BundledMessage;
+import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.permission.Perm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
+
+import static com.mvplugin.core.util.Language.Command.Modify.*;
+import static com.mvplugin.core.util.Language.Command.Modify.Bulk.*;
+
+@CommandInfo(
+        primaryAlias = "modify bulk",
+        directlyPrefixPrimary = false,
+        desc = "Modifies a property of every world matching a selector.",
+        usage = "{PROPERTY} {VALUE} {SELECTOR}",
+        directlyPrefixedAliases = {"m bulk", "mbulk", "modify bulk"},
+        min = 0,
+        max = 3
+)
+public class ModifyBulkCommand extends ModifyCommandBase {
+    protected ModifyBulkCommand(@NotNull final CommandProvider<MultiverseCore> plugin) {
+        super(plugin);
+    }
+
+    @Override
+    public Perm getPerm() {
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public Message getHelp() {
+        return HELP;
+    }
+
+    @Override
+    public boolean runCommand(@NotNull final BasePlayer sender, @NotNull final CommandContext context) {
+        if (context.argsLength() == 0) {
+            showPropertyList(sender);
+            return true;
+        } else if (context.argsLength() == 1) {
+            showPropertyDescription(sender, context.getString(0));
+            return true;
+        } else if (context.argsLength() == 2) {
+            return false;
+        }
+        final String propertyName = context.getString(0);
+        final String value = context.getString(1);
+        final String selectorString = context.getString(2);
+
+        final Predicate<MultiverseWorld> selector;
+        try {
+            selector = WorldSelector.parse(selectorString);
+        } catch (PatternSyntaxException e) {
+            getMessager().message(sender, INVALID_SELECTOR, selectorString, e.getDescription());
+            return true;
+        }
+
+        int matched = 0;
+        final List<MultiverseWorld> permitted = new ArrayList<MultiverseWorld>();
+        final List<String> denied = new ArrayList<String>();
+        for (final MultiverseWorld world : getWorldManager().getWorlds()) {
+            if (selector.test(world)) {
+                matched++;
+                if (Perms.CMD_MODIFY.hasPermission(sender, world.getName())) {
+                    permitted.add(world);
+                } else {
+                    denied.add(world.getName());
+                }
+            }
+        }
+        if (matched == 0) {
+            getMessager().message(sender, NO_MATCHES, selectorString);
+            return true;
+        }
+
+        final BulkModifyResult result;
+        try {
+            result = getWorldManager().modifyWorlds(permitted, propertyName, value);
+        } catch (NoSuchFieldException e) {
+            getMessager().message(sender, NO_SUCH_PROPERTY, propertyName);
+            return true;
+        }
+        for (final String worldName : denied) {
+            getMessager().message(sender, NO_MODIFY_PERMISSION, worldName);
+        }
+        for (final Map.Entry<String, BundledMessage> failure : result.getFailures().entrySet()) {
+            getMessager().message(sender, FAILURE, failure.getKey());
+            getMessager().message(sender, failure.getValue());
+        }
+        getMessager().message(sender, SUCCESS, propertyName, value, result.getModifiedWorlds().size(), matched);
+
+        result.getSaveFuture().whenComplete(new BiConsumer<Void, Throwable>() {
+            @Override
+            public void accept(final Void ignore, final Throwable throwable) {
+                if (throwable != null) {
+                    getPlugin().getTaskScheduler().runTask(new Runnable() {
+                        @Override
+                        public void run() {
+                            getMessager().message(sender, SAVE_FAILED);
+                        }
+                    });
+                }
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mvplugin.core.command;
+
+import com.mvplugin.core.StartupProfile;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.Perms;
+import org.jetbrains.annotations.NotNull;
+import pluginbase.command.CommandContext;
+import pluginbase.command.CommandInfo;
+import pluginbase.command.CommandProvider;
+import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.permission.Perm;
+
+import java.util.List;
+
+import static com.mvplugin.core.util.Language.Command.Startup.*;
+
+@CommandInfo(
+        primaryAlias = "startup",
+        desc = "Shows how long loading the worlds took when Multiverse started.",
+        usage = "[COUNT]",
+        directlyPrefixedAliases = "startup",
+        min = 0,
+        max = 1
+)
+public class StartupCommand extends MultiverseCommand {
+
+    private static final int DEFAULT_COUNT = 10;
+
+    protected StartupCommand(@NotNull final CommandProvider<MultiverseCore> plugin) {
+        super(plugin);
+    }
+
+    @Override
+    public Perm getPerm() {
+        return Perms.CMD_STARTUP;
+    }
+
+    @NotNull
+    @Override
+    public Message getHelp() {
+        return HELP;
+    }
+
+    @Override
+    public boolean runCommand(@NotNull final BasePlayer sender, @NotNull final CommandContext context) {
+        int count = DEFAULT_COUNT;
+        if (context.argsLength() > 0) {
+            try {
+                count = Integer.parseInt(context.getString(0));
+            } catch (NumberFormatException ignore) {
+                count = 0;
+            }
+            if (count < 1) {
+                getMessager().message(sender, INVALID_COUNT, context.getString(0));
+                return true;
+            }
+        }
+        final StartupProfile profile = getPlugin().getWorldManager().getStartupProfile();
+        final List<StartupProfile.WorldTiming> timings = profile.getWorldTimings();
+        getMessager().message(sender, SUMMARY, timings.size(), millis(profile.getTotalNanos()),
+                millis(profile.getAggregationNanos()));
+        for (final StartupProfile.WorldTiming timing : timings.subList(0, Math.min(count, timings.size()))) {
+            getMessager().message(sender, timing.isLoaded() ? WORLD : WORLD_NOT_LOADED, timing.getName(),
+                    millis(timing.getTotalNanos()), millis(timing.getPropertiesNanos()),
+                    millis(timing.getCreateNanos()));
+        }
+        return true;
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1000000D;
+    }
+}
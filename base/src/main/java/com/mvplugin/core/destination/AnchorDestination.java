@@ -0,0 +1,119 @@
+package com.mvplugin.core.destination;
+
+import com.mvplugin.core.MultiverseCoreAPI;
+import com.mvplugin.core.exceptions.InvalidDestinationException;
+import com.mvplugin.core.exceptions.PermissionException;
+import com.mvplugin.core.exceptions.TeleportException;
+import com.mvplugin.core.util.Language.Destination.Anchor;
+import com.mvplugin.core.util.Perms;
+import org.jetbrains.annotations.NotNull;
+import pluginbase.messages.Message;
+import pluginbase.minecraft.Entity;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.permission.Permissible;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * This destination type teleports to a named location kept in the {@link AnchorStore}.
+ */
+public final class AnchorDestination extends SimpleDestination {
+
+    static final Set<String> PREFIXES = new CopyOnWriteArraySet<String>() {{
+        add("anchor");
+        add("a");
+    }};
+    /** Single letters are easily taken by other plugins' destinations, so "a" gives way to them. */
+    static final Set<String> WEAK_PREFIXES = new CopyOnWriteArraySet<String>() {{
+        add("a");
+    }};
+
+    @NotNull
+    private final String name;
+
+    AnchorDestination(@NotNull MultiverseCoreAPI api, @NotNull String name) {
+        super(api);
+        this.name = name;
+    }
+
+    @NotNull
+    @Override
+    protected EntityCoordinates getDestination() throws TeleportException {
+        // Looked up again on every teleport so that moving an anchor takes effect immediately.
+        AnchorStore.Anchor anchor = getApi().getDestinationRegistry().getAnchorStore().getAnchor(name);
+        if (anchor == null) {
+            throw new TeleportException(Message.bundleMessage(Anchor.NOT_FOUND, name));
+        }
+        return anchor.getLocation();
+    }
+
+    @NotNull
+    @Override
+    public String getDestinationString() {
+        return DestinationUtil.colonJoin("anchor", name);
+    }
+
+    @Override
+    protected void checkPermissions(@NotNull TeleportRequest request) throws PermissionException, TeleportException {
+        super.checkPermissions(request);
+        final Permissible teleporter = request.getTeleporter();
+        final Entity teleportee = request.getTeleportee();
+        if (request.isSelfTeleport()) {
+            if (!teleporter.hasPerm(Perms.TP_SELF_ANCHOR, name)) {
+                throw new PermissionException(Message.bundleMessage(Anchor.NO_PERMISSION, teleportee.getName(),
+                        name, Perms.TP_SELF_ANCHOR.getName(name)), Perms.TP_SELF_ANCHOR);
+            }
+        } else {
+            if (!teleporter.hasPerm(Perms.TP_OTHER_ANCHOR, name)) {
+                throw new PermissionException(Message.bundleMessage(Anchor.NO_PERMISSION, teleportee.getName(),
+                        name, Perms.TP_OTHER_ANCHOR.getName(name)), Perms.TP_OTHER_ANCHOR);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || !(o == null || getClass() != o.getClass()) && name.equalsIgnoreCase(((AnchorDestination) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.toLowerCase().hashCode();
+    }
+
+    static class Factory implements DestinationFactory {
+        @NotNull
+        @Override
+        public AnchorDestination createDestination(@NotNull MultiverseCoreAPI api, @NotNull String destinationString) throws InvalidDestinationException {
+            String name = DestinationUtil.removePrefix(destinationString);
+            if (!AnchorStore.isValidName(name)) {
+                throw new InvalidDestinationException(Message.bundleMessage(Anchor.INVALID, destinationString));
+            }
+            AnchorStore.Anchor anchor = api.getDestinationRegistry().getAnchorStore().getAnchor(name);
+            if (anchor == null) {
+                throw new InvalidDestinationException(Message.bundleMessage(Anchor.NOT_FOUND, name));
+            }
+            return new AnchorDestination(api, anchor.getName());
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getDestinationPrefixes() {
+            return PREFIXES;
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getWeakPrefixes() {
+            return WEAK_PREFIXES;
+        }
+
+        @NotNull
+        @Override
+        public List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit) {
+            return api.getDestinationRegistry().getAnchorStore().completeNames(partial, limit);
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package com.mvplugin.core.destination;
+
+import com.mvplugin.core.util.CoreLogger;
+import com.mvplugin.core.util.PrefixIndex;
+import com.mvplugin.core.util.TaskScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.minecraft.location.Locations;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Holds the named locations that {@link AnchorDestination}s point to.
+ * <p>
+ * Anchors are looked up by name, ignoring case, in constant time and are also filed into a coarse grid per world so
+ * that the anchor nearest a location can be found by only looking at the grid cells around it.
+ * <p>
+ * The anchors file is read the first time an anchor is needed.  It is a log: each change is appended to it as one
+ * line from a background task, and the file is only rewritten, from memory, once it holds many more lines than there
+ * are anchors.  A change therefore costs one short append no matter how many anchors exist.
+ */
+public final class AnchorStore {
+
+    /** The size, in blocks, of the square grid cells anchors are filed into. */
+    private static final int CELL_SHIFT = 6;
+    /** The file is rewritten once it holds this many times more lines than there are anchors... */
+    private static final int COMPACT_RATIO = 2;
+    /** ...and at least this many lines in total. */
+    private static final int COMPACT_MIN_LINES = 256;
+
+    private static final String SET = "set";
+    private static final String REMOVE = "remove";
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * A named location.
+     */
+    public static final class Anchor {
+        @NotNull
+        private final String name;
+        @NotNull
+        private final EntityCoordinates location;
+
+        private Anchor(@NotNull final String name, @NotNull final EntityCoordinates location) {
+            this.name = name;
+            this.location = location;
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @NotNull
+        public EntityCoordinates getLocation() {
+            return location;
+        }
+
+        @Override
+        public String toString() {
+            return "Anchor{" +
+                    "name='" + name + '\'' +
+                    ", location=" + location +
+                    '}';
+        }
+    }
+
+    @Nullable
+    private final TaskScheduler taskScheduler;
+    @Nullable
+    private final File file;
+
+    /** Every anchor, keyed by lower case name. */
+    @NotNull
+    private final Map<String, Anchor> anchors = new ConcurrentHashMap<String, Anchor>();
+    /** The grid of each world, keyed by lower case world name. */
+    @NotNull
+    private final Map<String, WorldGrid> grids = new ConcurrentHashMap<String, WorldGrid>();
+    @NotNull
+    private final PrefixIndex names = new PrefixIndex();
+    private volatile boolean loaded = false;
+
+    /** Lines describing changes that have not been written to the file yet, in the order they were made. */
+    @NotNull
+    private final Queue<String> pendingLines = new ConcurrentLinkedQueue<String>();
+    @NotNull
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    /** Guards the file and {@link #fileLines}. */
+    @NotNull
+    private final Object fileLock = new Object();
+    /** The number of lines in the file, used to decide when to rewrite it. */
+    private int fileLines = 0;
+    /** Set when writing to the file failed so that the next write replaces it entirely. */
+    private boolean rewriteNeeded = false;
+
+    /**
+     * Creates a store that keeps its anchors in memory only.
+     */
+    public AnchorStore() {
+        this(null, null);
+    }
+
+    /**
+     * Creates a store that keeps its anchors in the given file.
+     *
+     * @param taskScheduler the scheduler used to write changes in the background.
+     * @param file the anchors file.  It is created when the first anchor is set.
+     */
+    public AnchorStore(@Nullable final TaskScheduler taskScheduler, @Nullable final File file) {
+        this.taskScheduler = taskScheduler;
+        this.file = file;
+    }
+
+    /**
+     * Checks whether the given name may be used for an anchor.  Names may not be empty or contain whitespace or
+     * colons, since they are typed as part of a destination string.
+     *
+     * @param name the name to check.
+     * @return true if the name may be used.
+     */
+    public static boolean isValidName(@NotNull final String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (c == ':' || Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets an anchor by name, ignoring case.
+     *
+     * @param name the name of the anchor.
+     * @return the anchor or null if there is none with that name.
+     */
+    @Nullable
+    public Anchor getAnchor(@NotNull final String name) {
+        ensureLoaded();
+        return anchors.get(name.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Gets every anchor.
+     *
+     * @return every anchor, in no particular order.
+     */
+    @NotNull
+    public Collection<Anchor> getAnchors() {
+        ensureLoaded();
+        return Collections.unmodifiableCollection(anchors.values());
+    }
+
+    public int size() {
+        ensureLoaded();
+        return anchors.size();
+    }
+
+    /**
+     * Gets the anchor nearest to a location.
+     *
+     * @param location the location to search around.  Only anchors in the same world are considered.
+     * @return the nearest anchor or null if the world has no anchors.
+     */
+    @Nullable
+    public Anchor getNearestAnchor(@NotNull final EntityCoordinates location) {
+        ensureLoaded();
+        final WorldGrid grid = grids.get(location.getWorld().toLowerCase(Locale.ENGLISH));
+        return grid != null ? grid.nearest(location.getX(), location.getY(), location.getZ()) : null;
+    }
+
+    /**
+     * Gets the names of anchors starting with the given text, ignoring case.
+     *
+     * @param prefix the text typed so far.
+     * @param limit the most names to return.
+     * @return at most {@code limit} names, sorted ignoring case.
+     */
+    @NotNull
+    public List<String> completeNames(@NotNull final String prefix, final int limit) {
+        ensureLoaded();
+        return names.complete(prefix, limit);
+    }
+
+    /**
+     * Creates an anchor or moves an existing one.
+     *
+     * @param name the name of the anchor.
+     * @param location the location of the anchor.
+     * @throws IllegalArgumentException if the name is not valid.
+     * @see #isValidName(String)
+     */
+    public void setAnchor(@NotNull final String name, @NotNull final EntityCoordinates location) {
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException("'" + name + "' is not a valid anchor name");
+        }
+        ensureLoaded();
+        final Anchor anchor = new Anchor(name, Locations.getEntityCoordinates(location.getWorld(), location.getX(),
+                location.getY(), location.getZ(), location.getPitch(), location.getYaw()));
+        synchronized (this) {
+            put(anchor);
+            pendingLines.add(toLine(anchor));
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Removes an anchor.
+     *
+     * @param name the name of the anchor, ignoring case.
+     * @return true if there was an anchor with that name.
+     */
+    public boolean removeAnchor(@NotNull final String name) {
+        ensureLoaded();
+        synchronized (this) {
+            final Anchor removed = remove(name);
+            if (removed == null) {
+                return false;
+            }
+            pendingLines.add(REMOVE + SEPARATOR + removed.getName());
+        }
+        scheduleFlush();
+        return true;
+    }
+
+    /**
+     * Writes every change that has not been written yet to the anchors file, on the calling thread.  Changes are
+     * normally written in the background; call this before shutting down so none are lost.
+     */
+    public void flush() {
+        if (file == null) {
+            pendingLines.clear();
+            return;
+        }
+        synchronized (fileLock) {
+            final List<String> lines = new ArrayList<String>();
+            String line;
+            while ((line = pendingLines.poll()) != null) {
+                lines.add(line);
+            }
+            if (lines.isEmpty() && !rewriteNeeded) {
+                return;
+            }
+            try {
+                final int total = fileLines + lines.size();
+                if (rewriteNeeded || (total >= COMPACT_MIN_LINES && total > COMPACT_RATIO * anchors.size())) {
+                    rewrite();
+                } else {
+                    append(lines);
+                }
+                rewriteNeeded = false;
+            } catch (IOException e) {
+                // The anchors in memory are still right, so writing all of them next time repairs the file.
+                rewriteNeeded = true;
+                CoreLogger.getLogger().log(Level.WARNING, "Could not save anchors to " + file, e);
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (file == null || taskScheduler == null) {
+            pendingLines.clear();
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.runTaskAsynchronously(new Runnable() {
+                @Override
+                public void run() {
+                    flushScheduled.set(false);
+                    flush();
+                }
+            });
+        }
+    }
+
+    private void append(@NotNull final List<String> lines) throws IOException {
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        fileLines += lines.size();
+    }
+
+    private void rewrite() throws IOException {
+        final List<String> lines = new ArrayList<String>(anchors.size());
+        for (final Anchor anchor : anchors.values()) {
+            lines.add(toLine(anchor));
+        }
+        final Path target = file.toPath();
+        final Path temp = new File(file.getPath() + ".tmp").toPath();
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        fileLines = lines.size();
+        CoreLogger.finer("Rewrote the anchors file with %s anchors", lines.size());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (file != null && file.exists()) {
+                load();
+            }
+            loaded = true;
+        }
+    }
+
+    private void load() {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            CoreLogger.getLogger().log(Level.WARNING, "Could not read anchors from " + file, e);
+            return;
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            final String line = lines.get(i);
+            if (line.isEmpty()) {
+                continue;
+            }
+            final String[] parts = line.split(SEPARATOR);
+            try {
+                if (parts[0].equals(SET) && parts.length == 8) {
+                    put(new Anchor(parts[1], Locations.getEntityCoordinates(parts[7],
+                            Double.parseDouble(parts[2]), Double.parseDouble(parts[3]), Double.parseDouble(parts[4]),
+                            Float.parseFloat(parts[5]), Float.parseFloat(parts[6]))));
+                    continue;
+                } else if (parts[0].equals(REMOVE) && parts.length == 2) {
+                    remove(parts[1]);
+                    continue;
+                }
+            } catch (NumberFormatException ignore) { }
+            // Most likely the last line of a write that was cut short.
+            CoreLogger.warning("Skipping unreadable line %s of the anchors file: %s", i + 1, line);
+        }
+        synchronized (fileLock) {
+            fileLines = lines.size();
+        }
+        CoreLogger.fine("Loaded %s anchors", anchors.size());
+    }
+
+    @NotNull
+    private static String toLine(@NotNull final Anchor anchor) {
+        final EntityCoordinates l = anchor.getLocation();
+        return SET + SEPARATOR + anchor.getName() + SEPARATOR + l.getX() + SEPARATOR + l.getY() + SEPARATOR + l.getZ()
+                + SEPARATOR + l.getPitch() + SEPARATOR + l.getYaw() + SEPARATOR + l.getWorld();
+    }
+
+    private void put(@NotNull final Anchor anchor) {
+        final Anchor previous = anchors.put(anchor.getName().toLowerCase(Locale.ENGLISH), anchor);
+        if (previous != null) {
+            unfile(previous);
+        }
+        final String world = anchor.getLocation().getWorld().toLowerCase(Locale.ENGLISH);
+        WorldGrid grid = grids.get(world);
+        if (grid == null) {
+            grid = new WorldGrid();
+            grids.put(world, grid);
+        }
+        grid.add(anchor);
+        names.add(anchor.getName());
+    }
+
+    @Nullable
+    private Anchor remove(@NotNull final String name) {
+        final Anchor removed = anchors.remove(name.toLowerCase(Locale.ENGLISH));
+        if (removed != null) {
+            unfile(removed);
+            names.remove(removed.getName());
+        }
+        return removed;
+    }
+
+    private void unfile(@NotNull final Anchor anchor) {
+        final WorldGrid grid = grids.get(anchor.getLocation().getWorld().toLowerCase(Locale.ENGLISH));
+        if (grid != null) {
+            grid.remove(anchor);
+        }
+    }
+
+    /**
+     * The anchors of one world, filed by the grid cell their x and z coordinates fall in.
+     */
+    private static final class WorldGrid {
+        @NotNull
+        private final Map<Long, List<Anchor>> cells = new HashMap<Long, List<Anchor>>();
+        /** The range of cells that hold anchors.  Searches never need to look further. */
+        private int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
+
+        private static int cell(final double coordinate) {
+            return (int) Math.floor(coordinate) >> CELL_SHIFT;
+        }
+
+        private static long key(final int x, final int z) {
+            return ((long) x << 32) | (z & 0xFFFFFFFFL);
+        }
+
+        synchronized void add(@NotNull final Anchor anchor) {
+            final int x = cell(anchor.getLocation().getX());
+            final int z = cell(anchor.getLocation().getZ());
+            List<Anchor> cell = cells.get(key(x, z));
+            if (cell == null) {
+                cell = new ArrayList<Anchor>(2);
+                cells.put(key(x, z), cell);
+            }
+            cell.add(anchor);
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minZ = Math.min(minZ, z);
+            maxZ = Math.max(maxZ, z);
+        }
+
+        synchronized void remove(@NotNull final Anchor anchor) {
+            final int x = cell(anchor.getLocation().getX());
+            final int z = cell(anchor.getLocation().getZ());
+            final List<Anchor> cell = cells.get(key(x, z));
+            if (cell != null && cell.remove(anchor) && cell.isEmpty()) {
+                cells.remove(key(x, z));
+                if (x == minX || x == maxX || z == minZ || z == maxZ) {
+                    recomputeBounds();
+                }
+            }
+        }
+
+        private void recomputeBounds() {
+            minX = Integer.MAX_VALUE;
+            maxX = Integer.MIN_VALUE;
+            minZ = Integer.MAX_VALUE;
+            maxZ = Integer.MIN_VALUE;
+            for (final long key : cells.keySet()) {
+                final int x = (int) (key >> 32);
+                final int z = (int) key;
+                minX = Math.min(minX, x);
+                maxX = Math.max(maxX, x);
+                minZ = Math.min(minZ, z);
+                maxZ = Math.max(maxZ, z);
+            }
+        }
+
+        /**
+         * Searches the square rings of cells around the location, clamped to the cells that hold anchors, until no
+         * cell further out can hold anything closer.  Once the rings would visit more cells than there are, every
+         * cell is checked instead, so a search never costs more than a pass over the anchors.
+         */
+        @Nullable
+        synchronized Anchor nearest(final double x, final double y, final double z) {
+            if (cells.isEmpty()) {
+                return null;
+            }
+            final int centerX = cell(x);
+            final int centerZ = cell(z);
+            // Rings closer than the occupied cells are empty.
+            final int firstRing = Math.max(Math.max(minX - centerX, centerX - maxX),
+                    Math.max(Math.max(minZ - centerZ, centerZ - maxZ), 0));
+            final int lastRing = Math.max(Math.max(Math.abs(centerX - minX), Math.abs(centerX - maxX)),
+                    Math.max(Math.abs(centerZ - minZ), Math.abs(centerZ - maxZ)));
+            final Nearest nearest = new Nearest(x, y, z);
+            long visited = 0L;
+            for (int ring = firstRing; ring <= lastRing; ring++) {
+                final int fromX = Math.max(centerX - ring, minX), toX = Math.min(centerX + ring, maxX);
+                final int fromZ = Math.max(centerZ - ring, minZ), toZ = Math.min(centerZ + ring, maxZ);
+                visited += ring == 0 ? 1L : 8L * ring;
+                if (visited > cells.size()) {
+                    for (final List<Anchor> cell : cells.values()) {
+                        nearest.check(cell);
+                    }
+                    return nearest.best;
+                }
+                for (int cellX = fromX; cellX <= toX; cellX++) {
+                    if (cellX == centerX - ring || cellX == centerX + ring) {
+                        for (int cellZ = fromZ; cellZ <= toZ; cellZ++) {
+                            nearest.check(cells.get(key(cellX, cellZ)));
+                        }
+                    } else {
+                        // Only the edge of the square is new in each ring.
+                        if (centerZ - ring >= minZ) {
+                            nearest.check(cells.get(key(cellX, centerZ - ring)));
+                        }
+                        if (centerZ + ring <= maxZ) {
+                            nearest.check(cells.get(key(cellX, centerZ + ring)));
+                        }
+                    }
+                }
+                if (nearest.best != null) {
+                    // Anything outside the rings searched so far is at least this far away.
+                    final int size = 1 << CELL_SHIFT;
+                    final double reach = Math.min(
+                            Math.min(x - ((centerX - ring) * size), ((centerX + ring + 1) * size) - x),
+                            Math.min(z - ((centerZ - ring) * size), ((centerZ + ring + 1) * size) - z));
+                    if (nearest.distance <= reach * reach) {
+                        break;
+                    }
+                }
+            }
+            return nearest.best;
+        }
+    }
+
+    /**
+     * The closest anchor to a location among the anchors checked so far.
+     */
+    private static final class Nearest {
+        private final double x, y, z;
+        @Nullable
+        private Anchor best = null;
+        private double distance = Double.MAX_VALUE;
+
+        private Nearest(final double x, final double y, final double z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        private void check(@Nullable final List<Anchor> cell) {
+            if (cell == null) {
+                return;
+            }
+            for (final Anchor anchor : cell) {
+                final EntityCoordinates l = anchor.getLocation();
+                final double dx = l.getX() - x, dy = l.getY() - y, dz = l.getZ() - z;
+                final double d = dx * dx + dy * dy + dz * dz;
+                if (d < distance) {
+                    distance = d;
+                    best = anchor;
+                }
+            }
+        }
+    }
+}
@@ -75,8 +75,11 @@ public class CannonDestination extends SimpleDestination {
             super.teleport(teleporter, teleportee);
             teleportee.setVelocity(coordinates.getDirection().multiply(speed));
         } else {
+            final TeleportRequest request = newRequest(teleporter, teleportee);
+            // A launch does not move the teleportee, so there is no destination to resolve.
+            request.setTarget(teleportee.getLocation());
             try {
-                checkPermissions(teleporter, teleportee);
+                checkPermissions(request);
             } catch (PermissionException e) {
                 throw new TeleportException(e.getBundledMessage(), e);
             }
@@ -85,9 +88,11 @@ public class CannonDestination extends SimpleDestination {
     }
 
     @Override
-    protected void checkPermissions(@NotNull Permissible teleporter, @NotNull Entity teleportee) throws PermissionException {
-        super.checkPermissions(teleporter, teleportee);
-        if (teleporter.equals(teleportee)) {
+    protected void checkPermissions(@NotNull TeleportRequest request) throws PermissionException, TeleportException {
+        super.checkPermissions(request);
+        final Permissible teleporter = request.getTeleporter();
+        final Entity teleportee = request.getTeleportee();
+        if (request.isSelfTeleport()) {
             if (!teleporter.hasPerm(Perms.TP_SELF_CANNON)) {
                 throw new PermissionException(Message.bundleMessage(Cannon.NO_PERMISSION, teleportee.getName(),
                         Perms.TP_SELF_CANNON.getName()), Perms.TP_SELF_CANNON);
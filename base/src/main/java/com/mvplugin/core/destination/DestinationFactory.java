@@ -3,8 +3,11 @@ package com.mvplugin.core.destination;
 import com.mvplugin.core.MultiverseCoreAPI;
 import com.mvplugin.core.exceptions.InvalidDestinationException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.BasePlayer;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -64,4 +67,38 @@ public interface DestinationFactory {
     default Set<String> getWeakPrefixes() {
         return Collections.emptySet();
     }
+
+    /**
+     * Suggests ways to finish a destination string of this factory's type that is still being typed.
+     * <br/>
+     * This method has a default implementation that suggests nothing.  Implement this when the destination names
+     * something that can be listed, such as a world or a player.
+     *
+     * @param api The MultiverseCore API object.
+     * @param partial What has been typed so far after the prefix and its colon.
+     * @param limit The most suggestions to return.
+     * @return Suggestions for the text after the colon, each starting with {@code partial} ignoring case.
+     */
+    @NotNull
+    default List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Suggests ways to finish a destination string of this factory's type for a particular player.
+     * <br/>
+     * This method has a default implementation that ignores the player.  Implement this when the suggestions name
+     * worlds, leaving out the worlds the player may not see.
+     *
+     * @param api The MultiverseCore API object.
+     * @param partial What has been typed so far after the prefix and its colon.
+     * @param limit The most suggestions to return.
+     * @param viewer The player the suggestions are for, or null for no one in particular.
+     * @return Suggestions for the text after the colon, each starting with {@code partial} ignoring case.
+     */
+    @NotNull
+    default List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit,
+                                  @Nullable BasePlayer viewer) {
+        return complete(api, partial, limit);
+    }
 }
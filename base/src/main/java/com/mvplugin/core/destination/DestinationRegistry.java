@@ -2,11 +2,17 @@ package com.mvplugin.core.destination;
 
 import com.mvplugin.core.MultiverseCoreAPI;
 import com.mvplugin.core.exceptions.InvalidDestinationException;
+import com.mvplugin.core.metrics.Timer;
 import com.mvplugin.core.util.CoreLogger;
+import com.mvplugin.core.util.PrefixIndex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.BasePlayer;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -16,25 +22,68 @@ import java.util.Map;
  */
 public final class DestinationRegistry {
 
+    static final String PARSE_TIMER = "destination.parse";
+
     @NotNull
     private Map<String, DestinationFactory> prefixFactoryMap = new HashMap<>();
     @NotNull
     private WorldDestination.Factory worldDestinationFactory = new WorldDestination.Factory();
+    /** Every registered prefix followed by its colon, for completing destination strings. */
+    @NotNull
+    private final PrefixIndex prefixIndex = new PrefixIndex();
 
     @NotNull
     private final MultiverseCoreAPI api;
+    @NotNull
+    private final TeleportPipeline teleportPipeline;
+    @NotNull
+    private final AnchorStore anchorStore;
 
+    /**
+     * Creates a registry whose anchors are only kept in memory.
+     *
+     * @param api The MultiverseCore API object.
+     */
     public DestinationRegistry(@NotNull final MultiverseCoreAPI api) {
+        this(api, new AnchorStore());
+    }
+
+    public DestinationRegistry(@NotNull final MultiverseCoreAPI api, @NotNull final AnchorStore anchorStore) {
         this.api = api;
+        this.teleportPipeline = new TeleportPipeline(api);
+        this.anchorStore = anchorStore;
 
         registerDestinationFactory(new ExactDestination.Factory());
         registerDestinationFactory(new CannonDestination.Factory());
         registerDestinationFactory(worldDestinationFactory);
         registerDestinationFactory(new PlayerDestination.Factory());
+        registerDestinationFactory(new AnchorDestination.Factory());
+        registerDestinationFactory(new RandomDestination.Factory());
+    }
+
+    /**
+     * Gets the pipeline every teleport to a {@link SimpleDestination} goes through.  Plugins may add their own
+     * stages to it.
+     *
+     * @return the teleport pipeline.
+     */
+    @NotNull
+    public TeleportPipeline getTeleportPipeline() {
+        return teleportPipeline;
+    }
+
+    /**
+     * Gets the store of the named locations that anchor destinations point to.
+     *
+     * @return the anchor store.
+     */
+    @NotNull
+    public AnchorStore getAnchorStore() {
+        return anchorStore;
     }
 
     public void registerDestinationFactory(@NotNull DestinationFactory destinationFactory) {
-        CoreLogger.fine("Registering DestinationFactory: " + destinationFactory);
+        CoreLogger.fine("Registering DestinationFactory: %s", destinationFactory);
         if (destinationFactory.getDestinationPrefixes().isEmpty()) {
             CoreLogger.warning("DestinationFactory: %s cannot be registered without any prefixes.", destinationFactory.getClass());
         }
@@ -46,6 +95,7 @@ public final class DestinationRegistry {
             prefix = prefix.toLowerCase();
             if (!prefixFactoryMap.containsKey(prefix) || !destinationFactory.getWeakPrefixes().contains(prefix)) {
                 prefixFactoryMap.put(prefix, destinationFactory);
+                prefixIndex.add(prefix + ":");
                 CoreLogger.finer("Registered prefix: %s to DestinationFactory: %s", prefix, destinationFactory.getClass());
             } else {
                 CoreLogger.finer("Skipped weak prefix: %s for DestinationFactory: %s as that prefix has previously been registered.", prefix, destinationFactory.getClass());
@@ -61,6 +111,17 @@ public final class DestinationRegistry {
      */
     @NotNull
     public Destination parseDestination(@NotNull final String destinationString) throws InvalidDestinationException {
+        final Timer timer = api.getMetrics().timer(PARSE_TIMER);
+        final long start = timer.start();
+        try {
+            return parse(destinationString);
+        } finally {
+            timer.stop(start);
+        }
+    }
+
+    @NotNull
+    private Destination parse(@NotNull final String destinationString) throws InvalidDestinationException {
         String[] destParts = destinationString.split(":", 2);
         if (destParts.length == 1) {
             return worldDestinationFactory.createDestination(api, destinationString);
@@ -75,6 +136,52 @@ public final class DestinationRegistry {
         return new UnknownDestination(api, this, getRegistrationCount(), destinationString);
     }
 
+    /**
+     * Suggests ways to finish a destination string that is still being typed.
+     * <br/>
+     * Without a colon, the suggestions are loaded worlds and registered prefixes.  After a colon, the
+     * {@link DestinationFactory} registered for the prefix is asked to complete the rest.
+     *
+     * @param partial What has been typed of the destination string so far.
+     * @param limit The most suggestions to return.
+     * @return Complete destination strings, or the start of them, that begin with {@code partial} ignoring case.
+     */
+    @NotNull
+    public List<String> completeDestination(@NotNull final String partial, final int limit) {
+        return completeDestination(partial, limit, null);
+    }
+
+    /**
+     * Suggests ways to finish a destination string that is still being typed, leaving out worlds the given player may
+     * not see.
+     *
+     * @param partial What has been typed of the destination string so far.
+     * @param limit The most suggestions to return.
+     * @param viewer The player the suggestions are for, or null for no one in particular.
+     * @return Complete destination strings, or the start of them, that begin with {@code partial} ignoring case.
+     * @see #completeDestination(String, int)
+     */
+    @NotNull
+    public List<String> completeDestination(@NotNull final String partial, final int limit,
+                                            @Nullable final BasePlayer viewer) {
+        final int colon = partial.indexOf(':');
+        if (colon < 0) {
+            return PrefixIndex.merge(limit, api.getCompletionIndex().completeWorlds(partial, limit, true, viewer),
+                    prefixIndex.complete(partial, limit));
+        }
+        final String prefix = partial.substring(0, colon);
+        final DestinationFactory destinationFactory = getDestinationFactory(prefix.toLowerCase());
+        if (destinationFactory == null) {
+            return Collections.emptyList();
+        }
+        final List<String> completions = destinationFactory.complete(api, partial.substring(colon + 1), limit, viewer);
+        final List<String> result = new ArrayList<String>(completions.size());
+        for (final String completion : completions) {
+            result.add(prefix + ":" + completion);
+        }
+        return result;
+    }
+
     @Nullable
     DestinationFactory getDestinationFactory(@NotNull String prefix) {
         return prefixFactoryMap.get(prefix);
@@ -3,16 +3,22 @@ package com.mvplugin.core.destination;
 import com.mvplugin.core.MultiverseCoreAPI;
 import com.mvplugin.core.exceptions.InvalidDestinationException;
 import com.mvplugin.core.exceptions.PermissionException;
+import com.mvplugin.core.exceptions.TeleportException;
 import com.mvplugin.core.util.Language;
 import com.mvplugin.core.util.Language.Destination.Coordinates;
 import com.mvplugin.core.util.Perms;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
 import pluginbase.minecraft.Entity;
 import pluginbase.minecraft.location.EntityCoordinates;
 import pluginbase.minecraft.location.Locations;
 import pluginbase.permission.Permissible;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.regex.Matcher;
@@ -62,9 +68,11 @@ public final class ExactDestination extends SimpleDestination {
     }
 
     @Override
-    protected void checkPermissions(@NotNull Permissible teleporter, @NotNull Entity teleportee) throws PermissionException {
-        super.checkPermissions(teleporter, teleportee);
-        if (teleporter.equals(teleportee)) {
+    protected void checkPermissions(@NotNull TeleportRequest request) throws PermissionException, TeleportException {
+        super.checkPermissions(request);
+        final Permissible teleporter = request.getTeleporter();
+        final Entity teleportee = request.getTeleportee();
+        if (request.isSelfTeleport()) {
             if (!teleporter.hasPerm(Perms.TP_SELF_EXACT)) {
                 throw new PermissionException(Message.bundleMessage(Coordinates.NO_PERMISSION, teleportee.getName(),
                         Perms.TP_SELF_EXACT.getName()), Perms.TP_SELF_EXACT);
@@ -123,5 +131,27 @@ public final class ExactDestination extends SimpleDestination {
         public Set<String> getDestinationPrefixes() {
             return PREFIXES;
         }
+
+        @NotNull
+        @Override
+        public List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit) {
+            return complete(api, partial, limit, null);
+        }
+
+        @NotNull
+        @Override
+        public List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit,
+                                     @Nullable BasePlayer viewer) {
+            if (partial.indexOf(':') >= 0) {
+                // Past the world, only numbers are left.
+                return Collections.emptyList();
+            }
+            List<String> worlds = api.getCompletionIndex().completeWorlds(partial, limit, true, viewer);
+            List<String> result = new ArrayList<String>(worlds.size());
+            for (String world : worlds) {
+                result.add(world + ":");
+            }
+            return result;
+        }
     }
 }
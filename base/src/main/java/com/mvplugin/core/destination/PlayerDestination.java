@@ -13,6 +13,7 @@ import pluginbase.minecraft.Entity;
 import pluginbase.minecraft.location.EntityCoordinates;
 import pluginbase.permission.Permissible;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
@@ -54,9 +55,11 @@ public final class PlayerDestination extends SimpleDestination {
     }
 
     @Override
-    protected void checkPermissions(@NotNull Permissible teleporter, @NotNull Entity teleportee) throws PermissionException {
-        super.checkPermissions(teleporter, teleportee);
-        if (teleporter.equals(teleportee)) {
+    protected void checkPermissions(@NotNull TeleportRequest request) throws PermissionException, TeleportException {
+        super.checkPermissions(request);
+        final Permissible teleporter = request.getTeleporter();
+        final Entity teleportee = request.getTeleportee();
+        if (request.isSelfTeleport()) {
             if (!teleporter.hasPerm(Perms.TP_SELF_PLAYER, playerName)) {
                 throw new PermissionException(Message.bundleMessage(Player.NO_PERMISSION, teleportee.getName(),
                         playerName, Perms.TP_SELF_PLAYER.getName(playerName)), Perms.TP_SELF_PLAYER);
@@ -92,5 +95,11 @@ public final class PlayerDestination extends SimpleDestination {
         public Set<String> getDestinationPrefixes() {
             return PREFIXES;
         }
+
+        @NotNull
+        @Override
+        public List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit) {
+            return api.getCompletionIndex().completePlayers(partial, limit);
+        }
     }
 }
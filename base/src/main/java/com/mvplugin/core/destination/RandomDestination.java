@@ -0,0 +1,132 @@
+package com.mvplugin.core.destination;
+
+import com.mvplugin.core.MultiverseCoreAPI;
+import com.mvplugin.core.MultiverseWorld;
+import com.mvplugin.core.exceptions.InvalidDestinationException;
+import com.mvplugin.core.exceptions.PermissionException;
+import com.mvplugin.core.exceptions.TeleportException;
+import com.mvplugin.core.util.Language.Destination.Random;
+import com.mvplugin.core.util.Language.Destination.World;
+import com.mvplugin.core.util.Perms;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.minecraft.Entity;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.permission.Permissible;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * This destination type teleports to a random safe location in a world, taken from the
+ * {@link com.mvplugin.core.SafeLocationPool}.
+ */
+public final class RandomDestination extends SimpleDestination {
+
+    static final Set<String> PREFIXES = new CopyOnWriteArraySet<String>() {{
+        add("random");
+        add("rand");
+    }};
+
+    @NotNull
+    private final String world;
+
+    RandomDestination(@NotNull MultiverseCoreAPI api, @NotNull String world) {
+        super(api);
+        this.world = world;
+    }
+
+    @NotNull
+    @Override
+    protected EntityCoordinates getDestination() throws TeleportException {
+        MultiverseWorld mvWorld = getApi().getWorldManager().getWorld(world);
+        if (mvWorld == null) {
+            mvWorld = getApi().getWorldHibernator().wake(world);
+        }
+        if (mvWorld == null) {
+            throw new TeleportException(Message.bundleMessage(World.NOT_LOADED, world));
+        }
+        final EntityCoordinates location = getApi().getSafeLocationPool().poll(mvWorld);
+        if (location == null) {
+            throw new TeleportException(Message.bundleMessage(Random.NONE_AVAILABLE, mvWorld.getName()));
+        }
+        return location;
+    }
+
+    /**
+     * The pool only holds locations that were checked when they were found, so they are not searched again.
+     */
+    @Override
+    protected boolean isDestinationSafe() {
+        return true;
+    }
+
+    @Override
+    protected void checkPermissions(@NotNull TeleportRequest request) throws PermissionException {
+        // Only the world name is needed here so a hibernating world is not woken, and no location is taken out of
+        // the pool, just to check permissions.
+        final Permissible teleporter = request.getTeleporter();
+        final Entity teleportee = request.getTeleportee();
+        if (request.isSelfTeleport()) {
+            if (!getApi().getPermissionCache().hasPermission(teleporter, Perms.TP_SELF_WORLD, world)) {
+                throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
+                        world, Perms.TP_SELF_WORLD.getName(world)), Perms.TP_SELF_WORLD);
+            }
+        } else {
+            if (!getApi().getPermissionCache().hasPermission(teleporter, Perms.TP_OTHER_WORLD, world)) {
+                throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
+                        world, Perms.TP_OTHER_WORLD.getName(world)), Perms.TP_OTHER_WORLD);
+            }
+        }
+    }
+
+    @NotNull
+    @Override
+    public String getDestinationString() {
+        return DestinationUtil.colonJoin("random", world);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || !(o == null || getClass() != o.getClass()) && world.equals(((RandomDestination) o).world);
+    }
+
+    @Override
+    public int hashCode() {
+        return world.hashCode();
+    }
+
+    static class Factory implements DestinationFactory {
+        @NotNull
+        @Override
+        public RandomDestination createDestination(@NotNull MultiverseCoreAPI api, @NotNull String destinationString) throws InvalidDestinationException {
+            final String world = DestinationUtil.removePrefix(destinationString);
+            if (world.isEmpty() || world.contains(":")) {
+                throw new InvalidDestinationException(Message.bundleMessage(Random.INVALID, destinationString));
+            }
+            return new RandomDestination(api, world);
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getDestinationPrefixes() {
+            return PREFIXES;
+        }
+
+        @NotNull
+        @Override
+        public List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit) {
+            return complete(api, partial, limit, null);
+        }
+
+        @NotNull
+        @Override
+        public List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit,
+                                     @Nullable BasePlayer viewer) {
+            return api.getCompletionIndex().completeWorlds(partial, limit, true, viewer);
+        }
+    }
+}
@@ -30,60 +30,75 @@ public abstract class SimpleDestination extends Destination {
     @NotNull
     protected abstract EntityCoordinates getDestination() throws TeleportException;
 
+    /**
+     * Whether every location given by {@link #getDestination()} has already been checked to be safe.  The teleport
+     * then goes straight to the location instead of searching for a safe location around it.
+     *
+     * @return true if the destination only ever gives safe locations.
+     */
+    protected boolean isDestinationSafe() {
+        return false;
+    }
+
     /**
      * {@inheritDoc}
-     * @implNote the default implementation of this method calls {@link #checkPermissions(Permissible, Entity)}.
-     * If you override this method you will probably want to call {@link #checkPermissions(Permissible, Entity)}
-     * manually to ensure permissions are checked before teleportation.
+     * @implNote the default implementation of this method sends the teleport through the {@link TeleportPipeline}
+     * of the {@link DestinationRegistry}, which calls {@link #checkPermissions(TeleportRequest)} before teleporting
+     * anyone and resolves the destination with {@link #getDestination()} only once.
      */
     @Override
     public void teleport(@NotNull Permissible teleporter, @NotNull Entity teleportee) throws TeleportException {
-        try {
-            checkPermissions(teleporter, teleportee);
-        } catch (PermissionException e) {
-            throw new TeleportException(e.getBundledMessage(), e);
-        }
-        this.getSafeTeleporter().safelyTeleport(null, teleportee, getDestination());
+        getApi().getDestinationRegistry().getTeleportPipeline().teleport(newRequest(teleporter, teleportee));
+    }
+
+    /**
+     * Creates a request for teleporting to this destination that has not been sent through the pipeline.
+     *
+     * @param teleporter the person attempting cause teleportation
+     * @param teleportee the target of the teleportation attempt
+     * @return a new teleport request.
+     */
+    @NotNull
+    protected final TeleportRequest newRequest(@NotNull Permissible teleporter, @NotNull Entity teleportee) {
+        return new TeleportRequest(getApi(), this, teleporter, teleportee);
     }
 
     /**
-     * This method verifies that the teleporter has the required permissions to teleport the teleportee to the
-     * destination given by {@link #getDestination()}. The method should simply return if permissions are satisfied.
+     * This method verifies that the teleporter has the required permissions to teleport the teleportee to this
+     * destination. The method should simply return if permissions are satisfied.
      * <br/>
      * The default implemenation of {@link Destination#teleport(Permissible, Entity)} will call this method before
      * teleporting anyone.
      * <br/>
      * The default implementation of this method will check the following (if relevant):
      * <ul>
-     *     <li>Can the teleporter teleport self to the world specified in {@link #getDestination()}?</li>
-     *     <li>Can the teleporter teleport others to the world specified in {@link #getDestination()}?</li>
+     *     <li>Can the teleporter teleport self to the world of {@link TeleportRequest#getTarget()}?</li>
+     *     <li>Can the teleporter teleport others to the world of {@link TeleportRequest#getTarget()}?</li>
      * </ul>
-     * The checks pass in the default implementation if the teleportee is already in the world specified by the
-     * destination. Also if {@link #getDestination()} throws a TeleportException, no checks will be done and
-     * teleportation is assumed to be allowed.<br/>
+     * The checks pass in the default implementation if the teleportee is already in the world of the destination.<br/>
      * If a destination requires more specific teleporation checks it should override this method.<br/>
      *
-     * @param teleporter the person attempting cause teleportation
-     * @param teleportee the target of the teleportation attempt
+     * @param request the teleport being checked
      * @throws PermissionException thrown when permissions are not met. The exception should include an appropriate
      * description of the permission issue to show to the teleporter.
+     * @throws TeleportException thrown if the destination could not be resolved.
      */
-    protected void checkPermissions(@NotNull Permissible teleporter, @NotNull Entity teleportee) throws PermissionException {
-        try {
-            EntityCoordinates coordinates = getDestination();
-            if (!coordinates.getWorld().equals(teleportee.getLocation().getWorld())) {
-                if (teleporter.equals(teleportee)) {
-                    if (!teleporter.hasPerm(Perms.TP_SELF_WORLD, coordinates.getWorld())) {
-                        throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
-                                coordinates.getWorld(), Perms.TP_SELF_WORLD.getName(coordinates.getWorld())), Perms.TP_SELF_WORLD);
-                    }
-                } else {
-                    if (!teleporter.hasPerm(Perms.TP_OTHER_WORLD, coordinates.getWorld())) {
-                        throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
-                                coordinates.getWorld(), Perms.TP_OTHER_WORLD.getName(coordinates.getWorld())), Perms.TP_OTHER_WORLD);
-                    }
+    protected void checkPermissions(@NotNull TeleportRequest request) throws PermissionException, TeleportException {
+        final Permissible teleporter = request.getTeleporter();
+        final Entity teleportee = request.getTeleportee();
+        final String world = request.getTarget().getWorld();
+        if (!world.equals(teleportee.getLocation().getWorld())) {
+            if (request.isSelfTeleport()) {
+                if (!getApi().getPermissionCache().hasPermission(teleporter, Perms.TP_SELF_WORLD, world)) {
+                    throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
+                            world, Perms.TP_SELF_WORLD.getName(world)), Perms.TP_SELF_WORLD);
+                }
+            } else {
+                if (!getApi().getPermissionCache().hasPermission(teleporter, Perms.TP_OTHER_WORLD, world)) {
+                    throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
+                            world, Perms.TP_OTHER_WORLD.getName(world)), Perms.TP_OTHER_WORLD);
                 }
             }
-        } catch (TeleportException ignore) { }
+        }
     }
 }
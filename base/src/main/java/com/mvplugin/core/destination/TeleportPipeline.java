@@ -0,0 +1,213 @@
+package com.mvplugin.core.destination;
+
+import com.mvplugin.core.MultiverseCoreAPI;
+import com.mvplugin.core.MultiverseWorld;
+import com.mvplugin.core.exceptions.PermissionException;
+import com.mvplugin.core.exceptions.TeleportException;
+import com.mvplugin.core.metrics.Timer;
+import com.mvplugin.core.util.CoreLogger;
+import com.mvplugin.core.util.Perms;
+import org.jetbrains.annotations.NotNull;
+import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.minecraft.location.EntityCoordinates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.mvplugin.core.util.Language.DefaultSafeTeleporter.*;
+import static com.mvplugin.core.util.Language.Destination.World.FULL;
+
+/**
+ * The ordered stages every teleport to a {@link SimpleDestination} goes through.
+ * <br/>
+ * Multiverse registers the stages below at the orders given by the constants of this class.  Other plugins may add
+ * their own stages anywhere between them, for example an economy plugin charging entry fees at {@link #ENTRY_FEE}.
+ * Stages with the same order run in the order they were added.
+ * <br/>
+ * The destination is resolved the first time a stage asks for {@link TeleportRequest#getTarget()}, so checks that
+ * do not need the target, such as the permission checks of {@link WorldDestination}, can run without loading
+ * anything.
+ * <ol>
+ *     <li>{@link #PERMISSIONS}: checks the teleporter may use the destination.</li>
+ *     <li>{@link #ENTRY_FEE}: reserved for charging the teleportee; Multiverse has no stage here itself.</li>
+ *     <li>{@link #PLAYER_LIMIT}: stops players entering worlds that are full.</li>
+ *     <li>{@link #PREPARE_WORLD}: wakes a hibernating target world and readies its spawn chunks.</li>
+ *     <li>{@link #SAFE_LOCATION}: moves the target to the nearest safe location, unless it is already known to be
+ *     safe.</li>
+ *     <li>{@link #TELEPORT}: moves the teleportee.</li>
+ * </ol>
+ */
+public final class TeleportPipeline {
+
+    public static final int PERMISSIONS = 100;
+    public static final int ENTRY_FEE = 200;
+    public static final int PLAYER_LIMIT = 300;
+    public static final int PREPARE_WORLD = 400;
+    public static final int SAFE_LOCATION = 500;
+    public static final int TELEPORT = 600;
+
+    static final String TELEPORT_TIMER = "teleport";
+    static final String FAILED_COUNTER = "teleport.failed";
+
+    @NotNull
+    private final MultiverseCoreAPI api;
+    /** Kept sorted by order, then by registration. */
+    @NotNull
+    private final List<RegisteredStage> stages = new CopyOnWriteArrayList<RegisteredStage>();
+
+    TeleportPipeline(@NotNull final MultiverseCoreAPI api) {
+        this.api = api;
+        addStage(PERMISSIONS, new PermissionStage());
+        addStage(PLAYER_LIMIT, new PlayerLimitStage());
+        addStage(PREPARE_WORLD, new PrepareWorldStage());
+        addStage(SAFE_LOCATION, new SafeLocationStage());
+        addStage(TELEPORT, new TeleportEntityStage());
+    }
+
+    /**
+     * Adds a stage to the pipeline.  The stage runs after every stage with a lower order and after every stage with
+     * the same order that was added before it.
+     *
+     * @param order where in the pipeline to run the stage.  See the constants of this class.
+     * @param stage the stage to add.
+     */
+    public synchronized void addStage(final int order, @NotNull final TeleportStage stage) {
+        int index = stages.size();
+        while (index > 0 && stages.get(index - 1).order > order) {
+            index--;
+        }
+        stages.add(index, new RegisteredStage(order, stage));
+        CoreLogger.finer("Added teleport stage %s at order %s", stage, order);
+    }
+
+    /**
+     * Removes a stage from the pipeline.
+     *
+     * @param stage the stage to remove.
+     * @return true if the stage was part of the pipeline.
+     */
+    public synchronized boolean removeStage(@NotNull final TeleportStage stage) {
+        for (final RegisteredStage registered : stages) {
+            if (registered.stage == stage) {
+                return stages.remove(registered);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the stages of the pipeline in the order they run.
+     *
+     * @return the stages of the pipeline.
+     */
+    @NotNull
+    public List<TeleportStage> getStages() {
+        final List<TeleportStage> result = new ArrayList<TeleportStage>(stages.size());
+        for (final RegisteredStage registered : stages) {
+            result.add(registered.stage);
+        }
+        return result;
+    }
+
+    /**
+     * Runs every stage for the given request, stopping at the first one that fails.
+     *
+     * @param request the teleport to carry out.
+     * @throws TeleportException if any stage stops the teleport.
+     */
+    public void teleport(@NotNull final TeleportRequest request) throws TeleportException {
+        final Timer timer = api.getMetrics().timer(TELEPORT_TIMER);
+        final long start = timer.start();
+        try {
+            for (final RegisteredStage registered : stages) {
+                registered.stage.process(request);
+            }
+        } catch (TeleportException e) {
+            api.getMetrics().counter(FAILED_COUNTER).increment();
+            throw e;
+        } finally {
+            timer.stop(start);
+        }
+    }
+
+    private static final class RegisteredStage {
+        private final int order;
+        @NotNull
+        private final TeleportStage stage;
+
+        private RegisteredStage(final int order, @NotNull final TeleportStage stage) {
+            this.order = order;
+            this.stage = stage;
+        }
+    }
+
+    private static final class PermissionStage implements TeleportStage {
+        @Override
+        public void process(@NotNull final TeleportRequest request) throws TeleportException {
+            try {
+                request.getDestination().checkPermissions(request);
+            } catch (PermissionException e) {
+                throw new TeleportException(e.getBundledMessage(), e);
+            }
+        }
+    }
+
+    private final class PlayerLimitStage implements TeleportStage {
+        @Override
+        public void process(@NotNull final TeleportRequest request) throws TeleportException {
+            if (!(request.getTeleportee() instanceof BasePlayer)) {
+                return;
+            }
+            final MultiverseWorld world = request.getTargetWorld();
+            if (world == null || world.getPlayerLimit() < 0
+                    || world.getName().equals(request.getTeleportee().getLocation().getWorld())) {
+                return;
+            }
+            if (world.getPlayers().size() >= world.getPlayerLimit() && !api.getPermissionCache()
+                    .hasPermission((BasePlayer) request.getTeleportee(), Perms.BYPASS_PLAYERLIMIT, world.getName())) {
+                throw new TeleportException(Message.bundleMessage(FULL, world.getAlias(), world.getPlayerLimit()));
+            }
+        }
+    }
+
+    private final class PrepareWorldStage implements TeleportStage {
+        @Override
+        public void process(@NotNull final TeleportRequest request) throws TeleportException {
+            final String worldName = request.getTarget().getWorld();
+            if (api.getWorldHibernator().isHibernating(worldName)) {
+                api.getWorldHibernator().wake(worldName);
+            }
+            final MultiverseWorld world = request.getTargetWorld();
+            if (world != null) {
+                api.getSpawnChunkReleaser().prepare(world);
+            }
+        }
+    }
+
+    private final class SafeLocationStage implements TeleportStage {
+        @Override
+        public void process(@NotNull final TeleportRequest request) throws TeleportException {
+            final EntityCoordinates target = request.getTarget();
+            if (request.isTargetSafe()) {
+                return;
+            }
+            final EntityCoordinates safeLocation = api.getSafeTeleporter().getSafeLocation(target);
+            if (safeLocation == null) {
+                throw new TeleportException(Message.bundleMessage(NO_SAFE_LOCATION, target, request.getTeleportee()));
+            }
+            request.setTarget(safeLocation);
+        }
+    }
+
+    private static final class TeleportEntityStage implements TeleportStage {
+        @Override
+        public void process(@NotNull final TeleportRequest request) throws TeleportException {
+            if (!request.getTeleportee().teleport(request.getTarget())) {
+                throw new TeleportException(Message.bundleMessage(TELEPORT_FAILED, request.getTeleportee(),
+                        request.getTarget()));
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.mvplugin.core.destination;
+
+import com.mvplugin.core.MultiverseCoreAPI;
+import com.mvplugin.core.MultiverseWorld;
+import com.mvplugin.core.exceptions.TeleportException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.Entity;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.permission.Permissible;
+
+/**
+ * A teleport on its way through the {@link TeleportPipeline}.
+ * <br/>
+ * The destination is resolved at most once, the first time a stage asks for the target, and the resolved target is
+ * then handed from stage to stage.  Stages that need to move the target, such as the one that looks for a safe
+ * location, do so with {@link #setTarget(EntityCoordinates)}.
+ */
+public final class TeleportRequest {
+
+    @NotNull
+    private final MultiverseCoreAPI api;
+    @NotNull
+    private final SimpleDestination destination;
+    @NotNull
+    private final Permissible teleporter;
+    @NotNull
+    private final Entity teleportee;
+    @Nullable
+    private EntityCoordinates target = null;
+    private boolean targetSafe = false;
+
+    TeleportRequest(@NotNull final MultiverseCoreAPI api, @NotNull final SimpleDestination destination,
+                    @NotNull final Permissible teleporter, @NotNull final Entity teleportee) {
+        this.api = api;
+        this.destination = destination;
+        this.teleporter = teleporter;
+        this.teleportee = teleportee;
+    }
+
+    /**
+     * Gets the destination being teleported to.
+     *
+     * @return the destination being teleported to.
+     */
+    @NotNull
+    public SimpleDestination getDestination() {
+        return destination;
+    }
+
+    /**
+     * Gets the {@link Permissible} that initiated the teleport.
+     *
+     * @return the teleporter.
+     */
+    @NotNull
+    public Permissible getTeleporter() {
+        return teleporter;
+    }
+
+    /**
+     * Gets the {@link Entity} being teleported.
+     *
+     * @return the teleportee.
+     */
+    @NotNull
+    public Entity getTeleportee() {
+        return teleportee;
+    }
+
+    /**
+     * Checks whether the teleporter is teleporting themselves.
+     *
+     * @return true if the teleporter and teleportee are the same.
+     */
+    public boolean isSelfTeleport() {
+        return teleporter.equals(teleportee);
+    }
+
+    /**
+     * Gets the location the teleportee will be sent to, resolving the destination if that has not happened yet.
+     *
+     * @return the current target of the teleport.
+     * @throws TeleportException if the destination cannot be resolved.
+     */
+    @NotNull
+    public EntityCoordinates getTarget() throws TeleportException {
+        EntityCoordinates target = this.target;
+        if (target == null) {
+            target = destination.getDestination();
+            this.target = target;
+            this.targetSafe = destination.isDestinationSafe();
+        }
+        return target;
+    }
+
+    /**
+     * Checks whether the destination has been resolved yet.
+     *
+     * @return true if a target has been resolved or set.
+     */
+    public boolean hasTarget() {
+        return target != null;
+    }
+
+    /**
+     * Checks whether the current target is already known to be safe, because the destination only gives safe
+     * locations and no stage has moved the target since.
+     *
+     * @return true if the target does not need to be checked for safety.
+     */
+    public boolean isTargetSafe() {
+        return target != null && targetSafe;
+    }
+
+    /**
+     * Changes the location the teleportee will be sent to.  The new target is no longer known to be safe.
+     *
+     * @param target the new target of the teleport.
+     */
+    public void setTarget(@NotNull final EntityCoordinates target) {
+        this.target = target;
+        this.targetSafe = false;
+    }
+
+    /**
+     * Gets the Multiverse world the target is in.
+     *
+     * @return the world of the target or null if it is not a loaded Multiverse world.
+     * @throws TeleportException if the destination cannot be resolved.
+     */
+    @Nullable
+    public MultiverseWorld getTargetWorld() throws TeleportException {
+        return api.getWorldManager().getWorld(getTarget().getWorld());
+    }
+
+    @Override
+    public String toString() {
+        return "TeleportRequest{" +
+                "destination=" + destination +
+                ", teleportee=" + teleportee.getName() +
+                ", target=" + target +
+                '}';
+    }
+}
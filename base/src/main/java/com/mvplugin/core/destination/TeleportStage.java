@@ -0,0 +1,23 @@
+package com.mvplugin.core.destination;
+
+import com.mvplugin.core.exceptions.TeleportException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single step of teleporting an entity to a {@link SimpleDestination}.
+ * <br/>
+ * Stages are registered with a {@link TeleportPipeline} and run in order for every teleport.  A stage may inspect the
+ * request, change its target or stop the teleport by throwing a {@link TeleportException}.
+ *
+ * @see TeleportPipeline#addStage(int, TeleportStage)
+ */
+public interface TeleportStage {
+
+    /**
+     * Performs this stage of the teleport.
+     *
+     * @param request the teleport being carried out.
+     * @throws TeleportException to stop the teleport.  The message of the exception is shown to the teleporter.
+     */
+    void process(@NotNull TeleportRequest request) throws TeleportException;
+}
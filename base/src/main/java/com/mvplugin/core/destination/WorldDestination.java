@@ -8,12 +8,15 @@ import com.mvplugin.core.exceptions.TeleportException;
 import com.mvplugin.core.util.Language.Destination.World;
 import com.mvplugin.core.util.Perms;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
 import pluginbase.minecraft.Entity;
 import pluginbase.minecraft.location.EntityCoordinates;
 import pluginbase.minecraft.location.Locations;
 import pluginbase.permission.Permissible;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.regex.Pattern;
@@ -42,6 +45,9 @@ public final class WorldDestination extends SimpleDestination {
     @Override
     protected EntityCoordinates getDestination() throws TeleportException {
         MultiverseWorld mvWorld = this.getApi().getWorldManager().getWorld(world);
+        if (mvWorld == null) {
+            mvWorld = this.getApi().getWorldHibernator().wake(world);
+        }
 
         if (mvWorld == null) {
             throw new TeleportException(Message.bundleMessage(NOT_LOADED, world));
@@ -59,21 +65,21 @@ public final class WorldDestination extends SimpleDestination {
     }
 
     @Override
-    protected void checkPermissions(@NotNull Permissible teleporter, @NotNull Entity teleportee) throws PermissionException {
-        try {
-            EntityCoordinates coordinates = getDestination();
-            if (teleporter.equals(teleportee)) {
-                if (!teleporter.hasPerm(Perms.TP_SELF_WORLD, coordinates.getWorld())) {
-                    throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
-                            coordinates.getWorld(), Perms.TP_SELF_WORLD.getName(coordinates.getWorld())), Perms.TP_SELF_WORLD);
-                }
-            } else {
-                if (!teleporter.hasPerm(Perms.TP_OTHER_WORLD, coordinates.getWorld())) {
-                    throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
-                            coordinates.getWorld(), Perms.TP_OTHER_WORLD.getName(coordinates.getWorld())), Perms.TP_OTHER_WORLD);
-                }
+    protected void checkPermissions(@NotNull TeleportRequest request) throws PermissionException {
+        // Only the world name is needed here so a hibernating world is not woken just to check permissions.
+        final Permissible teleporter = request.getTeleporter();
+        final Entity teleportee = request.getTeleportee();
+        if (request.isSelfTeleport()) {
+            if (!getApi().getPermissionCache().hasPermission(teleporter, Perms.TP_SELF_WORLD, world)) {
+                throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
+                        world, Perms.TP_SELF_WORLD.getName(world)), Perms.TP_SELF_WORLD);
+            }
+        } else {
+            if (!getApi().getPermissionCache().hasPermission(teleporter, Perms.TP_OTHER_WORLD, world)) {
+                throw new PermissionException(Message.bundleMessage(World.NO_PERMISSION, teleportee.getName(),
+                        world, Perms.TP_OTHER_WORLD.getName(world)), Perms.TP_OTHER_WORLD);
             }
-        } catch (TeleportException ignore) { }
+        }
     }
 
     @Override
@@ -116,5 +122,18 @@ public final class WorldDestination extends SimpleDestination {
         public Set<String> getDestinationPrefixes() {
             return PREFIXES;
         }
+
+        @NotNull
+        @Override
+        public List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit) {
+            return complete(api, partial, limit, null);
+        }
+
+        @NotNull
+        @Override
+        public List<String> complete(@NotNull MultiverseCoreAPI api, @NotNull String partial, int limit,
+                                     @Nullable BasePlayer viewer) {
+            return api.getCompletionIndex().completeWorlds(partial, limit, true, viewer);
+        }
     }
 }
@@ -0,0 +1,12 @@
+package com.mvplugin.core.metrics;
+
+/**
+ * The view of a {@link Counter} offered through JMX.
+ */
+public interface CounterMXBean {
+
+    /**
+     * @return the number of times the counted event has happened.
+     */
+    long getCount();
+}
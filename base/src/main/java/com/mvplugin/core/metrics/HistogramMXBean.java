@@ -0,0 +1,19 @@
+package com.mvplugin.core.metrics;
+
+/**
+ * The view of a {@link Histogram} offered through JMX.
+ */
+public interface HistogramMXBean {
+
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long get50thPercentile();
+
+    long get95thPercentile();
+
+    long get99thPercentile();
+}
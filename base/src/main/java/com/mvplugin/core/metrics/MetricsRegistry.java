@@ -0,0 +1,208 @@
+package com.mvplugin.core.metrics;
+
+import com.mvplugin.core.util.CoreLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Holds every metric Multiverse keeps about itself, by name.
+ * <p>
+ * Metrics are created the first time they are asked for and live as long as the registry.  Names are lower case
+ * words separated by dots, such as {@code world.load}.  Looking a metric up is a single map read, so callers on hot
+ * paths may look it up every time rather than holding on to it.
+ * <p>
+ * The registry may be offered through JMX with {@link #registerMBeans()} and written in the Prometheus text format
+ * with {@link #writeText(Appendable)}.
+ */
+public final class MetricsRegistry {
+
+    /** The JMX domain the metrics are registered under. */
+    public static final String JMX_DOMAIN = "com.mvplugin.core";
+    /** Prefixed to every name in the text format. */
+    static final String TEXT_PREFIX = "multiverse_";
+
+    private static final Pattern VALID_NAME = Pattern.compile("[a-z0-9_]+(\\.[a-z0-9_]+)*");
+
+    @NotNull
+    private final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<String, Object>();
+    @Nullable
+    private volatile MBeanServer mBeanServer = null;
+
+    /**
+     * Gets the counter with the given name, creating it if needed.
+     *
+     * @param name the name of the counter.
+     * @return the counter.
+     * @throws IllegalArgumentException if the name is invalid or already belongs to a different type of metric.
+     */
+    @NotNull
+    public Counter counter(@NotNull final String name) {
+        final Object metric = metrics.get(name);
+        if (metric instanceof Counter) {
+            return (Counter) metric;
+        }
+        return register(name, new Counter(), Counter.class);
+    }
+
+    /**
+     * Gets the histogram with the given name, creating it if needed.
+     *
+     * @param name the name of the histogram.
+     * @return the histogram.
+     * @throws IllegalArgumentException if the name is invalid or already belongs to a different type of metric.
+     */
+    @NotNull
+    public Histogram histogram(@NotNull final String name) {
+        final Object metric = metrics.get(name);
+        if (metric instanceof Histogram) {
+            return (Histogram) metric;
+        }
+        return register(name, new Histogram(), Histogram.class);
+    }
+
+    /**
+     * Gets the timer with the given name, creating it if needed.
+     *
+     * @param name the name of the timer.
+     * @return the timer.
+     * @throws IllegalArgumentException if the name is invalid or already belongs to a different type of metric.
+     */
+    @NotNull
+    public Timer timer(@NotNull final String name) {
+        final Object metric = metrics.get(name);
+        if (metric instanceof Timer) {
+            return (Timer) metric;
+        }
+        return register(name, new Timer(), Timer.class);
+    }
+
+    @NotNull
+    private <T> T register(@NotNull final String name, @NotNull final T metric, @NotNull final Class<T> type) {
+        if (!VALID_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        final Object existing = metrics.putIfAbsent(name, metric);
+        if (existing == null) {
+            final MBeanServer server = mBeanServer;
+            if (server != null) {
+                registerMBean(server, name, metric);
+            }
+            return metric;
+        }
+        if (!type.isInstance(existing)) {
+            throw new IllegalArgumentException("The metric '" + name + "' is a " + existing.getClass().getSimpleName());
+        }
+        return type.cast(existing);
+    }
+
+    /**
+     * @return every metric, sorted by name.
+     */
+    @NotNull
+    public SortedMap<String, Object> getMetrics() {
+        return new TreeMap<String, Object>(metrics);
+    }
+
+    /**
+     * Offers every metric, including those created later, through the platform MBean server.  Metrics registered by
+     * an earlier registry, such as before a reload, are replaced.
+     */
+    public void registerMBeans() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        mBeanServer = server;
+        for (final Map.Entry<String, Object> entry : metrics.entrySet()) {
+            registerMBean(server, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Removes the metrics of this registry from the platform MBean server.
+     */
+    public void unregisterMBeans() {
+        final MBeanServer server = mBeanServer;
+        if (server == null) {
+            return;
+        }
+        mBeanServer = null;
+        for (final Map.Entry<String, Object> entry : metrics.entrySet()) {
+            try {
+                server.unregisterMBean(getObjectName(entry.getKey(), entry.getValue()));
+            } catch (InstanceNotFoundException ignore) {
+            } catch (JMException e) {
+                CoreLogger.fine("Could not unregister metric '%s': %s", entry.getKey(), e);
+            }
+        }
+    }
+
+    private static void registerMBean(@NotNull final MBeanServer server, @NotNull final String name,
+                                      @NotNull final Object metric) {
+        try {
+            final ObjectName objectName = getObjectName(name, metric);
+            try {
+                server.registerMBean(metric, objectName);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(objectName);
+                server.registerMBean(metric, objectName);
+            }
+        } catch (JMException e) {
+            CoreLogger.warning("Could not register metric '%s' with JMX: %s", name, e);
+        }
+    }
+
+    @NotNull
+    private static ObjectName getObjectName(@NotNull final String name, @NotNull final Object metric)
+            throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=" + metric.getClass().getSimpleName() + ",name=" + name);
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format.  Counters get a {@code _total} suffix and timers
+     * are given in seconds with a {@code _seconds} suffix.
+     *
+     * @param out where to write the metrics.
+     * @throws IOException if writing fails.
+     */
+    public void writeText(@NotNull final Appendable out) throws IOException {
+        for (final Map.Entry<String, Object> entry : getMetrics().entrySet()) {
+            final String name = TEXT_PREFIX + entry.getKey().replace('.', '_');
+            final Object metric = entry.getValue();
+            if (metric instanceof Counter) {
+                out.append("# TYPE ").append(name).append("_total counter\n");
+                out.append(name).append("_total ").append(String.valueOf(((Counter) metric).getCount())).append('\n');
+            } else if (metric instanceof Timer) {
+                writeSummary(out, name + "_seconds", ((Timer) metric).getHistogram(), 1e-9D);
+            } else if (metric instanceof Histogram) {
+                writeSummary(out, name, (Histogram) metric, 1D);
+            }
+        }
+    }
+
+    private static void writeSummary(@NotNull final Appendable out, @NotNull final String name,
+                                     @NotNull final Histogram histogram, final double scale) throws IOException {
+        out.append("# TYPE ").append(name).append(" summary\n");
+        writeQuantile(out, name, "0.5", histogram.get50thPercentile() * scale);
+        writeQuantile(out, name, "0.95", histogram.get95thPercentile() * scale);
+        writeQuantile(out, name, "0.99", histogram.get99thPercentile() * scale);
+        out.append(name).append("_sum ").append(String.valueOf(histogram.getSum() * scale)).append('\n');
+        out.append(name).append("_count ").append(String.valueOf(histogram.getCount())).append('\n');
+    }
+
+    private static void writeQuantile(@NotNull final Appendable out, @NotNull final String name,
+                                      @NotNull final String quantile, final double value) throws IOException {
+        out.append(name).append("{quantile=\"").append(quantile).append("\"} ").append(String.valueOf(value)).append('\n');
+    }
+}
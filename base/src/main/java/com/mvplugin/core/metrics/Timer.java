@@ -0,0 +1,82 @@
+package com.mvplugin.core.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Records how long something takes, in nanoseconds.
+ * <pre>
+ * final long start = timer.start();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.stop(start);
+ * }
+ * </pre>
+ */
+public final class Timer implements TimerMXBean {
+
+    private static final double NANOS_PER_MILLI = 1000000D;
+
+    @NotNull
+    private final Histogram histogram = new Histogram();
+
+    Timer() { }
+
+    /**
+     * @return the current time to later pass to {@link #stop(long)}.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time passed since the given start.
+     *
+     * @param start the value returned by {@link #start()}.
+     */
+    public void stop(final long start) {
+        histogram.record(System.nanoTime() - start);
+    }
+
+    public void record(final long nanos) {
+        histogram.record(nanos);
+    }
+
+    /**
+     * @return the recorded durations in nanoseconds.
+     */
+    @NotNull
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return histogram.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return histogram.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double get50thPercentileMillis() {
+        return histogram.get50thPercentile() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double get95thPercentileMillis() {
+        return histogram.get95thPercentile() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double get99thPercentileMillis() {
+        return histogram.get99thPercentile() / NANOS_PER_MILLI;
+    }
+}
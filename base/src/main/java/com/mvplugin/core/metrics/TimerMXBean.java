@@ -0,0 +1,19 @@
+package com.mvplugin.core.metrics;
+
+/**
+ * The view of a {@link Timer} offered through JMX.  Durations are given in milliseconds.
+ */
+public interface TimerMXBean {
+
+    long getCount();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double get50thPercentileMillis();
+
+    double get95thPercentileMillis();
+
+    double get99thPercentileMillis();
+}
@@ -0,0 +1,4 @@
+/**
+ * This package contains the counters, histograms and timers Multiverse measures itself with.
+ */
+package com.mvplugin.core.metrics;
@@ -17,11 +17,25 @@ public final class EntityType {
     private static final Map<String, EntityType> ENTITY_TYPES = new HashMap<String, EntityType>(100);
 
     public static void registerEntityType(@NotNull String entityType) {
+        registerEntityType(entityType, false, false);
+    }
+
+    /**
+     * Registers an entity type along with the broad category it belongs to.
+     * <p/>
+     * The category is used by things like the world purger to decide what counts as an animal or a monster without
+     * having to inspect every entity individually.
+     *
+     * @param entityType the name of the entity type.
+     * @param animal whether this type of entity is considered an animal.
+     * @param monster whether this type of entity is considered a monster.
+     */
+    public static void registerEntityType(@NotNull String entityType, boolean animal, boolean monster) {
         String uName = entityType.toUpperCase(Locale.ENGLISH);
         if (ENTITY_TYPES.containsKey(uName)) {
             throw new IllegalArgumentException("'" + entityType + "' is an already registered entity type");
         }
-        ENTITY_TYPES.put(uName, new EntityType(entityType));
+        ENTITY_TYPES.put(uName, new EntityType(entityType, animal, monster));
     }
 
     public static EntityType valueOf(String entityType) {
@@ -35,9 +49,13 @@ public final class EntityType {
 
     @NotNull
     private String name;
+    private boolean animal;
+    private boolean monster;
 
-    private EntityType(@NotNull String name) {
+    private EntityType(@NotNull String name, boolean animal, boolean monster) {
         this.name = name.toUpperCase(Locale.ENGLISH);
+        this.animal = animal;
+        this.monster = monster;
     }
 
     /**
@@ -50,6 +68,24 @@ public final class EntityType {
         return name;
     }
 
+    /**
+     * Whether this type of entity is considered an animal.
+     *
+     * @return true if this type of entity is considered an animal.
+     */
+    public boolean isAnimal() {
+        return animal;
+    }
+
+    /**
+     * Whether this type of entity is considered a monster.
+     *
+     * @return true if this type of entity is considered a monster.
+     */
+    public boolean isMonster() {
+        return monster;
+    }
+
     /**
      * The name of this type of entity.
      *
@@ -6,4 +6,27 @@ import pluginbase.minecraft.location.BlockCoordinates;
 public interface BlockSafety {
 
     boolean isSafeLocation(@NotNull final BlockCoordinates location);
+
+    /**
+     * Gets block safety for checking many locations inside a box of blocks, such as the area searched for a safe
+     * location.  Implementations may read every block of the box at once and answer from that copy instead of
+     * looking up each block.  The returned block safety should only be used for the check at hand, since it may not
+     * see later changes to the world.
+     * <p>
+     * Locations outside of the box are still answered, just without the benefit of reading ahead.
+     *
+     * @param world the name of the world the box is in.
+     * @param minX the lowest x coordinate of the box.
+     * @param minY the lowest y coordinate of the box.
+     * @param minZ the lowest z coordinate of the box.
+     * @param maxX the highest x coordinate of the box.
+     * @param maxY the highest y coordinate of the box.
+     * @param maxZ the highest z coordinate of the box.
+     * @return block safety for the box, which is this if the implementation does not read ahead.
+     */
+    @NotNull
+    default BlockSafety forArea(@NotNull final String world, final int minX, final int minY, final int minZ,
+                                final int maxX, final int maxY, final int maxZ) {
+        return this;
+    }
 }
@@ -27,4 +27,23 @@ public class ChatUtil {
             throw new PropertyVetoException(Message.bundleMessage(Config.CHAT_FORMAT_INVALID_ORDER));
         }
     }
+
+    /**
+     * Turns a chat format string from the config into a format for a chat message sent in the given world.
+     * <br/>
+     * The world marker is replaced with the world's alias and the player and message markers with {@code %s}.
+     * Color codes are left as they are for the server platform to translate.
+     *
+     * @param chatFormat The chat format string from the config.
+     * @param worldAlias The alias of the world the chat message is sent in.
+     * @return The format for the chat message.
+     * @throws PropertyVetoException if the chat format string is not valid.
+     */
+    @NotNull
+    public static String toFormatString(@NotNull String chatFormat, @NotNull String worldAlias) throws PropertyVetoException {
+        validateChat(chatFormat);
+        return chatFormat.replace(WORLD_MARKER, worldAlias)
+                .replace(PLAYER_MARKER, "%s")
+                .replace(MESSAGE_MARKER, "%s");
+    }
 }
@@ -15,6 +15,10 @@ import pluginbase.plugin.Settings;
 public class CoreConfig extends Settings {
 
     private Chat chat = new Chat();
+    private SpawnGovernor spawnGovernor = new SpawnGovernor();
+    private RandomTeleport randomTeleport = new RandomTeleport();
+    private Metrics metrics = new Metrics();
+    private DebugLog debugLog = new DebugLog();
 
     public boolean isFormattingChat() {
         return chat.formattingChat;
@@ -32,6 +36,150 @@ public class CoreConfig extends Settings {
         chat.chatFormatString = formatString;
     }
 
+    public boolean isSpawnGovernorEnabled() {
+        return spawnGovernor.enabled;
+    }
+
+    public void setSpawnGovernorEnabled(boolean enabled) {
+        spawnGovernor.enabled = enabled;
+    }
+
+    public double getSpawnGovernorTargetTickMillis() {
+        return spawnGovernor.targetTickMillis;
+    }
+
+    public void setSpawnGovernorTargetTickMillis(double targetTickMillis) {
+        spawnGovernor.targetTickMillis = targetTickMillis;
+    }
+
+    public double getSpawnGovernorRecoveryTickMillis() {
+        return spawnGovernor.recoveryTickMillis;
+    }
+
+    public void setSpawnGovernorRecoveryTickMillis(double recoveryTickMillis) {
+        spawnGovernor.recoveryTickMillis = recoveryTickMillis;
+    }
+
+    public double getSpawnGovernorMinimumFactor() {
+        return spawnGovernor.minimumFactor;
+    }
+
+    public void setSpawnGovernorMinimumFactor(double minimumFactor) {
+        spawnGovernor.minimumFactor = minimumFactor;
+    }
+
+    public double getSpawnGovernorStep() {
+        return spawnGovernor.step;
+    }
+
+    public void setSpawnGovernorStep(double step) {
+        spawnGovernor.step = step;
+    }
+
+    public int getSpawnGovernorSampleTicks() {
+        return spawnGovernor.sampleTicks;
+    }
+
+    public void setSpawnGovernorSampleTicks(int sampleTicks) {
+        spawnGovernor.sampleTicks = sampleTicks;
+    }
+
+    public int getRandomTeleportRadius() {
+        return randomTeleport.radius;
+    }
+
+    public void setRandomTeleportRadius(int radius) {
+        randomTeleport.radius = radius;
+    }
+
+    public int getRandomTeleportPoolSize() {
+        return randomTeleport.poolSize;
+    }
+
+    public void setRandomTeleportPoolSize(int poolSize) {
+        randomTeleport.poolSize = poolSize;
+    }
+
+    public int getRandomTeleportMaxAgeSeconds() {
+        return randomTeleport.maxAgeSeconds;
+    }
+
+    public void setRandomTeleportMaxAgeSeconds(int maxAgeSeconds) {
+        randomTeleport.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public int getRandomTeleportRefillTicks() {
+        return randomTeleport.refillTicks;
+    }
+
+    public void setRandomTeleportRefillTicks(int refillTicks) {
+        randomTeleport.refillTicks = refillTicks;
+    }
+
+    public boolean isMetricsJmxEnabled() {
+        return metrics.jmx;
+    }
+
+    public void setMetricsJmxEnabled(boolean jmx) {
+        metrics.jmx = jmx;
+    }
+
+    public String getMetricsExportFile() {
+        return metrics.exportFile;
+    }
+
+    public void setMetricsExportFile(String exportFile) {
+        metrics.exportFile = exportFile;
+    }
+
+    public int getMetricsExportSeconds() {
+        return metrics.exportSeconds;
+    }
+
+    public void setMetricsExportSeconds(int exportSeconds) {
+        metrics.exportSeconds = exportSeconds;
+    }
+
+    public boolean isDebugLogAsync() {
+        return debugLog.async;
+    }
+
+    public void setDebugLogAsync(boolean async) {
+        debugLog.async = async;
+    }
+
+    public int getDebugLogBufferSize() {
+        return debugLog.bufferSize;
+    }
+
+    public void setDebugLogBufferSize(int bufferSize) {
+        debugLog.bufferSize = bufferSize;
+    }
+
+    public boolean isDebugLogDroppingOldest() {
+        return debugLog.dropOldest;
+    }
+
+    public void setDebugLogDroppingOldest(boolean dropOldest) {
+        debugLog.dropOldest = dropOldest;
+    }
+
+    public int getDebugLogMaxFileKilobytes() {
+        return debugLog.maxFileKilobytes;
+    }
+
+    public void setDebugLogMaxFileKilobytes(int maxFileKilobytes) {
+        debugLog.maxFileKilobytes = maxFileKilobytes;
+    }
+
+    public int getDebugLogKeptFiles() {
+        return debugLog.keptFiles;
+    }
+
+    public void setDebugLogKeptFiles(int keptFiles) {
+        debugLog.keptFiles = keptFiles;
+    }
+
     @NoTypeKey
     @Comment("Settings related to chat handling.")
     private static final class Chat {
@@ -62,4 +210,93 @@ public class CoreConfig extends Settings {
             }
         }
     }
+
+    @NoTypeKey
+    @Comment({
+            "Settings for the spawn governor which temporarily reduces creature spawning in the busiest worlds",
+            "when the server is unable to keep up and restores the configured spawning as load drops."
+    })
+    private static final class SpawnGovernor {
+
+        @Comment("If this is set to true, Multiverse will adjust world spawn rates based on the measured tick time.")
+        private boolean enabled = false;
+        @Comment({
+                "When the average time between server ticks is above this many milliseconds, spawning is reduced.",
+                "A healthy server ticks every 50 milliseconds."
+        })
+        private double targetTickMillis = 55D;
+        @Comment("When the average time between server ticks is below this many milliseconds, spawning is restored.")
+        private double recoveryTickMillis = 51D;
+        @Comment({
+                "The lowest fraction of the configured spawn limits a world may be reduced to.",
+                "Spawn ticks are increased by the same proportion."
+        })
+        private double minimumFactor = 0.25D;
+        @Comment("How much the spawn fraction of a world changes with each adjustment.")
+        private double step = 0.1D;
+        @Comment("The number of ticks measured between each adjustment.")
+        private int sampleTicks = 100;
+    }
+
+    @NoTypeKey
+    @Comment({
+            "Settings for random destinations.  Safe locations are found ahead of time in the background and kept",
+            "in a small pool for each world so that a random teleport never has to search for one."
+    })
+    private static final class RandomTeleport {
+
+        @Comment("How far from the world's spawn, in blocks, a random location may be.")
+        private int radius = 5000;
+        @Comment("The number of safe locations kept ready for each world that has been a random destination.")
+        private int poolSize = 10;
+        @Comment({
+                "Safe locations older than this many seconds are discarded, since the world may have changed",
+                "around them."
+        })
+        private int maxAgeSeconds = 600;
+        @Comment({
+                "The number of ticks between each search for a new safe location.",
+                "Each search loads at most one chunk per world, so lower values fill the pools faster at some cost."
+        })
+        private int refillTicks = 20;
+    }
+
+    @NoTypeKey
+    @Comment("Settings for the measurements Multiverse keeps about itself.  They can be viewed with /mv metrics.")
+    private static final class Metrics {
+
+        @Comment("If this is set to true, the measurements are also offered through JMX.")
+        private boolean jmx = true;
+        @Comment({
+                "If set, the measurements are periodically written to this file in the Prometheus text format,",
+                "for example for the textfile collector of the Prometheus node exporter.",
+                "Relative paths are relative to the server's directory.  Leave empty to not write a file."
+        })
+        private String exportFile = "";
+        @Comment("The number of seconds between each write of the export file.")
+        private int exportSeconds = 60;
+    }
+
+    @NoTypeKey
+    @Comment("Settings for how debug messages are written while debug logging is on.")
+    private static final class DebugLog {
+
+        @Comment({
+                "If this is set to true, debug messages are written to logs/debug.log in the plugin's folder by a",
+                "background thread instead of to the console, so that debugging does not slow the server down.",
+                "Messages are dropped rather than waited on when they are logged faster than they can be written."
+        })
+        private boolean async = true;
+        @Comment("The number of debug messages that may wait to be written before messages are dropped.")
+        private int bufferSize = 8192;
+        @Comment({
+                "If this is set to true, the oldest waiting message is dropped to make room for a new one.",
+                "Otherwise the new message is dropped."
+        })
+        private boolean dropOldest = false;
+        @Comment("The size in kilobytes at which debug.log is renamed to debug.log.1 and a new one is started.")
+        private int maxFileKilobytes = 10240;
+        @Comment("The number of renamed debug logs that are kept.")
+        private int keptFiles = 5;
+    }
 }
@@ -1,162 +1,346 @@
-package com.mvplugin.core.util;
-
-import com.mvplugin.core.plugin.MultiverseCore;
-import org.jetbrains.annotations.NotNull;
-import pluginbase.logging.LoggablePlugin;
-import pluginbase.logging.PluginLogger;
-import pluginbase.plugin.PluginBase;
-
-import java.io.File;
-import java.util.logging.Level;
-
-public class CoreLogger {
-
-    private CoreLogger() {
-        throw new AssertionError();
-    }
-
-    /**
-     * The default "plugin" class to use for static logging.
-     */
-    private static class AnonymousLogging implements LoggablePlugin {
-        /** {@inheritDoc} */
-        @NotNull
-        @Override
-        public String getName() {
-            return CoreLogger.class.getName();
-        }
-
-        /** {@inheritDoc} */
-        @NotNull
-        @Override
-        public File getDataFolder() {
-            return new File("anonymous-logging");
-        }
-    }
-
-    /** Single instance of AnonymousLogging for use as the default plugin for this static logging class. */
-    static final AnonymousLogging DEFAULT_PLUGIN = new AnonymousLogging();
-
-    /** The PluginLogger instance used for static logging.  Package-Private so PluginLogger may change this. */
-    @NotNull
-    static volatile PluginLogger pluginLogger = PluginLogger.getLogger(DEFAULT_PLUGIN);
-
-    public static void init(@NotNull final PluginBase<MultiverseCore> plugin) {
-        pluginLogger = PluginLogger.getLogger(plugin);
-    }
-
-    /**
-     * Returns the single anonymous PluginLogger instance for this static logging class.
-     *
-     * @return the anonymous PluginLogger used for static logging by this class.
-     */
-    @NotNull
-    public static PluginLogger getLogger() {
-        return pluginLogger;
-    }
-
-    /**
-     * Sets the debug logging level of this plugin.
-     * <p/>
-     * Debug messages will print to the console and to a debug log file when enabled.
-     * <p/>
-     * debugLevel:
-     * <br/>0 - turns off debug logging, disabling the debug logger, closing any open file hooks.
-     * <br/>1 - enables debug logging of {@link java.util.logging.Level#FINE} or lower messages.
-     * <br/>2 - enables debug logging of {@link java.util.logging.Level#FINER} or lower messages.
-     * <br/>3 - enables debug logging of {@link java.util.logging.Level#FINEST} or lower messages.
-     *
-     * @param debugLevel 0 = off, 1-3 = debug level
-     */
-    public static void setDebugLevel(final int debugLevel) {
-        pluginLogger.setDebugLevel(debugLevel);
-    }
-
-    /**
-     * Custom log method that always logs to a single static logger.
-     * <p/>
-     * Applies String.format() to the message if it is a non-debug level logging and to debug level logging IF debug
-     * logging is enabled.
-     * <br/>
-     * Optionally appends version to prefix.
-     *
-     * @param level       One of the message level identifiers, e.g. SEVERE.
-     * @param message     The string message.
-     * @param args        Arguments for the String.format() that is applied to the message.
-     */
-    public static void log(@NotNull final Level level, @NotNull final String message, @NotNull final Object... args) {
-        pluginLogger.log(level, message, args);
-    }
-
-    /**
-     * Fine debug level logging.  Use for infrequent messages.
-     *
-     * @param message Message to log.
-     * @param args    Arguments for the String.format() that is applied to the message.
-     */
-    public static void fine(@NotNull final String message, @NotNull final Object...args) {
-        pluginLogger.fine(message, args);
-    }
-
-    /**
-     * Finer debug level logging.  Use for somewhat frequent messages.
-     *
-     * @param message Message to log.
-     * @param args    Arguments for the String.format() that is applied to the message.
-     */
-    public static void finer(@NotNull final String message, @NotNull final Object...args) {
-        pluginLogger.finer(message, args);
-    }
-
-    /**
-     * Finest debug level logging.  Use for extremely frequent messages.
-     *
-     * @param message Message to log.
-     * @param args    Arguments for the String.format() that is applied to the message.
-     */
-    public static void finest(@NotNull final String message, @NotNull final Object...args) {
-        pluginLogger.finest(message, args);
-    }
-
-    /**
-     * Config level logging.  Use for messages that should be INFO level but have the option to be disabled
-     * via debug level -1.
-     *
-     * @param message Message to log.
-     * @param args    Arguments for the String.format() that is applied to the message.
-     */
-    public static void config(@NotNull final String message, @NotNull final Object...args) {
-        pluginLogger.config(message, args);
-    }
-
-    /**
-     * Info level logging.
-     *
-     * @param message Message to log.
-     * @param args    Arguments for the String.format() that is applied to the message.
-     */
-    public static void info(@NotNull final String message, @NotNull final Object...args) {
-        pluginLogger.info(message, args);
-    }
-
-    /**
-     * Warning level logging.
-     *
-     * @param message Message to log.
-     * @param args    Arguments for the String.format() that is applied to the message.
-     */
-    public static void warning(@NotNull final String message, @NotNull final Object...args) {
-        pluginLogger.warning(message, args);
-    }
-
-    /**
-     * Severe level logging.
-     *
-     * @param message Message to log.
-     * @param args    Arguments for the String.format() that is applied to the message.
-     */
-    public static void severe(@NotNull final String message, @NotNull final Object...args) {
-        pluginLogger.severe(message, args);
-    }
-
-}
+package com.mvplugin.core.util;
+
+import com.mvplugin.core.plugin.MultiverseCore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.logging.LoggablePlugin;
+import pluginbase.logging.PluginLogger;
+import pluginbase.plugin.PluginBase;
+
+import java.io.File;
+import java.util.IllegalFormatException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+public class CoreLogger {
+
+    private CoreLogger() {
+        throw new AssertionError();
+    }
+
+    /**
+     * The default "plugin" class to use for static logging.
+     */
+    private static class AnonymousLogging implements LoggablePlugin {
+        /** {@inheritDoc} */
+        @NotNull
+        @Override
+        public String getName() {
+            return CoreLogger.class.getName();
+        }
+
+        /** {@inheritDoc} */
+        @NotNull
+        @Override
+        public File getDataFolder() {
+            return new File("anonymous-logging");
+        }
+    }
+
+    private static final String DEBUG_LOG_FOLDER = "logs";
+
+    /** Single instance of AnonymousLogging for use as the default plugin for this static logging class. */
+    static final AnonymousLogging DEFAULT_PLUGIN = new AnonymousLogging();
+
+    /** The PluginLogger instance used for static logging.  Package-Private so PluginLogger may change this. */
+    @NotNull
+    static volatile PluginLogger pluginLogger = PluginLogger.getLogger(DEFAULT_PLUGIN);
+
+    /**
+     * The debug level of {@link #pluginLogger}, kept here so the debug checks are a single volatile read.
+     */
+    private static volatile int debugLevel = 0;
+
+    /**
+     * When set, debug messages are written by this instead of by {@link #pluginLogger} on the calling thread.
+     */
+    @Nullable
+    private static volatile DebugLogWriter debugLogWriter = null;
+
+    public static void init(@NotNull final PluginBase<MultiverseCore> plugin) {
+        pluginLogger = PluginLogger.getLogger(plugin);
+        refreshDebugLevel();
+    }
+
+    /**
+     * Returns the single anonymous PluginLogger instance for this static logging class.
+     *
+     * @return the anonymous PluginLogger used for static logging by this class.
+     */
+    @NotNull
+    public static PluginLogger getLogger() {
+        return pluginLogger;
+    }
+
+    /**
+     * Sets the debug logging level of this plugin.
+     * <p/>
+     * Debug messages will print to the console and to a debug log file when enabled.
+     * <p/>
+     * debugLevel:
+     * <br/>0 - turns off debug logging, disabling the debug logger, closing any open file hooks.
+     * <br/>1 - enables debug logging of {@link java.util.logging.Level#FINE} or lower messages.
+     * <br/>2 - enables debug logging of {@link java.util.logging.Level#FINER} or lower messages.
+     * <br/>3 - enables debug logging of {@link java.util.logging.Level#FINEST} or lower messages.
+     *
+     * @param debugLevel 0 = off, 1-3 = debug level
+     */
+    public static void setDebugLevel(final int debugLevel) {
+        pluginLogger.setDebugLevel(debugLevel);
+        CoreLogger.debugLevel = debugLevel;
+    }
+
+    /**
+     * Picks up the debug level of the plugin logger after it was changed without going through this class, such as
+     * when the plugin's config is loaded or by the debug command.
+     */
+    public static void refreshDebugLevel() {
+        debugLevel = pluginLogger.getDebugLevel();
+    }
+
+    /**
+     * @return the debug level last set or picked up by this class, 0 when debug logging is off.
+     */
+    public static int getDebugLevel() {
+        return debugLevel;
+    }
+
+    /**
+     * Whether {@link Level#FINE} messages are logged.
+     * <p/>
+     * Check this before building a debug message in code that runs often.  The varargs of the logging methods
+     * allocate an array and box primitives even when the message is then dropped.
+     *
+     * @return true if debug logging is on.
+     */
+    public static boolean isFineEnabled() {
+        return debugLevel >= 1;
+    }
+
+    /**
+     * Whether {@link Level#FINER} messages are logged.
+     *
+     * @return true if the debug level is 2 or more.
+     * @see #isFineEnabled()
+     */
+    public static boolean isFinerEnabled() {
+        return debugLevel >= 2;
+    }
+
+    /**
+     * Whether {@link Level#FINEST} messages are logged.
+     *
+     * @return true if the debug level is 3.
+     * @see #isFineEnabled()
+     */
+    public static boolean isFinestEnabled() {
+        return debugLevel >= 3;
+    }
+
+    /**
+     * Sets up writing debug messages in the background as configured, replacing the previous debug log writer.
+     * <p/>
+     * The debug log is written to the logs folder in the plugin's data folder.
+     *
+     * @param dataFolder the data folder of the plugin.
+     * @param config the config with the debug log settings.
+     */
+    public static void configureDebugLog(@NotNull final File dataFolder, @NotNull final CoreConfig config) {
+        DebugLogWriter writer = null;
+        if (config.isDebugLogAsync()) {
+            writer = new DebugLogWriter(new File(dataFolder, DEBUG_LOG_FOLDER), config.getDebugLogBufferSize(),
+                    config.getDebugLogMaxFileKilobytes() * 1024L, config.getDebugLogKeptFiles(),
+                    config.isDebugLogDroppingOldest() ? DebugLogWriter.DropPolicy.DROP_OLDEST
+                            : DebugLogWriter.DropPolicy.DROP_NEWEST);
+            writer.start();
+        }
+        setDebugLogWriter(writer);
+    }
+
+    /**
+     * Replaces the writer debug messages are written by, closing the previous one.
+     *
+     * @param writer the started writer to use or null to log debug messages through the plugin logger again.
+     */
+    public static void setDebugLogWriter(@Nullable final DebugLogWriter writer) {
+        final DebugLogWriter previous = debugLogWriter;
+        debugLogWriter = writer;
+        if (previous != null && previous != writer) {
+            previous.close();
+        }
+    }
+
+    /**
+     * @return the writer debug messages are written by or null if they are logged through the plugin logger.
+     */
+    @Nullable
+    public static DebugLogWriter getDebugLogWriter() {
+        return debugLogWriter;
+    }
+
+    /**
+     * Formats a debug message on the calling thread, since the arguments may change before it would be written.
+     */
+    @NotNull
+    private static String format(@NotNull final String message, @NotNull final Object... args) {
+        if (args.length == 0) {
+            return message;
+        }
+        try {
+            return String.format(message, args);
+        } catch (IllegalFormatException e) {
+            return message;
+        }
+    }
+
+    /**
+     * Custom log method that always logs to a single static logger.
+     * <p/>
+     * Applies String.format() to the message if it is a non-debug level logging and to debug level logging IF debug
+     * logging is enabled.
+     * <br/>
+     * Optionally appends version to prefix.
+     *
+     * @param level       One of the message level identifiers, e.g. SEVERE.
+     * @param message     The string message.
+     * @param args        Arguments for the String.format() that is applied to the message.
+     */
+    public static void log(@NotNull final Level level, @NotNull final String message, @NotNull final Object... args) {
+        pluginLogger.log(level, message, args);
+    }
+
+    /**
+     * Fine debug level logging.  Use for infrequent messages.
+     *
+     * @param message Message to log.
+     * @param args    Arguments for the String.format() that is applied to the message.
+     */
+    public static void fine(@NotNull final String message, @NotNull final Object...args) {
+        final DebugLogWriter writer = debugLogWriter;
+        if (writer == null) {
+            pluginLogger.fine(message, args);
+        } else if (isFineEnabled()) {
+            writer.log(Level.FINE, format(message, args));
+        }
+    }
+
+    /**
+     * Finer debug level logging.  Use for somewhat frequent messages.
+     *
+     * @param message Message to log.
+     * @param args    Arguments for the String.format() that is applied to the message.
+     */
+    public static void finer(@NotNull final String message, @NotNull final Object...args) {
+        final DebugLogWriter writer = debugLogWriter;
+        if (writer == null) {
+            pluginLogger.finer(message, args);
+        } else if (isFinerEnabled()) {
+            writer.log(Level.FINER, format(message, args));
+        }
+    }
+
+    /**
+     * Finest debug level logging.  Use for extremely frequent messages.
+     *
+     * @param message Message to log.
+     * @param args    Arguments for the String.format() that is applied to the message.
+     */
+    public static void finest(@NotNull final String message, @NotNull final Object...args) {
+        final DebugLogWriter writer = debugLogWriter;
+        if (writer == null) {
+            pluginLogger.finest(message, args);
+        } else if (isFinestEnabled()) {
+            writer.log(Level.FINEST, format(message, args));
+        }
+    }
+
+    /**
+     * Fine debug level logging of a message that is only built if it will be logged.
+     *
+     * @param message Supplies the message to log.  It is logged as is, without String.format().
+     */
+    public static void fine(@NotNull final Supplier<String> message) {
+        if (isFineEnabled()) {
+            final DebugLogWriter writer = debugLogWriter;
+            if (writer == null) {
+                pluginLogger.fine("%s", message.get());
+            } else {
+                writer.log(Level.FINE, message.get());
+            }
+        }
+    }
+
+    /**
+     * Finer debug level logging of a message that is only built if it will be logged.
+     *
+     * @param message Supplies the message to log.  It is logged as is, without String.format().
+     */
+    public static void finer(@NotNull final Supplier<String> message) {
+        if (isFinerEnabled()) {
+            final DebugLogWriter writer = debugLogWriter;
+            if (writer == null) {
+                pluginLogger.finer("%s", message.get());
+            } else {
+                writer.log(Level.FINER, message.get());
+            }
+        }
+    }
+
+    /**
+     * Finest debug level logging of a message that is only built if it will be logged.
+     *
+     * @param message Supplies the message to log.  It is logged as is, without String.format().
+     */
+    public static void finest(@NotNull final Supplier<String> message) {
+        if (isFinestEnabled()) {
+            final DebugLogWriter writer = debugLogWriter;
+            if (writer == null) {
+                pluginLogger.finest("%s", message.get());
+            } else {
+                writer.log(Level.FINEST, message.get());
+            }
+        }
+    }
+
+    /**
+     * Config level logging.  Use for messages that should be INFO level but have the option to be disabled
+     * via debug level -1.
+     *
+     * @param message Message to log.
+     * @param args    Arguments for the String.format() that is applied to the message.
+     */
+    public static void config(@NotNull final String message, @NotNull final Object...args) {
+        pluginLogger.config(message, args);
+    }
+
+    /**
+     * Info level logging.
+     *
+     * @param message Message to log.
+     * @param args    Arguments for the String.format() that is applied to the message.
+     */
+    public static void info(@NotNull final String message, @NotNull final Object...args) {
+        pluginLogger.info(message, args);
+    }
+
+    /**
+     * Warning level logging.
+     *
+     * @param message Message to log.
+     * @param args    Arguments for the String.format() that is applied to the message.
+     */
+    public static void warning(@NotNull final String message, @NotNull final Object...args) {
+        pluginLogger.warning(message, args);
+    }
+
+    /**
+     * Severe level logging.
+     *
+     * @param message Message to log.
+     * @param args    Arguments for the String.format() that is applied to the message.
+     */
+    public static void severe(@NotNull final String message, @NotNull final Object...args) {
+        pluginLogger.severe(message, args);
+    }
+
+}
@@ -0,0 +1,290 @@
+package com.mvplugin.core.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Writes debug messages to a rotating log file on a background thread.
+ * <p>
+ * Messages wait in a bounded ring buffer until the writer thread gets to them, so logging never waits on the disk.
+ * When messages come in faster than they can be written and the buffer fills up, messages are dropped according to
+ * the {@link DropPolicy} and counted.  The log notes how many messages were dropped as it catches up.
+ * <p>
+ * The log is rotated once it grows past its maximum size: debug.log becomes debug.log.1, debug.log.1 becomes
+ * debug.log.2 and so on, and the oldest file beyond the number of kept files is deleted.
+ */
+public final class DebugLogWriter {
+
+    /**
+     * Which message to give up when the buffer is full.
+     */
+    public enum DropPolicy {
+        /** The message being logged is dropped, keeping what happened leading up to the buffer filling. */
+        DROP_NEWEST,
+        /** The oldest waiting message is dropped, keeping what happened most recently. */
+        DROP_OLDEST
+    }
+
+    static final String FILE_NAME = "debug.log";
+    private static final int BATCH_SIZE = 512;
+    private static final long POLL_MILLIS = 250L;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+
+    /**
+     * A message waiting to be written.  It is formatted before it is queued, since its arguments may change after.
+     */
+    private static final class Entry {
+
+        private final long millis;
+        @NotNull
+        private final Level level;
+        @NotNull
+        private final String thread;
+        @NotNull
+        private final String message;
+
+        private Entry(final long millis, @NotNull final Level level, @NotNull final String thread,
+                      @NotNull final String message) {
+            this.millis = millis;
+            this.level = level;
+            this.thread = thread;
+            this.message = message;
+        }
+    }
+
+    @NotNull
+    private final File file;
+    private final long maxFileBytes;
+    private final int keptFiles;
+    @NotNull
+    private final DropPolicy dropPolicy;
+    @NotNull
+    private final BlockingQueue<Entry> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    @NotNull
+    private final Thread thread;
+    private volatile boolean closed = false;
+
+    // Only used by the writer thread.
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    @Nullable
+    private Writer out = null;
+    private long fileBytes = 0L;
+    private long reportedDrops = 0L;
+    private boolean failing = false;
+
+    /**
+     * Creates a writer that has not started writing yet.
+     *
+     * @param folder the folder the log files are written to.
+     * @param capacity the most messages that may wait to be written.
+     * @param maxFileBytes the size in bytes past which the log is rotated.
+     * @param keptFiles the number of rotated log files to keep.
+     * @param dropPolicy which message to drop when the buffer is full.
+     */
+    public DebugLogWriter(@NotNull final File folder, final int capacity, final long maxFileBytes,
+                          final int keptFiles, @NotNull final DropPolicy dropPolicy) {
+        this.file = new File(folder, FILE_NAME);
+        this.maxFileBytes = Math.max(1L, maxFileBytes);
+        this.keptFiles = Math.max(0, keptFiles);
+        this.dropPolicy = dropPolicy;
+        this.buffer = new ArrayBlockingQueue<Entry>(Math.max(1, capacity));
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "Multiverse debug log writer");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the background thread that writes the log.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Queues a message to be written without waiting.  Messages logged after the writer was closed are dropped.
+     *
+     * @param level the level of the message.
+     * @param message the formatted message.
+     * @return false if the message was dropped.
+     */
+    public boolean log(@NotNull final Level level, @NotNull final String message) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        final Entry entry = new Entry(System.currentTimeMillis(), level, Thread.currentThread().getName(), message);
+        if (buffer.offer(entry)) {
+            return true;
+        }
+        if (dropPolicy == DropPolicy.DROP_OLDEST) {
+            do {
+                if (buffer.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            } while (!buffer.offer(entry));
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * @return the number of messages dropped since this writer was created.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of messages waiting to be written.
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * @return the file currently being written to.
+     */
+    @NotNull
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Stops accepting messages and waits a short while for the waiting messages to be written.
+     */
+    public void close() {
+        closed = true;
+        if (thread.isAlive() && thread != Thread.currentThread()) {
+            try {
+                thread.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void drain() {
+        final List<Entry> batch = new ArrayList<Entry>(BATCH_SIZE);
+        try {
+            while (!closed || !buffer.isEmpty()) {
+                final Entry first;
+                try {
+                    first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    closed = true;
+                    continue;
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+                batch.clear();
+            }
+            write(batch);
+        } finally {
+            closeFile();
+        }
+    }
+
+    private void write(@NotNull final List<Entry> batch) {
+        try {
+            final long drops = dropped.get();
+            if (drops > reportedDrops) {
+                writeLine(dateFormat.format(new Date()) + " [WARNING] " + (drops - reportedDrops)
+                        + " debug messages were dropped because they were logged faster than they could be written");
+                reportedDrops = drops;
+            }
+            for (final Entry entry : batch) {
+                writeLine(dateFormat.format(new Date(entry.millis)) + " [" + entry.level.getName() + "] ["
+                        + entry.thread + "] " + entry.message);
+            }
+            if (out != null) {
+                out.flush();
+            }
+            failing = false;
+            if (fileBytes >= maxFileBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+            reportedDrops += batch.size();
+            if (!failing) {
+                failing = true;
+                CoreLogger.warning("Could not write to the debug log '%s': %s", file, e.getMessage());
+            }
+            closeFile();
+        }
+    }
+
+    private void writeLine(@NotNull final String line) throws IOException {
+        if (out == null) {
+            final File folder = file.getParentFile();
+            if (folder != null && !folder.isDirectory() && !folder.mkdirs()) {
+                throw new IOException("Could not create " + folder);
+            }
+            fileBytes = file.length();
+            out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        }
+        out.write(line);
+        out.write('\n');
+        // Close enough for deciding when to rotate.
+        fileBytes += line.length() + 1;
+    }
+
+    private void rotate() throws IOException {
+        closeFile();
+        final File oldest = rotatedFile(keptFiles);
+        if (oldest.exists() && !oldest.delete()) {
+            throw new IOException("Could not delete " + oldest);
+        }
+        for (int i = keptFiles - 1; i >= 0; i--) {
+            final File from = rotatedFile(i);
+            if (from.exists() && !from.renameTo(rotatedFile(i + 1))) {
+                throw new IOException("Could not rotate " + from);
+            }
+        }
+        fileBytes = 0L;
+    }
+
+    /**
+     * Gets the file the log is moved to after rotating the given number of times, which is the log itself for 0.
+     */
+    @NotNull
+    File rotatedFile(final int rotations) {
+        return rotations == 0 ? file : new File(file.getPath() + "." + rotations);
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignore) { }
+            out = null;
+        }
+    }
+}
@@ -52,6 +52,9 @@ public final class Language {
              * This list is going to be a PITA to upkeep. $: is the theme for odd items, $; is for even.<br/>
              * Args are required in the following order:
              * <ul>
+             *     <li>spawn chunks kept unloaded</li>
+             *     <li>spawn governor adjustments</li>
+             *     <li>spawn governor rate</li>
              *     <li>ambient spawn limit</li>
              *     <li>water spawn limit</li>
              *     <li>monster spawn limit</li>
@@ -85,6 +88,9 @@ public final class Language {
              */
             public static final Message INFO = Message.createMessage("command.info.info",
                     "$+---- End of List (Read bottom to top) ----",
+                    "$;Spawn Chunks Kept Unloaded: $v%s",
+                    "$:Spawn Governor Adjustments: $v%s",
+                    "$;Spawn Governor Rate: $v%s%%",
                     "$:Ambiet Creature Spawn Limit: $v%s",
                     "$;Water Creature Spawn Limit: $v%s",
                     "$:Monster Spawn Limit: $v%s",
@@ -167,9 +173,28 @@ public final class Language {
 
             public static final Message HELP = Message.createMessage("command.list.help",
                     "$hLists all worlds managed by $tMultiverse$h."
-                    + "\n$hOnly the worlds you may access will be shown.");
+                    + "\n$hOnly the worlds you may access will be shown."
+                    + "\n$hFlags:"
+                    + "\n$f  -e $r{ENVIRONMENT} $hOnly show worlds of the given environment."
+                    + "\n$f  -p $r{PREFIX} $hOnly show worlds whose name starts with the given text."
+                    + "\n$f  -l $hOnly show loaded worlds."
+                    + "\n$f  -u $hOnly show unloaded worlds."
+                    + "\n$f  -s $r{state|name|env} $hSpecify the order to show worlds in."
+                    + "\n$hExamples:"
+                    + "\n$c  /mv list $r2"
+                    + "\n$c  /mv list $f-e $1nether $f-s $rname");
             public static final Message LIST_WORLDS = Message.createMessage("command.list.list",
-                    "$=====[ Multiverse World List ]====\n%s");
+                    "$=====[ Multiverse World List - Page %s ]====\n%s");
+            public static final Message NO_WORLDS = Message.createMessage("command.list.no_worlds",
+                    "$iThere are no worlds to show on this page.");
+            public static final Message MORE_WORLDS = Message.createMessage("command.list.more_worlds",
+                    "$iThere are more worlds on page $v%s$i.");
+            public static final Message INVALID_PAGE = Message.createMessage("command.list.invalid_page",
+                    "$v%s $-is not a valid page number.");
+            public static final Message INVALID_SORT = Message.createMessage("command.list.invalid_sort",
+                    "$v%s $-is not a valid order.  $iWorlds may be sorted by $vstate$i, $vname $ior $venv$i.");
+            public static final Message CONFLICTING_FLAGS = Message.createMessage("command.list.conflicting_flags",
+                    "$-The $f-l $-and $f-u $-flags may not be used together.");
         }
 
         public static final class Modify {
@@ -251,6 +276,31 @@ public final class Language {
                 public static final Message SUCCESS = Message.createMessage("command.modify.clear.success",
                         "$+You have successfully cleared '$v%s$+'!");
             }
+
+            public static final class Bulk {
+                private Bulk() { }
+
+                public static final Message HELP = Message.createMessage("command.modify.bulk.help",
+                        "$hSets the value of a property for every world managed by $tMultiverse$h that matches a selector."
+                                + "\n$hThe selector may be a glob such as $v'skyblock_*'$h, a regular expression such as $v're:arena_[0-9]+'$h,"
+                                + "\n$hor a property check such as $v'environment=nether'$h."
+                                + "\n$hThe modified worlds are saved together in the background.");
+
+                public static final Message INVALID_SELECTOR = Message.createMessage("command.modify.bulk.invalid_selector",
+                        "$-'$v%s$-' is not a valid selector: %s");
+
+                public static final Message NO_MATCHES = Message.createMessage("command.modify.bulk.no_matches",
+                        "$-No worlds match '$v%s$-'.");
+
+                public static final Message SUCCESS = Message.createMessage("command.modify.bulk.success",
+                        "$+You have set '$v%s$+' to '$v%s$+' in $v%s$+ of $v%s$+ matching worlds.");
+
+                public static final Message FAILURE = Message.createMessage("command.modify.bulk.failure",
+                        "$-Could not modify '$v%s$-':");
+
+                public static final Message SAVE_FAILED = Message.createMessage("command.modify.bulk.save_failed",
+                        "$-Some of the modified worlds could not be saved. See the server log for details.");
+            }
         }
 
         public static final class Load {
@@ -291,6 +341,86 @@ public final class Language {
             public static final Message FAILURE = Message.createMessage("command.unload.failure",
                     "$-'$v%s$-' could not be unloaded!");
         }
+
+        public static class Hibernation {
+            private Hibernation() { }
+
+            public static final Message HELP = Message.createMessage("command.hibernation.help",
+                    "$hShows which worlds are hibernating and how much has been saved by unloading idle worlds and their spawn chunks."
+                    + "\n$hA world hibernates once it has been empty for the number of seconds in its $vhibernateAfter $hproperty."
+                    + "\n$hExamples:"
+                    + "\n$c  /mv hibernation");
+            /**
+             * Args are required in the following order:
+             * <ul>
+             *     <li>hibernating worlds</li>
+             *     <li>times hibernated</li>
+             *     <li>times woken</li>
+             *     <li>chunks released</li>
+             *     <li>entities released</li>
+             *     <li>heap reclaimed in MB</li>
+             *     <li>worlds with released spawn chunks</li>
+             *     <li>spawn chunks kept unloaded</li>
+             * </ul>
+             */
+            public static final Message STATUS = Message.createMessage("command.hibernation.status",
+                    "$=====[ Multiverse World Hibernation ]===="
+                    + "\n$:Hibernating Worlds: $v%s"
+                    + "\n$;Times Hibernated: $v%s"
+                    + "\n$:Times Woken: $v%s"
+                    + "\n$;Chunks Released: $v%s"
+                    + "\n$:Entities Released: $v%s"
+                    + "\n$;Approximate Heap Reclaimed: $v%sMB"
+                    + "\n$:Worlds With Released Spawn Chunks: $v%s"
+                    + "\n$;Spawn Chunks Kept Unloaded: $v%s");
+        }
+
+        public static class Metrics {
+            private Metrics() { }
+
+            public static final Message HELP = Message.createMessage("command.metrics.help",
+                    "$hShows the counters and timers Multiverse keeps about itself."
+                    + "\n$hOnly the metrics whose name starts with $rPREFIX $hare shown if it is given."
+                    + "\n$hExamples:"
+                    + "\n$c  /mv metrics"
+                    + "\n$c  /mv metrics $rworld");
+            public static final Message HEADER = Message.createMessage("command.metrics.header",
+                    "$=====[ Multiverse Metrics ]====");
+            /** Requires 2 args: name, count */
+            public static final Message COUNTER = Message.createMessage("command.metrics.counter",
+                    "$:%s: $v%s");
+            /** Requires 6 args: name, count, mean, 95th percentile, 99th percentile and max, in milliseconds */
+            public static final Message TIMER = Message.createMessage("command.metrics.timer",
+                    "$:%s: $v%s $;calls, mean $v%.2fms$;, p95 $v%.2fms$;, p99 $v%.2fms$;, max $v%.2fms");
+            /** Requires 6 args: name, count, mean, 95th percentile, 99th percentile and max */
+            public static final Message HISTOGRAM = Message.createMessage("command.metrics.histogram",
+                    "$:%s: $v%s $;values, mean $v%.2f$;, p95 $v%s$;, p99 $v%s$;, max $v%s");
+            public static final Message NO_METRICS = Message.createMessage("command.metrics.no_metrics",
+                    "$iNothing has been measured yet.");
+        }
+
+        public static class Startup {
+            private Startup() { }
+
+            public static final Message HELP = Message.createMessage("command.startup.help",
+                    "$hShows how long loading the worlds took when Multiverse started, slowest world first."
+                    + "\n$hOnly the $rCOUNT $hslowest worlds are shown, 10 if it is not given."
+                    + "\n$hExamples:"
+                    + "\n$c  /mv startup"
+                    + "\n$c  /mv startup $r50");
+            /** Requires 3 args: number of worlds, total time and time spent finding the worlds, in milliseconds */
+            public static final Message SUMMARY = Message.createMessage("command.startup.summary",
+                    "$=====[ Multiverse Startup ]===="
+                    + "\n$:Loading $v%s $:worlds took $v%.1fms$:, of which $v%.1fms $:was spent finding them.");
+            /** Requires 4 args: world name, total time, time reading the world file and time creating the world, in milliseconds */
+            public static final Message WORLD = Message.createMessage("command.startup.world",
+                    "$:%s: $v%.1fms $;(file $v%.1fms$;, create $v%.1fms$;)");
+            /** Requires 4 args: world name, total time, time reading the world file and time creating the world, in milliseconds */
+            public static final Message WORLD_NOT_LOADED = Message.createMessage("command.startup.world_not_loaded",
+                    "$:%s: $v%.1fms $;(file $v%.1fms$;, create $v%.1fms$;) $inot loaded");
+            public static final Message INVALID_COUNT = Message.createMessage("command.startup.invalid_count",
+                    "$v%s $-is not a valid number of worlds.");
+        }
     }
 
     public static enum Config {
@@ -341,6 +471,27 @@ public final class Language {
                     "$-You do not have permission to teleport $v%s$- via cannon. Requires $v");
         }
 
+        public static final class Anchor {
+            private Anchor() { }
+
+            public static final Message INVALID = Message.createMessage("destination.anchor.invalid",
+                    "$-$*The destination '$v%s$-$*' does not follow the format of '$ca:name$-$*'");
+            public static final Message NOT_FOUND = Message.createMessage("destination.anchor.notfound",
+                    "$-$*Multiverse could not find the anchor '$v%s$-$*'!");
+            /** Requires 3 args: teleportee name, anchor name, missing permission */
+            public static final Message NO_PERMISSION = Message.createMessage("destination.anchor.nopermission",
+                    "$-You do not have permission to teleport $v%s$- to the anchor $v%s$-. Requires $v");
+        }
+
+        public static final class Random {
+            private Random() { }
+
+            public static final Message INVALID = Message.createMessage("destination.random.invalid",
+                    "$-$*The destination '$v%s$-$*' does not follow the format of '$crandom:world$-$*'");
+            public static final Message NONE_AVAILABLE = Message.createMessage("destination.random.noneavailable",
+                    "$-$*No safe random location in '$v%s$-$*' is ready yet. Please try again shortly.");
+        }
+
         public static final class Unknown {
             private Unknown() { }
 
@@ -359,6 +510,9 @@ public final class Language {
                     "$-$*Multiverse could not load the destination world '$v%s$-$*'!");
             public static final Message NOT_LOADED = Message.createMessage("destination.world.notloaded",
                             "$-$*The destination world '$v%s$-$*' is not loaded!");
+            /** Requires 2 args: world name, player limit */
+            public static final Message FULL = Message.createMessage("destination.world.full",
+                    "$-$*The world '$v%s$-$*' is full!  It may only hold $v%s$-$* players.");
         }
     }
 
@@ -371,6 +525,17 @@ public final class Language {
                         "$-$*Multiverse could not teleport '$v%s$-$*' to safe location '$v%s$-$*'.");
     }
 
+    public static final class WorldPurger {
+        private WorldPurger() { }
+
+        public static final Message PROGRESS = Message.createMessage("purger.progress",
+                "$iPurging '$v%s$i': $v%s$i of $v%s$i chunks scanned, $v%s$i entities removed so far...");
+        public static final Message COMPLETE = Message.createMessage("purger.complete",
+                "$+Purged $v%s$+ of $v%s$+ entities from the world '$v%s$+' over $v%s$+ ticks.");
+        public static final Message FAILED = Message.createMessage("purger.failed",
+                "$-Purging the world '$v%s$-' stopped early after removing $v%s$- entities: $v%s");
+    }
+
     public static final class Properties {
         public static final Message VALID_SPAWN_STRING = Message.createMessage("world_properties.spawn_location.valid_string",
                 "$iA valid spawn string is in the form '$vx,y,z$i'."
@@ -36,6 +36,15 @@ public class Perms {
     public static final Perm CMD_DELETE = PermFactory.newPerm(MultiverseCore.class, "cmd.delete")
             .commandPermission().usePluginName().build();
 
+    public static final Perm CMD_HIBERNATION = PermFactory.newPerm(MultiverseCore.class, "cmd.hibernation")
+            .commandPermission().usePluginName().build();
+
+    public static final Perm CMD_METRICS = PermFactory.newPerm(MultiverseCore.class, "cmd.metrics")
+            .commandPermission().usePluginName().build();
+
+    public static final Perm CMD_STARTUP = PermFactory.newPerm(MultiverseCore.class, "cmd.startup")
+            .commandPermission().usePluginName().build();
+
     // ============ Multiverse Bypass Permissions ============
 
     private static final Perm MV = PermFactory.newPerm(MultiverseCore.class, "mv.*")
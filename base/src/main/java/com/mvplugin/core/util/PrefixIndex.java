@@ -0,0 +1,135 @@
+package com.mvplugin.core.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A set of strings that can be searched by prefix, ignoring case.
+ * <p>
+ * Entries are kept sorted by their lower case form, so every entry starting with a given prefix sits in one run that
+ * begins where the prefix itself would be inserted.  Looking up the first few matches is therefore a logarithmic seek
+ * followed by a walk over only the entries that are returned, no matter how many entries the index holds.
+ * <p>
+ * The index may be read and changed from any thread.  Entries keep the case they were added with.
+ */
+public final class PrefixIndex {
+
+    /** Lower case entries mapped to the entries as they were added. */
+    @NotNull
+    private volatile ConcurrentSkipListMap<String, String> entries = new ConcurrentSkipListMap<String, String>();
+
+    @NotNull
+    private static String key(@NotNull final String value) {
+        return value.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Adds an entry.  An entry that only differs in case from one already in the index replaces it.
+     *
+     * @param value the entry to add.
+     */
+    public void add(@NotNull final String value) {
+        entries.put(key(value), value);
+    }
+
+    /**
+     * Removes an entry, ignoring case.
+     *
+     * @param value the entry to remove.
+     */
+    public void remove(@NotNull final String value) {
+        entries.remove(key(value));
+    }
+
+    /**
+     * Checks whether the index holds an entry, ignoring case.
+     *
+     * @param value the entry to look for.
+     * @return true if the index holds the entry.
+     */
+    public boolean contains(@NotNull final String value) {
+        return entries.containsKey(key(value));
+    }
+
+    /**
+     * Replaces every entry in the index.  Readers see either the old entries or the new ones, never a mix.
+     *
+     * @param values the new entries.
+     */
+    public void replaceAll(@NotNull final Collection<String> values) {
+        final ConcurrentSkipListMap<String, String> replacement = new ConcurrentSkipListMap<String, String>();
+        for (final String value : values) {
+            replacement.put(key(value), value);
+        }
+        entries = replacement;
+    }
+
+    public void clear() {
+        entries = new ConcurrentSkipListMap<String, String>();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the entries starting with the given prefix, ignoring case.
+     *
+     * @param prefix the text entries must start with.  An empty prefix matches every entry.
+     * @param limit the most entries to return.
+     * @return at most {@code limit} matching entries, sorted ignoring case.
+     */
+    @NotNull
+    public List<String> complete(@NotNull final String prefix, final int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        final String lowerPrefix = key(prefix);
+        final List<String> result = new ArrayList<String>(Math.min(limit, 16));
+        for (final Map.Entry<String, String> entry : entries.tailMap(lowerPrefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(lowerPrefix)) {
+                break;
+            }
+            result.add(entry.getValue());
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Merges the results of several {@link #complete(String, int)} calls into one sorted list, dropping entries that
+     * appear more than once.
+     *
+     * @param limit the most entries to return.
+     * @param results the results to merge, each sorted ignoring case.
+     * @return at most {@code limit} entries, sorted ignoring case.
+     */
+    @NotNull
+    @SafeVarargs
+    public static List<String> merge(final int limit, @NotNull final List<String>... results) {
+        final List<String> merged = new ArrayList<String>();
+        for (final List<String> result : results) {
+            merged.addAll(result);
+        }
+        Collections.sort(merged, String.CASE_INSENSITIVE_ORDER);
+        final List<String> distinct = new ArrayList<String>(Math.min(limit, merged.size()));
+        for (final String value : merged) {
+            if (distinct.size() >= limit) {
+                break;
+            }
+            if (distinct.isEmpty() || !distinct.get(distinct.size() - 1).equalsIgnoreCase(value)) {
+                distinct.add(value);
+            }
+        }
+        return distinct;
+    }
+}
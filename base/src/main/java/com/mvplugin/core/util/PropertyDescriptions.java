@@ -107,11 +107,29 @@ public enum PropertyDescriptions {
             "The gameMode property allows you to specify the GameMode for this world."
             + "\nPlayers entering this world will automatically be switched to this GameMode unless they are exempted.");
 
+    public static final String HIBERNATE_AFTER_KEY = "world_properties.descriptions.hibernateAfter";
+    public static final Message HIBERNATE_AFTER = Message.createMessage(HIBERNATE_AFTER_KEY,
+            "The hibernateAfter property is the number of seconds this world may be empty before it is unloaded to save memory."
+            + "\nA hibernating world stays managed and is loaded again as soon as someone teleports to it."
+            + "\nA value of -1 or lower disables hibernation.");
+
     public static final String KEEP_SPAWN_KEY = "world_properties.descriptions.keepSpawnInMemory";
     public static final Message KEEP_SPAWN = Message.createMessage(KEEP_SPAWN_KEY,
             "The keepSpawnInMemory property specifies whether or not to keep the spawn chunks loaded in memory when players aren't in the spawn area."
             + "\nSetting this to false will potentially save you some memory.");
 
+    public static final String PROFILE_KEY = "world_properties.descriptions.profile";
+    public static final Message PROFILE = Message.createMessage(PROFILE_KEY,
+            "The profile property names a profile in the profiles folder that supplies every value not set in this world's file."
+            + "\nWorlds using a profile only store the values that differ from it."
+            + "\nLeave it empty to use the built in defaults. A change takes effect the next time the world's file is read.");
+
+    public static final String RELEASE_SPAWN_AFTER_KEY = "world_properties.descriptions.releaseSpawnAfter";
+    public static final Message RELEASE_SPAWN_AFTER = Message.createMessage(RELEASE_SPAWN_AFTER_KEY,
+            "The releaseSpawnAfter property is the number of seconds this world may be empty before its spawn chunks are no longer kept in memory."
+            + "\nThe spawn chunks are loaded and kept in memory again when a player nears spawn or is teleported to this world."
+            + "\nThis only applies while keepSpawnInMemory is true. A value of -1 or lower disables it.");
+
     public static final String SPAWN_LOCATION_KEY = "world_properties.descriptions.spawnLocation";
     public static final Message SPAWN_LOCATION = Message.createMessage(SPAWN_LOCATION_KEY,
             "The spawnLocation property specifies where in the world players will spawn.");
@@ -156,6 +174,16 @@ public enum PropertyDescriptions {
             "The waterLimit property specifies how many water entities are allowed to be spawned per chunk."
             + "\nA negative value will indicate the default will be used.");
 
+    public static final String ANIMAL_EXCEPTIONS_KEY = "world_properties.descriptions.spawning.animalExceptions";
+    public static final Message ANIMAL_EXCEPTIONS = Message.createMessage(ANIMAL_EXCEPTIONS_KEY,
+            "The animalExceptions property lists the animals that are spared when a purge removes animals from the world."
+            + "\nWhen the animalLimit is 0, these are the only animals left alone.");
+
+    public static final String MONSTER_EXCEPTIONS_KEY = "world_properties.descriptions.spawning.monsterExceptions";
+    public static final Message MONSTER_EXCEPTIONS = Message.createMessage(MONSTER_EXCEPTIONS_KEY,
+            "The monsterExceptions property lists the monsters that are spared when a purge removes monsters from the world."
+            + "\nWhen the monsterLimit is 0, these are the only monsters left alone.");
+
     //public static final String INVALID_SCALE_KEY = "world_properties.validation.scale";
     public static final Message INVALID_SCALE = Message.createMessage("world_properties.validation.scale",
             "Scale must be a number higher than 0!");
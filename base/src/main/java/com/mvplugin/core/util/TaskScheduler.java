@@ -0,0 +1,35 @@
+package com.mvplugin.core.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Used to run tasks through the server implementation's scheduler.
+ *
+ * Multiverse uses this for any work that must be spread over multiple ticks or performed off of the main thread.
+ */
+public interface TaskScheduler {
+
+    /**
+     * Runs the given task on the main server thread during the next tick.
+     *
+     * @param task The task to run.
+     */
+    void runTask(@NotNull final Runnable task);
+
+    /**
+     * Runs the given task on the main server thread after the given number of ticks.
+     *
+     * @param task The task to run.
+     * @param delay The number of ticks to wait before running the task.
+     */
+    void runTaskLater(@NotNull final Runnable task, final long delay);
+
+    /**
+     * Runs the given task on a thread other than the main server thread.
+     *
+     * The task must not interact with the server in a way that requires being on the main thread.
+     *
+     * @param task The task to run.
+     */
+    void runTaskAsynchronously(@NotNull final Runnable task);
+}
@@ -0,0 +1,74 @@
+package com.mvplugin.core.world;
+
+import org.jetbrains.annotations.NotNull;
+import pluginbase.messages.BundledMessage;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The outcome of changing a property on many worlds at once.
+ * <p>
+ * The change is applied in memory immediately.  The worlds that were changed are then written to disk together in the
+ * background; {@link #getSaveFuture()} completes once that write has finished.
+ */
+public final class BulkModifyResult {
+
+    @NotNull
+    private final List<String> modifiedWorlds;
+    @NotNull
+    private final Map<String, BundledMessage> failures;
+    @NotNull
+    private final CompletableFuture<Void> saveFuture;
+
+    public BulkModifyResult(@NotNull final List<String> modifiedWorlds,
+                            @NotNull final Map<String, BundledMessage> failures,
+                            @NotNull final CompletableFuture<Void> saveFuture) {
+        this.modifiedWorlds = Collections.unmodifiableList(modifiedWorlds);
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<String, BundledMessage>(failures));
+        this.saveFuture = saveFuture;
+    }
+
+    /**
+     * Gets the names of the worlds the change was applied to.
+     *
+     * @return the names of the modified worlds, in the order they were modified.
+     */
+    @NotNull
+    public List<String> getModifiedWorlds() {
+        return modifiedWorlds;
+    }
+
+    /**
+     * Gets the worlds the change could not be applied to, along with the reason for each.
+     *
+     * @return a map of world name to the reason the change was rejected.
+     */
+    @NotNull
+    public Map<String, BundledMessage> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets a future that is completed once all of the modified worlds have been saved.
+     * <p>
+     * The future is completed exceptionally if any of the worlds could not be saved.
+     *
+     * @return a future for the batched save.
+     */
+    @NotNull
+    public CompletableFuture<Void> getSaveFuture() {
+        return saveFuture;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkModifyResult{" +
+                "modifiedWorlds=" + modifiedWorlds +
+                ", failures=" + failures.keySet() +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package com.mvplugin.core.world;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The totals of a completed world purge.
+ */
+public final class PurgeResult {
+
+    @NotNull
+    private final String worldName;
+    private final int chunksScanned;
+    private final int entitiesScanned;
+    private final int entitiesRemoved;
+    private final int ticks;
+    private final long workNanos;
+
+    public PurgeResult(@NotNull final String worldName, final int chunksScanned, final int entitiesScanned,
+                       final int entitiesRemoved, final int ticks, final long workNanos) {
+        this.worldName = worldName;
+        this.chunksScanned = chunksScanned;
+        this.entitiesScanned = entitiesScanned;
+        this.entitiesRemoved = entitiesRemoved;
+        this.ticks = ticks;
+        this.workNanos = workNanos;
+    }
+
+    /**
+     * Gets the name of the world that was purged.
+     *
+     * @return the name of the world that was purged.
+     */
+    @NotNull
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Gets the number of loaded chunks that were scanned.
+     *
+     * @return the number of loaded chunks that were scanned.
+     */
+    public int getChunksScanned() {
+        return chunksScanned;
+    }
+
+    /**
+     * Gets the number of entities that were examined.
+     *
+     * @return the number of entities that were examined.
+     */
+    public int getEntitiesScanned() {
+        return entitiesScanned;
+    }
+
+    /**
+     * Gets the number of entities that were removed.
+     *
+     * @return the number of entities that were removed.
+     */
+    public int getEntitiesRemoved() {
+        return entitiesRemoved;
+    }
+
+    /**
+     * Gets the number of server ticks the purge was spread across.
+     *
+     * @return the number of server ticks the purge was spread across.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the total time spent working on the purge on the main thread, in nanoseconds.
+     *
+     * @return the total time spent working on the purge, in nanoseconds.
+     */
+    public long getWorkNanos() {
+        return workNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "PurgeResult{" +
+                "worldName='" + worldName + '\'' +
+                ", chunksScanned=" + chunksScanned +
+                ", entitiesScanned=" + entitiesScanned +
+                ", entitiesRemoved=" + entitiesRemoved +
+                ", ticks=" + ticks +
+                ", workNanos=" + workNanos +
+                '}';
+    }
+}
@@ -0,0 +1,269 @@
+package com.mvplugin.core.world;
+
+import com.mvplugin.core.MultiverseWorld;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of every world Multiverse manages, loaded or not, kept sorted in each of the supported orders.
+ * <p>
+ * Building a listing sorts the worlds once per order so that listing them afterwards only needs to walk an already
+ * sorted array.  A listing never changes once built; {@link com.mvplugin.core.WorldManager#getWorldListing()} hands
+ * out the same listing until worlds are added, removed, loaded or unloaded.  Properties that are expected to change
+ * while a world is loaded, such as its alias or whether it is hidden, are not copied into the listing but read from
+ * the world whenever they are asked for.
+ */
+public final class WorldListing {
+
+    /**
+     * The orders a listing can be walked in.
+     */
+    public enum SortOrder {
+        /** Loaded worlds first, then unloaded worlds, each by name. */
+        STATE(new Comparator<Entry>() {
+            @Override
+            public int compare(final Entry a, final Entry b) {
+                if (a.isLoaded() != b.isLoaded()) {
+                    return a.isLoaded() ? -1 : 1;
+                }
+                return NAME.comparator.compare(a, b);
+            }
+        }),
+        /** By name, ignoring case. */
+        NAME(new Comparator<Entry>() {
+            @Override
+            public int compare(final Entry a, final Entry b) {
+                final int result = a.lowerName.compareTo(b.lowerName);
+                return result != 0 ? result : a.name.compareTo(b.name);
+            }
+        }),
+        /** By environment, then by name.  Worlds whose environment is unknown come last. */
+        ENVIRONMENT(new Comparator<Entry>() {
+            @Override
+            public int compare(final Entry a, final Entry b) {
+                if (a.environment != b.environment) {
+                    if (a.environment == null) {
+                        return 1;
+                    } else if (b.environment == null) {
+                        return -1;
+                    }
+                    return a.environment.compareTo(b.environment);
+                }
+                return NAME.comparator.compare(a, b);
+            }
+        }),
+        ;
+
+        @NotNull
+        private final Comparator<Entry> comparator;
+
+        SortOrder(@NotNull final Comparator<Entry> comparator) {
+            this.comparator = comparator;
+        }
+
+        @Nullable
+        public static SortOrder getFromString(@Nullable final String name) {
+            for (final SortOrder order : values()) {
+                if (order.name().equalsIgnoreCase(name)) {
+                    return order;
+                }
+            }
+            if ("env".equalsIgnoreCase(name)) {
+                return ENVIRONMENT;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A single world in a listing.
+     */
+    public static final class Entry {
+        @NotNull
+        private final String name;
+        @NotNull
+        private final String lowerName;
+        @Nullable
+        private final MultiverseWorld world;
+        @Nullable
+        private final WorldEnvironment environment;
+
+        private Entry(@NotNull final String name, @Nullable final MultiverseWorld world,
+                      @Nullable final WorldEnvironment environment) {
+            this.name = name;
+            this.lowerName = name.toLowerCase();
+            this.world = world;
+            this.environment = environment;
+        }
+
+        /**
+         * Gets the name of the world.
+         *
+         * @return the name of the world.
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the world if it was loaded when the listing was built.
+         *
+         * @return the loaded world or null if it was not loaded.
+         */
+        @Nullable
+        public MultiverseWorld getWorld() {
+            return world;
+        }
+
+        public boolean isLoaded() {
+            return world != null;
+        }
+
+        /**
+         * Gets the environment the world had when the listing was built.
+         *
+         * @return the environment of the world or null if it could not be determined.
+         */
+        @Nullable
+        public WorldEnvironment getEnvironment() {
+            return environment;
+        }
+
+        /**
+         * Gets the name the world should be shown as.  This is the current alias of a loaded world and the name of an
+         * unloaded one.
+         *
+         * @return the name to show for the world.
+         */
+        @NotNull
+        public String getDisplayName() {
+            return world != null ? world.getAlias() : name;
+        }
+
+        /**
+         * Checks whether the world is currently hidden.  Unloaded worlds are never hidden.
+         *
+         * @return true if the world is loaded and hidden.
+         */
+        public boolean isHidden() {
+            return world != null && world.isHidden();
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "name='" + name + '\'' +
+                    ", loaded=" + isLoaded() +
+                    ", environment=" + environment +
+                    '}';
+        }
+    }
+
+    @NotNull
+    private final Map<SortOrder, Entry[]> sorted = new EnumMap<SortOrder, Entry[]>(SortOrder.class);
+
+    /**
+     * Builds a new listing.
+     *
+     * @param loadedWorlds the worlds that are loaded.
+     * @param unloadedWorlds the names of the worlds that are managed but not loaded, mapped to their environment or
+     *                       to null if it is not known.
+     */
+    public WorldListing(@NotNull final Collection<MultiverseWorld> loadedWorlds,
+                        @NotNull final Map<String, WorldEnvironment> unloadedWorlds) {
+        final Entry[] entries = new Entry[loadedWorlds.size() + unloadedWorlds.size()];
+        int i = 0;
+        for (final MultiverseWorld world : loadedWorlds) {
+            entries[i++] = new Entry(world.getName(), world, world.getEnvironment());
+        }
+        for (final Map.Entry<String, WorldEnvironment> unloaded : unloadedWorlds.entrySet()) {
+            entries[i++] = new Entry(unloaded.getKey(), null, unloaded.getValue());
+        }
+        for (final SortOrder order : SortOrder.values()) {
+            final Entry[] copy = entries.clone();
+            Arrays.sort(copy, order.comparator);
+            sorted.put(order, copy);
+        }
+    }
+
+    /**
+     * Gets the number of worlds in this listing.
+     *
+     * @return the number of worlds in this listing.
+     */
+    public int size() {
+        return sorted.get(SortOrder.NAME).length;
+    }
+
+    /**
+     * Gets every world in this listing.
+     *
+     * @param order the order to return the worlds in.
+     * @return the worlds in the given order.
+     */
+    @NotNull
+    public List<Entry> getWorlds(@NotNull final SortOrder order) {
+        return Collections.unmodifiableList(Arrays.asList(sorted.get(order)));
+    }
+
+    /**
+     * Gets the worlds in this listing that match all of the given conditions.
+     *
+     * @param order the order to return the worlds in.
+     * @param environment the environment worlds must have or null for any.
+     * @param loaded true for only loaded worlds, false for only unloaded worlds or null for both.
+     * @param namePrefix the text world names must start with, ignoring case, or null for any name.
+     * @return the matching worlds in the given order.
+     */
+    @NotNull
+    public List<Entry> select(@NotNull final SortOrder order, @Nullable final WorldEnvironment environment,
+                              @Nullable final Boolean loaded, @Nullable final String namePrefix) {
+        final Entry[] entries = sorted.get(order);
+        final String prefix = namePrefix == null || namePrefix.isEmpty() ? null : namePrefix.toLowerCase();
+        int start = 0;
+        int end = entries.length;
+        if (prefix != null && order == SortOrder.NAME) {
+            // Names sharing a prefix sit next to each other when sorted by name, so only that run needs checking.
+            start = firstNotBefore(entries, prefix);
+            end = start;
+            while (end < entries.length && entries[end].lowerName.startsWith(prefix)) {
+                end++;
+            }
+        }
+        final List<Entry> result = new ArrayList<Entry>(end - start);
+        for (int i = start; i < end; i++) {
+            final Entry entry = entries[i];
+            if ((environment == null || environment == entry.environment)
+                    && (loaded == null || loaded == entry.isLoaded())
+                    && (prefix == null || entry.lowerName.startsWith(prefix))) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private static int firstNotBefore(@NotNull final Entry[] entries, @NotNull final String lowerName) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (entries[mid].lowerName.compareTo(lowerName) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
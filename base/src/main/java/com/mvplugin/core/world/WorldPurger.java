@@ -1,15 +1,20 @@
 package com.mvplugin.core.world;
 
 import com.mvplugin.core.MultiverseWorld;
+import com.mvplugin.core.minecraft.EntityType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import pluginbase.minecraft.BasePlayer;
-import pluginbase.minecraft.Entity;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Used to remove animals from worlds that don't belong there.
+ * <p>
+ * Purging is performed incrementally on the main thread, a few chunks each tick, so that large worlds do not stall
+ * the server.  Each purge method returns a future that is completed with the totals once the whole world has been
+ * processed.
  */
 public interface WorldPurger {
     /**
@@ -19,7 +24,14 @@ public interface WorldPurger {
      */
     void purgeWorlds(@NotNull final List<MultiverseWorld> worlds);
 
-    void purgeWorld(@NotNull final MultiverseWorld world);
+    /**
+     * Synchronizes the given world with its settings.
+     *
+     * @param world The {@link MultiverseWorld}.
+     * @return a future that is completed with the totals once the purge has finished.
+     */
+    @NotNull
+    CompletableFuture<PurgeResult> purgeWorld(@NotNull final MultiverseWorld world);
 
     /**
      * Clear all animals/monsters that do not belong to a world according to the config.
@@ -28,11 +40,13 @@ public interface WorldPurger {
      * @param thingsToKill A {@link java.util.List} of animals/monsters to be killed.
      * @param negateAnimals Whether the monsters in the list should be negated.
      * @param negateMonsters Whether the animals in the list should be negated.
+     * @return a future that is completed with the totals once the purge has finished.
      */
-    void purgeWorld(@NotNull final MultiverseWorld mvworld,
-                    @NotNull final List<String> thingsToKill,
-                    final boolean negateAnimals,
-                    final boolean negateMonsters);
+    @NotNull
+    CompletableFuture<PurgeResult> purgeWorld(@NotNull final MultiverseWorld mvworld,
+                                              @NotNull final List<String> thingsToKill,
+                                              final boolean negateAnimals,
+                                              final boolean negateMonsters);
 
     /**
      * Clear all animals/monsters that do not belong to a world according to the config.
@@ -41,34 +55,38 @@ public interface WorldPurger {
      * @param thingsToKill A {@link java.util.List} of animals/monsters to be killed.
      * @param negateAnimals Whether the monsters in the list should be negated.
      * @param negateMonsters Whether the animals in the list should be negated.
-     * @param sender The {@link BasePlayer} that initiated the action. He will/should be notified.
+     * @param sender The {@link BasePlayer} that initiated the action. He will/should be notified of the progress
+     *               and the totals.
+     * @return a future that is completed with the totals once the purge has finished.
      */
-    void purgeWorld(@NotNull final MultiverseWorld mvworld,
-                    @NotNull final List<String> thingsToKill,
-                    final boolean negateAnimals,
-                    final boolean negateMonsters,
-                    @Nullable final BasePlayer sender);
+    @NotNull
+    CompletableFuture<PurgeResult> purgeWorld(@NotNull final MultiverseWorld mvworld,
+                                              @NotNull final List<String> thingsToKill,
+                                              final boolean negateAnimals,
+                                              final boolean negateMonsters,
+                                              @Nullable final BasePlayer sender);
 
     /**
-     * Determines whether the specified creature should be killed.
+     * Determines whether creatures of the specified type should be killed.
      *
-     * @param e The creature.
+     * @param type The type of creature.
      * @param thingsToKill A {@link java.util.List} of animals/monsters to be killed.
      * @param negateAnimals Whether the monsters in the list should be negated.
      * @param negateMonsters Whether the animals in the list should be negated.
-     * @return {@code true} if the creature should be killed, otherwise {@code false}.
+     * @return {@code true} if creatures of this type should be killed, otherwise {@code false}.
      */
-    boolean shouldWeKillThisCreature(@NotNull final Entity e,
-                                     @NotNull final List<String> thingsToKill,
-                                     final boolean negateAnimals,
-                                     final boolean negateMonsters);
+    boolean shouldWeKillThisType(@NotNull final EntityType type,
+                                 @NotNull final List<String> thingsToKill,
+                                 final boolean negateAnimals,
+                                 final boolean negateMonsters);
 
     /**
-     * Determines whether the specified creature should be killed and automatically reads the params from a world object.
+     * Determines whether creatures of the specified type should be killed and automatically reads the params from a
+     * world object.
      *
      * @param w The world.
-     * @param e The creature.
-     * @return {@code true} if the creature should be killed, otherwise {@code false}.
+     * @param type The type of creature.
+     * @return {@code true} if creatures of this type should be killed, otherwise {@code false}.
      */
-    boolean shouldWeKillThisCreature(@NotNull final MultiverseWorld w, @NotNull final Entity e);
+    boolean shouldWeKillThisType(@NotNull final MultiverseWorld w, @NotNull final EntityType type);
 }
@@ -0,0 +1,140 @@
+package com.mvplugin.core.world;
+
+import com.mvplugin.core.MultiverseWorld;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Creates predicates that select worlds for operations applied to many worlds at once, such as
+ * {@link com.mvplugin.core.WorldManager#modifyWorlds(Predicate, String, String)}.
+ * <p>
+ * All name matching is case insensitive.
+ */
+public final class WorldSelector {
+
+    /** The prefix that marks a selector string as a regular expression. */
+    public static final String REGEX_PREFIX = "re:";
+
+    private WorldSelector() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Selects every world.
+     *
+     * @return a predicate that matches every world.
+     */
+    @NotNull
+    public static Predicate<MultiverseWorld> all() {
+        return new Predicate<MultiverseWorld>() {
+            @Override
+            public boolean test(final MultiverseWorld world) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Selects worlds whose name matches the given glob, where {@code *} matches any run of characters and {@code ?}
+     * matches exactly one character.
+     *
+     * @param glob the glob to match world names against.
+     * @return a predicate that matches worlds by name.
+     */
+    @NotNull
+    public static Predicate<MultiverseWorld> glob(@NotNull final String glob) {
+        return name(globToPattern(glob));
+    }
+
+    /**
+     * Selects worlds whose entire name matches the given regular expression.
+     *
+     * @param regex the regular expression to match world names against.
+     * @return a predicate that matches worlds by name.
+     * @throws PatternSyntaxException if the regular expression is invalid.
+     */
+    @NotNull
+    public static Predicate<MultiverseWorld> regex(@NotNull final String regex) throws PatternSyntaxException {
+        return name(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+    }
+
+    /**
+     * Selects worlds whose property currently has the given value.
+     * <p>
+     * Values are compared by their string form, ignoring case, so {@code property("environment", "nether")} and
+     * {@code property("pvp", "false")} both work as expected.  Worlds without the property are never selected.
+     *
+     * @param propertyName the name or alias of the property to check.
+     * @param value the value the property must have.
+     * @return a predicate that matches worlds by property value.
+     */
+    @NotNull
+    public static Predicate<MultiverseWorld> property(@NotNull final String propertyName, @NotNull final String value) {
+        return new Predicate<MultiverseWorld>() {
+            @Override
+            public boolean test(final MultiverseWorld world) {
+                final Object actual = world.getPropertyUnchecked(propertyName);
+                return actual != null && actual.toString().equalsIgnoreCase(value);
+            }
+        };
+    }
+
+    /**
+     * Parses a selector as typed by a user.
+     * <ul>
+     *     <li>{@code re:<regex>} selects worlds by regular expression.</li>
+     *     <li>{@code <property>=<value>} selects worlds by property value.</li>
+     *     <li>Anything else is treated as a glob, so a plain world name selects just that world.</li>
+     * </ul>
+     *
+     * @param selector the selector string.
+     * @return a predicate that matches the worlds described by the selector.
+     * @throws PatternSyntaxException if the selector is an invalid regular expression.
+     */
+    @NotNull
+    public static Predicate<MultiverseWorld> parse(@NotNull final String selector) throws PatternSyntaxException {
+        if (selector.regionMatches(true, 0, REGEX_PREFIX, 0, REGEX_PREFIX.length())) {
+            return regex(selector.substring(REGEX_PREFIX.length()));
+        }
+        final int equals = selector.indexOf('=');
+        if (equals > 0) {
+            return property(selector.substring(0, equals), selector.substring(equals + 1));
+        }
+        return glob(selector);
+    }
+
+    @NotNull
+    static Pattern globToPattern(@NotNull final String glob) {
+        final StringBuilder regex = new StringBuilder(glob.length() + 8);
+        int literalStart = -1;
+        for (int i = 0; i < glob.length(); i++) {
+            final char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (literalStart >= 0) {
+                    regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                    literalStart = -1;
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else if (literalStart < 0) {
+                literalStart = i;
+            }
+        }
+        if (literalStart >= 0) {
+            regex.append(Pattern.quote(glob.substring(literalStart)));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    }
+
+    @NotNull
+    private static Predicate<MultiverseWorld> name(@NotNull final Pattern pattern) {
+        return new Predicate<MultiverseWorld>() {
+            @Override
+            public boolean test(final MultiverseWorld world) {
+                return pattern.matcher(world.getName()).matches();
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.command.CommandCompleter;
+import com.mvplugin.core.util.Perms;
+import com.mvplugin.core.util.PrefixIndex;
+import org.junit.Test;
+import pluginbase.minecraft.BasePlayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class CompletionIndexTest extends MultiverseTest {
+
+    private MultiverseCoreAPI api;
+    private WorldManager worldManager;
+    private CompletionIndex index;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        worldManager = api.getWorldManager();
+        index = api.getCompletionIndex();
+    }
+
+    @Test
+    public void testCompleteWorlds() throws Exception {
+        assertEquals(Arrays.asList("world", "world_nether", "world_the_end"), index.completeWorlds("", 10, null));
+        assertEquals(Arrays.asList("world_nether", "world_the_end"), index.completeWorlds("WORLD_", 10, true));
+        assertEquals(Arrays.asList("world_nether"), index.completeWorlds("world_", 1, null));
+
+        worldManager.unloadWorld("world_the_end");
+        assertEquals(Arrays.asList("world_the_end"), index.completeWorlds("w", 10, false));
+        assertEquals(Arrays.asList("world", "world_nether"), index.completeWorlds("w", 10, true));
+    }
+
+    @Test
+    public void testAliasesFollowChanges() throws Exception {
+        MultiverseWorld world = worldManager.getWorld("world");
+        world.setAlias("Overworld");
+        assertEquals(Arrays.asList("Overworld"), index.completeWorlds("o", 10, true));
+
+        // Property writes skip the setter but must still be noticed.
+        world.setProperty("alias", "Surface");
+        assertEquals(Collections.emptyList(), index.completeWorlds("o", 10, true));
+        assertEquals(Arrays.asList("Surface"), index.completeWorlds("s", 10, null));
+        assertEquals(Collections.emptyList(), index.completeWorlds("s", 10, false));
+    }
+
+    @Test
+    public void testPlayersFollowJoinAndQuit() throws Exception {
+        index.playerJoined("Notch");
+        index.playerJoined("notjeb");
+        assertEquals(Arrays.asList("Notch", "notjeb"), index.completePlayers("NOT", 10));
+        index.playerQuit("notch");
+        assertEquals(Arrays.asList("notjeb"), index.completePlayers("not", 10));
+    }
+
+    @Test
+    public void testCompleteCommands() throws Exception {
+        CommandCompleter completer = new CommandCompleter(api, "mv");
+        index.playerJoined("wolfie");
+
+        assertTrue(completer.complete(null, "mv", new String[] {"t"}).contains("tp"));
+        assertTrue(completer.complete(null, "mv", new String[] {"modify", ""}).contains("set"));
+        assertEquals(Arrays.asList("playerLimit"), completer.complete(null, "mv", new String[] {"modify", "set", "playerL"}));
+        assertEquals(Arrays.asList("world_nether"), completer.complete(null, "mvm", new String[] {"set", "pvp", "false", "world_n"}));
+        assertEquals(Arrays.asList("wolfie", "world", "world:", "world_nether", "world_the_end"),
+                completer.complete(null, "mvtp", new String[] {"wo"}));
+        assertEquals(Arrays.asList("w:world_nether"), completer.complete(null, "mv", new String[] {"tp", "wolfie", "w:world_n"}));
+        assertEquals(Arrays.asList("e:world_the_end:"), completer.complete(null, "mv", new String[] {"tp", "e:world_t"}));
+        assertEquals(Collections.emptyList(), completer.complete(null, "mvload", new String[] {"world"}));
+        assertEquals(Collections.emptyList(), completer.complete(null, "mv", new String[] {"list", ""}));
+    }
+
+    @Test
+    public void testCompletionsLeaveOutWorldsTheSenderMayNotSee() throws Exception {
+        CommandCompleter completer = new CommandCompleter(api, "mv");
+        BasePlayer player = api.getServerInterface().getPlayer("Player");
+        assertNotNull(player);
+        when(player.hasPerm(Perms.ACCESS, "world_nether")).thenReturn(false);
+        when(player.hasPerm(Perms.CMD_MODIFY, "world_the_end")).thenReturn(false);
+        worldManager.getWorld("world_the_end").setHidden(true);
+
+        assertEquals(Arrays.asList("world"), index.completeWorlds("w", 10, null, player));
+        assertEquals(Arrays.asList("world", "world_nether", "world_the_end"), index.completeWorlds("w", 10, null, null));
+        assertEquals(Collections.emptyList(), completer.complete(player, "mv", new String[] {"info", "world_"}));
+        assertEquals(Arrays.asList("w:world"), completer.complete(player, "mv", new String[] {"tp", "w:w"}));
+    }
+
+    @Test
+    public void testLargePrefixIndex() throws Exception {
+        PrefixIndex prefixIndex = new PrefixIndex();
+        List<String> names = new ArrayList<String>();
+        for (int i = 0; i < 10000; i++) {
+            names.add(String.format("World_%05d", i));
+        }
+        prefixIndex.replaceAll(names);
+        assertEquals(10000, prefixIndex.size());
+        assertEquals(Arrays.asList("World_01230", "World_01231", "World_01232"), prefixIndex.complete("world_0123", 3));
+        assertEquals(10, prefixIndex.complete("WORLD_0999", 50).size());
+        assertEquals(Collections.emptyList(), prefixIndex.complete("nether", 50));
+    }
+}
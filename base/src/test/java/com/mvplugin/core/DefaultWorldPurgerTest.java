@@ -0,0 +1,275 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.EntityType;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.TaskScheduler;
+import com.mvplugin.core.world.PurgeResult;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import pluginbase.messages.messaging.Messager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class DefaultWorldPurgerTest extends MultiverseTest {
+
+    private static final EntityType ANIMAL = registerTestType("PURGER_TEST_PIG", true, false);
+    private static final EntityType MONSTER = registerTestType("PURGER_TEST_ZOMBIE", false, true);
+    private static final EntityType OTHER = registerTestType("PURGER_TEST_ITEM", false, false);
+
+    private static synchronized EntityType registerTestType(String name, boolean animal, boolean monster) {
+        if (EntityType.valueOf(name) == null) {
+            EntityType.registerEntityType(name, animal, monster);
+        }
+        return EntityType.valueOf(name);
+    }
+
+    private final Queue<Runnable> scheduledTasks = new LinkedList<Runnable>();
+    private MultiverseCore core;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        core = PowerMockito.mock(MultiverseCore.class);
+        TaskScheduler scheduler = PowerMockito.mock(TaskScheduler.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                scheduledTasks.add((Runnable) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(scheduler).runTask(any(Runnable.class));
+        when(core.getTaskScheduler()).thenReturn(scheduler);
+        when(core.getMessager()).thenReturn(PowerMockito.mock(Messager.class));
+    }
+
+    private int runScheduledTicks() {
+        int ticks = 0;
+        while (!scheduledTasks.isEmpty()) {
+            scheduledTasks.poll().run();
+            ticks++;
+        }
+        return ticks;
+    }
+
+    private MultiverseWorld createWorld(List<ChunkLink> chunks) {
+        WorldLink worldLink = WorldLinkFactory.getMockedWorldLink("purgeworld", WorldEnvironment.NORMAL, WorldType.NORMAL, 0L);
+        when(worldLink.getLoadedChunks()).thenReturn(chunks);
+        return new MultiverseWorld(new WorldProperties(), worldLink);
+    }
+
+    @Test
+    public void testKillTable() throws Exception {
+        Set<EntityType> table = DefaultWorldPurger.createKillTable(Arrays.asList("animals"), false, false);
+        assertTrue(table.contains(ANIMAL));
+        assertFalse(table.contains(MONSTER));
+        assertFalse(table.contains(OTHER));
+
+        table = DefaultWorldPurger.createKillTable(Collections.<String>emptyList(), false, true);
+        assertFalse(table.contains(ANIMAL));
+        assertTrue(table.contains(MONSTER));
+        assertFalse(table.contains(OTHER));
+
+        table = DefaultWorldPurger.createKillTable(Arrays.asList(MONSTER.name()), false, true);
+        assertFalse(table.contains(MONSTER));
+
+        table = DefaultWorldPurger.createKillTable(Arrays.asList(OTHER.name(), "ALL"), false, false);
+        assertTrue(table.contains(ANIMAL));
+        assertTrue(table.contains(MONSTER));
+        assertTrue(table.contains(OTHER));
+    }
+
+    @Test
+    public void testKillTypeReadsTheWorldSpawnLimits() throws Exception {
+        MultiverseWorld world = createWorld(Collections.<ChunkLink>emptyList());
+        DefaultWorldPurger purger = new DefaultWorldPurger(core);
+        world.setAnimalSpawnLimit(0);
+        world.setMonsterSpawnLimit(10);
+        assertTrue(purger.shouldWeKillThisType(world, ANIMAL));
+        assertFalse(purger.shouldWeKillThisType(world, MONSTER));
+        assertFalse(purger.shouldWeKillThisType(world, OTHER));
+
+        world.setAnimalSpawnLimit(10);
+        world.setMonsterSpawnLimit(0);
+        assertFalse(purger.shouldWeKillThisType(world, ANIMAL));
+        assertTrue(purger.shouldWeKillThisType(world, MONSTER));
+    }
+
+    @Test
+    public void testWorldPurgeHonoursTheSpawnExceptions() throws Exception {
+        List<TestEntity> entities = new ArrayList<TestEntity>();
+        TestChunk chunk = new TestChunk(true);
+        chunk.add(entities, ANIMAL);
+        chunk.add(entities, MONSTER);
+        MultiverseWorld world = createWorld(Arrays.<ChunkLink>asList(chunk));
+        DefaultWorldPurger purger = new DefaultWorldPurger(core);
+        world.setAnimalSpawnLimit(0);
+        world.setMonsterSpawnLimit(0);
+        world.getAnimalSpawnExceptions().add(ANIMAL.name());
+        assertFalse(purger.shouldWeKillThisType(world, ANIMAL));
+        assertTrue(purger.shouldWeKillThisType(world, MONSTER));
+
+        CompletableFuture<PurgeResult> future = purger.purgeWorld(world);
+        runScheduledTicks();
+        assertEquals(1, future.get().getEntitiesRemoved());
+        assertFalse(entities.get(0).removed);
+        assertTrue(entities.get(1).removed);
+
+        // While monsters may spawn, the exceptions are the only monsters purged.
+        world.setMonsterSpawnLimit(10);
+        world.getMonsterSpawnExceptions().add(MONSTER.name());
+        assertTrue(purger.shouldWeKillThisType(world, MONSTER));
+    }
+
+    @Test
+    public void testPurgeIsSpreadAcrossTicks() throws Exception {
+        List<TestEntity> entities = new ArrayList<TestEntity>();
+        List<ChunkLink> chunks = new ArrayList<ChunkLink>();
+        for (int i = 0; i < 3; i++) {
+            TestChunk chunk = new TestChunk(true);
+            chunk.add(entities, ANIMAL);
+            chunk.add(entities, MONSTER);
+            chunk.add(entities, OTHER);
+            chunks.add(chunk);
+        }
+        // A budget of zero means exactly one chunk is processed per tick.
+        DefaultWorldPurger purger = new DefaultWorldPurger(core, 0L);
+        CompletableFuture<PurgeResult> future = purger.purgeWorld(createWorld(chunks), Arrays.asList("MONSTERS"), false, false);
+
+        assertFalse(future.isDone());
+        assertEquals(3, runScheduledTicks());
+        assertTrue(future.isDone());
+
+        PurgeResult result = future.get();
+        assertEquals("purgeworld", result.getWorldName());
+        assertEquals(3, result.getChunksScanned());
+        assertEquals(9, result.getEntitiesScanned());
+        assertEquals(3, result.getEntitiesRemoved());
+        assertEquals(3, result.getTicks());
+        for (TestEntity entity : entities) {
+            assertEquals(entity.type == MONSTER, entity.removed);
+        }
+    }
+
+    @Test
+    public void testCrowdedChunkIsSpreadAcrossTicks() throws Exception {
+        List<TestEntity> entities = new ArrayList<TestEntity>();
+        TestChunk chunk = new TestChunk(true);
+        for (int i = 0; i < 3 * DefaultWorldPurger.DEADLINE_CHECK_INTERVAL + 8; i++) {
+            chunk.add(entities, i % 2 == 0 ? ANIMAL : OTHER);
+        }
+        // With no time to spare the clock stops the scan every DEADLINE_CHECK_INTERVAL entities.
+        DefaultWorldPurger purger = new DefaultWorldPurger(core, 0L);
+        CompletableFuture<PurgeResult> future = purger.purgeWorld(createWorld(Arrays.<ChunkLink>asList(chunk)),
+                Arrays.asList("ANIMALS"), false, false);
+
+        assertEquals(4, runScheduledTicks());
+        PurgeResult result = future.get();
+        assertEquals(1, result.getChunksScanned());
+        assertEquals(entities.size(), result.getEntitiesScanned());
+        assertEquals(entities.size() / 2, result.getEntitiesRemoved());
+        for (TestEntity entity : entities) {
+            assertEquals(entity.type == ANIMAL, entity.removed);
+        }
+    }
+
+    @Test
+    public void testUnloadedChunksAndRemovedEntitiesAreSkipped() throws Exception {
+        List<TestEntity> entities = new ArrayList<TestEntity>();
+        TestChunk loaded = new TestChunk(true);
+        loaded.add(entities, ANIMAL);
+        loaded.add(entities, ANIMAL).valid = false;
+        TestChunk unloaded = new TestChunk(false);
+        unloaded.add(entities, ANIMAL);
+
+        DefaultWorldPurger purger = new DefaultWorldPurger(core);
+        CompletableFuture<PurgeResult> future = purger.purgeWorld(createWorld(Arrays.<ChunkLink>asList(loaded, unloaded)),
+                Arrays.asList("ANIMALS"), false, false);
+        runScheduledTicks();
+
+        PurgeResult result = future.get();
+        assertEquals(1, result.getChunksScanned());
+        assertEquals(2, result.getEntitiesScanned());
+        assertEquals(1, result.getEntitiesRemoved());
+        assertTrue(entities.get(0).removed);
+        assertFalse(entities.get(1).removed);
+        assertFalse(entities.get(2).removed);
+    }
+
+    @Test
+    public void testFailureCompletesFutureExceptionally() throws Exception {
+        WorldLink worldLink = WorldLinkFactory.getMockedWorldLink("purgeworld", WorldEnvironment.NORMAL, WorldType.NORMAL, 0L);
+        when(worldLink.getLoadedChunks()).thenThrow(new IllegalStateException("Lost reference to world."));
+        MultiverseWorld world = new MultiverseWorld(new WorldProperties(), worldLink);
+
+        CompletableFuture<PurgeResult> future = new DefaultWorldPurger(core).purgeWorld(world);
+        runScheduledTicks();
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    private static class TestChunk implements ChunkLink {
+        private final boolean loaded;
+        private final List<TestEntity> entities = new ArrayList<TestEntity>();
+
+        TestChunk(boolean loaded) {
+            this.loaded = loaded;
+        }
+
+        TestEntity add(List<TestEntity> all, EntityType type) {
+            TestEntity entity = new TestEntity(type);
+            entities.add(entity);
+            all.add(entity);
+            return entity;
+        }
+
+        @Override
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        @Override
+        public int readEntities() {
+            return entities.size();
+        }
+
+        @Nullable
+        @Override
+        public EntityType getEntityType(int index) {
+            return entities.get(index).type;
+        }
+
+        @Override
+        public boolean removeEntity(int index) {
+            TestEntity entity = entities.get(index);
+            if (!entity.valid || entity.removed) {
+                return false;
+            }
+            entity.removed = true;
+            return true;
+        }
+    }
+
+    private static class TestEntity {
+        private final EntityType type;
+        private boolean valid = true;
+        private boolean removed = false;
+
+        TestEntity(EntityType type) {
+            this.type = type;
+        }
+    }
+}
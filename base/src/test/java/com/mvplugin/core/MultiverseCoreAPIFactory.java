@@ -1,5 +1,7 @@
 package com.mvplugin.core;
 
+import com.mvplugin.core.destination.DestinationRegistry;
+import com.mvplugin.core.metrics.MetricsRegistry;
 import com.mvplugin.core.plugin.MultiverseCore;
 import com.mvplugin.core.util.BlockSafety;
 import com.mvplugin.core.util.SafeTeleporter;
@@ -19,6 +21,9 @@ public class MultiverseCoreAPIFactory {
 
         MultiverseCoreAPI api = PowerMockito.mock(MultiverseCoreAPI.class);
 
+        MetricsRegistry metrics = new MetricsRegistry();
+        when(api.getMetrics()).thenReturn(metrics);
+
         SafeTeleporter safeTeleporter = new DefaultSafeTeleporter(api);
         when(api.getSafeTeleporter()).thenReturn(safeTeleporter);
 
@@ -27,11 +32,28 @@ public class MultiverseCoreAPIFactory {
 
         BlockSafety blockSafety = PowerMockito.mock(BlockSafety.class);
         when(blockSafety.isSafeLocation(any(BlockCoordinates.class))).thenReturn(true);
+        when(blockSafety.forArea(anyString(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(blockSafety);
         when(api.getBlockSafety()).thenReturn(blockSafety);
 
+        PermissionCache permissionCache = new PermissionCache();
+        when(api.getPermissionCache()).thenReturn(permissionCache);
+
         WorldManager worldManager = WorldManagerFactory.getWorldManager(api);
         when(api.getWorldManager()).thenReturn(worldManager);
 
+        WorldHibernator worldHibernator = new WorldHibernator(api);
+        when(api.getWorldHibernator()).thenReturn(worldHibernator);
+
+        SpawnChunkReleaser spawnChunkReleaser = new SpawnChunkReleaser(api);
+        when(api.getSpawnChunkReleaser()).thenReturn(spawnChunkReleaser);
+
+        CompletionIndex completionIndex = new CompletionIndex(api);
+        when(api.getCompletionIndex()).thenReturn(completionIndex);
+
+        DestinationRegistry destinationRegistry = new DestinationRegistry(api);
+        when(api.getDestinationRegistry()).thenReturn(destinationRegistry);
+
         return api;
     }
 
@@ -0,0 +1,80 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.Perms;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.permission.Perm;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PermissionCacheTest extends MultiverseTest {
+
+    private PermissionCache cache;
+    private BasePlayer player;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        cache = new PermissionCache();
+        player = mockPlayer("Player", true);
+        when(player.hasPerm(Perms.ACCESS, "world")).thenReturn(true);
+        when(player.hasPerm(Perms.ACCESS, "world_nether")).thenReturn(false);
+    }
+
+    private static BasePlayer mockPlayer(String name, boolean isPlayer) {
+        BasePlayer player = PowerMockito.mock(BasePlayer.class);
+        when(player.getName()).thenReturn(name);
+        when(player.isPlayer()).thenReturn(isPlayer);
+        return player;
+    }
+
+    @Test
+    public void testRepeatedChecksAreCached() throws Exception {
+        assertTrue(cache.hasPermission(player, Perms.ACCESS, "world"));
+        assertTrue(cache.hasPermission(player, Perms.ACCESS, "world"));
+        assertFalse(cache.hasPermission(player, Perms.ACCESS, "world_nether"));
+        assertFalse(cache.hasPermission(player, Perms.ACCESS, "world_nether"));
+        verify(player, times(1)).hasPerm(Perms.ACCESS, "world");
+        verify(player, times(1)).hasPerm(Perms.ACCESS, "world_nether");
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+        // Different permissions for the same world are decided separately.
+        cache.hasPermission(player, Perms.TP_SELF_WORLD, "world");
+        verify(player, times(1)).hasPerm(Perms.TP_SELF_WORLD, "world");
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        cache.hasPermission(player, Perms.ACCESS, "world");
+        cache.hasPermission(player, Perms.ACCESS, "world_nether");
+
+        cache.invalidateWorld("WORLD");
+        cache.hasPermission(player, Perms.ACCESS, "world");
+        cache.hasPermission(player, Perms.ACCESS, "world_nether");
+        verify(player, times(2)).hasPerm(Perms.ACCESS, "world");
+        verify(player, times(1)).hasPerm(Perms.ACCESS, "world_nether");
+
+        cache.invalidatePlayer("Player");
+        cache.hasPermission(player, Perms.ACCESS, "world_nether");
+        verify(player, times(2)).hasPerm(Perms.ACCESS, "world_nether");
+
+        cache.invalidateAll();
+        cache.hasPermission(player, Perms.ACCESS, "world");
+        verify(player, times(3)).hasPerm(Perms.ACCESS, "world");
+    }
+
+    @Test
+    public void testNonPlayersAreNotCached() throws Exception {
+        BasePlayer console = mockPlayer("CONSOLE", false);
+        when(console.hasPerm(any(Perm.class), anyString())).thenReturn(true);
+        assertTrue(cache.hasPermission(console, Perms.ACCESS, "world"));
+        assertTrue(cache.hasPermission(console, Perms.ACCESS, "world"));
+        verify(console, times(2)).hasPerm(Perms.ACCESS, "world");
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+}
@@ -0,0 +1,84 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.Difficulty;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.core.util.PropertyDescriptions;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PropertyAccessorTableTest extends MultiverseTest {
+
+    private PropertyAccessorTable table;
+    private WorldLink worldLink;
+    private MultiverseWorld world;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        table = WorldProperties.getAccessorTable();
+        worldLink = WorldLinkFactory.getMockedWorldLink("tableworld", WorldEnvironment.NORMAL, WorldType.NORMAL, 0L);
+        when(worldLink.getDifficulty()).thenReturn(Difficulty.EASY);
+        world = new MultiverseWorld(new WorldProperties(), worldLink);
+    }
+
+    @Test
+    public void testTableIsBuiltOnce() throws Exception {
+        assertSame(table, WorldProperties.getAccessorTable());
+        assertFalse(table.getAccessors().isEmpty());
+    }
+
+    @Test
+    public void testNamesAndAliasesResolveToTheSameAccessor() throws Exception {
+        PropertyAccessorTable.Accessor accessor = table.getAccessor("keepSpawnInMemory");
+        assertNotNull(accessor);
+        assertSame(accessor, table.getAccessor("memory"));
+        assertSame(accessor, table.getAccessor("SpawnMemory"));
+        assertSame(accessor, table.getAccessor("KEEPSPAWNINMEMORY"));
+        assertSame(table.getAccessor("spawning.animalTicks"), table.getAccessor("animalrate"));
+        assertNull(table.getAccessor("notAProperty"));
+    }
+
+    @Test
+    public void testMetadata() throws Exception {
+        PropertyAccessorTable.Accessor accessor = table.getAccessor("spawning.animalLimit");
+        assertNotNull(accessor);
+        assertEquals("spawning.animalLimit", accessor.getName());
+        assertEquals(Integer.class, accessor.getType());
+        assertEquals(PropertyDescriptions.ANIMAL_LIMIT_KEY, accessor.getDescription());
+        assertEquals(PropertyDescriptions.ANIMAL_LIMIT_KEY, MultiverseWorld.getPropertyDescriptionKey("spawning.animalLimit"));
+        assertEquals(PropertyDescriptions.HIDDEN_KEY, MultiverseWorld.getPropertyDescriptionKey("hidden"));
+    }
+
+    @Test
+    public void testGetAndSetThroughTable() throws Exception {
+        assertEquals(true, world.getProperty("memory"));
+        world.setProperty("memory", "false");
+        assertFalse(world.isKeepSpawnInMemoryEnabled());
+        verify(worldLink).setKeepSpawnInMemory(false);
+
+        assertEquals(-1, world.getProperty("spawning.animalLimit"));
+        world.setProperty("spawning.animalLimit", "4");
+        assertEquals(4, world.getAnimalSpawnLimit());
+        verify(worldLink).setAnimalSpawnLimit(4);
+
+        world.setProperty("playerLimit", "20");
+        assertEquals(20, world.getPlayerLimit());
+
+        world.setProperty("difficulty", "hard");
+        verify(worldLink).setDifficulty(Difficulty.HARD);
+
+        world.setProperty("entryFee.amount", "2.5");
+        assertEquals(2.5D, world.getPrice(), 0D);
+    }
+
+    @Test
+    public void testComplexValuesAreLeftToTheWrapper() throws Exception {
+        PropertyAccessorTable.Accessor alias = table.getAccessor("alias");
+        assertNotNull(alias);
+        assertFalse(alias.set(world.getProperties(), "&aFancy"));
+        assertFalse(table.getAccessor("hidden").set(world.getProperties(), "maybe"));
+        assertFalse(table.getAccessor("playerLimit").set(world.getProperties(), "lots"));
+    }
+}
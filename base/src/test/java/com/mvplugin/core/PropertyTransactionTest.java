@@ -0,0 +1,103 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.Difficulty;
+import com.mvplugin.core.util.TaskScheduler;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+import pluginbase.config.field.PropertyVetoException;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PropertyTransactionTest extends MultiverseTest {
+
+    private TaskScheduler scheduler;
+    private WorldManager worldManager;
+    private MultiverseWorld world;
+    private WorldLink worldLink;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        MultiverseCoreAPI api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        scheduler = PowerMockito.mock(TaskScheduler.class);
+        when(api.getTaskScheduler()).thenReturn(scheduler);
+        worldManager = api.getWorldManager();
+        world = worldManager.getWorld("world_nether");
+        worldLink = world.getWorldLink();
+    }
+
+    @Test
+    public void testCommitAppliesEverythingOnce() throws Exception {
+        PropertyTransaction transaction = worldManager.beginTransaction(world)
+                .set("pvp", "false")
+                .set("diff", "hard")
+                .set("difficulty", "normal")
+                .set("limit", "5")
+                .set("respawnWorld", "world");
+        assertEquals(Arrays.asList("pvp", "difficulty", "playerLimit", "respawnWorld"),
+                Arrays.asList(transaction.getChanges().keySet().toArray()));
+        verify(worldLink, never()).setPVP(anyBoolean());
+
+        transaction.commit();
+        verify(worldLink, times(1)).setPVP(false);
+        verify(worldLink, times(1)).setDifficulty(Difficulty.NORMAL);
+        verify(worldLink, never()).setDifficulty(Difficulty.HARD);
+        assertEquals(5, world.getPlayerLimit());
+        assertEquals("world", world.getRespawnToWorld());
+        verify(scheduler, times(1)).runTaskAsynchronously(any(Runnable.class));
+    }
+
+    @Test
+    public void testFailedCommitRollsBack() throws Exception {
+        PropertyTransaction transaction = worldManager.beginTransaction(world)
+                .set("pvp", "false")
+                .set("spawning.animalLimit", "3")
+                .set("playerLimit", "5")
+                .set("respawnWorld", "nowhere");
+        boolean thrown = false;
+        try {
+            transaction.commit();
+        } catch (PropertyVetoException e) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        verify(worldLink, never()).setPVP(anyBoolean());
+        verify(worldLink, never()).setAnimalSpawnLimit(3);
+        assertEquals(-1, world.getPlayerLimit());
+        assertEquals(-1, world.getAnimalSpawnLimit());
+        assertEquals("", world.getRespawnToWorld());
+        verify(scheduler, never()).runTaskAsynchronously(any(Runnable.class));
+    }
+
+    @Test
+    public void testInvalidValueRollsBack() throws Exception {
+        PropertyTransaction transaction = worldManager.beginTransaction(world)
+                .set("hidden", "true")
+                .set("playerLimit", "lots");
+        try {
+            transaction.commit();
+            fail("The invalid player limit should have been rejected");
+        } catch (Exception ignore) {
+        }
+        assertFalse(world.isHidden());
+    }
+
+    @Test
+    public void testTransactionIsSingleUse() throws Exception {
+        PropertyTransaction transaction = worldManager.beginTransaction(world).set("pvp", "false");
+        transaction.rollback();
+        verify(worldLink, never()).setPVP(anyBoolean());
+        try {
+            transaction.set("pvp", "true");
+            fail("A rolled back transaction should not accept changes");
+        } catch (IllegalStateException ignore) {
+        }
+    }
+
+    @Test(expected = NoSuchFieldException.class)
+    public void testUnknownProperty() throws Exception {
+        worldManager.beginTransaction(world).set("notAProperty", "1");
+    }
+}
@@ -0,0 +1,245 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.metrics.MetricsRegistry;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.CoreConfig;
+import com.mvplugin.core.util.TaskScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+import pluginbase.minecraft.location.EntityCoordinates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SafeLocationPoolTest extends MultiverseTest {
+
+    private SafeLocationPool pool;
+    private CoreConfig config;
+    private WorldManager worldManager;
+    private MultiverseWorld world;
+    private final List<Runnable> asyncTasks = new ArrayList<Runnable>();
+
+    private final TaskScheduler scheduler = new TaskScheduler() {
+        @Override
+        public void runTask(@NotNull Runnable task) { }
+
+        @Override
+        public void runTaskLater(@NotNull Runnable task, long delay) { }
+
+        @Override
+        public void runTaskAsynchronously(@NotNull Runnable task) {
+            asyncTasks.add(task);
+        }
+    };
+
+    /**
+     * A chunk with solid ground up to y 63 and air above it.  Columns with x below the lava edge have lava on top
+     * instead.
+     */
+    private static final class FlatSnapshot implements ChunkSnapshotLink {
+
+        private final int chunkX;
+        private final int chunkZ;
+        private final int lavaEdge;
+
+        private FlatSnapshot(final int chunkX, final int chunkZ, final int lavaEdge) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.lavaEdge = lavaEdge;
+        }
+
+        @Override
+        public int getX() {
+            return chunkX;
+        }
+
+        @Override
+        public int getZ() {
+            return chunkZ;
+        }
+
+        @Override
+        public int getMaxHeight() {
+            return 256;
+        }
+
+        @Override
+        public int getHighestBlockY(final int x, final int z) {
+            return 64;
+        }
+
+        @Override
+        public boolean isSolid(final int x, final int y, final int z) {
+            return y < 63 || (y == 63 && x >= lavaEdge);
+        }
+
+        @Override
+        public boolean isHazard(final int x, final int y, final int z) {
+            return y == 63 && x < lavaEdge;
+        }
+
+        @Override
+        public boolean isAir(final int x, final int y, final int z) {
+            return y > 63;
+        }
+
+        @Override
+        public boolean isWater(final int x, final int y, final int z) {
+            return false;
+        }
+    }
+
+    /**
+     * A chunk of ocean: solid sea floor up to y 39, water up to y 63 and air above it.
+     */
+    private static final class OceanSnapshot implements ChunkSnapshotLink {
+
+        @Override
+        public int getX() {
+            return 0;
+        }
+
+        @Override
+        public int getZ() {
+            return 0;
+        }
+
+        @Override
+        public int getMaxHeight() {
+            return 256;
+        }
+
+        @Override
+        public int getHighestBlockY(final int x, final int z) {
+            return 64;
+        }
+
+        @Override
+        public boolean isSolid(final int x, final int y, final int z) {
+            return y < 40;
+        }
+
+        @Override
+        public boolean isHazard(final int x, final int y, final int z) {
+            return false;
+        }
+
+        @Override
+        public boolean isAir(final int x, final int y, final int z) {
+            return y > 63;
+        }
+
+        @Override
+        public boolean isWater(final int x, final int y, final int z) {
+            return y >= 40 && y <= 63;
+        }
+    }
+
+    @Override
+    protected void extraSetup() throws Exception {
+        MultiverseCore core = PowerMockito.mock(MultiverseCore.class);
+        config = new CoreConfig();
+        config.setRandomTeleportPoolSize(3);
+        config.setRandomTeleportRadius(100);
+        config.setRandomTeleportMaxAgeSeconds(60);
+        when(core.getMVConfig()).thenReturn(config);
+        when(core.getTaskScheduler()).thenReturn(scheduler);
+        when(core.getMetrics()).thenReturn(new MetricsRegistry());
+        worldManager = WorldManagerFactory.getWorldManager(core);
+        when(core.getWorldManager()).thenReturn(worldManager);
+
+        world = worldManager.getWorld("world");
+        when(world.getWorldLink().getChunkSnapshot(anyInt(), anyInt())).thenReturn(new FlatSnapshot(2, -3, 0));
+
+        pool = new SafeLocationPool(core);
+        when(core.getSafeLocationPool()).thenReturn(pool);
+    }
+
+    private void runAsyncTasks() {
+        List<Runnable> pending = new ArrayList<Runnable>(asyncTasks);
+        asyncTasks.clear();
+        for (Runnable task : pending) {
+            task.run();
+        }
+    }
+
+    @Test
+    public void testFindSafeLocation() throws Exception {
+        EntityCoordinates location = SafeLocationPool.findSafeLocation("world", new FlatSnapshot(2, -3, 8), 256, new Random(1));
+        assertNotNull(location);
+        assertEquals("world", location.getWorld());
+        assertEquals(64, location.getY(), 0);
+        // Standing on the ground half of the chunk, never on the lava.
+        assertTrue(location.getX() >= 2 * 16 + 8 && location.getX() < 3 * 16);
+        assertTrue(location.getZ() >= -3 * 16 && location.getZ() < -2 * 16);
+        assertEquals(.5D, location.getX() - Math.floor(location.getX()), 0);
+    }
+
+    @Test
+    public void testNoSafeLocation() throws Exception {
+        assertNull(SafeLocationPool.findSafeLocation("world", new FlatSnapshot(0, 0, 16), 256, new Random(1)));
+        // Below the ground there is no room at all.
+        assertNull(SafeLocationPool.findSafeLocation("world", new FlatSnapshot(0, 0, 0), 40, new Random(1)));
+        // Neither on the surface of the sea nor at the bottom of it.
+        assertNull(SafeLocationPool.findSafeLocation("world", new OceanSnapshot(), 256, new Random(1)));
+    }
+
+    @Test
+    public void testPoolIsFilledInTheBackground() throws Exception {
+        // The first request only creates the world's pool.
+        assertNull(pool.poll(world, 0L));
+        assertEquals(0, pool.getAvailable(world));
+
+        for (int i = 0; i < 5; i++) {
+            pool.refill(0L);
+        }
+        // Searches still running count towards the pool size.
+        assertEquals(3, asyncTasks.size());
+        assertEquals(0, pool.getAvailable(world));
+        runAsyncTasks();
+        assertEquals(3, pool.getAvailable(world));
+
+        EntityCoordinates location = pool.poll(world, 0L);
+        assertNotNull(location);
+        assertEquals(64, location.getY(), 0);
+        assertEquals(2, pool.getAvailable(world));
+
+        pool.refill(0L);
+        runAsyncTasks();
+        assertEquals(3, pool.getAvailable(world));
+    }
+
+    @Test
+    public void testStaleLocationsAreEvicted() throws Exception {
+        pool.poll(world, 0L);
+        pool.refill(0L);
+        runAsyncTasks();
+        assertEquals(1, pool.getAvailable(world));
+        assertNull(pool.poll(world, 61000L));
+
+        pool.refill(0L);
+        runAsyncTasks();
+        pool.refill(61000L);
+        // The stale location is dropped and a fresh search started in its place.
+        assertEquals(0, pool.getAvailable(world));
+        assertEquals(1, asyncTasks.size());
+        runAsyncTasks();
+        assertNotNull(pool.poll(world, 61000L));
+    }
+
+    @Test
+    public void testUnloadedWorldsAreForgotten() throws Exception {
+        pool.poll(world, 0L);
+        pool.refill(0L);
+        runAsyncTasks();
+        worldManager.unloadWorld("world");
+        pool.refill(0L);
+        assertEquals(0, pool.getAvailable(world));
+        assertTrue(asyncTasks.isEmpty());
+    }
+}
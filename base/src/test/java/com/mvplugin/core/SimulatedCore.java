@@ -0,0 +1,221 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.destination.DestinationRegistry;
+import com.mvplugin.core.metrics.MetricsRegistry;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.BlockSafety;
+import com.mvplugin.core.util.CoreConfig;
+import com.mvplugin.core.util.SafeTeleporter;
+import com.mvplugin.core.util.TaskScheduler;
+import com.mvplugin.core.world.WorldPurger;
+import com.mvplugin.testing.FileLocations;
+import com.mvplugin.testing.ServerInterfaceFactory;
+import com.mvplugin.testing.voxel.TerrainGenerators;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.logging.PluginLogger;
+import pluginbase.messages.messaging.Messager;
+import pluginbase.permission.PermFactory;
+import pluginbase.plugin.ServerInterface;
+
+/**
+ * A core wired up like the plugins do it, except that nothing scheduled ever runs.  Mocks are avoided here as they
+ * record every call made to them, which would swamp the allocations being measured.
+ */
+public final class SimulatedCore implements MultiverseCore {
+
+    @NotNull
+    private final DefaultMultiverseCoreAPI api;
+    @NotNull
+    private final CoreConfig config = new CoreConfig();
+
+    /**
+     * Creates a core for the worlds of the given voxel server, checking block safety against its terrain.
+     *
+     * @param serverInterface the simulated server.
+     * @param worldManagerUtil the voxel worlds of the server.
+     */
+    public SimulatedCore(@NotNull final ServerInterface serverInterface,
+                         @NotNull final VoxelWorldManagerUtil worldManagerUtil) {
+        this(serverInterface, worldManagerUtil, worldManagerUtil.getBlockSafety());
+    }
+
+    /**
+     * Creates a core for the worlds of the given server.
+     *
+     * @param serverInterface the simulated server.
+     * @param worldManagerUtil the worlds of the server.
+     * @param blockSafety what decides where players can stand.
+     */
+    public SimulatedCore(@NotNull final ServerInterface serverInterface,
+                         @NotNull final WorldManagerUtil worldManagerUtil,
+                         @NotNull final BlockSafety blockSafety) {
+        api = new DefaultMultiverseCoreAPI(this, serverInterface, worldManagerUtil, blockSafety,
+                new NoOpTaskScheduler());
+    }
+
+    /**
+     * Creates a core for a server that only has the three default worlds, with flat ground up to y 64.  The
+     * directories from {@link FileLocations} must have been set up first.
+     *
+     * @param blockSafety what decides where players can stand, or null to check against the voxel terrain.
+     * @return the new core.
+     * @throws Exception if the worlds could not be created.
+     */
+    @NotNull
+    public static SimulatedCore startDefaultServer(@Nullable final BlockSafety blockSafety) throws Exception {
+        PermFactory.useBasicPermissionFactory();
+        PermFactory.registerPermissionName(MultiverseCore.class, "mv");
+        final ServerInterface serverInterface = ServerInterfaceFactory.getMockedServerInterface();
+        final VoxelWorldManagerUtil worldManagerUtil = new VoxelWorldManagerUtil(serverInterface,
+                FileLocations.MULTIVERSE_DIRECTORY, TerrainGenerators.flat(64), 128);
+        worldManagerUtil.loadServerWorld("world", WorldEnvironment.NORMAL, WorldType.NORMAL, 0L);
+        worldManagerUtil.loadServerWorld("world_nether", WorldEnvironment.NETHER, WorldType.NORMAL, 0L);
+        worldManagerUtil.loadServerWorld("world_the_end", WorldEnvironment.THE_END, WorldType.NORMAL, 0L);
+        return new SimulatedCore(serverInterface, worldManagerUtil,
+                blockSafety != null ? blockSafety : worldManagerUtil.getBlockSafety());
+    }
+
+    @NotNull
+    @Override
+    public CoreConfig getMVConfig() {
+        return config;
+    }
+
+    @NotNull
+    @Override
+    public Messager getMessager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @NotNull
+    @Override
+    public PluginLogger getLog() {
+        throw new UnsupportedOperationException();
+    }
+
+    @NotNull
+    @Override
+    public MultiverseCore getMultiverseCore() {
+        return this;
+    }
+
+    @Override
+    public int getProtocolVersion() {
+        return PROTOCOL_VERSION;
+    }
+
+    @Override
+    public String getVersion() {
+        return "scale-test";
+    }
+
+    @NotNull
+    @Override
+    public WorldManager getWorldManager() {
+        return api.getWorldManager();
+    }
+
+    @NotNull
+    @Override
+    public EventProcessor getEventProcessor() {
+        return api.getEventProcessor();
+    }
+
+    @NotNull
+    @Override
+    public SafeTeleporter getSafeTeleporter() {
+        return api.getSafeTeleporter();
+    }
+
+    @NotNull
+    @Override
+    public BlockSafety getBlockSafety() {
+        return api.getBlockSafety();
+    }
+
+    @NotNull
+    @Override
+    public DestinationRegistry getDestinationRegistry() {
+        return api.getDestinationRegistry();
+    }
+
+    @NotNull
+    @Override
+    public ServerInterface getServerInterface() {
+        return api.getServerInterface();
+    }
+
+    @NotNull
+    @Override
+    public PlayerTracker getPlayerTracker() {
+        return api.getPlayerTracker();
+    }
+
+    @NotNull
+    @Override
+    public TaskScheduler getTaskScheduler() {
+        return api.getTaskScheduler();
+    }
+
+    @NotNull
+    @Override
+    public WorldPurger getWorldPurger() {
+        return api.getWorldPurger();
+    }
+
+    @NotNull
+    @Override
+    public SpawnGovernor getSpawnGovernor() {
+        return api.getSpawnGovernor();
+    }
+
+    @NotNull
+    @Override
+    public WorldHibernator getWorldHibernator() {
+        return api.getWorldHibernator();
+    }
+
+    @NotNull
+    @Override
+    public SpawnChunkReleaser getSpawnChunkReleaser() {
+        return api.getSpawnChunkReleaser();
+    }
+
+    @NotNull
+    @Override
+    public PermissionCache getPermissionCache() {
+        return api.getPermissionCache();
+    }
+
+    @NotNull
+    @Override
+    public CompletionIndex getCompletionIndex() {
+        return api.getCompletionIndex();
+    }
+
+    @NotNull
+    @Override
+    public SafeLocationPool getSafeLocationPool() {
+        return api.getSafeLocationPool();
+    }
+
+    @NotNull
+    @Override
+    public MetricsRegistry getMetrics() {
+        return api.getMetrics();
+    }
+
+    private static final class NoOpTaskScheduler implements TaskScheduler {
+        @Override
+        public void runTask(@NotNull final Runnable task) { }
+
+        @Override
+        public void runTaskLater(@NotNull final Runnable task, final long delay) { }
+
+        @Override
+        public void runTaskAsynchronously(@NotNull final Runnable task) { }
+    }
+}
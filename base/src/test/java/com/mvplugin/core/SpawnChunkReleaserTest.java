@@ -0,0 +1,157 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.TaskScheduler;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import pluginbase.minecraft.BasePlayer;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SpawnChunkReleaserTest extends MultiverseTest {
+
+    private final Queue<Runnable> scheduledTasks = new LinkedList<Runnable>();
+    private final boolean[] serverKeepSpawn = {true};
+    private SpawnChunkReleaser releaser;
+    private MultiverseWorld world;
+    private WorldLink worldLink;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        MultiverseCoreAPI api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        TaskScheduler scheduler = PowerMockito.mock(TaskScheduler.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                scheduledTasks.add((Runnable) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(scheduler).runTask(any(Runnable.class));
+        when(api.getTaskScheduler()).thenReturn(scheduler);
+        releaser = api.getSpawnChunkReleaser();
+
+        world = api.getWorldManager().getWorld("world_nether");
+        world.setReleaseSpawnAfter(30);
+        worldLink = world.getWorldLink();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                serverKeepSpawn[0] = (Boolean) invocation.getArguments()[0];
+                return null;
+            }
+        }).when(worldLink).setKeepSpawnInMemory(anyBoolean());
+        setLoadedChunks(500);
+    }
+
+    private void setLoadedChunks(int count) {
+        List<ChunkLink> chunks = Collections.nCopies(count, mock(ChunkLink.class));
+        when(worldLink.getLoadedChunks()).thenReturn(chunks);
+    }
+
+    private void runScheduledTicks() {
+        while (!scheduledTasks.isEmpty()) {
+            scheduledTasks.poll().run();
+        }
+    }
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    private void release() {
+        releaser.checkWorlds(seconds(0));
+        releaser.checkWorlds(seconds(30));
+        assertTrue(releaser.isReleased(world));
+    }
+
+    @Test
+    public void testSpawnChunks() throws Exception {
+        List<int[]> chunks = SpawnChunkReleaser.spawnChunks(3, -2, 10);
+        assertEquals(441, chunks.size());
+        assertArrayEquals(new int[] {3, -2}, chunks.get(0));
+        Set<Long> unique = new HashSet<Long>();
+        for (int[] chunk : chunks) {
+            assertTrue(Math.abs(chunk[0] - 3) <= 10 && Math.abs(chunk[1] + 2) <= 10);
+            unique.add(((long) chunk[0] << 32) | (chunk[1] & 0xFFFFFFFFL));
+        }
+        assertEquals(441, unique.size());
+    }
+
+    @Test
+    public void testEmptyWorldReleasesSpawn() throws Exception {
+        releaser.checkWorlds(seconds(0));
+        releaser.checkWorlds(seconds(20));
+        assertFalse(releaser.isReleased(world));
+        assertTrue(serverKeepSpawn[0]);
+
+        releaser.checkWorlds(seconds(31));
+        assertTrue(releaser.isReleased(world));
+        assertFalse(serverKeepSpawn[0]);
+        // The configured value is left alone.
+        assertTrue(world.isKeepSpawnInMemoryEnabled());
+        assertEquals(Collections.singletonList("world_nether"), releaser.getReleasedWorlds());
+    }
+
+    @Test
+    public void testChunksKeptUnloadedReport() throws Exception {
+        release();
+        assertEquals(0, releaser.getChunksKeptUnloaded(world));
+        setLoadedChunks(59);
+        releaser.checkWorlds(seconds(40));
+        assertEquals(441, releaser.getChunksKeptUnloaded(world));
+        assertEquals(441, releaser.getChunksKeptUnloaded());
+    }
+
+    @Test
+    public void testPrepareLoadsSpawnChunksAcrossTicks() throws Exception {
+        release();
+        CompletableFuture<Void> future = releaser.prepare(world);
+        assertFalse(future.isDone());
+        assertSame(future, releaser.prepare(world));
+
+        scheduledTasks.poll().run();
+        verify(worldLink, times(SpawnChunkReleaser.PRELOAD_CHUNKS_PER_TICK)).loadChunk(anyInt(), anyInt());
+        assertFalse(serverKeepSpawn[0]);
+
+        runScheduledTicks();
+        assertTrue(future.isDone());
+        verify(worldLink, times(441)).loadChunk(anyInt(), anyInt());
+        assertTrue(serverKeepSpawn[0]);
+        assertFalse(releaser.isReleased(world));
+    }
+
+    @Test
+    public void testApproachingPlayerRestoresSpawn() throws Exception {
+        release();
+        when(worldLink.getPlayers()).thenReturn(Collections.singletonList(mock(BasePlayer.class)));
+        releaser.checkWorlds(seconds(60));
+        runScheduledTicks();
+        assertTrue(serverKeepSpawn[0]);
+        assertFalse(releaser.isReleased(world));
+    }
+
+    @Test
+    public void testOnlyAppliesWhenKeepingSpawnInMemory() throws Exception {
+        world.setKeepSpawnInMemory(false);
+        releaser.checkWorlds(seconds(0));
+        releaser.checkWorlds(seconds(60));
+        assertFalse(releaser.isReleased(world));
+
+        world.setKeepSpawnInMemory(true);
+        world.setReleaseSpawnAfter(-1);
+        releaser.checkWorlds(seconds(120));
+        releaser.checkWorlds(seconds(180));
+        assertFalse(releaser.isReleased(world));
+    }
+}
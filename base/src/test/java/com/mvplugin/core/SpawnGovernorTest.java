@@ -0,0 +1,116 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.core.util.CoreConfig;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SpawnGovernorTest extends MultiverseTest {
+
+    private SpawnGovernor governor;
+    private CoreConfig config;
+    private MultiverseWorld busyWorld;
+    private MultiverseWorld quietWorld;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        MultiverseCore core = PowerMockito.mock(MultiverseCore.class);
+        config = new CoreConfig();
+        config.setSpawnGovernorEnabled(true);
+        config.setSpawnGovernorTargetTickMillis(55D);
+        config.setSpawnGovernorRecoveryTickMillis(51D);
+        config.setSpawnGovernorMinimumFactor(0.5D);
+        config.setSpawnGovernorStep(0.25D);
+        when(core.getMVConfig()).thenReturn(config);
+        WorldManager worldManager = WorldManagerFactory.getWorldManager(core);
+        when(core.getWorldManager()).thenReturn(worldManager);
+
+        busyWorld = worldManager.getWorld("world");
+        quietWorld = worldManager.getWorld("world_nether");
+        when(busyWorld.getWorldLink().getEntityCount()).thenReturn(5000);
+        when(quietWorld.getWorldLink().getEntityCount()).thenReturn(10);
+        when(worldManager.getWorld("world_the_end").getWorldLink().getEntityCount()).thenReturn(10);
+
+        governor = new SpawnGovernor(core);
+    }
+
+    @Test
+    public void testScaling() throws Exception {
+        assertEquals(7, SpawnGovernor.scaleLimit(15, 0.5D));
+        assertEquals(1, SpawnGovernor.scaleLimit(1, 0.25D));
+        assertEquals(0, SpawnGovernor.scaleLimit(0, 0.25D));
+        assertEquals(-1, SpawnGovernor.scaleLimit(-1, 0.25D));
+        assertEquals(800L, SpawnGovernor.scaleTicks(400L, 0.5D));
+        assertEquals(0L, SpawnGovernor.scaleTicks(0L, 0.5D));
+    }
+
+    @Test
+    public void testHealthyServerIsLeftAlone() throws Exception {
+        governor.evaluate(50D);
+        assertFalse(governor.isGoverning(busyWorld));
+        assertEquals(15, busyWorld.getWorldLink().getAnimalSpawnLimit());
+    }
+
+    @Test
+    public void testBusiestWorldIsReducedWithinBounds() throws Exception {
+        governor.evaluate(80D);
+        assertTrue(governor.isGoverning(busyWorld));
+        assertFalse(governor.isGoverning(quietWorld));
+        assertEquals(0.75D, governor.getSpawnFactor(busyWorld), 0.0001D);
+        assertEquals(11, busyWorld.getWorldLink().getAnimalSpawnLimit());
+        assertEquals(52, busyWorld.getWorldLink().getMonsterSpawnLimit());
+        assertEquals(534L, busyWorld.getWorldLink().getTicksPerAnimalSpawns());
+        assertEquals(15, quietWorld.getWorldLink().getAnimalSpawnLimit());
+
+        governor.evaluate(80D);
+        governor.evaluate(80D);
+        assertEquals(0.5D, governor.getSpawnFactor(busyWorld), 0.0001D);
+        assertEquals(2, governor.getAdjustmentCount(busyWorld));
+        assertEquals(7, busyWorld.getWorldLink().getAnimalSpawnLimit());
+        assertEquals(800L, busyWorld.getWorldLink().getTicksPerAnimalSpawns());
+
+        // The configured values are never touched.
+        assertEquals(-1, busyWorld.getAnimalSpawnLimit());
+    }
+
+    @Test
+    public void testConfiguredValuesAreRestoredAsLoadDrops() throws Exception {
+        governor.evaluate(80D);
+        governor.evaluate(80D);
+        governor.evaluate(53D);
+        assertEquals(0.5D, governor.getSpawnFactor(busyWorld), 0.0001D);
+
+        governor.evaluate(50D);
+        assertEquals(0.75D, governor.getSpawnFactor(busyWorld), 0.0001D);
+        governor.evaluate(50D);
+        assertFalse(governor.isGoverning(busyWorld));
+        assertEquals(15, busyWorld.getWorldLink().getAnimalSpawnLimit());
+        assertEquals(70, busyWorld.getWorldLink().getMonsterSpawnLimit());
+        assertEquals(400L, busyWorld.getWorldLink().getTicksPerAnimalSpawns());
+        assertEquals(1L, busyWorld.getWorldLink().getTicksPerMonsterSpawns());
+    }
+
+    @Test
+    public void testDisablingRestoresEverything() throws Exception {
+        governor.evaluate(80D);
+        config.setSpawnGovernorEnabled(false);
+        governor.evaluate(80D);
+        assertFalse(governor.isGoverning(busyWorld));
+        assertEquals(15, busyWorld.getWorldLink().getAnimalSpawnLimit());
+    }
+
+    @Test
+    public void testTickSampling() throws Exception {
+        config.setSpawnGovernorSampleTicks(4);
+        long now = 1000000000L;
+        for (int i = 0; i <= 4; i++) {
+            governor.tick(now);
+            now += 100000000L; // 100ms per tick
+        }
+        assertEquals(100D, governor.getAverageTickMillis(), 0.0001D);
+        assertTrue(governor.isGoverning(busyWorld));
+    }
+}
@@ -0,0 +1,72 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.metrics.MetricsRegistry;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.testing.FileLocations;
+import com.mvplugin.testing.voxel.TerrainGenerators;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StartupProfileTest extends MultiverseTest {
+
+    private StartupProfile profile;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        MultiverseCoreAPI api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        VoxelWorldManagerUtil worldManagerUtil = new VoxelWorldManagerUtil(api.getServerInterface(),
+                FileLocations.MULTIVERSE_DIRECTORY, TerrainGenerators.flat(64), 128);
+        worldManagerUtil.loadServerWorld("world", WorldEnvironment.NORMAL, WorldType.NORMAL, 0L);
+        File worldsFolder = new File(FileLocations.MULTIVERSE_DIRECTORY, "worlds");
+        assertTrue(new File(worldsFolder, "first" + WorldManagerUtil.WORLD_FILE_EXT).createNewFile());
+        assertTrue(new File(worldsFolder, "second" + WorldManagerUtil.WORLD_FILE_EXT).createNewFile());
+
+        profile = new WorldManager(api, worldManagerUtil).getStartupProfile();
+    }
+
+    @Test
+    public void testEveryWorldIsTimed() throws Exception {
+        List<StartupProfile.WorldTiming> timings = profile.getWorldTimings();
+        assertEquals(3, timings.size());
+        long worldsNanos = 0L;
+        for (StartupProfile.WorldTiming timing : timings) {
+            assertTrue(timing.getName(), timing.isLoaded());
+            assertTrue(timing.getName(), timing.getPropertiesNanos() > 0L);
+            assertTrue(timing.getName(), timing.getTotalNanos() >= timing.getPropertiesNanos() + timing.getCreateNanos());
+            if (timing.getName().equals("world")) {
+                // The server had already loaded it.
+                assertEquals(0L, timing.getCreateNanos());
+            } else {
+                assertTrue(timing.getName(), timing.getCreateNanos() > 0L);
+            }
+            worldsNanos += timing.getTotalNanos();
+        }
+        assertTrue(profile.getAggregationNanos() > 0L);
+        assertTrue(profile.getTotalNanos() >= profile.getAggregationNanos() + worldsNanos);
+    }
+
+    @Test
+    public void testSlowestWorldsComeFirst() throws Exception {
+        List<StartupProfile.WorldTiming> timings = profile.getWorldTimings();
+        for (int i = 1; i < timings.size(); i++) {
+            assertTrue(timings.get(i - 1).getTotalNanos() >= timings.get(i).getTotalNanos());
+        }
+        assertEquals(timings.subList(0, 2), profile.getSlowestWorlds(2));
+        assertEquals(timings, profile.getSlowestWorlds(10));
+    }
+
+    @Test
+    public void testRecordToMetrics() throws Exception {
+        MetricsRegistry metrics = new MetricsRegistry();
+        profile.recordTo(metrics);
+        assertEquals(1L, metrics.timer(StartupProfile.AGGREGATE_TIMER).getCount());
+        assertEquals(3L, metrics.timer(StartupProfile.WORLD_LOAD_TIMER).getCount());
+        assertEquals(3L, metrics.timer(StartupProfile.WORLD_PROPERTIES_TIMER).getCount());
+        assertEquals(2L, metrics.timer(StartupProfile.WORLD_CREATE_TIMER).getCount());
+    }
+}
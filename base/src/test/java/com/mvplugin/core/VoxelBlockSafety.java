@@ -0,0 +1,91 @@
+package com.mvplugin.core;
+
+import com.mvplugin.testing.voxel.Voxel;
+import com.mvplugin.testing.voxel.VoxelWorld;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.location.BlockCoordinates;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Block safety for {@link VoxelWorld}s, answering the same way the Bukkit block safety does for the matching blocks.
+ * <p>
+ * Locations in worlds that were not added are treated like locations in worlds the server does not have.
+ */
+public class VoxelBlockSafety extends AbstractBlockSafety {
+
+    @NotNull
+    private final ConcurrentMap<String, VoxelWorld> worlds = new ConcurrentHashMap<String, VoxelWorld>();
+
+    public VoxelBlockSafety(@NotNull final VoxelWorld... worlds) {
+        for (final VoxelWorld world : worlds) {
+            addWorld(world);
+        }
+    }
+
+    public void addWorld(@NotNull final VoxelWorld world) {
+        worlds.put(world.getName().toLowerCase(Locale.ENGLISH), world);
+    }
+
+    @Nullable
+    private VoxelWorld getWorld(@NotNull final BlockCoordinates l) {
+        return worlds.get(l.getWorld().toLowerCase(Locale.ENGLISH));
+    }
+
+    private static boolean isInside(@NotNull final VoxelWorld world, @NotNull final BlockCoordinates l) {
+        return l.getBlockY() >= 0 && l.getBlockY() < world.getMaxHeight();
+    }
+
+    @NotNull
+    private static Voxel getBlock(@NotNull final VoxelWorld world, @NotNull final BlockCoordinates l) {
+        return world.getBlock(l.getBlockX(), l.getBlockY(), l.getBlockZ());
+    }
+
+    @Override
+    protected boolean isSolidBlock(@NotNull final BlockCoordinates l) {
+        final VoxelWorld world = getWorld(l);
+        if (world == null) {
+            return true;
+        }
+        return isInside(world, l) && getBlock(world, l).isSolid();
+    }
+
+    @Override
+    protected boolean isBlockSafe(@NotNull final BlockCoordinates l) {
+        final VoxelWorld world = getWorld(l);
+        if (world == null) {
+            return true;
+        }
+        return isInside(world, l) && !getBlock(world, l).isHazard();
+    }
+
+    @Override
+    protected boolean isBlockAir(@NotNull final BlockCoordinates l) {
+        final VoxelWorld world = getWorld(l);
+        if (world == null) {
+            return true;
+        }
+        return isInside(world, l) && getBlock(world, l) == Voxel.AIR;
+    }
+
+    @Override
+    protected boolean hasTwoBlocksOfWaterBelow(@NotNull final BlockCoordinates l) {
+        final VoxelWorld world = getWorld(l);
+        if (world == null) {
+            return true;
+        }
+        for (int y = l.getBlockY(); y > 0 && y < world.getMaxHeight(); y--) {
+            final Voxel block = world.getBlock(l.getBlockX(), y, l.getBlockZ());
+            if (block == Voxel.WATER) {
+                return world.getBlock(l.getBlockX(), y - 1, l.getBlockZ()) == Voxel.WATER;
+            }
+            if (block != Voxel.AIR) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mvplugin.core;
+
+import com.mvplugin.testing.voxel.Voxel;
+import com.mvplugin.testing.voxel.VoxelChunk;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link ChunkSnapshotLink} over a copy of a {@link VoxelChunk}.
+ */
+class VoxelChunkSnapshot implements ChunkSnapshotLink {
+
+    @NotNull
+    private final VoxelChunk chunk;
+
+    VoxelChunkSnapshot(@NotNull final VoxelChunk chunk) {
+        this.chunk = chunk;
+    }
+
+    @Override
+    public int getX() {
+        return chunk.getX();
+    }
+
+    @Override
+    public int getZ() {
+        return chunk.getZ();
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return chunk.getMaxHeight();
+    }
+
+    @Override
+    public int getHighestBlockY(final int x, final int z) {
+        return chunk.getHighestBlockY(x, z);
+    }
+
+    @Override
+    public boolean isSolid(final int x, final int y, final int z) {
+        return chunk.get(x, y, z).isSolid();
+    }
+
+    @Override
+    public boolean isHazard(final int x, final int y, final int z) {
+        return chunk.get(x, y, z).isHazard();
+    }
+
+    @Override
+    public boolean isAir(final int x, final int y, final int z) {
+        return chunk.get(x, y, z) == Voxel.AIR;
+    }
+
+    @Override
+    public boolean isWater(final int x, final int y, final int z) {
+        return chunk.get(x, y, z) == Voxel.WATER;
+    }
+}
@@ -0,0 +1,371 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.Difficulty;
+import com.mvplugin.core.minecraft.EntityType;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.testing.voxel.VoxelChunk;
+import com.mvplugin.testing.voxel.VoxelWorld;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.minecraft.location.FacingCoordinates;
+import pluginbase.minecraft.location.Locations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link WorldLink} to a {@link VoxelWorld} rather than a world of a server.
+ * <p>
+ * Chunks count as loaded once they are loaded through the link and until they are unloaded with
+ * {@link #unloadChunk(int, int)}.  Entities may be spawned into loaded chunks; players are never present.
+ */
+public class VoxelWorldLink implements WorldLink {
+
+    @NotNull
+    private final VoxelWorld world;
+    @NotNull
+    private final WorldEnvironment environment;
+    @NotNull
+    private final WorldType type;
+    @NotNull
+    private final ConcurrentMap<Long, VoxelChunkLink> loadedChunks = new ConcurrentHashMap<Long, VoxelChunkLink>();
+
+    private volatile boolean pvp = true;
+    private volatile Difficulty difficulty = Difficulty.NORMAL;
+    private volatile long time = 0L;
+    private volatile FacingCoordinates spawnLocation;
+    private volatile boolean keepSpawnInMemory = true;
+    private volatile int animalLimit = 15;
+    private volatile int monsterLimit = 70;
+    private volatile int ambientLimit = 15;
+    private volatile int waterLimit = 5;
+    private volatile long animalTicks = 400L;
+    private volatile long monsterTicks = 1L;
+
+    public VoxelWorldLink(@NotNull final VoxelWorld world, @NotNull final WorldEnvironment environment,
+                          @NotNull final WorldType type) {
+        this.world = world;
+        this.environment = environment;
+        this.type = type;
+    }
+
+    public VoxelWorldLink(@NotNull final VoxelWorld world) {
+        this(world, WorldEnvironment.NORMAL, WorldType.NORMAL);
+    }
+
+    @NotNull
+    public VoxelWorld getVoxelWorld() {
+        return world;
+    }
+
+    @NotNull
+    @Override
+    public UUID getUID() {
+        return UUID.nameUUIDFromBytes(world.getName().getBytes());
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return world.getName();
+    }
+
+    @NotNull
+    @Override
+    public WorldType getType() {
+        return type;
+    }
+
+    @NotNull
+    @Override
+    public WorldEnvironment getEnvironment() {
+        return environment;
+    }
+
+    @Override
+    public boolean getPVP() {
+        return pvp;
+    }
+
+    @NotNull
+    @Override
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public FacingCoordinates getSpawnLocation() {
+        // Worked out on first use so that creating a link does not generate any chunks.
+        FacingCoordinates spawn = spawnLocation;
+        if (spawn == null) {
+            spawn = Locations.getFacingCoordinates(.5D, world.getHighestBlockY(0, 0), .5D, 0F, 0F);
+            spawnLocation = spawn;
+        }
+        return spawn;
+    }
+
+    @Override
+    public long getSeed() {
+        return world.getSeed();
+    }
+
+    @Override
+    public boolean getKeepSpawnInMemory() {
+        return keepSpawnInMemory;
+    }
+
+    @NotNull
+    @Override
+    public Collection<BasePlayer> getPlayers() {
+        return Collections.emptyList();
+    }
+
+    @NotNull
+    @Override
+    public List<ChunkLink> getLoadedChunks() {
+        return new ArrayList<ChunkLink>(loadedChunks.values());
+    }
+
+    @Override
+    public int getEntityCount() {
+        int count = 0;
+        for (final VoxelChunkLink chunk : loadedChunks.values()) {
+            count += chunk.entities.size();
+        }
+        return count;
+    }
+
+    private static long key(final int x, final int z) {
+        return (long) x << 32 | z & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public boolean isChunkLoaded(final int x, final int z) {
+        return loadedChunks.containsKey(key(x, z));
+    }
+
+    @Override
+    public void loadChunk(final int x, final int z) {
+        getLoadedChunk(x, z);
+    }
+
+    @NotNull
+    private VoxelChunkLink getLoadedChunk(final int x, final int z) {
+        final Long key = key(x, z);
+        VoxelChunkLink chunk = loadedChunks.get(key);
+        if (chunk == null) {
+            final VoxelChunkLink loaded = new VoxelChunkLink(world.getChunk(x, z));
+            chunk = loadedChunks.putIfAbsent(key, loaded);
+            if (chunk == null) {
+                chunk = loaded;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Unloads a chunk along with its entities.
+     *
+     * @return true if the chunk was loaded.
+     */
+    public boolean unloadChunk(final int x, final int z) {
+        final VoxelChunkLink chunk = loadedChunks.remove(key(x, z));
+        if (chunk == null) {
+            return false;
+        }
+        chunk.loaded = false;
+        chunk.entities.clear();
+        return true;
+    }
+
+    /**
+     * Spawns an entity at the given block column, loading its chunk if needed.
+     *
+     * @return the new entity.
+     */
+    @NotNull
+    public VoxelEntity spawnEntity(final int x, final int z, @Nullable final EntityType entityType) {
+        final VoxelChunkLink chunk = getLoadedChunk(x >> 4, z >> 4);
+        final VoxelEntity entity = new VoxelEntity(chunk, entityType);
+        chunk.entities.add(entity);
+        return entity;
+    }
+
+    @Nullable
+    @Override
+    public ChunkSnapshotLink getChunkSnapshot(final int x, final int z) {
+        return new VoxelChunkSnapshot(world.getChunk(x, z).copy());
+    }
+
+    @Override
+    public int getAnimalSpawnLimit() {
+        return animalLimit;
+    }
+
+    @Override
+    public int getMonsterSpawnLimit() {
+        return monsterLimit;
+    }
+
+    @Override
+    public int getAmbientSpawnLimit() {
+        return ambientLimit;
+    }
+
+    @Override
+    public int getWaterAnimalSpawnLimit() {
+        return waterLimit;
+    }
+
+    @Override
+    public long getTicksPerAnimalSpawns() {
+        return animalTicks;
+    }
+
+    @Override
+    public long getTicksPerMonsterSpawns() {
+        return monsterTicks;
+    }
+
+    @Override
+    public void setEnableWeather(final boolean enableWeather) { }
+
+    @Override
+    public void setDifficulty(@NotNull final Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    @Override
+    public void setPVP(final boolean enablePVP) {
+        this.pvp = enablePVP;
+    }
+
+    @Override
+    public void setSpawnLocation(@NotNull final FacingCoordinates spawnLocation) {
+        this.spawnLocation = spawnLocation;
+    }
+
+    @Override
+    public void setTime(final long time) {
+        this.time = time;
+    }
+
+    @Override
+    public void setKeepSpawnInMemory(final boolean keepSpawnInMemory) {
+        this.keepSpawnInMemory = keepSpawnInMemory;
+    }
+
+    @Override
+    public void setAnimalSpawnLimit(final int limit) {
+        this.animalLimit = limit;
+    }
+
+    @Override
+    public void setMonsterSpawnLimit(final int limit) {
+        this.monsterLimit = limit;
+    }
+
+    @Override
+    public void setAmbientSpawnLimit(final int limit) {
+        this.ambientLimit = limit;
+    }
+
+    @Override
+    public void setWaterAnimalSpawnLimit(final int limit) {
+        this.waterLimit = limit;
+    }
+
+    @Override
+    public void setTicksPerAnimalSpawns(final long ticks) {
+        this.animalTicks = ticks;
+    }
+
+    @Override
+    public void setTicksPerMonsterSpawns(final long ticks) {
+        this.monsterTicks = ticks;
+    }
+
+    private static final class VoxelChunkLink implements ChunkLink {
+
+        @NotNull
+        private final VoxelChunk chunk;
+        @NotNull
+        private final List<VoxelEntity> entities = new CopyOnWriteArrayList<VoxelEntity>();
+        private volatile boolean loaded = true;
+        @NotNull
+        private VoxelEntity[] snapshot = new VoxelEntity[0];
+
+        private VoxelChunkLink(@NotNull final VoxelChunk chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        @Override
+        public int readEntities() {
+            snapshot = entities.toArray(new VoxelEntity[0]);
+            return snapshot.length;
+        }
+
+        @Nullable
+        @Override
+        public EntityType getEntityType(final int index) {
+            return snapshot[index].getType();
+        }
+
+        @Override
+        public boolean removeEntity(final int index) {
+            return entities.remove(snapshot[index]);
+        }
+
+        @Override
+        public String toString() {
+            return "VoxelChunkLink{x=" + chunk.getX() + ", z=" + chunk.getZ() + '}';
+        }
+    }
+
+    /**
+     * A single entity of the simulated world.
+     */
+    public static final class VoxelEntity {
+
+        @NotNull
+        private final VoxelChunkLink chunk;
+        @Nullable
+        private final EntityType type;
+
+        private VoxelEntity(@NotNull final VoxelChunkLink chunk, @Nullable final EntityType type) {
+            this.chunk = chunk;
+            this.type = type;
+        }
+
+        @Nullable
+        public EntityType getType() {
+            return type;
+        }
+
+        public boolean isValid() {
+            return chunk.entities.contains(this);
+        }
+
+        public void remove() {
+            chunk.entities.remove(this);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.exceptions.MultiverseException;
+import com.mvplugin.core.exceptions.WorldCreationException;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.core.util.CoreLogger;
+import com.mvplugin.core.util.Language;
+import com.mvplugin.core.world.WorldCreationSettings;
+import com.mvplugin.testing.voxel.TerrainGenerator;
+import com.mvplugin.testing.voxel.VoxelWorld;
+import org.apache.commons.io.FileUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import pluginbase.messages.Message;
+import pluginbase.plugin.ServerInterface;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link WorldManagerUtil} for a fake server whose worlds are {@link VoxelWorld}s, so the real world file handling
+ * can be run against as many worlds as needed.
+ * <p>
+ * Every world is generated by the same {@link TerrainGenerator}.  World folders are created in the world container
+ * of the server interface like a real server would.  This is only meant to be used from one thread.
+ */
+public class VoxelWorldManagerUtil extends WorldManagerUtil {
+
+    private static final String WORLD_FOLDER_MARKER = "uid.dat";
+
+    @NotNull
+    private final File worldContainer;
+    @NotNull
+    private final TerrainGenerator generator;
+    private final int maxHeight;
+    @NotNull
+    private final VoxelBlockSafety blockSafety = new VoxelBlockSafety();
+    /** The worlds loaded on the fake server by lower case name, in the order they were loaded. */
+    @NotNull
+    private final Map<String, VoxelWorldLink> serverWorlds = new LinkedHashMap<String, VoxelWorldLink>();
+
+    public VoxelWorldManagerUtil(@NotNull final ServerInterface serverInterface, @NotNull final File pluginDataFolder,
+                                 @NotNull final TerrainGenerator generator, final int maxHeight) {
+        super(serverInterface, pluginDataFolder);
+        this.worldContainer = serverInterface.getWorldContainer();
+        this.generator = generator;
+        this.maxHeight = maxHeight;
+    }
+
+    /**
+     * Creates the folder of a world the way the server would, so that it is recognized as a world.
+     */
+    public static void createWorldFolder(@NotNull final File worldContainer, @NotNull final String name)
+            throws IOException {
+        final File folder = new File(worldContainer, name);
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder);
+        }
+        new File(folder, WORLD_FOLDER_MARKER).createNewFile();
+    }
+
+    /**
+     * Loads a world on the fake server without Multiverse knowing, like the worlds a server loads on its own.  The
+     * first world loaded is the one players are sent to when their world is unloaded.
+     *
+     * @return the link to the new world.
+     */
+    @NotNull
+    public VoxelWorldLink loadServerWorld(@NotNull final String name, @NotNull final WorldEnvironment environment,
+                                          @NotNull final WorldType type, final long seed) throws IOException {
+        createWorldFolder(worldContainer, name);
+        final VoxelWorld world = new VoxelWorld(name, seed, maxHeight, generator);
+        final VoxelWorldLink link = new VoxelWorldLink(world, environment, type);
+        serverWorlds.put(name.toLowerCase(), link);
+        blockSafety.addWorld(world);
+        return link;
+    }
+
+    /**
+     * @return block safety that knows every world loaded on the fake server.
+     */
+    @NotNull
+    public VoxelBlockSafety getBlockSafety() {
+        return blockSafety;
+    }
+
+    /**
+     * @return the world loaded on the fake server with the given name, or null.
+     */
+    @Nullable
+    public VoxelWorldLink getServerWorld(@NotNull final String name) {
+        return serverWorlds.get(name.toLowerCase());
+    }
+
+    @Override
+    Map<String, String> getDefaultWorldGenerators() {
+        return new HashMap<String, String>();
+    }
+
+    @NotNull
+    @Override
+    protected InitialWorldAggregator createInitialWorldAggregator(@NotNull final File worldsFolder) {
+        return new InitialWorldAggregator(worldsFolder) {
+            @Override
+            protected int getNumberOfLoadedWorlds() {
+                return serverWorlds.size();
+            }
+
+            @Override
+            protected void aggregateAlreadyLoadedWorlds() {
+                for (final VoxelWorldLink link : serverWorlds.values()) {
+                    addWorld(link.getName());
+                }
+            }
+        };
+    }
+
+    @Nullable
+    @Override
+    protected MultiverseWorld createMultiverseWorldByName(@NotNull final String worldName) {
+        final VoxelWorldLink link = getServerWorld(worldName);
+        if (link == null) {
+            return loadMultiverseWorldLogErrors(worldName);
+        }
+        try {
+            return new MultiverseWorld(getWorldProperties(link.getName()), link);
+        } catch (MultiverseException e) {
+            CoreLogger.severe("Multiverse could not initialize loaded world '%s'", link.getName());
+            return null;
+        }
+    }
+
+    @NotNull
+    @Override
+    MultiverseWorld createWorld(@NotNull final WorldCreationSettings settings) throws WorldCreationException {
+        if (getServerWorld(settings.name()) != null) {
+            throw new WorldCreationException(Message.bundleMessage(Language.WORLD_ALREADY_EXISTS, settings.name()));
+        }
+        final WorldEnvironment environment = settings.env();
+        final WorldType type = settings.type();
+        final Long seed = settings.seed();
+        try {
+            final VoxelWorldLink link = loadServerWorld(settings.name(),
+                    environment != null ? environment : WorldEnvironment.NORMAL,
+                    type != null ? type : WorldType.NORMAL,
+                    seed != null ? seed : settings.name().hashCode());
+            final MultiverseWorld world = new MultiverseWorld(getWorldProperties(settings.name()), link);
+            world.setGenerator(settings.generator());
+            return world;
+        } catch (IOException e) {
+            throw new WorldCreationException(Message.bundleMessage(Language.WORLD_LOAD_ERROR, settings.name()), e);
+        } catch (MultiverseException e) {
+            throw new WorldCreationException(Message.bundleMessage(Language.WORLD_LOAD_ERROR, settings.name()), e);
+        }
+    }
+
+    @Override
+    boolean unloadWorldFromServer(@NotNull final MultiverseWorld world) {
+        if (world.getName().equalsIgnoreCase(getSafeWorldName())) {
+            return false;
+        }
+        return serverWorlds.remove(world.getName().toLowerCase()) != null;
+    }
+
+    @NotNull
+    @Override
+    public Collection<String> getPotentialWorlds() {
+        final Collection<String> potentialWorlds = new ArrayList<String>();
+        final File[] files = worldContainer.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                if (isThisAWorld(file)) {
+                    potentialWorlds.add(file.getName());
+                }
+            }
+        }
+        return potentialWorlds;
+    }
+
+    @Nullable
+    @Override
+    protected String getCorrectlyCasedWorldNameFromServer(@NotNull final String name) {
+        final VoxelWorldLink link = getServerWorld(name);
+        return link != null ? link.getName() : null;
+    }
+
+    @NotNull
+    @Override
+    String getSafeWorldName() {
+        if (serverWorlds.isEmpty()) {
+            throw new IllegalStateException("The fake server has no worlds");
+        }
+        return serverWorlds.values().iterator().next().getName();
+    }
+
+    @Override
+    void deleteWorld(@NotNull final String name) throws IOException {
+        FileUtils.deleteDirectory(new File(worldContainer, name));
+    }
+}
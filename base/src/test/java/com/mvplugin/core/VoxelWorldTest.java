@@ -0,0 +1,196 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.testing.voxel.TerrainGenerator;
+import com.mvplugin.testing.voxel.TerrainGenerators;
+import com.mvplugin.testing.voxel.Voxel;
+import com.mvplugin.testing.voxel.VoxelWorld;
+import org.junit.Test;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.minecraft.location.Locations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class VoxelWorldTest extends MultiverseTest {
+
+    private static final List<TerrainGenerator> GENERATORS = Arrays.asList(TerrainGenerators.flat(64),
+            TerrainGenerators.caves(), TerrainGenerators.lavaLakes(), TerrainGenerators.oceans(),
+            TerrainGenerators.floatingIslands());
+
+    private static int count(VoxelWorld world, Voxel voxel, int minY, int maxY) {
+        int count = 0;
+        for (int x = 0; x < 64; x++) {
+            for (int z = 0; z < 64; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    if (world.getBlock(x, y, z) == voxel) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testGenerationIsDeterministic() throws Exception {
+        for (TerrainGenerator generator : GENERATORS) {
+            VoxelWorld first = new VoxelWorld("first", 42L, generator);
+            VoxelWorld second = new VoxelWorld("second", 42L, generator);
+            // Generate the chunks of the second world in a different order.
+            second.getChunk(5, 5);
+            for (int x = 0; x < 48; x++) {
+                for (int z = 0; z < 48; z++) {
+                    assertEquals(generator.toString(), first.getHighestBlockY(x, z), second.getHighestBlockY(x, z));
+                    for (int y = 0; y < first.getMaxHeight(); y += 3) {
+                        assertSame(first.getBlock(x, y, z), second.getBlock(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGeneratorFeatures() throws Exception {
+        VoxelWorld caves = new VoxelWorld("caves", 42L, TerrainGenerators.caves());
+        assertTrue(count(caves, Voxel.AIR, 12, 50) > 0);
+        assertTrue(count(caves, Voxel.LAVA, 1, TerrainGenerators.CAVE_LAVA_LEVEL) > 0);
+
+        VoxelWorld lakes = new VoxelWorld("lakes", 42L, TerrainGenerators.lavaLakes());
+        assertTrue(count(lakes, Voxel.LAVA, TerrainGenerators.SEA_LEVEL, TerrainGenerators.SEA_LEVEL) > 0);
+
+        VoxelWorld oceans = new VoxelWorld("oceans", 42L, TerrainGenerators.oceans());
+        assertTrue(count(oceans, Voxel.WATER, TerrainGenerators.SEA_LEVEL - 1, TerrainGenerators.SEA_LEVEL - 1) > 0);
+        assertTrue(count(oceans, Voxel.GRASS, TerrainGenerators.SEA_LEVEL, 255) > 0);
+
+        VoxelWorld islands = new VoxelWorld("islands", 42L, TerrainGenerators.floatingIslands());
+        assertEquals(0, count(islands, Voxel.BEDROCK, 0, 0));
+        assertTrue(count(islands, Voxel.GRASS, 80, 96) > 0);
+        int voidColumns = 0;
+        for (int x = 0; x < 64; x++) {
+            for (int z = 0; z < 64; z++) {
+                if (islands.getHighestBlockY(x, z) == 0) {
+                    voidColumns++;
+                }
+            }
+        }
+        assertTrue(voidColumns > 0);
+    }
+
+    @Test
+    public void testSetBlockUpdatesHeight() throws Exception {
+        VoxelWorld world = new VoxelWorld("flat", 0L, TerrainGenerators.flat(64));
+        assertEquals(64, world.getHighestBlockY(-20, 7));
+        assertSame(Voxel.GRASS, world.getBlock(-20, 63, 7));
+
+        world.setBlock(-20, 100, 7, Voxel.STONE);
+        assertEquals(101, world.getHighestBlockY(-20, 7));
+        world.setBlock(-20, 100, 7, Voxel.AIR);
+        assertEquals(64, world.getHighestBlockY(-20, 7));
+        world.setBlock(-20, 63, 7, Voxel.AIR);
+        assertEquals(63, world.getHighestBlockY(-20, 7));
+        assertSame(Voxel.AIR, world.getBlock(-20, 300, 7));
+    }
+
+    @Test
+    public void testSnapshotIsACopy() throws Exception {
+        VoxelWorld world = new VoxelWorld("flat", 0L, TerrainGenerators.flat(64));
+        VoxelWorldLink link = new VoxelWorldLink(world);
+        ChunkSnapshotLink snapshot = link.getChunkSnapshot(1, 2);
+        assertNotNull(snapshot);
+        world.setBlock(16 + 3, 64, 32 + 4, Voxel.LAVA);
+
+        assertEquals(1, snapshot.getX());
+        assertEquals(2, snapshot.getZ());
+        assertEquals(64, snapshot.getHighestBlockY(3, 4));
+        assertTrue(snapshot.isAir(3, 64, 4));
+        assertTrue(snapshot.isSolid(3, 63, 4));
+        assertTrue(link.getChunkSnapshot(1, 2).isHazard(3, 64, 4));
+    }
+
+    @Test
+    public void testChunksAndEntities() throws Exception {
+        VoxelWorldLink link = new VoxelWorldLink(new VoxelWorld("flat", 0L, TerrainGenerators.flat(64)),
+                WorldEnvironment.NORMAL, WorldType.FLAT);
+        assertFalse(link.isChunkLoaded(0, 0));
+        VoxelWorldLink.VoxelEntity first = link.spawnEntity(5, 5, null);
+        VoxelWorldLink.VoxelEntity second = link.spawnEntity(-5, 5, null);
+        assertTrue(link.isChunkLoaded(0, 0));
+        assertTrue(link.isChunkLoaded(-1, 0));
+        assertEquals(2, link.getLoadedChunks().size());
+        assertEquals(2, link.getEntityCount());
+
+        first.remove();
+        assertFalse(first.isValid());
+        assertEquals(1, link.getEntityCount());
+
+        List<ChunkLink> loaded = link.getLoadedChunks();
+        assertTrue(link.unloadChunk(-1, 0));
+        assertFalse(link.unloadChunk(-1, 0));
+        assertFalse(second.isValid());
+        assertEquals(0, link.getEntityCount());
+        assertEquals(1, link.getLoadedChunks().size());
+        assertEquals(1, (loaded.get(0).isLoaded() ? 1 : 0) + (loaded.get(1).isLoaded() ? 1 : 0));
+    }
+
+    private static void assertStandable(VoxelWorld world, EntityCoordinates location) {
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        String message = location.toString();
+        assertFalse(message, world.getBlock(x, y, z).isSolid());
+        assertFalse(message, world.getBlock(x, y + 1, z).isSolid());
+        assertFalse(message, world.getBlock(x, y, z).isHazard());
+        assertFalse(message, world.getBlock(x, y + 1, z).isHazard());
+        assertFalse(message, world.getBlock(x, y - 1, z).isHazard());
+        assertNotSame(message, Voxel.AIR, world.getBlock(x, y - 1, z));
+    }
+
+    @Test
+    public void testSafeTeleporterAvoidsLava() throws Exception {
+        VoxelWorld world = new VoxelWorld("lakes", 7L, TerrainGenerators.lavaLakes());
+        MultiverseCoreAPI api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        when(api.getBlockSafety()).thenReturn(new VoxelBlockSafety(world));
+
+        Random random = new Random(7L);
+        int found = 0;
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(256);
+            int z = random.nextInt(256);
+            EntityCoordinates start = Locations.getEntityCoordinates("lakes", x + .5, world.getHighestBlockY(x, z),
+                    z + .5, 0F, 0F);
+            EntityCoordinates safe = api.getSafeTeleporter().getSafeLocation(start);
+            if (safe != null) {
+                assertStandable(world, safe);
+                found++;
+            }
+        }
+        assertTrue(found > 100);
+    }
+
+    @Test
+    public void testRandomLocationsOnIslands() throws Exception {
+        VoxelWorld world = new VoxelWorld("islands", 7L, TerrainGenerators.floatingIslands());
+        VoxelWorldLink link = new VoxelWorldLink(world, WorldEnvironment.THE_END, WorldType.NORMAL);
+
+        Random random = new Random(7L);
+        int found = 0;
+        for (int chunkX = -8; chunkX < 8; chunkX++) {
+            for (int chunkZ = -8; chunkZ < 8; chunkZ++) {
+                ChunkSnapshotLink snapshot = link.getChunkSnapshot(chunkX, chunkZ);
+                assertNotNull(snapshot);
+                EntityCoordinates location = SafeLocationPool.findSafeLocation("islands", snapshot, 256, random);
+                if (location != null) {
+                    assertStandable(world, location);
+                    found++;
+                }
+            }
+        }
+        assertTrue(found > 0);
+    }
+}
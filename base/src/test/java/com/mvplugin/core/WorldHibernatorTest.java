@@ -0,0 +1,148 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.destination.WorldDestination;
+import com.mvplugin.core.util.TaskScheduler;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.minecraft.Entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class WorldHibernatorTest extends MultiverseTest {
+
+    private final Queue<Runnable> scheduledTasks = new LinkedList<Runnable>();
+    private MultiverseCoreAPI api;
+    private WorldHibernator hibernator;
+    private WorldManager worldManager;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        TaskScheduler scheduler = PowerMockito.mock(TaskScheduler.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                scheduledTasks.add((Runnable) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(scheduler).runTask(any(Runnable.class));
+        when(api.getTaskScheduler()).thenReturn(scheduler);
+        worldManager = api.getWorldManager();
+        hibernator = api.getWorldHibernator();
+        worldManager.getWorld("world_nether").setHibernateAfter(10);
+    }
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    @Test
+    public void testEmptyWorldHibernates() throws Exception {
+        hibernator.checkWorlds(seconds(0));
+        hibernator.checkWorlds(seconds(5));
+        assertTrue(worldManager.isLoaded("world_nether"));
+
+        hibernator.checkWorlds(seconds(11));
+        assertFalse(worldManager.isLoaded("world_nether"));
+        assertTrue(worldManager.isManaged("world_nether"));
+        assertTrue(hibernator.isHibernating("world_nether"));
+        assertTrue(hibernator.isHibernating("WORLD_NETHER"));
+        assertEquals(1, hibernator.getHibernateCount());
+
+        // Worlds without hibernateAfter set never hibernate.
+        assertTrue(worldManager.isLoaded("world"));
+        assertTrue(worldManager.isLoaded("world_the_end"));
+    }
+
+    @Test
+    public void testOccupiedWorldDoesNotHibernate() throws Exception {
+        MultiverseWorld world = worldManager.getWorld("world_nether");
+        when(world.getWorldLink().getPlayers()).thenReturn(Collections.singletonList(mock(BasePlayer.class)));
+        hibernator.checkWorlds(seconds(0));
+        hibernator.checkWorlds(seconds(60));
+        assertTrue(worldManager.isLoaded("world_nether"));
+
+        // The timer restarts once the world empties.
+        when(world.getWorldLink().getPlayers()).thenReturn(Collections.<BasePlayer>emptyList());
+        hibernator.checkWorlds(seconds(61));
+        hibernator.checkWorlds(seconds(65));
+        assertTrue(worldManager.isLoaded("world_nether"));
+        hibernator.checkWorlds(seconds(72));
+        assertFalse(worldManager.isLoaded("world_nether"));
+    }
+
+    @Test
+    public void testWake() throws Exception {
+        assertNull(hibernator.wake("world_nether"));
+        hibernator.checkWorlds(seconds(0));
+        hibernator.checkWorlds(seconds(10));
+        assertFalse(worldManager.isLoaded("world_nether"));
+
+        MultiverseWorld world = hibernator.wake("world_nether");
+        assertNotNull(world);
+        assertTrue(worldManager.isLoaded("world_nether"));
+        assertFalse(hibernator.isHibernating("world_nether"));
+        assertEquals(1, hibernator.getWakeCount());
+    }
+
+    @Test
+    public void testWakeByAliasOrInAnyCase() throws Exception {
+        worldManager.getWorld("world_nether").setAlias("Underworld");
+        hibernator.checkWorlds(seconds(0));
+        hibernator.checkWorlds(seconds(10));
+        assertTrue(hibernator.isHibernating("underworld"));
+        assertEquals(Collections.singletonList("world_nether"), new ArrayList<String>(hibernator.getHibernatingWorlds()));
+
+        MultiverseWorld world = hibernator.wake("UNDERWORLD");
+        assertNotNull(world);
+        assertEquals("world_nether", world.getName());
+        assertFalse(hibernator.isHibernating("Underworld"));
+        assertFalse(hibernator.isHibernating("world_nether"));
+
+        hibernator.checkWorlds(seconds(20));
+        hibernator.checkWorlds(seconds(30));
+        world = hibernator.wake("World_Nether");
+        assertNotNull(world);
+        assertEquals("world_nether", world.getName());
+        assertEquals(2, hibernator.getWakeCount());
+    }
+
+    @Test
+    public void testWakeAsync() throws Exception {
+        hibernator.checkWorlds(seconds(0));
+        hibernator.checkWorlds(seconds(10));
+
+        CompletableFuture<MultiverseWorld> future = hibernator.wakeAsync("world_nether");
+        assertFalse(future.isDone());
+        while (!scheduledTasks.isEmpty()) {
+            scheduledTasks.poll().run();
+        }
+        assertNotNull(future.get());
+        assertTrue(worldManager.isLoaded("world_nether"));
+        assertNull(hibernator.wakeAsync("world_nether").get());
+    }
+
+    @Test
+    public void testDestinationWakesWorld() throws Exception {
+        hibernator.checkWorlds(seconds(0));
+        hibernator.checkWorlds(seconds(10));
+        assertFalse(worldManager.isLoaded("world_nether"));
+
+        BasePlayer player = api.getServerInterface().getPlayer("Player");
+        assertNotNull(player);
+        new WorldDestination(api, "world_nether").teleport(player, (Entity) player);
+        assertTrue(worldManager.isLoaded("world_nether"));
+        assertFalse(hibernator.isHibernating("world_nether"));
+    }
+}
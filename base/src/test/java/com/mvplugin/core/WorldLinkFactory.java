@@ -2,6 +2,7 @@ package com.mvplugin.core;
 
 import com.mvplugin.core.minecraft.WorldEnvironment;
 import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.testing.answers.SetterAnswer;
 import org.jetbrains.annotations.NotNull;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -30,10 +31,94 @@ public class WorldLinkFactory {
             }
         });
 
+        when(worldLink.getAnimalSpawnLimit()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return data.animalLimit;
+            }
+        });
+        doAnswer(new SetterAnswer<Integer>() {
+            @Override
+            protected void set(Integer value) {
+                data.animalLimit = value;
+            }
+        }).when(worldLink).setAnimalSpawnLimit(anyInt());
+
+        when(worldLink.getMonsterSpawnLimit()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return data.monsterLimit;
+            }
+        });
+        doAnswer(new SetterAnswer<Integer>() {
+            @Override
+            protected void set(Integer value) {
+                data.monsterLimit = value;
+            }
+        }).when(worldLink).setMonsterSpawnLimit(anyInt());
+
+        when(worldLink.getAmbientSpawnLimit()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return data.ambientLimit;
+            }
+        });
+        doAnswer(new SetterAnswer<Integer>() {
+            @Override
+            protected void set(Integer value) {
+                data.ambientLimit = value;
+            }
+        }).when(worldLink).setAmbientSpawnLimit(anyInt());
+
+        when(worldLink.getWaterAnimalSpawnLimit()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return data.waterLimit;
+            }
+        });
+        doAnswer(new SetterAnswer<Integer>() {
+            @Override
+            protected void set(Integer value) {
+                data.waterLimit = value;
+            }
+        }).when(worldLink).setWaterAnimalSpawnLimit(anyInt());
+
+        when(worldLink.getTicksPerAnimalSpawns()).thenAnswer(new Answer<Long>() {
+            @Override
+            public Long answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return data.animalTicks;
+            }
+        });
+        doAnswer(new SetterAnswer<Long>() {
+            @Override
+            protected void set(Long value) {
+                data.animalTicks = value;
+            }
+        }).when(worldLink).setTicksPerAnimalSpawns(anyLong());
+
+        when(worldLink.getTicksPerMonsterSpawns()).thenAnswer(new Answer<Long>() {
+            @Override
+            public Long answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return data.monsterTicks;
+            }
+        });
+        doAnswer(new SetterAnswer<Long>() {
+            @Override
+            protected void set(Long value) {
+                data.monsterTicks = value;
+            }
+        }).when(worldLink).setTicksPerMonsterSpawns(anyLong());
+
         return worldLink;
     }
 
     private static class WorldLinkData {
         private FacingCoordinates spawnLocation = Locations.getFacingCoordinates(0.5, 0, 0.5, 0, 0);
+        private int animalLimit = 15;
+        private int monsterLimit = 70;
+        private int ambientLimit = 15;
+        private int waterLimit = 5;
+        private long animalTicks = 400L;
+        private long monsterTicks = 1L;
     }
 }
@@ -5,13 +5,25 @@ import com.mvplugin.core.exceptions.WorldManagementException;
 import com.mvplugin.core.minecraft.WorldEnvironment;
 import com.mvplugin.core.minecraft.WorldType;
 import com.mvplugin.core.util.Language;
+import com.mvplugin.core.util.TaskScheduler;
+import com.mvplugin.core.world.BulkModifyResult;
 import com.mvplugin.core.world.WorldCreationSettings;
+import com.mvplugin.core.world.WorldListing;
+import com.mvplugin.core.world.WorldListing.SortOrder;
+import com.mvplugin.core.world.WorldSelector;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -255,4 +267,120 @@ public class WorldManagerTest extends MultiverseTest {
     public void testDeleteWorld() throws Exception {
 
     }
+
+    @Test
+    public void testModifyWorldsWithSelector() throws Exception {
+        final Queue<Runnable> asyncTasks = new LinkedList<Runnable>();
+        MultiverseCoreAPI api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        TaskScheduler scheduler = PowerMockito.mock(TaskScheduler.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws Throwable {
+                asyncTasks.add((Runnable) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(scheduler).runTaskAsynchronously(any(Runnable.class));
+        when(api.getTaskScheduler()).thenReturn(scheduler);
+        WorldManagerUtil worldManagerUtil = WorldManagerUtilFactory.getMockedWorldManagerUtil();
+        WorldManager bulkWorldManager = new WorldManager(api, worldManagerUtil);
+
+        BulkModifyResult result = bulkWorldManager.modifyWorlds(WorldSelector.glob("world_*"), "playerLimit", "10");
+        assertEquals(2, result.getModifiedWorlds().size());
+        assertTrue(result.getFailures().isEmpty());
+        assertEquals(10, bulkWorldManager.getWorld("world_nether").getPlayerLimit());
+        assertEquals(10, bulkWorldManager.getWorld("world_the_end").getPlayerLimit());
+        assertEquals(-1, bulkWorldManager.getWorld("world").getPlayerLimit());
+
+        // A second change before the write happens joins the same batch.
+        BulkModifyResult second = bulkWorldManager.modifyWorlds(WorldSelector.regex("WORLD(_nether)?"), "pvp", "false");
+        assertEquals(Arrays.asList("world", "world_nether"), sorted(second.getModifiedWorlds()));
+        assertSame(result.getSaveFuture(), second.getSaveFuture());
+        assertEquals(1, asyncTasks.size());
+        verify(worldManagerUtil, never()).saveWorld(any(MultiverseWorld.class));
+
+        asyncTasks.poll().run();
+        assertTrue(result.getSaveFuture().isDone());
+        verify(worldManagerUtil, times(3)).saveWorld(any(MultiverseWorld.class));
+    }
+
+    @Test
+    public void testModifyWorldsCollectsFailures() throws Exception {
+        MultiverseCoreAPI api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        when(api.getTaskScheduler()).thenReturn(PowerMockito.mock(TaskScheduler.class));
+        WorldManager bulkWorldManager = new WorldManager(api, WorldManagerUtilFactory.getMockedWorldManagerUtil());
+
+        BulkModifyResult result = bulkWorldManager.modifyWorlds(WorldSelector.all(), "playerLimit", "lots");
+        assertTrue(result.getModifiedWorlds().isEmpty());
+        assertEquals(3, result.getFailures().size());
+
+        boolean thrown = false;
+        try {
+            bulkWorldManager.modifyWorlds(WorldSelector.all(), "notAProperty", "1");
+        } catch (NoSuchFieldException e) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+    }
+
+    @Test
+    public void testWorldSelectors() throws Exception {
+        MultiverseWorld nether = worldManager.getWorld("world_nether");
+        MultiverseWorld world = worldManager.getWorld("world");
+        assertTrue(WorldSelector.parse("*_NETHER").test(nether));
+        assertFalse(WorldSelector.parse("*_nether").test(world));
+        assertTrue(WorldSelector.parse("w?rld").test(world));
+        assertTrue(WorldSelector.parse("re:world.*").test(nether));
+        assertTrue(WorldSelector.parse("environment=nether").test(nether));
+        assertFalse(WorldSelector.parse("environment=nether").test(world));
+        // Regex characters in globs are literal.
+        assertFalse(WorldSelector.glob("world.nether").test(world));
+    }
+
+    @Test
+    public void testWorldListing() throws Exception {
+        WorldListing listing = worldManager.getWorldListing();
+        assertSame(listing, worldManager.getWorldListing());
+        assertEquals(Arrays.asList("world", "world_nether", "world_the_end"),
+                names(listing.getWorlds(SortOrder.NAME)));
+        assertEquals(Arrays.asList("world_nether"),
+                names(listing.select(SortOrder.STATE, WorldEnvironment.NETHER, null, null)));
+        assertEquals(Arrays.asList("world_nether", "world_the_end"),
+                names(listing.select(SortOrder.NAME, null, null, "WORLD_")));
+        assertEquals(Arrays.asList("world_the_end"),
+                names(listing.select(SortOrder.STATE, null, true, "world_t")));
+
+        // Changing a property that is read from the world does not require a new listing.
+        worldManager.getWorld("world").setAlias("Overworld");
+        assertSame(listing, worldManager.getWorldListing());
+        assertEquals("Overworld", listing.getWorlds(SortOrder.NAME).get(0).getDisplayName());
+
+        worldManager.addWorld(testName, testWorldEnvironment, testSeedString,
+                testWorldType, testGenerateStructures, testGenerator, testAdjustSpawn);
+        WorldListing rebuilt = worldManager.getWorldListing();
+        assertNotSame(listing, rebuilt);
+        assertEquals(Arrays.asList(testName, "world_nether"),
+                names(rebuilt.select(SortOrder.ENVIRONMENT, WorldEnvironment.NETHER, true, null)));
+
+        worldManager.unloadWorld(testName);
+        listing = worldManager.getWorldListing();
+        assertNotSame(rebuilt, listing);
+        assertEquals(Arrays.asList("world", "world_nether", "world_the_end", testName),
+                names(listing.getWorlds(SortOrder.STATE)));
+        assertEquals(Arrays.asList(testName), names(listing.select(SortOrder.NAME, null, false, null)));
+        assertEquals(Collections.emptyList(), names(listing.select(SortOrder.NAME, null, null, "x")));
+    }
+
+    private static List<String> names(List<WorldListing.Entry> entries) {
+        List<String> names = new ArrayList<String>(entries.size());
+        for (WorldListing.Entry entry : entries) {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+
+    private static List<String> sorted(List<String> list) {
+        List<String> copy = new ArrayList<String>(list);
+        Collections.sort(copy);
+        return copy;
+    }
 }
@@ -81,7 +81,7 @@ public class WorldManagerUtilFactory {
             initialWorlds.put(world.getName().toLowerCase(), world);
             managedWorlds.add(world.getName().toLowerCase());
         }
-        when(worldManagerUtil.loadInitialWorlds()).thenReturn(initialWorlds);
+        when(worldManagerUtil.loadInitialWorlds(any(StartupProfile.class))).thenReturn(initialWorlds);
 
         return worldManagerUtil;
     }
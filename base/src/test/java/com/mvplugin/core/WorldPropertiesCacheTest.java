@@ -0,0 +1,171 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.Difficulty;
+import com.mvplugin.core.minecraft.GameMode;
+import com.mvplugin.core.minecraft.PortalType;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import org.junit.Test;
+import pluginbase.minecraft.location.FacingCoordinates;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class WorldPropertiesCacheTest extends MultiverseTest {
+
+    private WorldLink worldLink;
+    private MultiverseWorld world;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        worldLink = WorldLinkFactory.getMockedWorldLink("cacheworld", WorldEnvironment.NORMAL, WorldType.NORMAL, 0L);
+        when(worldLink.getDifficulty()).thenReturn(Difficulty.EASY);
+        when(worldLink.getTime()).thenReturn(6000L);
+        world = new MultiverseWorld(new WorldProperties(), worldLink);
+    }
+
+    @Test
+    public void testProxiedValuesAreCached() throws Exception {
+        assertEquals(WorldEnvironment.NORMAL, world.getEnvironment());
+        assertEquals(WorldEnvironment.NORMAL, world.getEnvironment());
+        FacingCoordinates spawn = world.getSpawnLocation();
+        assertSame(spawn, world.getSpawnLocation());
+        verify(worldLink, times(1)).getEnvironment();
+        verify(worldLink, times(1)).getSpawnLocation();
+    }
+
+    @Test
+    public void testSettersInvalidateCache() throws Exception {
+        assertEquals(Difficulty.EASY, world.getDifficulty());
+        when(worldLink.getDifficulty()).thenReturn(Difficulty.HARD);
+        world.setDifficulty(Difficulty.HARD);
+        verify(worldLink).setDifficulty(Difficulty.HARD);
+        assertEquals(Difficulty.HARD, world.getDifficulty());
+    }
+
+    @Test
+    public void testServerChangesInvalidateCache() throws Exception {
+        assertEquals(WorldEnvironment.NORMAL, world.getEnvironment());
+        when(worldLink.getEnvironment()).thenReturn(WorldEnvironment.NETHER);
+        assertEquals(WorldEnvironment.NORMAL, world.getEnvironment());
+
+        world.getProperties().invalidateCachedValues();
+        assertEquals(WorldEnvironment.NETHER, world.getEnvironment());
+    }
+
+    @Test
+    public void testValuesChangedWithoutAnEventAreNotCached() throws Exception {
+        when(worldLink.getPVP()).thenReturn(true);
+        assertEquals(Difficulty.EASY, world.getDifficulty());
+        assertTrue(world.isPVPEnabled());
+
+        // Another plugin changes the world directly.
+        when(worldLink.getDifficulty()).thenReturn(Difficulty.PEACEFUL);
+        when(worldLink.getPVP()).thenReturn(false);
+        assertEquals(Difficulty.PEACEFUL, world.getDifficulty());
+        assertFalse(world.isPVPEnabled());
+    }
+
+    @Test
+    public void testTimeIsNotCached() throws Exception {
+        assertEquals("14:00", world.getTime());
+        when(worldLink.getTime()).thenReturn(18000L);
+        assertEquals("2:00", world.getTime());
+    }
+
+    @Test
+    public void testCopyChangesFrom() throws Exception {
+        when(worldLink.getPVP()).thenReturn(true);
+        WorldProperties source = new WorldProperties();
+        source.setPlayerLimit(7);
+        source.setDifficulty(Difficulty.HARD);
+        source.setHidden(true);
+        source.getWorldBlackList().add("world_nether");
+
+        assertTrue(world.getProperties().copyChangesFrom(source) >= 4);
+        verify(worldLink, times(1)).setDifficulty(Difficulty.HARD);
+        verify(worldLink, never()).setPVP(anyBoolean());
+        assertEquals(7, world.getPlayerLimit());
+        assertTrue(world.isHidden());
+
+        // Lists are copied rather than shared with the source.
+        source.getWorldBlackList().clear();
+        assertEquals(1, world.getProperties().getWorldBlackList().size());
+    }
+
+    @Test
+    public void testCopyForSavingIsDetachedFromTheWorld() throws Exception {
+        world.setPlayerLimit(10);
+        world.setProfile("instances");
+        world.getProperties().getWorldBlackList().add("world_nether");
+
+        WorldProperties copy = world.getProperties().copyForSaving();
+        assertEquals("cacheworld", copy.getName());
+        assertEquals(Difficulty.EASY, copy.getDifficulty());
+        assertEquals(10, copy.getPlayerLimit());
+        assertEquals("instances", copy.getProfile());
+        assertEquals(1, copy.getWorldBlackList().size());
+
+        world.setPlayerLimit(20);
+        world.setDifficulty(Difficulty.HARD);
+        world.getProperties().getWorldBlackList().clear();
+        assertEquals(10, copy.getPlayerLimit());
+        assertEquals(Difficulty.EASY, copy.getDifficulty());
+        assertEquals(1, copy.getWorldBlackList().size());
+        verify(worldLink, times(1)).getDifficulty();
+    }
+
+    @Test
+    public void testOverridesOnlyHoldDifferences() throws Exception {
+        WorldProperties profile = new WorldProperties();
+        profile.setPlayerLimit(20);
+        profile.setGameMode(GameMode.ADVENTURE);
+        WorldProperties properties = new WorldProperties("instance_1");
+        properties.copyChangesFrom(profile);
+        properties.setProfile("instances");
+        properties.setHidden(true);
+        properties.getEntryFee().setAmount(5D);
+
+        Map<String, Object> overrides = properties.getOverrides(profile);
+        assertNotNull(overrides);
+        assertEquals("instances", overrides.get("profile"));
+        assertEquals(true, overrides.get("hidden"));
+        assertEquals(5D, ((Map<?, ?>) overrides.get("entryFee")).get("amount"));
+        assertFalse(overrides.containsKey("playerLimit"));
+        assertFalse(overrides.containsKey("gameMode"));
+        assertFalse(overrides.containsKey("spawning"));
+    }
+
+    @Test
+    public void testConnectedWorldsAreSharedUntilChanged() throws Exception {
+        PortalType nether = PortalType.valueOf("NETHER");
+        if (nether == null) {
+            PortalType.registerPortalType("NETHER");
+            nether = PortalType.valueOf("NETHER");
+        }
+        WorldProperties template = new WorldProperties();
+        WorldProperties first = new WorldProperties("first");
+        WorldProperties second = new WorldProperties("second");
+        first.shareUnchangedValuesWith(template);
+        second.shareUnchangedValuesWith(template);
+        assertTrue(first.isSharingValues());
+        assertTrue(second.isSharingValues());
+
+        // What is handed out is only a copy, so the shared settings cannot be changed through it.
+        first.getConnectedWorld(nether).setScale(2D);
+        assertEquals(1D, template.getConnectedWorld(nether).getScale(), 0D);
+        assertTrue(first.isSharingValues());
+
+        first.getConnectedWorldForUpdate(nether).setScale(4D);
+        assertFalse(first.isSharingValues());
+        assertEquals(4D, first.getConnectedWorld(nether).getScale(), 0D);
+        assertEquals(template.getConnectedWorld(nether).getScale(), second.getConnectedWorld(nether).getScale(), 0D);
+        assertNull(first.getOverrides(template));
+
+        second.unshareValues();
+        assertFalse(second.isSharingValues());
+        assertNotNull(second.getOverrides(template));
+    }
+}
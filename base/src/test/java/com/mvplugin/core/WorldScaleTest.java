@@ -0,0 +1,276 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.destination.DestinationRegistry;
+import com.mvplugin.core.minecraft.WorldEnvironment;
+import com.mvplugin.core.minecraft.WorldType;
+import com.mvplugin.core.plugin.MultiverseCore;
+import com.mvplugin.testing.FileLocations;
+import com.mvplugin.testing.ServerInterfaceFactory;
+import com.mvplugin.testing.voxel.TerrainGenerators;
+import org.jetbrains.annotations.NotNull;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import pluginbase.config.datasource.hocon.HoconDataSource;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.minecraft.Entity;
+import pluginbase.permission.PermFactory;
+import pluginbase.plugin.ServerInterface;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs Multiverse against a simulated server with thousands of worlds and players and checks that starting up,
+ * looking up worlds, handling player events and teleporting stay within their time and allocation budgets.
+ * <p>
+ * This is left out of the normal build as it takes a while.  Run it with {@code mvn -Pscale-tests test -pl base -am}.
+ * The size of the server can be changed with {@code -Dmv.scale.worlds} and {@code -Dmv.scale.players}, and every
+ * budget multiplied with {@code -Dmv.scale.budgetFactor} for slow machines.
+ */
+public class WorldScaleTest {
+
+    private static final int WORLD_COUNT = Integer.getInteger("mv.scale.worlds", 10000);
+    private static final int PLAYER_COUNT = Integer.getInteger("mv.scale.players", 5000);
+    private static final int TELEPORT_COUNT = Integer.getInteger("mv.scale.teleports", 1000);
+    private static final double BUDGET_FACTOR = Double.parseDouble(System.getProperty("mv.scale.budgetFactor", "1"));
+
+    /** Every this many worlds is set not to load on startup. */
+    private static final int UNLOADED_EVERY = 10;
+    private static final int TELEPORTING_PLAYERS = 100;
+    private static final int ALIAS_LOOKUPS = 200;
+    private static final String NAME_MARKER = "SCALE_TEST_NAME";
+    private static final String ALIAS_MARKER = "SCALE_TEST_ALIAS";
+
+    private static ServerInterface serverInterface;
+    private static VoxelWorldManagerUtil worldManagerUtil;
+    private static SimulatedCore core;
+    private static Measurement startup;
+    private static final List<String> loadedWorlds = new ArrayList<String>();
+
+    private static String worldName(final int i) {
+        return String.format("scale_%05d", i);
+    }
+
+    private static String worldAlias(final int i) {
+        return String.format("Scale%05d", i);
+    }
+
+    private static long budget(final long value) {
+        return (long) (value * BUDGET_FACTOR);
+    }
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        PermFactory.useBasicPermissionFactory();
+        PermFactory.registerPermissionName(MultiverseCore.class, "mv");
+        FileLocations.setupDirectories();
+        serverInterface = ServerInterfaceFactory.getMockedServerInterface();
+        writeWorldFiles();
+
+        worldManagerUtil = new VoxelWorldManagerUtil(serverInterface, FileLocations.MULTIVERSE_DIRECTORY,
+                TerrainGenerators.flat(64), 128);
+        worldManagerUtil.loadServerWorld("world", WorldEnvironment.NORMAL, WorldType.NORMAL, 0L);
+        worldManagerUtil.loadServerWorld("world_nether", WorldEnvironment.NETHER, WorldType.NORMAL, 0L);
+        worldManagerUtil.loadServerWorld("world_the_end", WorldEnvironment.THE_END, WorldType.NORMAL, 0L);
+
+        final Measurement measurement = new Measurement();
+        core = new SimulatedCore(serverInterface, worldManagerUtil);
+        startup = measurement.stop(WORLD_COUNT);
+    }
+
+    /**
+     * Writes a world file and world folder for each world, as a server that has been running for a long time would
+     * have.  The files are copies of what Multiverse saves itself.
+     */
+    private static void writeWorldFiles() throws Exception {
+        final String loadedTemplate = createWorldFileTemplate(true);
+        final String unloadedTemplate = createWorldFileTemplate(false);
+        final File worldsFolder = new File(FileLocations.MULTIVERSE_DIRECTORY, "worlds");
+        worldsFolder.mkdirs();
+        for (int i = 0; i < WORLD_COUNT; i++) {
+            final boolean loaded = i % UNLOADED_EVERY != 0;
+            final String contents = (loaded ? loadedTemplate : unloadedTemplate)
+                    .replace(NAME_MARKER, worldName(i))
+                    .replace(ALIAS_MARKER, worldAlias(i));
+            Files.write(new File(worldsFolder, worldName(i) + ".conf").toPath(),
+                    contents.getBytes(StandardCharsets.UTF_8));
+            VoxelWorldManagerUtil.createWorldFolder(FileLocations.SERVER_DIRECTORY, worldName(i));
+            if (loaded) {
+                loadedWorlds.add(worldName(i));
+            }
+        }
+    }
+
+    @NotNull
+    private static String createWorldFileTemplate(final boolean autoLoad) throws Exception {
+        final File file = File.createTempFile("template", ".conf");
+        try {
+            final WorldProperties properties = new WorldProperties(NAME_MARKER);
+            properties.setAlias(ALIAS_MARKER);
+            properties.setAutoLoad(autoLoad);
+            HoconDataSource.builder().setCommentsEnabled(true).setFile(file).build().save(properties);
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @AfterClass
+    public static void stopServer() throws Exception {
+        FileLocations.cleanupDirectories();
+    }
+
+    @Test
+    public void testStartup() throws Exception {
+        final WorldManager worldManager = core.getWorldManager();
+        assertEquals(loadedWorlds.size() + 3, worldManager.getWorlds().size());
+        assertNotNull(worldManager.getWorld("world_nether"));
+        assertNull(worldManager.getWorld(worldName(0)));
+        assertTrue(worldManager.isManaged(worldName(0)));
+        startup.assertWithin("startup per world", budget(5000000L), budget(2 * 1024 * 1024));
+    }
+
+    @Test
+    public void testWorldLookups() throws Exception {
+        final WorldManager worldManager = core.getWorldManager();
+        // Make sure everything involved has been loaded before measuring.
+        assertNotNull(worldManager.getWorld(loadedWorlds.get(0)));
+        assertNotNull(worldManager.getWorld(worldAlias(1)));
+
+        Measurement measurement = new Measurement();
+        int found = 0;
+        for (final String name : loadedWorlds) {
+            if (worldManager.getWorld(name) != null) {
+                found++;
+            }
+        }
+        measurement.stop(loadedWorlds.size()).assertWithin("lookup by name", budget(5000L), budget(256));
+        assertEquals(loadedWorlds.size(), found);
+
+        final Random random = new Random(42L);
+        measurement = new Measurement();
+        for (int i = 0; i < ALIAS_LOOKUPS; i++) {
+            // Odd worlds are always loaded.
+            final int index = random.nextInt(WORLD_COUNT / 2) * 2 + 1;
+            final MultiverseWorld world = worldManager.getWorld(worldAlias(index));
+            assertNotNull(world);
+            assertEquals(worldName(index), world.getName());
+        }
+        measurement.stop(ALIAS_LOOKUPS).assertWithin("lookup by alias", budget(5000000L), budget(64 * 1024));
+    }
+
+    @Test
+    public void testPlayerEvents() throws Exception {
+        final EventProcessor eventProcessor = core.getEventProcessor();
+        final PlayerTracker playerTracker = core.getPlayerTracker();
+        final Random random = new Random(42L);
+        final String[] players = new String[PLAYER_COUNT];
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            players[i] = "player" + i;
+        }
+
+        Measurement measurement = new Measurement();
+        for (final String player : players) {
+            eventProcessor.playerJoin(player, loadedWorlds.get(random.nextInt(loadedWorlds.size())));
+        }
+        measurement.stop(PLAYER_COUNT).assertWithin("player join", budget(500000L), budget(32 * 1024));
+
+        measurement = new Measurement();
+        for (final String player : players) {
+            eventProcessor.playerJoin(player, loadedWorlds.get(random.nextInt(loadedWorlds.size())));
+        }
+        measurement.stop(PLAYER_COUNT).assertWithin("world change", budget(500000L), budget(32 * 1024));
+        for (final String player : players) {
+            assertNotNull(playerTracker.getWorld(player));
+        }
+
+        measurement = new Measurement();
+        for (final String player : players) {
+            eventProcessor.playerQuit(player);
+        }
+        measurement.stop(PLAYER_COUNT).assertWithin("player quit", budget(500000L), budget(32 * 1024));
+        for (final String player : players) {
+            assertNull(playerTracker.getWorld(player));
+        }
+    }
+
+    @Test
+    public void testTeleports() throws Exception {
+        final DestinationRegistry destinations = core.getDestinationRegistry();
+        final Random random = new Random(42L);
+        final BasePlayer[] players = new BasePlayer[TELEPORTING_PLAYERS];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = serverInterface.getPlayer("traveller" + i);
+        }
+        // The first teleport loads the classes involved, which should not count against the budget.
+        destinations.parseDestination("w:world").teleport(players[0], (Entity) players[0]);
+
+        final Measurement measurement = new Measurement();
+        for (int i = 0; i < TELEPORT_COUNT; i++) {
+            final BasePlayer player = players[i % players.length];
+            final String name = loadedWorlds.get(random.nextInt(loadedWorlds.size()));
+            destinations.parseDestination("w:" + name).teleport(player, (Entity) player);
+            assertEquals(name, ((Entity) player).getLocation().getWorld());
+        }
+        // This includes generating the spawn chunk of each world and the bookkeeping of the mocked players.
+        measurement.stop(TELEPORT_COUNT).assertWithin("teleport", budget(5000000L), budget(512 * 1024));
+    }
+
+    /**
+     * The time and, where the JVM can tell, the memory allocated by the current thread while doing something.
+     */
+    private static final class Measurement {
+
+        private static final com.sun.management.ThreadMXBean THREADS = getThreadBean();
+
+        private final long startNanos;
+        private final long startBytes;
+        private long nanosPerOperation;
+        private long bytesPerOperation = -1L;
+
+        private Measurement() {
+            startBytes = allocatedBytes();
+            startNanos = System.nanoTime();
+        }
+
+        private static com.sun.management.ThreadMXBean getThreadBean() {
+            final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+                if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                    return sunThreads;
+                }
+            }
+            return null;
+        }
+
+        private static long allocatedBytes() {
+            return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1L;
+        }
+
+        private Measurement stop(final int operations) {
+            nanosPerOperation = (System.nanoTime() - startNanos) / operations;
+            if (startBytes >= 0L) {
+                bytesPerOperation = (allocatedBytes() - startBytes) / operations;
+            }
+            return this;
+        }
+
+        private void assertWithin(final String what, final long nanos, final long bytes) {
+            assertTrue(String.format("%s took %,d ns, the budget is %,d ns", what, nanosPerOperation, nanos),
+                    nanosPerOperation <= nanos);
+            if (bytesPerOperation >= 0L) {
+                assertTrue(String.format("%s allocated %,d bytes, the budget is %,d bytes", what, bytesPerOperation,
+                        bytes), bytesPerOperation <= bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.mvplugin.core.destination;
+
+import com.mvplugin.core.MultiverseCoreAPI;
+import com.mvplugin.core.MultiverseCoreAPIFactory;
+import com.mvplugin.core.MultiverseTest;
+import com.mvplugin.core.exceptions.InvalidDestinationException;
+import com.mvplugin.core.exceptions.TeleportException;
+import com.mvplugin.core.util.TaskScheduler;
+import com.mvplugin.testing.FileLocations;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.minecraft.location.Locations;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AnchorDestinationTest extends MultiverseTest {
+
+    private MultiverseCoreAPI api;
+    private AnchorStore store;
+    private AnchorDestination.Factory factory;
+    private File file;
+    private final List<Runnable> tasks = new ArrayList<Runnable>();
+
+    private final TaskScheduler scheduler = new TaskScheduler() {
+        @Override
+        public void runTask(@NotNull Runnable task) {
+            tasks.add(task);
+        }
+
+        @Override
+        public void runTaskLater(@NotNull Runnable task, long delay) {
+            tasks.add(task);
+        }
+
+        @Override
+        public void runTaskAsynchronously(@NotNull Runnable task) {
+            tasks.add(task);
+        }
+    };
+
+    @Override
+    protected void extraSetup() throws Exception {
+        api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        store = api.getDestinationRegistry().getAnchorStore();
+        factory = new AnchorDestination.Factory();
+        file = new File(FileLocations.MULTIVERSE_DIRECTORY, "anchors.dat");
+    }
+
+    private void runTasks() {
+        List<Runnable> pending = new ArrayList<Runnable>(tasks);
+        tasks.clear();
+        for (Runnable task : pending) {
+            task.run();
+        }
+    }
+
+    @Test
+    public void testParseAndResolve() throws Exception {
+        store.setAnchor("Spawn", Locations.getEntityCoordinates("world", 10, 64, -20, 0, 90));
+        AnchorDestination destination = factory.createDestination(api, "a:spawn");
+        assertEquals(destination, factory.createDestination(api, "anchor:SPAWN"));
+        assertEquals("anchor:Spawn", destination.getDestinationString());
+        assertEquals(10, destination.getDestination().getX(), 0);
+
+        store.setAnchor("spawn", Locations.getEntityCoordinates("world", 5, 64, 5, 0, 0));
+        assertEquals(5, destination.getDestination().getX(), 0);
+
+        store.removeAnchor("Spawn");
+        try {
+            destination.getDestination();
+            fail("A removed anchor should not resolve");
+        } catch (TeleportException ignore) { }
+    }
+
+    @Test(expected = InvalidDestinationException.class)
+    public void testUnknownAnchor() throws Exception {
+        factory.createDestination(api, "a:nowhere");
+    }
+
+    @Test
+    public void testRegisteredAndCompleted() throws Exception {
+        store.setAnchor("market", Locations.getEntityCoordinates("world", 0, 64, 0, 0, 0));
+        store.setAnchor("mine", Locations.getEntityCoordinates("world", 0, 64, 0, 0, 0));
+        DestinationRegistry registry = api.getDestinationRegistry();
+        assertEquals(AnchorDestination.class, registry.parseDestination("anchor:market").getClass());
+        assertEquals(Arrays.asList("a:market", "a:mine"), registry.completeDestination("a:m", 10));
+    }
+
+    @Test
+    public void testNearestAnchor() throws Exception {
+        AnchorStore store = new AnchorStore();
+        assertNull(store.getNearestAnchor(Locations.getEntityCoordinates("world", 0, 64, 0, 0, 0)));
+        store.setAnchor("origin", Locations.getEntityCoordinates("world", 0, 64, 0, 0, 0));
+        store.setAnchor("east", Locations.getEntityCoordinates("world", 1000, 64, 0, 0, 0));
+        store.setAnchor("corner", Locations.getEntityCoordinates("world", 63, 64, 63, 0, 0));
+        store.setAnchor("nether", Locations.getEntityCoordinates("world_nether", 70, 64, 70, 0, 0));
+
+        assertEquals("origin", store.getNearestAnchor(Locations.getEntityCoordinates("world", 10, 64, 10, 0, 0)).getName());
+        // In the neighbouring cell but still closer than anything in its own cell.
+        assertEquals("corner", store.getNearestAnchor(Locations.getEntityCoordinates("world", 70, 64, 70, 0, 0)).getName());
+        assertEquals("east", store.getNearestAnchor(Locations.getEntityCoordinates("world", 5000, 64, -5000, 0, 0)).getName());
+        assertEquals("nether", store.getNearestAnchor(Locations.getEntityCoordinates("WORLD_NETHER", 0, 0, 0, 0, 0)).getName());
+
+        store.removeAnchor("corner");
+        assertEquals("origin", store.getNearestAnchor(Locations.getEntityCoordinates("world", 70, 64, 70, 0, 0)).getName());
+    }
+
+    @Test
+    public void testNearestAnchorMatchesCheckingEveryAnchor() throws Exception {
+        AnchorStore store = new AnchorStore();
+        Random random = new Random(0);
+        for (int i = 0; i < 50; i++) {
+            store.setAnchor("a" + i, Locations.getEntityCoordinates("world",
+                    random.nextInt(20000) - 10000, random.nextInt(256), random.nextInt(20000) - 10000, 0, 0));
+        }
+        for (int i = 0; i < 500; i++) {
+            if (i % 10 == 0) {
+                // Removing anchors shrinks the area the search has to cover.
+                store.removeAnchor("a" + (i / 10));
+            }
+            EntityCoordinates location = Locations.getEntityCoordinates("world",
+                    random.nextInt(60000) - 30000, random.nextInt(256), random.nextInt(60000) - 30000, 0, 0);
+            AnchorStore.Anchor closest = null;
+            for (AnchorStore.Anchor anchor : store.getAnchors()) {
+                if (closest == null || distance(anchor, location) < distance(closest, location)) {
+                    closest = anchor;
+                }
+            }
+            assertEquals(distance(closest, location), distance(store.getNearestAnchor(location), location), 0);
+        }
+    }
+
+    private static double distance(AnchorStore.Anchor anchor, EntityCoordinates location) {
+        double dx = anchor.getLocation().getX() - location.getX();
+        double dy = anchor.getLocation().getY() - location.getY();
+        double dz = anchor.getLocation().getZ() - location.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    @Test
+    public void testChangesAreAppendedInTheBackground() throws Exception {
+        AnchorStore store = new AnchorStore(scheduler, file);
+        store.setAnchor("a1", Locations.getEntityCoordinates("world", 1, 2, 3, 4, 5));
+        store.setAnchor("a2", Locations.getEntityCoordinates("world_nether", 6, 7, 8, 0, 0));
+        assertFalse(file.exists());
+        assertEquals(1, tasks.size());
+        runTasks();
+        store.removeAnchor("a1");
+        runTasks();
+        assertEquals(3, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size());
+
+        AnchorStore reloaded = new AnchorStore(scheduler, file);
+        assertNull(reloaded.getAnchor("a1"));
+        assertEquals("world_nether", reloaded.getAnchor("A2").getLocation().getWorld());
+        assertEquals(8, reloaded.getAnchor("a2").getLocation().getZ(), 0);
+    }
+
+    @Test
+    public void testLogIsCompacted() throws Exception {
+        AnchorStore store = new AnchorStore(scheduler, file);
+        for (int i = 0; i < 300; i++) {
+            store.setAnchor("moving", Locations.getEntityCoordinates("world", i, 64, 0, 0, 0));
+            store.flush();
+        }
+        assertTrue(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size() < 256);
+        assertEquals(299, new AnchorStore(scheduler, file).getAnchor("moving").getLocation().getX(), 0);
+    }
+
+    @Test
+    public void testUnreadableLinesAreSkipped() throws Exception {
+        Files.write(file.toPath(), Arrays.asList(
+                "set\tgood\t1.0\t2.0\t3.0\t0.0\t0.0\tworld",
+                "set\tcut\t1.0\t2"), StandardCharsets.UTF_8);
+        AnchorStore store = new AnchorStore(scheduler, file);
+        assertEquals(1, store.size());
+        assertNotNull(store.getAnchor("good"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidName() throws Exception {
+        store.setAnchor("two words", Locations.getEntityCoordinates("world", 0, 0, 0, 0, 0));
+    }
+}
@@ -0,0 +1,152 @@
+package com.mvplugin.core.destination;
+
+import com.mvplugin.core.MultiverseCoreAPI;
+import com.mvplugin.core.MultiverseCoreAPIFactory;
+import com.mvplugin.core.MultiverseTest;
+import com.mvplugin.core.exceptions.TeleportException;
+import com.mvplugin.core.util.Perms;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import pluginbase.messages.Message;
+import pluginbase.minecraft.BasePlayer;
+import pluginbase.minecraft.Entity;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.minecraft.location.Locations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class TeleportPipelineTest extends MultiverseTest {
+
+    private MultiverseCoreAPI api;
+    private TeleportPipeline pipeline;
+    private BasePlayer player;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        pipeline = api.getDestinationRegistry().getTeleportPipeline();
+        player = api.getServerInterface().getPlayer("Player");
+        assertNotNull(player);
+        ((Entity) player).teleport(Locations.getEntityCoordinates("someworld", 50.5, 50, 50.5, 0, 0));
+    }
+
+    @Test
+    public void testDestinationIsResolvedOnce() throws Exception {
+        PlayerDestination dest = new PlayerDestination(api, "someplayer");
+        dest.teleport(player, (Entity) player);
+        verify(api.getServerInterface(), times(1)).getPlayer("someplayer");
+    }
+
+    @Test
+    public void testStagesRunInOrder() throws Exception {
+        final List<String> ran = new ArrayList<String>();
+        final EntityCoordinates moved = Locations.getEntityCoordinates("world", 10.5, 64, 10.5, 0, 0);
+        pipeline.addStage(TeleportPipeline.SAFE_LOCATION + 1, new TeleportStage() {
+            @Override
+            public void process(@NotNull TeleportRequest request) throws TeleportException {
+                ran.add("late");
+                request.setTarget(moved);
+            }
+        });
+        pipeline.addStage(TeleportPipeline.ENTRY_FEE, new TeleportStage() {
+            @Override
+            public void process(@NotNull TeleportRequest request) throws TeleportException {
+                ran.add("fee");
+                assertTrue(request.isSelfTeleport());
+            }
+        });
+        pipeline.addStage(TeleportPipeline.ENTRY_FEE, new TeleportStage() {
+            @Override
+            public void process(@NotNull TeleportRequest request) throws TeleportException {
+                ran.add("fee2");
+            }
+        });
+        new WorldDestination(api, "world").teleport(player, (Entity) player);
+        assertEquals(Arrays.asList("fee", "fee2", "late"), ran);
+        assertEquals(moved, ((Entity) player).getLocation());
+    }
+
+    @Test
+    public void testFailingStageStopsTeleport() throws Exception {
+        TeleportStage refuse = new TeleportStage() {
+            @Override
+            public void process(@NotNull TeleportRequest request) throws TeleportException {
+                throw new TeleportException(Message.bundleMessage(Message.createMessage("test.refused", "Refused")));
+            }
+        };
+        pipeline.addStage(TeleportPipeline.ENTRY_FEE, refuse);
+        EntityCoordinates before = ((Entity) player).getLocation();
+        try {
+            new WorldDestination(api, "world").teleport(player, (Entity) player);
+            fail("The teleport should have been refused");
+        } catch (TeleportException ignore) { }
+        assertEquals(before, ((Entity) player).getLocation());
+
+        assertTrue(pipeline.removeStage(refuse));
+        assertFalse(pipeline.getStages().contains(refuse));
+        new WorldDestination(api, "world").teleport(player, (Entity) player);
+        assertEquals("world", ((Entity) player).getLocation().getWorld());
+    }
+
+    @Test
+    public void testPlayerLimit() throws Exception {
+        api.getWorldManager().getWorld("world").setPlayerLimit(0);
+        when(player.hasPerm(Perms.BYPASS_PLAYERLIMIT, "world")).thenReturn(false);
+        try {
+            new WorldDestination(api, "world").teleport(player, (Entity) player);
+            fail("The world should have been full");
+        } catch (TeleportException ignore) { }
+        assertEquals("someworld", ((Entity) player).getLocation().getWorld());
+    }
+
+    @Test
+    public void testRandomDestinationChecksPermissionsFirst() throws Exception {
+        when(player.hasPerm(Perms.TP_SELF_WORLD, "world")).thenReturn(false);
+        try {
+            new RandomDestination(api, "world").teleport(player, (Entity) player);
+            fail("The teleport should have been refused");
+        } catch (TeleportException ignore) { }
+        verify(api, never()).getSafeLocationPool();
+        assertEquals("someworld", ((Entity) player).getLocation().getWorld());
+    }
+
+    @Test
+    public void testSafeTargetsAreNotSearchedAgain() throws Exception {
+        final EntityCoordinates safe = Locations.getEntityCoordinates("world", 10.5, 64, 10.5, 0, 0);
+        SimpleDestination dest = new SimpleDestination(api) {
+            @NotNull
+            @Override
+            protected EntityCoordinates getDestination() throws TeleportException {
+                return safe;
+            }
+
+            @Override
+            protected boolean isDestinationSafe() {
+                return true;
+            }
+
+            @Override
+            protected String getDestinationString() {
+                return "safe";
+            }
+        };
+        dest.teleport(player, (Entity) player);
+        assertEquals(safe, ((Entity) player).getLocation());
+        verify(api, never()).getSafeTeleporter();
+
+        // A target moved by another stage is checked again.
+        pipeline.addStage(TeleportPipeline.ENTRY_FEE, new TeleportStage() {
+            @Override
+            public void process(@NotNull TeleportRequest request) throws TeleportException {
+                request.setTarget(request.getTarget());
+            }
+        });
+        dest.teleport(player, (Entity) player);
+        verify(api, times(1)).getSafeTeleporter();
+    }
+}
@@ -0,0 +1,128 @@
+package com.mvplugin.core.metrics;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testMetricsAreCreatedOnce() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.counter("world.load"), registry.counter("world.load"));
+        assertSame(registry.timer("teleport"), registry.timer("teleport"));
+        assertEquals(2, registry.getMetrics().size());
+        assertEquals("teleport", registry.getMetrics().firstKey());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNameBelongsToOneType() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("teleport");
+        registry.timer("teleport");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidName() throws Exception {
+        new MetricsRegistry().counter("World Load");
+    }
+
+    @Test
+    public void testCounterFromManyThreads() throws Exception {
+        final Counter counter = new MetricsRegistry().counter("events");
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        counter.increment();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40000L, counter.getCount());
+    }
+
+    @Test
+    public void testHistogramBuckets() throws Exception {
+        int last = -1;
+        for (long value = 0L; value < 100000L; value++) {
+            int index = Histogram.bucketIndex(value);
+            assertTrue(index >= last);
+            assertTrue(value <= Histogram.bucketUpperBound(index));
+            last = index;
+        }
+        assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.bucketIndex(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, Histogram.bucketUpperBound(Histogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void testHistogramPercentiles() throws Exception {
+        Histogram histogram = new MetricsRegistry().histogram("values");
+        assertEquals(0L, histogram.get50thPercentile());
+        for (long value = 1L; value <= 1000L; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5L);
+        assertEquals(1001L, histogram.getCount());
+        assertEquals(1000L, histogram.getMax());
+        assertEquals(500500L, histogram.getSum());
+        assertEquals(500D, histogram.get50thPercentile(), 500D * 0.07D);
+        assertEquals(990D, histogram.get99thPercentile(), 990D * 0.07D);
+        assertEquals(1000L, histogram.getValueAtPercentile(100D));
+        assertEquals(0L, histogram.getValueAtPercentile(0D));
+    }
+
+    @Test
+    public void testWriteText() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("teleport.failed").add(3L);
+        registry.timer("world.load").record(2000000000L);
+        StringBuilder text = new StringBuilder();
+        registry.writeText(text);
+        String output = text.toString();
+        assertTrue(output.contains("# TYPE multiverse_teleport_failed_total counter\nmultiverse_teleport_failed_total 3\n"));
+        assertTrue(output.contains("# TYPE multiverse_world_load_seconds summary\n"));
+        assertTrue(output.contains("multiverse_world_load_seconds_count 1\n"));
+        assertTrue(output.contains("multiverse_world_load_seconds_sum 2.0\n"));
+    }
+
+    @Test
+    public void testMBeans() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName loadName = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Timer,name=world.load");
+        ObjectName failedName = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Counter,name=teleport.failed");
+
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.timer("world.load");
+        registry.registerMBeans();
+        try {
+            registry.counter("teleport.failed").increment();
+            assertTrue(server.isRegistered(loadName));
+            assertEquals(1L, server.getAttribute(failedName, "Count"));
+
+            // A reload replaces the old registry's beans.
+            MetricsRegistry reloaded = new MetricsRegistry();
+            reloaded.counter("teleport.failed");
+            reloaded.registerMBeans();
+            assertEquals(0L, server.getAttribute(failedName, "Count"));
+            reloaded.unregisterMBeans();
+        } finally {
+            registry.unregisterMBeans();
+        }
+        assertFalse(server.isRegistered(loadName));
+        assertFalse(server.isRegistered(failedName));
+    }
+}
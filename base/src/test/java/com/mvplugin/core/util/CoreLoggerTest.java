@@ -0,0 +1,109 @@
+package com.mvplugin.core.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+public class CoreLoggerTest {
+
+    private static final int CALLS = 100000;
+
+    private static final com.sun.management.ThreadMXBean THREADS = getThreadBean();
+
+    private final AtomicInteger supplied = new AtomicInteger();
+    private final Supplier<String> message = new Supplier<String>() {
+        @Override
+        public String get() {
+            supplied.incrementAndGet();
+            return "Supplied message";
+        }
+    };
+
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                return sunThreads;
+            }
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        CoreLogger.setDebugLevel(0);
+    }
+
+    /**
+     * Logs the way the hot paths do, with arguments that would need boxing.
+     */
+    private void logEverything(final int i, final Object location) {
+        if (CoreLogger.isFineEnabled()) {
+            CoreLogger.fine("Found a safe location: %s", location);
+        }
+        if (CoreLogger.isFinerEnabled()) {
+            CoreLogger.finer("Checking +-%s with a radius of %s", i, i * 2);
+        }
+        if (CoreLogger.isFinestEnabled()) {
+            CoreLogger.finest("Probed %s %s times", location, i);
+        }
+        CoreLogger.fine(message);
+        CoreLogger.finer(message);
+        CoreLogger.finest(message);
+    }
+
+    @Test
+    public void testDebugChecksWhenDisabled() throws Exception {
+        assertEquals(0, CoreLogger.getDebugLevel());
+        assertFalse(CoreLogger.isFineEnabled());
+        assertFalse(CoreLogger.isFinerEnabled());
+        assertFalse(CoreLogger.isFinestEnabled());
+    }
+
+    @Test
+    public void testDebugLevelFollowsThePluginLogger() throws Exception {
+        CoreLogger.pluginLogger.setDebugLevel(2);
+        CoreLogger.refreshDebugLevel();
+        assertEquals(2, CoreLogger.getDebugLevel());
+        assertTrue(CoreLogger.isFineEnabled());
+        assertTrue(CoreLogger.isFinerEnabled());
+        assertFalse(CoreLogger.isFinestEnabled());
+
+        CoreLogger.pluginLogger.setDebugLevel(0);
+        CoreLogger.refreshDebugLevel();
+        assertEquals(0, CoreLogger.getDebugLevel());
+        assertFalse(CoreLogger.isFineEnabled());
+    }
+
+    @Test
+    public void testDisabledDebugLoggingDoesNotAllocate() throws Exception {
+        assumeNotNull(THREADS);
+        final Object location = "world:0,64,0";
+        // Load and compile everything involved first.
+        for (int i = 0; i < CALLS; i++) {
+            logEverything(i, location);
+        }
+        long measuring = allocatedBytes();
+        measuring = allocatedBytes() - measuring;
+
+        final long start = allocatedBytes();
+        for (int i = 0; i < CALLS; i++) {
+            logEverything(i, location);
+        }
+        final long allocated = allocatedBytes() - start - measuring;
+
+        assertEquals(0L, allocated);
+        assertEquals(0, supplied.get());
+    }
+}
@@ -0,0 +1,101 @@
+package com.mvplugin.core.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.logging.Level;
+
+import static org.junit.Assert.*;
+
+public class DebugLogWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<String> readLines(File file) throws Exception {
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testWritesMessagesInOrder() throws Exception {
+        DebugLogWriter writer = new DebugLogWriter(folder.getRoot(), 1000, 1024 * 1024, 2,
+                DebugLogWriter.DropPolicy.DROP_NEWEST);
+        writer.start();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(writer.log(Level.FINER, "Message " + i));
+        }
+        writer.close();
+
+        List<String> lines = readLines(writer.getFile());
+        assertEquals(100, lines.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(lines.get(i), lines.get(i).contains("[FINER]"));
+            assertTrue(lines.get(i), lines.get(i).endsWith("] Message " + i));
+        }
+        assertEquals(0L, writer.getDroppedCount());
+        assertFalse(writer.log(Level.FINE, "After closing"));
+    }
+
+    @Test
+    public void testDropNewestWhenFull() throws Exception {
+        DebugLogWriter writer = new DebugLogWriter(folder.getRoot(), 2, 1024 * 1024, 2,
+                DebugLogWriter.DropPolicy.DROP_NEWEST);
+        assertTrue(writer.log(Level.FINE, "first"));
+        assertTrue(writer.log(Level.FINE, "second"));
+        assertFalse(writer.log(Level.FINE, "third"));
+        assertEquals(1L, writer.getDroppedCount());
+        assertEquals(2, writer.getPendingCount());
+        writer.start();
+        writer.close();
+
+        List<String> lines = readLines(writer.getFile());
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0), lines.get(0).contains("[WARNING] 1 debug messages were dropped"));
+        assertTrue(lines.get(1).endsWith("first"));
+        assertTrue(lines.get(2).endsWith("second"));
+    }
+
+    @Test
+    public void testDropOldestWhenFull() throws Exception {
+        DebugLogWriter writer = new DebugLogWriter(folder.getRoot(), 2, 1024 * 1024, 2,
+                DebugLogWriter.DropPolicy.DROP_OLDEST);
+        assertTrue(writer.log(Level.FINE, "first"));
+        assertTrue(writer.log(Level.FINE, "second"));
+        assertTrue(writer.log(Level.FINE, "third"));
+        assertEquals(1L, writer.getDroppedCount());
+        writer.start();
+        writer.close();
+
+        List<String> lines = readLines(writer.getFile());
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0), lines.get(0).contains("[WARNING] 1 debug messages were dropped"));
+        assertTrue(lines.get(1).endsWith("second"));
+        assertTrue(lines.get(2).endsWith("third"));
+    }
+
+    @Test
+    public void testRotation() throws Exception {
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            padding.append('x');
+        }
+        // Each writer writes one message that is over the size limit, so the log is rotated after each.
+        DebugLogWriter writer = null;
+        for (int i = 0; i < 3; i++) {
+            writer = new DebugLogWriter(folder.getRoot(), 10, 100, 2, DebugLogWriter.DropPolicy.DROP_NEWEST);
+            writer.start();
+            writer.log(Level.FINEST, padding + " " + i);
+            writer.close();
+        }
+
+        assertFalse(writer.rotatedFile(0).exists());
+        assertTrue(readLines(writer.rotatedFile(1)).get(0).endsWith(" 2"));
+        assertTrue(readLines(writer.rotatedFile(2)).get(0).endsWith(" 1"));
+        assertFalse(writer.rotatedFile(3).exists());
+    }
+}
@@ -0,0 +1,20 @@
+package com.mvplugin.testing.voxel;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Fills in the blocks of new {@link VoxelWorld} chunks.
+ *
+ * @see TerrainGenerators
+ */
+public interface TerrainGenerator {
+
+    /**
+     * Generates the blocks of a chunk that is still all air.  The result may only depend on the seed and the position
+     * of the chunk.
+     *
+     * @param chunk the chunk to fill.
+     * @param seed the seed of the world.
+     */
+    void generate(@NotNull VoxelChunk chunk, long seed);
+}
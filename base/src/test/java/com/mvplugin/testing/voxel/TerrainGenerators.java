@@ -0,0 +1,236 @@
+package com.mvplugin.testing.voxel;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The terrain generators for {@link VoxelWorld}s.
+ * <p>
+ * The generators build their terrain from value noise, so it is made of smooth hills and blobs rather than anything
+ * resembling Minecraft's, but it has the features safe teleporting has to deal with.
+ */
+public final class TerrainGenerators {
+
+    /** The water level of oceans and the lava level of lava lakes. */
+    public static final int SEA_LEVEL = 62;
+    /** Caves below this are filled with lava. */
+    public static final int CAVE_LAVA_LEVEL = 10;
+
+    private static final long CAVES = 0x43415645L;
+    private static final long LAKES = 0x4C414B45L;
+    private static final long ISLANDS = 0x49534C45L;
+
+    private TerrainGenerators() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Level ground: stone and dirt with grass on top, so a player stands at the given height everywhere.
+     */
+    @NotNull
+    public static TerrainGenerator flat(final int groundY) {
+        return new TerrainGenerator() {
+            @Override
+            public void generate(@NotNull final VoxelChunk chunk, final long seed) {
+                for (int x = 0; x < VoxelChunk.SIZE; x++) {
+                    for (int z = 0; z < VoxelChunk.SIZE; z++) {
+                        ground(chunk, x, z, groundY, Voxel.GRASS);
+                    }
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "flat(" + groundY + ")";
+            }
+        };
+    }
+
+    /**
+     * Hills between y 56 and 80 riddled with caves.  Caves below {@link #CAVE_LAVA_LEVEL} are filled with lava.
+     */
+    @NotNull
+    public static TerrainGenerator caves() {
+        return new TerrainGenerator() {
+            @Override
+            public void generate(@NotNull final VoxelChunk chunk, final long seed) {
+                for (int x = 0; x < VoxelChunk.SIZE; x++) {
+                    for (int z = 0; z < VoxelChunk.SIZE; z++) {
+                        final int worldX = chunk.getX() << 4 | x;
+                        final int worldZ = chunk.getZ() << 4 | z;
+                        final int top = 56 + (int) (fractalNoise(seed, worldX / 64D, worldZ / 64D, 3) * 24D);
+                        ground(chunk, x, z, top, Voxel.GRASS);
+                        for (int y = 1; y < top - 4; y++) {
+                            if (noise(seed ^ CAVES, worldX / 12D, y / 8D, worldZ / 12D) > .68D) {
+                                chunk.set(x, y, z, y <= CAVE_LAVA_LEVEL ? Voxel.LAVA : Voxel.AIR);
+                            }
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "caves";
+            }
+        };
+    }
+
+    /**
+     * Hills between y 60 and 76 with lakes of lava up to {@link #SEA_LEVEL} dug into them.
+     */
+    @NotNull
+    public static TerrainGenerator lavaLakes() {
+        return new TerrainGenerator() {
+            @Override
+            public void generate(@NotNull final VoxelChunk chunk, final long seed) {
+                for (int x = 0; x < VoxelChunk.SIZE; x++) {
+                    for (int z = 0; z < VoxelChunk.SIZE; z++) {
+                        final int worldX = chunk.getX() << 4 | x;
+                        final int worldZ = chunk.getZ() << 4 | z;
+                        final double lake = noise(seed ^ LAKES, worldX / 40D, 0D, worldZ / 40D);
+                        if (lake > .6D) {
+                            final int bottom = SEA_LEVEL - (int) ((lake - .6D) * 30D);
+                            ground(chunk, x, z, bottom, Voxel.STONE);
+                            chunk.fill(x, z, bottom, SEA_LEVEL + 1, Voxel.LAVA);
+                        } else {
+                            final int top = 60 + (int) (fractalNoise(seed, worldX / 48D, worldZ / 48D, 2) * 16D);
+                            ground(chunk, x, z, top, Voxel.GRASS);
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "lavaLakes";
+            }
+        };
+    }
+
+    /**
+     * Ocean floors between y 36 and 76 under water up to {@link #SEA_LEVEL}.  The highest parts of the floor stick out
+     * of the water as grassy islands.
+     */
+    @NotNull
+    public static TerrainGenerator oceans() {
+        return new TerrainGenerator() {
+            @Override
+            public void generate(@NotNull final VoxelChunk chunk, final long seed) {
+                for (int x = 0; x < VoxelChunk.SIZE; x++) {
+                    for (int z = 0; z < VoxelChunk.SIZE; z++) {
+                        final int worldX = chunk.getX() << 4 | x;
+                        final int worldZ = chunk.getZ() << 4 | z;
+                        final int top = 36 + (int) (fractalNoise(seed, worldX / 64D, worldZ / 64D, 3) * 40D);
+                        if (top < SEA_LEVEL) {
+                            ground(chunk, x, z, top, Voxel.SAND);
+                            chunk.fill(x, z, top, SEA_LEVEL, Voxel.WATER);
+                        } else {
+                            ground(chunk, x, z, top, Voxel.GRASS);
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "oceans";
+            }
+        };
+    }
+
+    /**
+     * Islands of stone floating around y 80 to 96 over an empty void.
+     */
+    @NotNull
+    public static TerrainGenerator floatingIslands() {
+        return new TerrainGenerator() {
+            @Override
+            public void generate(@NotNull final VoxelChunk chunk, final long seed) {
+                for (int x = 0; x < VoxelChunk.SIZE; x++) {
+                    for (int z = 0; z < VoxelChunk.SIZE; z++) {
+                        final int worldX = chunk.getX() << 4 | x;
+                        final int worldZ = chunk.getZ() << 4 | z;
+                        final double island = fractalNoise(seed ^ ISLANDS, worldX / 48D, worldZ / 48D, 2);
+                        if (island > .55D) {
+                            final int top = Math.min(chunk.getMaxHeight(),
+                                    80 + (int) (noise(seed, worldX / 24D, 0D, worldZ / 24D) * 16D));
+                            final int thickness = 2 + (int) ((island - .55D) * 60D);
+                            chunk.fill(x, z, top - thickness, top - 1, Voxel.STONE);
+                            chunk.set(x, top - 1, z, Voxel.GRASS);
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "floatingIslands";
+            }
+        };
+    }
+
+    /**
+     * Fills a column with bedrock, stone and dirt up to, but not including, top, with the surface block as its
+     * highest block.
+     */
+    private static void ground(@NotNull final VoxelChunk chunk, final int x, final int z, int top,
+                               @NotNull final Voxel surface) {
+        top = Math.min(top, chunk.getMaxHeight());
+        chunk.set(x, 0, z, Voxel.BEDROCK);
+        chunk.fill(x, z, 1, top - 4, Voxel.STONE);
+        chunk.fill(x, z, Math.max(1, top - 4), top - 1, Voxel.DIRT);
+        if (top > 1) {
+            chunk.set(x, top - 1, z, surface);
+        }
+    }
+
+    /**
+     * Smoothly interpolated random values at every whole coordinate, from 0 up to, but not including, 1.
+     */
+    static double noise(final long seed, final double x, final double y, final double z) {
+        final int x0 = (int) Math.floor(x);
+        final int y0 = (int) Math.floor(y);
+        final int z0 = (int) Math.floor(z);
+        final double fx = smooth(x - x0);
+        final double fy = smooth(y - y0);
+        final double fz = smooth(z - z0);
+        final double x00 = lerp(fx, random(seed, x0, y0, z0), random(seed, x0 + 1, y0, z0));
+        final double x10 = lerp(fx, random(seed, x0, y0 + 1, z0), random(seed, x0 + 1, y0 + 1, z0));
+        final double x01 = lerp(fx, random(seed, x0, y0, z0 + 1), random(seed, x0 + 1, y0, z0 + 1));
+        final double x11 = lerp(fx, random(seed, x0, y0 + 1, z0 + 1), random(seed, x0 + 1, y0 + 1, z0 + 1));
+        return lerp(fz, lerp(fy, x00, x10), lerp(fy, x01, x11));
+    }
+
+    /**
+     * Layers of noise of doubling detail and halving weight, from 0 up to, but not including, 1.
+     */
+    static double fractalNoise(final long seed, double x, double z, final int octaves) {
+        double total = 0D;
+        double weight = 1D;
+        double weights = 0D;
+        for (int i = 0; i < octaves; i++) {
+            total += noise(seed + i, x, 0D, z) * weight;
+            weights += weight;
+            weight /= 2D;
+            x *= 2D;
+            z *= 2D;
+        }
+        return total / weights;
+    }
+
+    private static double random(final long seed, final int x, final int y, final int z) {
+        long hash = seed + x * 0x9E3779B97F4A7C15L + y * 0xC2B2AE3D27D4EB4FL + z * 0x165667B19E3779F9L;
+        hash = (hash ^ hash >>> 30) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ hash >>> 27) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 31;
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    private static double smooth(final double t) {
+        return t * t * (3D - 2D * t);
+    }
+
+    private static double lerp(final double t, final double a, final double b) {
+        return a + t * (b - a);
+    }
+}
@@ -0,0 +1,52 @@
+package com.mvplugin.testing.voxel;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The kinds of block a {@link VoxelWorld} is made of.  Whether a block is solid or a hazard follows the rules the
+ * Bukkit block safety uses for the matching material.
+ */
+public enum Voxel {
+    AIR(false, false),
+    BEDROCK(true, false),
+    STONE(true, false),
+    DIRT(true, false),
+    GRASS(true, false),
+    SAND(true, false),
+    WATER(false, false),
+    LAVA(false, true),
+    FIRE(false, true);
+
+    private static final Voxel[] BY_ID = values();
+
+    private final boolean solid;
+    private final boolean hazard;
+
+    Voxel(final boolean solid, final boolean hazard) {
+        this.solid = solid;
+        this.hazard = hazard;
+    }
+
+    /**
+     * Whether the block would stop a player from standing in its place.
+     */
+    public boolean isSolid() {
+        return solid;
+    }
+
+    /**
+     * Whether the block would hurt a player standing in or on it.
+     */
+    public boolean isHazard() {
+        return hazard;
+    }
+
+    byte getId() {
+        return (byte) ordinal();
+    }
+
+    @NotNull
+    static Voxel byId(final byte id) {
+        return BY_ID[id];
+    }
+}
@@ -0,0 +1,108 @@
+package com.mvplugin.testing.voxel;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The blocks of a 16 by 16 column of a {@link VoxelWorld}, one byte per block, along with the height of every column.
+ * <p>
+ * Block positions are relative to the chunk: x and z run from 0 to 15.  A chunk may be read from any thread but only
+ * written by one at a time.
+ */
+public final class VoxelChunk {
+
+    public static final int SIZE = 16;
+
+    private final int x;
+    private final int z;
+    private final int maxHeight;
+    /** Indexed by {@code y << 8 | z << 4 | x}. */
+    @NotNull
+    private final byte[] blocks;
+    /** The first air block above the highest non-air block of every column, indexed by {@code z << 4 | x}. */
+    @NotNull
+    private final short[] heights;
+
+    VoxelChunk(final int x, final int z, final int maxHeight) {
+        this(x, z, maxHeight, new byte[SIZE * SIZE * maxHeight], new short[SIZE * SIZE]);
+    }
+
+    private VoxelChunk(final int x, final int z, final int maxHeight, @NotNull final byte[] blocks,
+                       @NotNull final short[] heights) {
+        this.x = x;
+        this.z = z;
+        this.maxHeight = maxHeight;
+        this.blocks = blocks;
+        this.heights = heights;
+    }
+
+    /**
+     * @return the x coordinate of the chunk, in chunks.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return the z coordinate of the chunk, in chunks.
+     */
+    public int getZ() {
+        return z;
+    }
+
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    /**
+     * Gets a block of the chunk.
+     *
+     * @return the block, or air if y is outside of the world.
+     */
+    @NotNull
+    public Voxel get(final int x, final int y, final int z) {
+        if (y < 0 || y >= maxHeight) {
+            return Voxel.AIR;
+        }
+        return Voxel.byId(blocks[y << 8 | z << 4 | x]);
+    }
+
+    public void set(final int x, final int y, final int z, @NotNull final Voxel voxel) {
+        blocks[y << 8 | z << 4 | x] = voxel.getId();
+        final int column = z << 4 | x;
+        if (voxel != Voxel.AIR) {
+            if (y >= heights[column]) {
+                heights[column] = (short) (y + 1);
+            }
+        } else if (y + 1 == heights[column]) {
+            int top = y;
+            while (top > 0 && blocks[(top - 1) << 8 | column] == Voxel.AIR.getId()) {
+                top--;
+            }
+            heights[column] = (short) top;
+        }
+    }
+
+    /**
+     * Sets every block of a column from one height up to, but not including, another.
+     */
+    public void fill(final int x, final int z, final int fromY, final int toY, @NotNull final Voxel voxel) {
+        for (int y = Math.max(0, fromY); y < Math.min(maxHeight, toY); y++) {
+            set(x, y, z, voxel);
+        }
+    }
+
+    /**
+     * @return the y coordinate of the first air block above the highest non-air block of the column.
+     */
+    public int getHighestBlockY(final int x, final int z) {
+        return heights[z << 4 | x];
+    }
+
+    /**
+     * @return a copy of the chunk that later changes to this chunk do not affect.
+     */
+    @NotNull
+    public VoxelChunk copy() {
+        return new VoxelChunk(x, z, maxHeight, blocks.clone(), heights.clone());
+    }
+}
@@ -0,0 +1,127 @@
+package com.mvplugin.testing.voxel;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An endless world of blocks held in memory, for tests that need real terrain without a server.
+ * <p>
+ * Chunks are generated by the world's {@link TerrainGenerator} the first time they are needed.  Generation only
+ * depends on the seed and the chunk's position, so two worlds with the same seed and generator hold the same terrain
+ * no matter the order their chunks are generated in.
+ */
+public final class VoxelWorld {
+
+    @NotNull
+    private final String name;
+    private final long seed;
+    private final int maxHeight;
+    @NotNull
+    private final TerrainGenerator generator;
+    @NotNull
+    private final ConcurrentMap<Long, VoxelChunk> chunks = new ConcurrentHashMap<Long, VoxelChunk>();
+
+    public VoxelWorld(@NotNull final String name, final long seed, final int maxHeight,
+                      @NotNull final TerrainGenerator generator) {
+        if (maxHeight <= 0 || maxHeight > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid max height: " + maxHeight);
+        }
+        this.name = name;
+        this.seed = seed;
+        this.maxHeight = maxHeight;
+        this.generator = generator;
+    }
+
+    /**
+     * Creates a world as tall as a normal Minecraft world.
+     */
+    public VoxelWorld(@NotNull final String name, final long seed, @NotNull final TerrainGenerator generator) {
+        this(name, seed, 256, generator);
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the height of the world.  Blocks exist from 0 up to, but not including, this.
+     */
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    @NotNull
+    public TerrainGenerator getGenerator() {
+        return generator;
+    }
+
+    private static long key(final int chunkX, final int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Gets a chunk, generating it first if needed.
+     *
+     * @param chunkX the x coordinate of the chunk, in chunks.
+     * @param chunkZ the z coordinate of the chunk, in chunks.
+     * @return the chunk.
+     */
+    @NotNull
+    public VoxelChunk getChunk(final int chunkX, final int chunkZ) {
+        final Long key = key(chunkX, chunkZ);
+        VoxelChunk chunk = chunks.get(key);
+        if (chunk == null) {
+            final VoxelChunk generated = new VoxelChunk(chunkX, chunkZ, maxHeight);
+            generator.generate(generated, seed);
+            chunk = chunks.putIfAbsent(key, generated);
+            if (chunk == null) {
+                chunk = generated;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * @return the chunk, or null if it has not been generated yet.
+     */
+    @Nullable
+    public VoxelChunk getGeneratedChunk(final int chunkX, final int chunkZ) {
+        return chunks.get(key(chunkX, chunkZ));
+    }
+
+    public int getGeneratedChunkCount() {
+        return chunks.size();
+    }
+
+    @NotNull
+    public Voxel getBlock(final int x, final int y, final int z) {
+        return getChunk(x >> 4, z >> 4).get(x & 15, y, z & 15);
+    }
+
+    public void setBlock(final int x, final int y, final int z, @NotNull final Voxel voxel) {
+        if (y < 0 || y >= maxHeight) {
+            throw new IllegalArgumentException("y " + y + " is outside of the world");
+        }
+        getChunk(x >> 4, z >> 4).set(x & 15, y, z & 15, voxel);
+    }
+
+    /**
+     * @return the y coordinate of the first air block above the highest non-air block of the column.
+     */
+    public int getHighestBlockY(final int x, final int z) {
+        return getChunk(x >> 4, z >> 4).getHighestBlockY(x & 15, z & 15);
+    }
+
+    @Override
+    public String toString() {
+        return "VoxelWorld{name='" + name + "', seed=" + seed + ", generator=" + generator + '}';
+    }
+}
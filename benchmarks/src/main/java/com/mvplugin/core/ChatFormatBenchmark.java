@@ -0,0 +1,49 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.ChatUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pluginbase.config.field.PropertyVetoException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the chat format for a message sent in a world, which happens for every chat message while chat formatting
+ * is enabled, and then formats a message with it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatFormatBenchmark {
+
+    @Param({
+            ChatUtil.DEFAULT_CHAT_FORMAT_STRING,
+            "&8[&7%w&8] &7(&6Member&7) &f%p&7: &r%m"
+    })
+    public String chatFormat;
+
+    public String worldAlias = "&aSurvival";
+    public String playerName = "dumptruckman";
+    public String message = "Is anyone up for exploring the nether later?";
+
+    @Benchmark
+    public String toFormatString() throws PropertyVetoException {
+        return ChatUtil.toFormatString(chatFormat, worldAlias);
+    }
+
+    @Benchmark
+    public String formatMessage() throws PropertyVetoException {
+        return String.format(ChatUtil.toFormatString(chatFormat, worldAlias), playerName, message);
+    }
+}
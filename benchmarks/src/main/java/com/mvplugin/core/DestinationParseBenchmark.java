@@ -0,0 +1,67 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.destination.Destination;
+import com.mvplugin.core.destination.DestinationRegistry;
+import com.mvplugin.core.exceptions.InvalidDestinationException;
+import com.mvplugin.testing.FileLocations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pluginbase.minecraft.location.Locations;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses one destination string for every built in destination prefix, plus a string without a prefix and one with
+ * a prefix nobody registered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DestinationParseBenchmark {
+
+    @Param({
+            "world",
+            "w:world_nether",
+            "e:world:120.5:64:-30.5",
+            "e:world:120.5:64:-30.5:10:90",
+            "ca:world:0:80:0:-45:90:2.5",
+            "ca:2.5",
+            "pl:dumptruckman",
+            "a:home",
+            "rand:world",
+            "unknown:world"
+    })
+    public String destinationString;
+
+    private DestinationRegistry registry;
+
+    @Setup
+    public void setUp() throws Exception {
+        FileLocations.setupDirectories();
+        registry = SimulatedCore.startDefaultServer(null).getDestinationRegistry();
+        registry.getAnchorStore().setAnchor("home", Locations.getEntityCoordinates("world", 10.5, 64, 10.5, 0F, 0F));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileLocations.cleanupDirectories();
+    }
+
+    @Benchmark
+    public Destination parseDestination() throws InvalidDestinationException {
+        return registry.parseDestination(destinationString);
+    }
+}
@@ -0,0 +1,112 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.SafeTeleporter;
+import com.mvplugin.testing.FileLocations;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pluginbase.minecraft.location.BlockCoordinates;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.minecraft.location.Locations;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches for a safe location on synthetic terrain, from a spot that is already safe, from a few blocks up in the
+ * air and from the middle of a lava lake too wide for the search to leave.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SafeLocationBenchmark {
+
+    /**
+     * Rolling hills between y 64 and 67 with a square lava lake.  Every block at or below the ground is solid,
+     * except that the lake's surface is lava.
+     */
+    static final class SyntheticTerrain extends AbstractBlockSafety {
+
+        static final int LAKE_MIN = 1000;
+        static final int LAKE_MAX = 1100;
+
+        static int getGroundY(final int x, final int z) {
+            int hash = x * 73856093 ^ z * 19349663;
+            hash ^= hash >>> 13;
+            return 64 + (hash & 3);
+        }
+
+        static boolean isLake(final int x, final int z) {
+            return x >= LAKE_MIN && x < LAKE_MAX && z >= LAKE_MIN && z < LAKE_MAX;
+        }
+
+        private static boolean isLava(@NotNull final BlockCoordinates l) {
+            return isLake(l.getBlockX(), l.getBlockZ()) && l.getBlockY() == getGroundY(l.getBlockX(), l.getBlockZ());
+        }
+
+        @Override
+        protected boolean isSolidBlock(@NotNull final BlockCoordinates l) {
+            return l.getBlockY() <= getGroundY(l.getBlockX(), l.getBlockZ()) && !isLava(l);
+        }
+
+        @Override
+        protected boolean isBlockSafe(@NotNull final BlockCoordinates l) {
+            return !isLava(l);
+        }
+
+        @Override
+        protected boolean isBlockAir(@NotNull final BlockCoordinates l) {
+            return l.getBlockY() > getGroundY(l.getBlockX(), l.getBlockZ());
+        }
+
+        @Override
+        protected boolean hasTwoBlocksOfWaterBelow(@NotNull final BlockCoordinates l) {
+            return false;
+        }
+    }
+
+    @Param({"ground", "air", "lava_lake"})
+    public String start;
+
+    private SafeTeleporter safeTeleporter;
+    private EntityCoordinates location;
+
+    @Setup
+    public void setUp() throws Exception {
+        FileLocations.setupDirectories();
+        safeTeleporter = SimulatedCore.startDefaultServer(new SyntheticTerrain()).getSafeTeleporter();
+
+        if ("ground".equals(start)) {
+            location = Locations.getEntityCoordinates("world", 40.5, SyntheticTerrain.getGroundY(40, 40) + 1, 40.5, 0F, 0F);
+        } else if ("air".equals(start)) {
+            location = Locations.getEntityCoordinates("world", 40.5, SyntheticTerrain.getGroundY(40, 40) + 3, 40.5, 0F, 0F);
+        } else if ("lava_lake".equals(start)) {
+            final int middle = (SyntheticTerrain.LAKE_MIN + SyntheticTerrain.LAKE_MAX) / 2;
+            location = Locations.getEntityCoordinates("world", middle + .5, 66, middle + .5, 0F, 0F);
+        } else {
+            throw new IllegalArgumentException("Unknown start: " + start);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileLocations.cleanupDirectories();
+    }
+
+    @Benchmark
+    public EntityCoordinates getSafeLocation() {
+        return safeTeleporter.getSafeLocation(location);
+    }
+}
@@ -0,0 +1,84 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.world.WorldCreationSettings;
+import com.mvplugin.testing.FileLocations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks worlds up by name, by alias and by a name nobody uses, with a growing number of managed worlds.  Every
+ * world is given an alias, and the lookups cycle through all of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldLookupBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int worldCount;
+
+    private WorldManager worldManager;
+    private String[] names;
+    private String[] aliases;
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws Exception {
+        FileLocations.setupDirectories();
+        worldManager = SimulatedCore.startDefaultServer(null).getWorldManager();
+
+        names = new String[worldCount];
+        aliases = new String[worldCount];
+        // The three default worlds are already managed.
+        for (int i = 0; i < worldCount; i++) {
+            names[i] = i < 3 ? new String[] {"world", "world_nether", "world_the_end"}[i] : "World_" + i;
+            aliases[i] = "Alias" + i;
+            MultiverseWorld world = worldManager.getWorld(names[i]);
+            if (world == null) {
+                world = worldManager.addWorld(new WorldCreationSettings(names[i]));
+            }
+            world.setAlias(aliases[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileLocations.cleanupDirectories();
+    }
+
+    private int nextIndex() {
+        final int index = next;
+        next = index + 1 == worldCount ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public MultiverseWorld getWorldByName() {
+        return worldManager.getWorld(names[nextIndex()]);
+    }
+
+    @Benchmark
+    public MultiverseWorld getWorldByAlias() {
+        return worldManager.getWorld(aliases[nextIndex()]);
+    }
+
+    @Benchmark
+    public MultiverseWorld getMissingWorld() {
+        return worldManager.getWorld("no_such_world");
+    }
+}
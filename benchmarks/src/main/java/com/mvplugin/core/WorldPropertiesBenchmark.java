@@ -0,0 +1,71 @@
+package com.mvplugin.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pluginbase.config.datasource.DataSource;
+import pluginbase.config.datasource.hocon.HoconDataSource;
+import pluginbase.messages.PluginBaseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves a world's properties to a HOCON file and loads them back, the way {@link WorldManagerUtil} does for every
+ * world file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldPropertiesBenchmark {
+
+    private static final String WORLD_NAME = "benchmark_world";
+
+    private File file;
+    private WorldProperties properties;
+
+    @Setup
+    public void setUp() throws IOException, PluginBaseException {
+        file = Files.createTempFile(WORLD_NAME, ".conf").toFile();
+        properties = new WorldProperties(WORLD_NAME);
+        properties.setAlias("&aBenchmark");
+        properties.setSeed(8675309L);
+        properties.setPVPEnabled(false);
+        properties.setGenerator("CleanroomGenerator:64|stone");
+        properties.setPlayerLimit(20);
+        properties.setRespawnWorld("world");
+        newDataSource().save(properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    private DataSource newDataSource() throws IOException {
+        return HoconDataSource.builder().setCommentsEnabled(true).setFile(file).build();
+    }
+
+    @Benchmark
+    public WorldProperties load() throws IOException, PluginBaseException {
+        return newDataSource().loadToObject(new WorldProperties(WORLD_NAME));
+    }
+
+    @Benchmark
+    public void save() throws IOException, PluginBaseException {
+        newDataSource().save(properties);
+    }
+}
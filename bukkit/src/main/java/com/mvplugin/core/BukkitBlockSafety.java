@@ -14,7 +14,9 @@ class BukkitBlockSafety extends AbstractBlockSafety {
     @Override
     protected boolean isSolidBlock(@NotNull final BlockCoordinates l) {
         if (l.getBlockY() < 0) {
-            CoreLogger.finer("Location '%s' is below the world.");
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Location '%s' is below the world.", l);
+            }
             return false;
         }
         final World world = Bukkit.getWorld(l.getWorld());
@@ -23,81 +25,27 @@ class BukkitBlockSafety extends AbstractBlockSafety {
             return true;
         }
         if (l.getBlockY() >= world.getMaxHeight()) {
-            CoreLogger.finer("Location '%s' is above the world.");
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Location '%s' is above the world.", l);
+            }
             return false;
         }
         final Block block = world.getBlockAt(l.getBlockX(), l.getBlockY(), l.getBlockZ());
-        final Material type = block.getType();
-        // TODO Needs to be updated with newer blocks.
-        switch (type) {
-            case AIR:
-                return false;
-            case SNOW:
-                return false;
-            case TRAP_DOOR:
-                return false;
-            case TORCH:
-                return false;
-            case YELLOW_FLOWER:
-                return false;
-            case RED_ROSE:
-                return false;
-            case RED_MUSHROOM:
-                return false;
-            case BROWN_MUSHROOM:
-                return false;
-            case REDSTONE:
-                return false;
-            case REDSTONE_WIRE:
-                return false;
-            case RAILS:
-                return false;
-            case POWERED_RAIL:
-                return false;
-            case REDSTONE_TORCH_ON:
-                return false;
-            case REDSTONE_TORCH_OFF:
-                return false;
-            case DEAD_BUSH:
-                return false;
-            case SAPLING:
-                return false;
-            case STONE_BUTTON:
-                return false;
-            case LEVER:
-                return false;
-            case LONG_GRASS:
-                return false;
-            case PORTAL:
-                return false;
-            case STONE_PLATE:
-                return false;
-            case WOOD_PLATE:
-                return false;
-            case SEEDS:
-                return false;
-            case SUGAR_CANE_BLOCK:
-                return false;
-            case WALL_SIGN:
-                return false;
-            case SIGN_POST:
-                return false;
-            case WOODEN_DOOR:
-                return false;
-            case STATIONARY_WATER:
-                return false;
-            case WATER:
-                return false;
-            default:
+        if (isSolid(block.getType())) {
+            if (CoreLogger.isFinerEnabled()) {
                 CoreLogger.finer("Solid block detected at %s", l);
-                return true;
+            }
+            return true;
         }
+        return false;
     }
 
     @Override
     protected boolean isBlockSafe(@NotNull final BlockCoordinates l) {
         if (l.getBlockY() < 0) {
-            CoreLogger.finer("Location '%s' is below the world.");
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Location '%s' is below the world.", l);
+            }
             return false;
         }
         final World world = Bukkit.getWorld(l.getWorld());
@@ -106,18 +54,16 @@ class BukkitBlockSafety extends AbstractBlockSafety {
             return true;
         }
         if (l.getBlockY() >= world.getMaxHeight()) {
-            CoreLogger.finer("Location '%s' is above the world.");
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Location '%s' is above the world.", l);
+            }
             return false;
         }
         final Block block = world.getBlockAt(l.getBlockX(), l.getBlockY(), l.getBlockZ());
-        final Material type = block.getType();
-
-        if (type == Material.LAVA || type == Material.STATIONARY_LAVA) {
-            CoreLogger.finer("Lava detected at %s", l);
-            return false;
-        }
-        if (type == Material.FIRE) {
-            CoreLogger.finer("Fire detected at %s", l);
+        if (isHazard(block.getType())) {
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("%s detected at %s", block.getType(), l);
+            }
             return false;
         }
         return true;
@@ -126,7 +72,9 @@ class BukkitBlockSafety extends AbstractBlockSafety {
     @Override
     protected boolean isBlockAir(@NotNull final BlockCoordinates l) {
         if (l.getBlockY() < 0) {
-            CoreLogger.finer("Location '%s' is below the world.");
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Location '%s' is below the world.", l);
+            }
             return false;
         }
         final World world = Bukkit.getWorld(l.getWorld());
@@ -135,7 +83,9 @@ class BukkitBlockSafety extends AbstractBlockSafety {
             return true;
         }
         if (l.getBlockY() >= world.getMaxHeight()) {
-            CoreLogger.finer("Location '%s' is above the world.");
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Location '%s' is above the world.", l);
+            }
             return false;
         }
         final Block block = world.getBlockAt(l.getBlockX(), l.getBlockY(), l.getBlockZ());
@@ -146,7 +96,9 @@ class BukkitBlockSafety extends AbstractBlockSafety {
     @Override
     protected boolean hasTwoBlocksOfWaterBelow(@NotNull final BlockCoordinates l) {
         if (l.getBlockY() < 0) {
-            CoreLogger.finer("Location '%s' is below the world.");
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Location '%s' is below the world.", l);
+            }
             return false;
         }
         final World world = Bukkit.getWorld(l.getWorld());
@@ -155,7 +107,9 @@ class BukkitBlockSafety extends AbstractBlockSafety {
             return true;
         }
         if (l.getBlockY() >= world.getMaxHeight()) {
-            CoreLogger.finer("Location '%s' is above the world.");
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Location '%s' is above the world.", l);
+            }
             return false;
         }
         final Block block = world.getBlockAt(l.getBlockX(), l.getBlockY(), l.getBlockZ());
@@ -171,4 +125,80 @@ class BukkitBlockSafety extends AbstractBlockSafety {
         return hasTwoBlocksOfWaterBelow(Locations.getBlockCoordinates(l.getWorld(),
                 l.getBlockX(), l.getBlockY() - 1, l.getBlockZ()));
     }
+
+    /**
+     * Whether a block of the given type would stop a player from standing in its place.
+     */
+    static boolean isSolid(@NotNull final Material type) {
+        // TODO Needs to be updated with newer blocks.
+        switch (type) {
+            case AIR:
+                return false;
+            case SNOW:
+                return false;
+            case TRAP_DOOR:
+                return false;
+            case TORCH:
+                return false;
+            case YELLOW_FLOWER:
+                return false;
+            case RED_ROSE:
+                return false;
+            case RED_MUSHROOM:
+                return false;
+            case BROWN_MUSHROOM:
+                return false;
+            case REDSTONE:
+                return false;
+            case REDSTONE_WIRE:
+                return false;
+            case RAILS:
+                return false;
+            case POWERED_RAIL:
+                return false;
+            case REDSTONE_TORCH_ON:
+                return false;
+            case REDSTONE_TORCH_OFF:
+                return false;
+            case DEAD_BUSH:
+                return false;
+            case SAPLING:
+                return false;
+            case STONE_BUTTON:
+                return false;
+            case LEVER:
+                return false;
+            case LONG_GRASS:
+                return false;
+            case PORTAL:
+                return false;
+            case STONE_PLATE:
+                return false;
+            case WOOD_PLATE:
+                return false;
+            case SEEDS:
+                return false;
+            case SUGAR_CANE_BLOCK:
+                return false;
+            case WALL_SIGN:
+                return false;
+            case SIGN_POST:
+                return false;
+            case WOODEN_DOOR:
+                return false;
+            case STATIONARY_WATER:
+                return false;
+            case WATER:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Whether a block of the given type would hurt a player standing in or on it.
+     */
+    static boolean isHazard(@NotNull final Material type) {
+        return type == Material.LAVA || type == Material.STATIONARY_LAVA || type == Material.FIRE;
+    }
 }
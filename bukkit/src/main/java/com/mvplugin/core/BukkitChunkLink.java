@@ -0,0 +1,57 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.minecraft.EntityType;
+import com.mvplugin.core.util.BukkitConvert;
+import org.bukkit.Chunk;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+class BukkitChunkLink implements ChunkLink {
+
+    private static final Entity[] NO_ENTITIES = new Entity[0];
+
+    @NotNull
+    private final Chunk chunk;
+    @NotNull
+    private Entity[] entities = NO_ENTITIES;
+
+    BukkitChunkLink(@NotNull final Chunk chunk) {
+        this.chunk = chunk;
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return chunk.isLoaded();
+    }
+
+    @Override
+    public int readEntities() {
+        entities = chunk.getEntities();
+        // Bukkit hands out a fresh array each time, so the players can be dropped from it in place.
+        int count = 0;
+        for (final Entity entity : entities) {
+            if (!(entity instanceof Player)) {
+                entities[count++] = entity;
+            }
+        }
+        return count;
+    }
+
+    @Nullable
+    @Override
+    public EntityType getEntityType(final int index) {
+        return BukkitConvert.fromBukkit(entities[index].getType());
+    }
+
+    @Override
+    public boolean removeEntity(final int index) {
+        final Entity entity = entities[index];
+        if (!entity.isValid()) {
+            return false;
+        }
+        entity.remove();
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package com.mvplugin.core;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+class BukkitChunkSnapshotLink implements ChunkSnapshotLink {
+
+    @NotNull
+    private final ChunkSnapshot snapshot;
+    private final int maxHeight;
+
+    BukkitChunkSnapshotLink(@NotNull final ChunkSnapshot snapshot, final int maxHeight) {
+        this.snapshot = snapshot;
+        this.maxHeight = maxHeight;
+    }
+
+    @Override
+    public int getX() {
+        return snapshot.getX();
+    }
+
+    @Override
+    public int getZ() {
+        return snapshot.getZ();
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    @Override
+    public int getHighestBlockY(final int x, final int z) {
+        return snapshot.getHighestBlockYAt(x, z);
+    }
+
+    @NotNull
+    @SuppressWarnings("deprecation")
+    private Material getType(final int x, final int y, final int z) {
+        final Material type = Material.getMaterial(snapshot.getBlockTypeId(x, y, z));
+        return type != null ? type : Material.AIR;
+    }
+
+    @Override
+    public boolean isSolid(final int x, final int y, final int z) {
+        return BukkitBlockSafety.isSolid(getType(x, y, z));
+    }
+
+    @Override
+    public boolean isHazard(final int x, final int y, final int z) {
+        return BukkitBlockSafety.isHazard(getType(x, y, z));
+    }
+
+    @Override
+    public boolean isAir(final int x, final int y, final int z) {
+        return getType(x, y, z) == Material.AIR;
+    }
+
+    @Override
+    public boolean isWater(final int x, final int y, final int z) {
+        final Material type = getType(x, y, z);
+        return type == Material.WATER || type == Material.STATIONARY_WATER;
+    }
+}
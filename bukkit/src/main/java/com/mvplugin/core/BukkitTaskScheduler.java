@@ -0,0 +1,30 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.TaskScheduler;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+class BukkitTaskScheduler implements TaskScheduler {
+
+    @NotNull
+    private final Plugin plugin;
+
+    BukkitTaskScheduler(@NotNull final Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void runTask(@NotNull final Runnable task) {
+        plugin.getServer().getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void runTaskLater(@NotNull final Runnable task, final long delay) {
+        plugin.getServer().getScheduler().runTaskLater(plugin, task, delay);
+    }
+
+    @Override
+    public void runTaskAsynchronously(@NotNull final Runnable task) {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+    }
+}
@@ -4,9 +4,11 @@ import com.mvplugin.core.minecraft.Difficulty;
 import com.mvplugin.core.minecraft.WorldEnvironment;
 import com.mvplugin.core.minecraft.WorldType;
 import com.mvplugin.core.util.BukkitConvert;
+import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import pluginbase.bukkit.minecraft.BukkitTools;
 import pluginbase.minecraft.BasePlayer;
 import pluginbase.minecraft.location.FacingCoordinates;
@@ -109,6 +111,17 @@ class BukkitWorldLink implements WorldLink {
         return result;
     }
 
+    @NotNull
+    @Override
+    public List<ChunkLink> getLoadedChunks() {
+        final Chunk[] chunks = getWorld().getLoadedChunks();
+        final List<ChunkLink> result = new ArrayList<ChunkLink>(chunks.length);
+        for (final Chunk chunk : chunks) {
+            result.add(new BukkitChunkLink(chunk));
+        }
+        return result;
+    }
+
     @Override
     public boolean getPVP() {
         return getWorld().getPVP();
@@ -139,4 +152,97 @@ class BukkitWorldLink implements WorldLink {
     public void setKeepSpawnInMemory(boolean keepSpawnInMemory) {
         getWorld().setKeepSpawnInMemory(keepSpawnInMemory);
     }
+
+    @Override
+    public int getEntityCount() {
+        return getWorld().getEntities().size();
+    }
+
+    @Override
+    public boolean isChunkLoaded(final int x, final int z) {
+        return getWorld().isChunkLoaded(x, z);
+    }
+
+    @Override
+    public void loadChunk(final int x, final int z) {
+        getWorld().loadChunk(x, z);
+    }
+
+    @Nullable
+    @Override
+    public ChunkSnapshotLink getChunkSnapshot(final int x, final int z) {
+        final World world = getWorld();
+        final boolean wasLoaded = world.isChunkLoaded(x, z);
+        // Chunks that don't exist yet are skipped rather than generated on the main thread.
+        if (!wasLoaded && !world.loadChunk(x, z, false)) {
+            return null;
+        }
+        final Chunk chunk = world.getChunkAt(x, z);
+        final ChunkSnapshotLink snapshot = new BukkitChunkSnapshotLink(chunk.getChunkSnapshot(), world.getMaxHeight());
+        if (!wasLoaded) {
+            // Only a request; the server keeps the chunk if a player is nearby.
+            world.unloadChunkRequest(x, z);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public int getAnimalSpawnLimit() {
+        return getWorld().getAnimalSpawnLimit();
+    }
+
+    @Override
+    public void setAnimalSpawnLimit(final int limit) {
+        getWorld().setAnimalSpawnLimit(limit);
+    }
+
+    @Override
+    public int getMonsterSpawnLimit() {
+        return getWorld().getMonsterSpawnLimit();
+    }
+
+    @Override
+    public void setMonsterSpawnLimit(final int limit) {
+        getWorld().setMonsterSpawnLimit(limit);
+    }
+
+    @Override
+    public int getAmbientSpawnLimit() {
+        return getWorld().getAmbientSpawnLimit();
+    }
+
+    @Override
+    public void setAmbientSpawnLimit(final int limit) {
+        getWorld().setAmbientSpawnLimit(limit);
+    }
+
+    @Override
+    public int getWaterAnimalSpawnLimit() {
+        return getWorld().getWaterAnimalSpawnLimit();
+    }
+
+    @Override
+    public void setWaterAnimalSpawnLimit(final int limit) {
+        getWorld().setWaterAnimalSpawnLimit(limit);
+    }
+
+    @Override
+    public long getTicksPerAnimalSpawns() {
+        return getWorld().getTicksPerAnimalSpawns();
+    }
+
+    @Override
+    public void setTicksPerAnimalSpawns(final long ticks) {
+        getWorld().setTicksPerAnimalSpawns((int) Math.min(ticks, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public long getTicksPerMonsterSpawns() {
+        return getWorld().getTicksPerMonsterSpawns();
+    }
+
+    @Override
+    public void setTicksPerMonsterSpawns(final long ticks) {
+        getWorld().setTicksPerMonsterSpawns((int) Math.min(ticks, Integer.MAX_VALUE));
+    }
 }
@@ -1,21 +1,35 @@
 package com.mvplugin.core;
 
+import com.mvplugin.core.command.CommandCompleter;
 import com.mvplugin.core.destination.DestinationRegistry;
+import com.mvplugin.core.metrics.MetricsRegistry;
 import com.mvplugin.core.minecraft.CreatureSpawnCause;
 import com.mvplugin.core.minecraft.EntityType;
 import com.mvplugin.core.plugin.MultiverseCore;
 import com.mvplugin.core.util.BlockSafety;
 import com.mvplugin.core.util.BukkitLanguage;
+import com.mvplugin.core.util.CoreLogger;
 import com.mvplugin.core.util.SafeTeleporter;
+import com.mvplugin.core.util.TaskScheduler;
+import com.mvplugin.core.world.WorldPurger;
 import org.bukkit.PortalType;
 import org.bukkit.Server;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Animals;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Ghast;
+import org.bukkit.entity.Golem;
+import org.bukkit.entity.Monster;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Slime;
+import org.bukkit.entity.Squid;
 import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.PluginLoader;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import pluginbase.bukkit.BukkitPluginAgent;
+import pluginbase.bukkit.minecraft.BukkitTools;
 import pluginbase.logging.PluginLogger;
 import pluginbase.messages.PluginBaseException;
 import pluginbase.messages.messaging.Messager;
@@ -25,6 +39,8 @@ import pluginbase.plugin.Settings;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
 
@@ -41,7 +57,12 @@ public class MultiverseCoreBukkitPlugin extends JavaPlugin implements Multiverse
             CreatureSpawnCause.registerSpawnCause(spawnReason.name());
         }
         for (org.bukkit.entity.EntityType entityType : org.bukkit.entity.EntityType.values()) {
-            EntityType.registerEntityType(entityType.name());
+            final Class<? extends Entity> entityClass = entityType.getEntityClass();
+            final boolean animal = entityClass != null && (Animals.class.isAssignableFrom(entityClass)
+                    || Golem.class.isAssignableFrom(entityClass) || Squid.class.isAssignableFrom(entityClass));
+            final boolean monster = entityClass != null && (Monster.class.isAssignableFrom(entityClass)
+                    || Ghast.class.isAssignableFrom(entityClass) || Slime.class.isAssignableFrom(entityClass));
+            EntityType.registerEntityType(entityType.name(), animal, monster);
         }
         for (PortalType portalType : PortalType.values()) {
             com.mvplugin.core.minecraft.PortalType.registerPortalType(portalType.name());
@@ -52,6 +73,7 @@ public class MultiverseCoreBukkitPlugin extends JavaPlugin implements Multiverse
 
 
     private MultiverseCoreAPI api;
+    private CommandCompleter commandCompleter;
 
     private final BukkitPluginAgent<MultiverseCore> pluginAgent = BukkitPluginAgent.getPluginAgent(MultiverseCore.class, this, COMMAND_PREFIX);
 
@@ -91,10 +113,16 @@ public class MultiverseCoreBukkitPlugin extends JavaPlugin implements Multiverse
     @Override
     public void onEnable() {
         pluginAgent.enablePluginBase();
+        CoreLogger.refreshDebugLevel();
+        CoreLogger.configureDebugLog(getDataFolder(), getMVConfig());
         prepareAPI();
         getServer().getPluginManager().registerEvents(new WorldListener(this), this);
         getServer().getPluginManager().registerEvents(new WeatherListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
+        // Players already online, such as after a reload, will not be joining again.
+        for (Player player : getServer().getOnlinePlayers()) {
+            getEventProcessor().playerJoin(player.getName(), player.getWorld().getName());
+        }
         try {
             pluginAgent.enableMetrics();
         } catch (IOException e) {
@@ -104,30 +132,60 @@ public class MultiverseCoreBukkitPlugin extends JavaPlugin implements Multiverse
 
     @Override
     public void onDisable() {
+        if (api != null) {
+            // Anchor changes are written in the background, which stops with the plugin.
+            api.getDestinationRegistry().getAnchorStore().flush();
+            api.getMetrics().unregisterMBeans();
+        }
         try {
             pluginAgent.disableMetrics();
         } catch (IOException e) {
             new PluginBaseException(e).logException(getPluginBase().getLog(), Level.WARNING);
         }
         pluginAgent.disablePluginBase();
+        CoreLogger.setDebugLogWriter(null);
     }
 
     @Override
     public void reloadConfig() {
         getPluginBase().reloadConfig();
-        prepareAPI();
+        CoreLogger.refreshDebugLevel();
+        CoreLogger.configureDebugLog(getDataFolder(), getMVConfig());
+        if (api == null) {
+            prepareAPI();
+        } else {
+            // Keep the existing API and its runtime state; only pick up what changed in the world files.
+            api.getWorldManager().reloadWorlds();
+            api.getEventProcessor().permissionsChanged(null);
+        }
     }
 
     @Override
     public boolean onCommand(CommandSender sender, org.bukkit.command.Command command, String label, String[] args) {
-        return pluginAgent.callCommand(sender, command, label, args);
+        final boolean handled = pluginAgent.callCommand(sender, command, label, args);
+        // The debug command changes the level on the plugin logger directly.
+        CoreLogger.refreshDebugLevel();
+        return handled;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, org.bukkit.command.Command command, String alias, String[] args) {
+        if (commandCompleter == null) {
+            // Tab completion can be requested before the API has been prepared.
+            return Collections.emptyList();
+        }
+        return commandCompleter.complete(BukkitTools.wrapSender(sender), alias, args);
     }
 
     private void prepareAPI() {
-        this.api = new DefaultMultiverseCoreAPI(this,
+        final DefaultMultiverseCoreAPI api = new DefaultMultiverseCoreAPI(this,
                 getServerInterface(),
                 new BukkitWorldManagerUtil(getServerInterface(), getDataFolder()),
-                new BukkitBlockSafety());
+                new BukkitBlockSafety(),
+                new BukkitTaskScheduler(this));
+        this.api = api;
+        api.start();
+        this.commandCompleter = new CommandCompleter(this.api, COMMAND_PREFIX);
     }
 
     @NotNull
@@ -205,4 +263,58 @@ public class MultiverseCoreBukkitPlugin extends JavaPlugin implements Multiverse
     public PlayerTracker getPlayerTracker() {
         return api.getPlayerTracker();
     }
+
+    @NotNull
+    @Override
+    public TaskScheduler getTaskScheduler() {
+        return api.getTaskScheduler();
+    }
+
+    @NotNull
+    @Override
+    public WorldPurger getWorldPurger() {
+        return api.getWorldPurger();
+    }
+
+    @NotNull
+    @Override
+    public SpawnGovernor getSpawnGovernor() {
+        return api.getSpawnGovernor();
+    }
+
+    @NotNull
+    @Override
+    public WorldHibernator getWorldHibernator() {
+        return api.getWorldHibernator();
+    }
+
+    @NotNull
+    @Override
+    public SpawnChunkReleaser getSpawnChunkReleaser() {
+        return api.getSpawnChunkReleaser();
+    }
+
+    @NotNull
+    @Override
+    public PermissionCache getPermissionCache() {
+        return api.getPermissionCache();
+    }
+
+    @NotNull
+    @Override
+    public CompletionIndex getCompletionIndex() {
+        return api.getCompletionIndex();
+    }
+
+    @NotNull
+    @Override
+    public SafeLocationPool getSafeLocationPool() {
+        return api.getSafeLocationPool();
+    }
+
+    @NotNull
+    @Override
+    public MetricsRegistry getMetrics() {
+        return api.getMetrics();
+    }
 }
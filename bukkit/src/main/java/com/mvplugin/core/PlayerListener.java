@@ -46,18 +46,14 @@ class PlayerListener implements Listener {
         if (plugin.getMVConfig().isFormattingChat()) {
             MultiverseWorld world = plugin.getPlayerTracker().getWorld(event.getPlayer().getName());
             if (isWorldChatFormattable(world)) {
-                String chatFormatString = plugin.getMVConfig().getChatFormatString();
+                String chatFormatString;
                 try {
-                    ChatUtil.validateChat(chatFormatString);
+                    chatFormatString = ChatUtil.toFormatString(plugin.getMVConfig().getChatFormatString(), world.getAlias());
                 } catch (PropertyVetoException e) {
                     plugin.getLog().severe(plugin.getMessager().getLocalizedMessage(e.getBundledMessage().getMessage(), e.getBundledMessage().getArgs()));
                     return;
                 }
-                chatFormatString = chatFormatString.replace(ChatUtil.WORLD_MARKER, world.getAlias());
-                chatFormatString = ChatColor.translateAlternateColorCodes(ChatUtil.COLOR_CHAR, chatFormatString);
-                chatFormatString = chatFormatString.replace(ChatUtil.PLAYER_MARKER, "%s");
-                chatFormatString = chatFormatString.replace(ChatUtil.MESSAGE_MARKER, "%s");
-                event.setFormat(chatFormatString);
+                event.setFormat(ChatColor.translateAlternateColorCodes(ChatUtil.COLOR_CHAR, chatFormatString));
             }
         }
     }
@@ -3,6 +3,7 @@ package com.mvplugin.core;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.world.SpawnChangeEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 import org.jetbrains.annotations.NotNull;
 
@@ -26,4 +27,12 @@ class WorldListener implements Listener {
             this.plugin.getEventProcessor().worldUnload(world);
         }
     }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void spawnChange(@NotNull final SpawnChangeEvent event) {
+        final MultiverseWorld world = this.plugin.getWorldManager().getWorld(event.getWorld().getName());
+        if (world != null) {
+            this.plugin.getEventProcessor().worldPropertiesChanged(world);
+        }
+    }
 }
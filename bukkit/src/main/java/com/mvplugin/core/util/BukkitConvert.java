@@ -1,17 +1,21 @@
 package com.mvplugin.core.util;
 
 import com.mvplugin.core.minecraft.Difficulty;
+import com.mvplugin.core.minecraft.EntityType;
 import com.mvplugin.core.minecraft.WorldEnvironment;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.World.Environment;
 import org.bukkit.WorldType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import pluginbase.minecraft.location.FacingCoordinates;
 import pluginbase.minecraft.location.Locations;
 
 public final class BukkitConvert {
 
+    private static volatile EntityType[] entityTypes = null;
+
     private BukkitConvert() {
         throw new AssertionError();
     }
@@ -55,4 +59,27 @@ public final class BukkitConvert {
     public static FacingCoordinates fromBukkit(@NotNull Location l) {
         return Locations.getFacingCoordinates(l.getX(), l.getY(), l.getZ(), l.getPitch(), l.getYaw());
     }
+
+    /**
+     * Converts a bukkit entity type to a Multiverse entity type.
+     *
+     * The conversion is looked up in a table indexed by the bukkit type's ordinal so that it may be used for every
+     * entity in a world without any string handling.
+     *
+     * @param t the bukkit entity type.
+     * @return the Multiverse entity type or null if it was never registered.
+     */
+    @Nullable
+    public static EntityType fromBukkit(@NotNull final org.bukkit.entity.EntityType t) {
+        EntityType[] types = entityTypes;
+        if (types == null) {
+            final org.bukkit.entity.EntityType[] bukkitTypes = org.bukkit.entity.EntityType.values();
+            types = new EntityType[bukkitTypes.length];
+            for (final org.bukkit.entity.EntityType bukkitType : bukkitTypes) {
+                types[bukkitType.ordinal()] = EntityType.valueOf(bukkitType.name());
+            }
+            entityTypes = types;
+        }
+        return types[t.ordinal()];
+    }
 }
@@ -1,5 +1,7 @@
 package com.mvplugin.core;
 
+import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.junit.Test;
 import pluginbase.minecraft.location.FacingCoordinates;
 import pluginbase.minecraft.location.Locations;
@@ -23,4 +25,32 @@ public class WorldPropertiesTest extends BukkitMultiverseTest {
         assertNotNull(world);
         assertEquals(newLocation, world.getSpawnLocation());
     }
+
+    @Test
+    public void testSpawningAppliedToWorld() throws Exception {
+        MultiverseWorld world = plugin.getWorldManager().getWorld("world");
+        assertNotNull(world);
+        World bukkitWorld = Bukkit.getWorld("world");
+        assertEquals(-1, world.getAnimalSpawnLimit());
+        assertEquals(15, bukkitWorld.getAnimalSpawnLimit());
+
+        world.setAnimalSpawnLimit(3);
+        world.setTicksPerMonsterSpawn(20);
+        assertEquals(3, world.getAnimalSpawnLimit());
+        assertEquals(3, bukkitWorld.getAnimalSpawnLimit());
+        assertEquals(20, bukkitWorld.getTicksPerMonsterSpawns());
+
+        world.setAnimalSpawnLimit(-1);
+        assertEquals(-1, world.getAnimalSpawnLimit());
+        assertEquals(15, bukkitWorld.getAnimalSpawnLimit());
+
+        world.setAnimalSpawnLimit(5);
+        plugin.getWorldManager().saveWorld(world);
+        reloadServer();
+        world = plugin.getWorldManager().getWorld("world");
+        assertNotNull(world);
+        assertEquals(5, world.getAnimalSpawnLimit());
+        assertEquals(5, Bukkit.getWorld("world").getAnimalSpawnLimit());
+        assertEquals(20, Bukkit.getWorld("world").getTicksPerMonsterSpawns());
+    }
 }
@@ -51,6 +51,11 @@ public final class WorldFactory {
         @SerializeWith(LocationSerializer.class)
         Location spawn = new Location(null, 0, 0, 0);
 
+        transient int animalSpawnLimit = 15;
+        transient int monsterSpawnLimit = 70;
+        transient int ticksPerAnimalSpawns = 400;
+        transient int ticksPerMonsterSpawns = 1;
+
         transient File folder;
         transient File datFile;
 
@@ -238,6 +243,54 @@ public final class WorldFactory {
                 data.difficulty = value;
             }
         }).when(world).setDifficulty(any(Difficulty.class));
+        when(world.getAnimalSpawnLimit()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return data.animalSpawnLimit;
+            }
+        });
+        doAnswer(new SetterAnswer<Integer>() {
+            @Override
+            protected void set(Integer value) {
+                data.animalSpawnLimit = value;
+            }
+        }).when(world).setAnimalSpawnLimit(anyInt());
+        when(world.getMonsterSpawnLimit()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return data.monsterSpawnLimit;
+            }
+        });
+        doAnswer(new SetterAnswer<Integer>() {
+            @Override
+            protected void set(Integer value) {
+                data.monsterSpawnLimit = value;
+            }
+        }).when(world).setMonsterSpawnLimit(anyInt());
+        when(world.getTicksPerAnimalSpawns()).thenAnswer(new Answer<Long>() {
+            @Override
+            public Long answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return (long) data.ticksPerAnimalSpawns;
+            }
+        });
+        doAnswer(new SetterAnswer<Integer>() {
+            @Override
+            protected void set(Integer value) {
+                data.ticksPerAnimalSpawns = value;
+            }
+        }).when(world).setTicksPerAnimalSpawns(anyInt());
+        when(world.getTicksPerMonsterSpawns()).thenAnswer(new Answer<Long>() {
+            @Override
+            public Long answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return (long) data.ticksPerMonsterSpawns;
+            }
+        });
+        doAnswer(new SetterAnswer<Integer>() {
+            @Override
+            protected void set(Integer value) {
+                data.ticksPerMonsterSpawns = value;
+            }
+        }).when(world).setTicksPerMonsterSpawns(anyInt());
         when(world.getWorldFolder()).thenReturn(data.folder);
         when(world.getWorldType()).thenReturn(data.type);
 
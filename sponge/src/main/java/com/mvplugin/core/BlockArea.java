@@ -0,0 +1,61 @@
+package com.mvplugin.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * What kind of block is at each position of a box of blocks, read from a world in one go so that many locations in
+ * the box can be checked without going back to the world.
+ * <p>
+ * Each position holds the block flags of {@link SpongeBlockSafety}, or {@link SpongeBlockSafety#OUTSIDE_WORLD} for
+ * positions above or below the world.
+ */
+final class BlockArea {
+
+    @NotNull
+    private final String world;
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+    @NotNull
+    private final byte[] flags;
+
+    /**
+     * Creates an area in which every block is air.  All coordinates are inclusive.
+     */
+    BlockArea(@NotNull final String world, final int minX, final int minY, final int minZ,
+              final int maxX, final int maxY, final int maxZ) {
+        this.world = world;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = maxX - minX + 1;
+        this.sizeY = maxY - minY + 1;
+        this.sizeZ = maxZ - minZ + 1;
+        if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0) {
+            throw new IllegalArgumentException("The area must hold at least one block");
+        }
+        this.flags = new byte[sizeX * sizeY * sizeZ];
+        Arrays.fill(flags, SpongeBlockSafety.AIR);
+    }
+
+    boolean contains(@NotNull final String world, final int x, final int y, final int z) {
+        return x >= minX && x - minX < sizeX && y >= minY && y - minY < sizeY && z >= minZ && z - minZ < sizeZ
+                && this.world.equalsIgnoreCase(world);
+    }
+
+    private int index(final int x, final int y, final int z) {
+        return ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX);
+    }
+
+    /**
+     * Gets the flags of the block at a position, which must be inside the area.
+     */
+    byte get(final int x, final int y, final int z) {
+        return flags[index(x, y, z)];
+    }
+
+    void set(final int x, final int y, final int z, final byte blockFlags) {
+        flags[index(x, y, z)] = blockFlags;
+    }
+}
@@ -2,15 +2,26 @@ package com.mvplugin.core;
 
 import com.google.inject.Inject;
 import com.mvplugin.core.destination.DestinationRegistry;
+import com.mvplugin.core.metrics.MetricsRegistry;
 import com.mvplugin.core.minecraft.CreatureSpawnCause;
 import com.mvplugin.core.minecraft.EntityType;
 import com.mvplugin.core.minecraft.PortalType;
 import com.mvplugin.core.plugin.MultiverseCore;
 import com.mvplugin.core.util.BlockSafety;
+import com.mvplugin.core.util.CoreLogger;
 import com.mvplugin.core.util.SafeTeleporter;
+import com.mvplugin.core.util.TaskScheduler;
+import com.mvplugin.core.world.WorldPurger;
 import org.jetbrains.annotations.NotNull;
 import org.spongepowered.api.Game;
 import org.spongepowered.api.config.ConfigDir;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.Aquatic;
+import org.spongepowered.api.entity.living.animal.Animal;
+import org.spongepowered.api.entity.living.golem.Golem;
+import org.spongepowered.api.entity.living.monster.Ghast;
+import org.spongepowered.api.entity.living.monster.Monster;
+import org.spongepowered.api.entity.living.monster.Slime;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.game.state.GameInitializationEvent;
 import org.spongepowered.api.event.game.state.GamePreInitializationEvent;
@@ -55,7 +66,12 @@ public class MultiverseCoreSpongePlugin implements MultiverseCore {
 
     private void registerMinecraftJunk(@NotNull Game game) {
         for (org.spongepowered.api.entity.EntityType entityType : game.getRegistry().getAllOf(org.spongepowered.api.entity.EntityType.class)) {
-            EntityType.registerEntityType(entityType.getId());
+            final Class<? extends Entity> entityClass = entityType.getEntityClass();
+            EntityType.registerEntityType(entityType.getId(),
+                    Animal.class.isAssignableFrom(entityClass) || Golem.class.isAssignableFrom(entityClass)
+                            || Aquatic.class.isAssignableFrom(entityClass),
+                    Monster.class.isAssignableFrom(entityClass) || Ghast.class.isAssignableFrom(entityClass)
+                            || Slime.class.isAssignableFrom(entityClass));
         }
         CreatureSpawnCause.specifyNaturalCause("NATURAL");
         CreatureSpawnCause.registerSpawnCause("OTHER");
@@ -80,6 +96,8 @@ public class MultiverseCoreSpongePlugin implements MultiverseCore {
 
         pluginAgent.loadPluginBase();
         pluginAgent.enablePluginBase();
+        CoreLogger.refreshDebugLevel();
+        CoreLogger.configureDebugLog(getDataFolder(), getMVConfig());
 
         prepareAPI();
 
@@ -95,15 +113,26 @@ public class MultiverseCoreSpongePlugin implements MultiverseCore {
     }
 
     private void prepareAPI() {
-        this.api = new DefaultMultiverseCoreAPI(this,
+        final DefaultMultiverseCoreAPI api = new DefaultMultiverseCoreAPI(this,
                 getServerInterface(),
                 new SpongeWorldManagerUtil(getServerInterface(), getDataFolder()),
-                new SpongeBlockSafety(game));
+                new SpongeBlockSafety(game),
+                new SpongeTaskScheduler(game, this));
+        this.api = api;
+        api.start();
     }
 
     public void reloadConfig() {
         getPluginBase().reloadConfig();
-        prepareAPI();
+        CoreLogger.refreshDebugLevel();
+        CoreLogger.configureDebugLog(getDataFolder(), getMVConfig());
+        if (api == null) {
+            prepareAPI();
+        } else {
+            // Keep the existing API and its runtime state; only pick up what changed in the world files.
+            api.getWorldManager().reloadWorlds();
+            api.getEventProcessor().permissionsChanged(null);
+        }
     }
 
     private PluginBase getPluginBase() {
@@ -112,7 +141,13 @@ public class MultiverseCoreSpongePlugin implements MultiverseCore {
 
     @Listener
     private void serverStopping(GameStoppingServerEvent event) {
+        if (api != null) {
+            // Anchor changes are written in the background, which stops with the server.
+            api.getDestinationRegistry().getAnchorStore().flush();
+            api.getMetrics().unregisterMBeans();
+        }
         pluginAgent.disablePluginBase();
+        CoreLogger.setDebugLogWriter(null);
     }
 
     @NotNull
@@ -190,4 +225,58 @@ public class MultiverseCoreSpongePlugin implements MultiverseCore {
     public PlayerTracker getPlayerTracker() {
         return api.getPlayerTracker();
     }
+
+    @NotNull
+    @Override
+    public TaskScheduler getTaskScheduler() {
+        return api.getTaskScheduler();
+    }
+
+    @NotNull
+    @Override
+    public WorldPurger getWorldPurger() {
+        return api.getWorldPurger();
+    }
+
+    @NotNull
+    @Override
+    public SpawnGovernor getSpawnGovernor() {
+        return api.getSpawnGovernor();
+    }
+
+    @NotNull
+    @Override
+    public WorldHibernator getWorldHibernator() {
+        return api.getWorldHibernator();
+    }
+
+    @NotNull
+    @Override
+    public SpawnChunkReleaser getSpawnChunkReleaser() {
+        return api.getSpawnChunkReleaser();
+    }
+
+    @NotNull
+    @Override
+    public PermissionCache getPermissionCache() {
+        return api.getPermissionCache();
+    }
+
+    @NotNull
+    @Override
+    public CompletionIndex getCompletionIndex() {
+        return api.getCompletionIndex();
+    }
+
+    @NotNull
+    @Override
+    public SafeLocationPool getSafeLocationPool() {
+        return api.getSafeLocationPool();
+    }
+
+    @NotNull
+    @Override
+    public MetricsRegistry getMetrics() {
+        return api.getMetrics();
+    }
 }
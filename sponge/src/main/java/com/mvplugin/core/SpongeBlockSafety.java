@@ -1,34 +1,227 @@
 package com.mvplugin.core;
 
+import com.flowpowered.math.vector.Vector3i;
+import com.mvplugin.core.util.BlockSafety;
+import com.mvplugin.core.util.CoreLogger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.api.Game;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.BlockVolume;
 import pluginbase.minecraft.location.BlockCoordinates;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Block safety for Sponge worlds.
+ * <p>
+ * Searches for a safe location read the whole search box through the world's block volume once and check every
+ * location against that copy.  Blocks are reduced to a few flags as they are read, by the same rules as the Bukkit
+ * block safety.
+ */
 class SpongeBlockSafety extends AbstractBlockSafety {
 
+    /** The block stops a player from standing in its place. */
+    static final byte SOLID = 1;
+    /** The block hurts a player standing in or on it. */
+    static final byte HAZARD = 2;
+    static final byte AIR = 4;
+    static final byte WATER = 8;
+
+    /** The flags of a block in a world the server does not have. */
+    static final byte NO_WORLD = -1;
+    /** The flags of a block above or below the world. */
+    static final byte OUTSIDE_WORLD = -2;
+
+    @NotNull
     private final Game game;
+    /** The block types a player can stand in, created once the block types are known. */
+    @Nullable
+    private volatile Set<BlockType> passableTypes = null;
 
-    SpongeBlockSafety(Game game) {
+    SpongeBlockSafety(@NotNull final Game game) {
         this.game = game;
     }
 
+    @NotNull
+    @Override
+    public BlockSafety forArea(@NotNull final String world, final int minX, final int minY, final int minZ,
+                               final int maxX, final int maxY, final int maxZ) {
+        final BlockArea area = readArea(world, minX, minY, minZ, maxX, maxY, maxZ);
+        return area != null ? new AreaBlockSafety(this, area) : this;
+    }
+
+    /**
+     * Reads the flags of every block in a box.  Blocks above and below the world are {@link #OUTSIDE_WORLD}.
+     *
+     * @return the flags, or null if the world does not exist.
+     */
+    @Nullable
+    BlockArea readArea(@NotNull final String worldName, final int minX, final int minY, final int minZ,
+                       final int maxX, final int maxY, final int maxZ) {
+        final Optional<World> world = game.getServer().getWorld(worldName);
+        if (!world.isPresent()) {
+            return null;
+        }
+        final int lowY = Math.max(minY, world.get().getBlockMin().getY());
+        final int highY = Math.min(maxY, world.get().getBlockMax().getY());
+        final BlockVolume volume = lowY <= highY
+                ? world.get().getBlockView(new Vector3i(minX, lowY, minZ), new Vector3i(maxX, highY, maxZ)) : null;
+        final BlockArea area = new BlockArea(worldName, minX, minY, minZ, maxX, maxY, maxZ);
+        for (int y = minY; y <= maxY; y++) {
+            final boolean inside = volume != null && y >= lowY && y <= highY;
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    area.set(x, y, z, inside ? getFlags(volume.getBlockType(x, y, z)) : OUTSIDE_WORLD);
+                }
+            }
+        }
+        return area;
+    }
+
+    /**
+     * Reads the flags of a single block.
+     *
+     * @return the flags, or {@link #NO_WORLD} or {@link #OUTSIDE_WORLD}.
+     */
+    int getBlockFlags(@NotNull final String worldName, final int x, final int y, final int z) {
+        final Optional<World> world = game.getServer().getWorld(worldName);
+        if (!world.isPresent()) {
+            CoreLogger.warning("World '%s' does not exist", worldName);
+            return NO_WORLD;
+        }
+        if (y < world.get().getBlockMin().getY() || y > world.get().getBlockMax().getY()) {
+            if (CoreLogger.isFinerEnabled()) {
+                CoreLogger.finer("Block %s,%s,%s is outside of world '%s'.", x, y, z, worldName);
+            }
+            return OUTSIDE_WORLD;
+        }
+        return getFlags(world.get().getBlockType(x, y, z));
+    }
+
+    private int getBlockFlags(@NotNull final BlockCoordinates l) {
+        return getBlockFlags(l.getWorld(), l.getBlockX(), l.getBlockY(), l.getBlockZ());
+    }
+
+    private byte getFlags(@NotNull final BlockType type) {
+        if (type == BlockTypes.AIR) {
+            return AIR;
+        }
+        if (type == BlockTypes.WATER || type == BlockTypes.FLOWING_WATER) {
+            return WATER;
+        }
+        byte flags = getPassableTypes().contains(type) ? 0 : SOLID;
+        if (type == BlockTypes.LAVA || type == BlockTypes.FLOWING_LAVA || type == BlockTypes.FIRE) {
+            flags |= HAZARD;
+        }
+        return flags;
+    }
+
+    @NotNull
+    private Set<BlockType> getPassableTypes() {
+        Set<BlockType> types = passableTypes;
+        if (types == null) {
+            types = new HashSet<BlockType>(Arrays.asList(BlockTypes.SNOW_LAYER, BlockTypes.TRAPDOOR,
+                    BlockTypes.TORCH, BlockTypes.YELLOW_FLOWER, BlockTypes.RED_FLOWER, BlockTypes.RED_MUSHROOM,
+                    BlockTypes.BROWN_MUSHROOM, BlockTypes.REDSTONE_WIRE, BlockTypes.RAIL, BlockTypes.GOLDEN_RAIL,
+                    BlockTypes.REDSTONE_TORCH, BlockTypes.UNLIT_REDSTONE_TORCH, BlockTypes.DEADBUSH,
+                    BlockTypes.SAPLING, BlockTypes.STONE_BUTTON, BlockTypes.LEVER, BlockTypes.TALLGRASS,
+                    BlockTypes.PORTAL, BlockTypes.STONE_PRESSURE_PLATE, BlockTypes.WOODEN_PRESSURE_PLATE,
+                    BlockTypes.WHEAT, BlockTypes.REEDS, BlockTypes.WALL_SIGN, BlockTypes.STANDING_SIGN,
+                    BlockTypes.WOODEN_DOOR, BlockTypes.DETECTOR_RAIL, BlockTypes.ACTIVATOR_RAIL,
+                    BlockTypes.WOODEN_BUTTON, BlockTypes.LIGHT_WEIGHTED_PRESSURE_PLATE,
+                    BlockTypes.HEAVY_WEIGHTED_PRESSURE_PLATE, BlockTypes.CARROTS, BlockTypes.POTATOES,
+                    BlockTypes.NETHER_WART, BlockTypes.MELON_STEM, BlockTypes.PUMPKIN_STEM, BlockTypes.VINE,
+                    BlockTypes.LADDER, BlockTypes.CARPET, BlockTypes.DOUBLE_PLANT, BlockTypes.TRIPWIRE,
+                    BlockTypes.TRIPWIRE_HOOK, BlockTypes.STANDING_BANNER, BlockTypes.WALL_BANNER,
+                    BlockTypes.SPRUCE_DOOR, BlockTypes.BIRCH_DOOR, BlockTypes.JUNGLE_DOOR, BlockTypes.ACACIA_DOOR,
+                    BlockTypes.DARK_OAK_DOOR, BlockTypes.IRON_DOOR, BlockTypes.IRON_TRAPDOOR));
+            passableTypes = types;
+        }
+        return types;
+    }
+
     @Override
-    protected boolean isSolidBlock(@NotNull BlockCoordinates location) {
-        return false;
+    protected boolean isSolidBlock(@NotNull final BlockCoordinates l) {
+        final int flags = getBlockFlags(l);
+        if (flags == NO_WORLD) {
+            return true;
+        }
+        return flags != OUTSIDE_WORLD && (flags & SOLID) != 0;
     }
 
     @Override
-    protected boolean isBlockSafe(@NotNull BlockCoordinates location) {
-        return false;
+    protected boolean isBlockSafe(@NotNull final BlockCoordinates l) {
+        final int flags = getBlockFlags(l);
+        if (flags == NO_WORLD) {
+            return true;
+        }
+        return flags != OUTSIDE_WORLD && (flags & HAZARD) == 0;
     }
 
     @Override
-    protected boolean isBlockAir(@NotNull BlockCoordinates location) {
-        return false;
+    protected boolean isBlockAir(@NotNull final BlockCoordinates l) {
+        final int flags = getBlockFlags(l);
+        if (flags == NO_WORLD) {
+            return true;
+        }
+        return flags != OUTSIDE_WORLD && (flags & AIR) != 0;
     }
 
     @Override
-    protected boolean hasTwoBlocksOfWaterBelow(@NotNull BlockCoordinates location) {
-        return false;
+    protected boolean hasTwoBlocksOfWaterBelow(@NotNull final BlockCoordinates l) {
+        for (int y = l.getBlockY(); ; y--) {
+            final int flags = getBlockFlags(l.getWorld(), l.getBlockX(), y, l.getBlockZ());
+            if (flags == NO_WORLD) {
+                return true;
+            }
+            if (flags == OUTSIDE_WORLD) {
+                return false;
+            }
+            if ((flags & WATER) != 0) {
+                final int below = getBlockFlags(l.getWorld(), l.getBlockX(), y - 1, l.getBlockZ());
+                return below >= 0 && (below & WATER) != 0;
+            }
+            if ((flags & AIR) == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Answers from the blocks of an area read ahead, and from the world for locations outside of it.
+     */
+    private static final class AreaBlockSafety extends SpongeBlockSafety {
+
+        @NotNull
+        private final SpongeBlockSafety parent;
+        @NotNull
+        private final BlockArea area;
+
+        private AreaBlockSafety(@NotNull final SpongeBlockSafety parent, @NotNull final BlockArea area) {
+            super(parent.game);
+            this.parent = parent;
+            this.area = area;
+        }
+
+        @NotNull
+        @Override
+        public BlockSafety forArea(@NotNull final String world, final int minX, final int minY, final int minZ,
+                                   final int maxX, final int maxY, final int maxZ) {
+            return parent.forArea(world, minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        @Override
+        int getBlockFlags(@NotNull final String worldName, final int x, final int y, final int z) {
+            if (area.contains(worldName, x, y, z)) {
+                return area.get(x, y, z);
+            }
+            return parent.getBlockFlags(worldName, x, y, z);
+        }
     }
 }
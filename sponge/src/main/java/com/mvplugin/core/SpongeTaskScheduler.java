@@ -0,0 +1,33 @@
+package com.mvplugin.core;
+
+import com.mvplugin.core.util.TaskScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.spongepowered.api.Game;
+
+class SpongeTaskScheduler implements TaskScheduler {
+
+    @NotNull
+    private final Game game;
+    @NotNull
+    private final Object plugin;
+
+    SpongeTaskScheduler(@NotNull final Game game, @NotNull final Object plugin) {
+        this.game = game;
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void runTask(@NotNull final Runnable task) {
+        game.getScheduler().createTaskBuilder().execute(task).submit(plugin);
+    }
+
+    @Override
+    public void runTaskLater(@NotNull final Runnable task, final long delay) {
+        game.getScheduler().createTaskBuilder().execute(task).delayTicks(delay).submit(plugin);
+    }
+
+    @Override
+    public void runTaskAsynchronously(@NotNull final Runnable task) {
+        game.getScheduler().createTaskBuilder().execute(task).async().submit(plugin);
+    }
+}
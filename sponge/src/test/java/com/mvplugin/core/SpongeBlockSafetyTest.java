@@ -0,0 +1,231 @@
+package com.mvplugin.core;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.mvplugin.core.util.BlockSafety;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.Server;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import pluginbase.minecraft.location.BlockCoordinates;
+import pluginbase.minecraft.location.EntityCoordinates;
+import pluginbase.minecraft.location.Locations;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SpongeBlockSafetyTest extends MultiverseTest {
+
+    private static final String WORLD = "world";
+    private static final int GROUND = 64;
+
+    /** A world of stone up to y 63 and air above, with single blocks changed as needed. */
+    private final Map<String, BlockType> changedBlocks = new HashMap<String, BlockType>();
+    private int areaReads = 0;
+    private int blockReads = 0;
+    private SpongeBlockSafety safety;
+
+    @Override
+    protected void extraSetup() throws Exception {
+        registerBlockTypes();
+
+        Game game = mock(Game.class);
+        Server server = mock(Server.class);
+        World world = mock(World.class);
+        when(game.getServer()).thenReturn(server);
+        when(server.getWorld(anyString())).thenReturn(Optional.<World>empty());
+        when(server.getWorld(WORLD)).thenReturn(Optional.of(world));
+        when(world.getBlockMin()).thenReturn(new Vector3i(-30000000, 0, -30000000));
+        when(world.getBlockMax()).thenReturn(new Vector3i(30000000, 255, 30000000));
+        when(world.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(new Answer<BlockType>() {
+            @Override
+            public BlockType answer(InvocationOnMock invocation) throws Throwable {
+                blockReads++;
+                return getBlock(invocation.getArguments());
+            }
+        });
+        final MutableBlockVolume volume = mock(MutableBlockVolume.class);
+        when(volume.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(new Answer<BlockType>() {
+            @Override
+            public BlockType answer(InvocationOnMock invocation) throws Throwable {
+                return getBlock(invocation.getArguments());
+            }
+        });
+        when(world.getBlockView(any(Vector3i.class), any(Vector3i.class))).thenAnswer(new Answer<MutableBlockVolume>() {
+            @Override
+            public MutableBlockVolume answer(InvocationOnMock invocation) throws Throwable {
+                areaReads++;
+                return volume;
+            }
+        });
+        safety = new SpongeBlockSafety(game);
+    }
+
+    /**
+     * Fills in the block type constants, which the server normally does when it starts.
+     */
+    private static synchronized void registerBlockTypes() throws Exception {
+        Field modifiers = Field.class.getDeclaredField("modifiers");
+        modifiers.setAccessible(true);
+        for (Field field : BlockTypes.class.getDeclaredFields()) {
+            if (!BlockType.class.equals(field.getType()) || !Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            if (field.get(null) != null) {
+                continue;
+            }
+            modifiers.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+            field.set(null, mock(BlockType.class, field.getName()));
+        }
+    }
+
+    private BlockType getBlock(Object[] coordinates) {
+        int y = (Integer) coordinates[1];
+        BlockType type = changedBlocks.get(coordinates[0] + "," + y + "," + coordinates[2]);
+        if (type != null) {
+            return type;
+        }
+        return y < GROUND ? BlockTypes.STONE : BlockTypes.AIR;
+    }
+
+    private void setBlock(int x, int y, int z, BlockType type) {
+        changedBlocks.put(x + "," + y + "," + z, type);
+    }
+
+    private static BlockCoordinates block(String world, int x, int y, int z) {
+        return Locations.getBlockCoordinates(world, x, y, z);
+    }
+
+    @Test
+    public void testFlatGround() throws Exception {
+        assertTrue(safety.isSafeLocation(block(WORLD, 0, GROUND, 0)));
+        assertFalse(safety.isSafeLocation(block(WORLD, 0, GROUND - 1, 0)));
+        // Standing in the air with nothing to land in.
+        assertFalse(safety.isSafeLocation(block(WORLD, 0, GROUND + 1, 0)));
+        assertFalse(safety.isSafeLocation(block(WORLD, 0, 0, 0)));
+        assertFalse(safety.isSafeLocation(block("nether", 0, GROUND, 0)));
+    }
+
+    @Test
+    public void testBlockFlags() throws Exception {
+        setBlock(0, GROUND, 0, BlockTypes.WATER);
+        setBlock(1, GROUND, 0, BlockTypes.LAVA);
+        setBlock(2, GROUND, 0, BlockTypes.TORCH);
+        setBlock(3, GROUND, 0, BlockTypes.WEB);
+        setBlock(4, GROUND, 0, BlockTypes.END_PORTAL);
+        assertEquals(SpongeBlockSafety.SOLID, safety.getBlockFlags(WORLD, 0, GROUND - 1, 0));
+        assertEquals(SpongeBlockSafety.AIR, safety.getBlockFlags(WORLD, 0, GROUND + 1, 0));
+        assertEquals(SpongeBlockSafety.WATER, safety.getBlockFlags(WORLD, 0, GROUND, 0));
+        assertEquals(SpongeBlockSafety.SOLID | SpongeBlockSafety.HAZARD, safety.getBlockFlags(WORLD, 1, GROUND, 0));
+        assertEquals(0, safety.getBlockFlags(WORLD, 2, GROUND, 0));
+        // A player would be stuck in a cobweb or sent away by an end portal.
+        assertEquals(SpongeBlockSafety.SOLID, safety.getBlockFlags(WORLD, 3, GROUND, 0));
+        assertEquals(SpongeBlockSafety.SOLID, safety.getBlockFlags(WORLD, 4, GROUND, 0));
+        assertEquals(SpongeBlockSafety.OUTSIDE_WORLD, safety.getBlockFlags(WORLD, 0, -1, 0));
+        assertEquals(SpongeBlockSafety.OUTSIDE_WORLD, safety.getBlockFlags(WORLD, 0, 256, 0));
+        assertEquals(SpongeBlockSafety.NO_WORLD, safety.getBlockFlags("nether", 0, GROUND, 0));
+    }
+
+    @Test
+    public void testReadArea() throws Exception {
+        setBlock(1, GROUND, 1, BlockTypes.FIRE);
+        setBlock(1, GROUND - 1, 1, BlockTypes.FLOWING_WATER);
+        BlockArea area = safety.readArea(WORLD, 0, -2, 0, 2, GROUND + 1, 2);
+        assertNotNull(area);
+        assertEquals(1, areaReads);
+        assertEquals(0, blockReads);
+        for (int x = 0; x <= 2; x++) {
+            for (int z = 0; z <= 2; z++) {
+                for (int y = -2; y <= GROUND + 1; y++) {
+                    assertEquals(x + "," + y + "," + z, safety.getBlockFlags(WORLD, x, y, z), area.get(x, y, z));
+                }
+            }
+        }
+        assertNull(safety.readArea("nether", 0, 0, 0, 2, 2, 2));
+    }
+
+    @Test
+    public void testHazardsAndWater() throws Exception {
+        setBlock(5, GROUND - 1, 5, BlockTypes.LAVA);
+        assertFalse(safety.isSafeLocation(block(WORLD, 5, GROUND, 5)));
+
+        setBlock(10, GROUND - 1, 10, BlockTypes.AIR);
+        setBlock(10, GROUND - 2, 10, BlockTypes.WATER);
+        setBlock(10, GROUND - 3, 10, BlockTypes.WATER);
+        assertTrue(safety.isSafeLocation(block(WORLD, 10, GROUND, 10)));
+        setBlock(10, GROUND - 3, 10, BlockTypes.STONE);
+        assertFalse(safety.isSafeLocation(block(WORLD, 10, GROUND, 10)));
+    }
+
+    @Test
+    public void testAreaAnswersLikeTheWorld() throws Exception {
+        setBlock(1, GROUND - 1, 1, BlockTypes.LAVA);
+        setBlock(2, GROUND - 1, 2, BlockTypes.AIR);
+        setBlock(2, GROUND - 2, 2, BlockTypes.WATER);
+        setBlock(2, GROUND - 3, 2, BlockTypes.WATER);
+        setBlock(3, GROUND, 3, BlockTypes.TALLGRASS);
+        BlockSafety area = safety.forArea(WORLD, -3, GROUND - 5, -3, 3, GROUND + 5, 3);
+        assertEquals(1, areaReads);
+        for (int x = -3; x <= 3; x++) {
+            for (int z = -3; z <= 3; z++) {
+                for (int y = GROUND - 4; y <= GROUND + 4; y++) {
+                    BlockCoordinates location = block(WORLD, x, y, z);
+                    int reads = blockReads;
+                    boolean fromArea = area.isSafeLocation(location);
+                    assertEquals(reads, blockReads);
+                    assertEquals(location.toString(), safety.isSafeLocation(location), fromArea);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOutsideTheAreaFallsBackToTheWorld() throws Exception {
+        BlockSafety area = safety.forArea(WORLD, 0, GROUND - 1, 0, 0, GROUND + 1, 0);
+        assertTrue(area.isSafeLocation(block(WORLD, 0, GROUND, 0)));
+        assertEquals(0, blockReads);
+        assertTrue(area.isSafeLocation(block(WORLD, 20, GROUND, 20)));
+        assertTrue(blockReads > 0);
+        assertFalse(area.isSafeLocation(block("nether", 0, GROUND, 0)));
+
+        assertSame(safety, safety.forArea("nether", 0, GROUND - 1, 0, 0, GROUND + 1, 0));
+        // Room to stand at the very bottom, but the block below is outside of the world.
+        setBlock(0, 0, 0, BlockTypes.AIR);
+        setBlock(0, 1, 0, BlockTypes.AIR);
+        BlockSafety bottom = safety.forArea(WORLD, 0, -3, 0, 0, 3, 0);
+        blockReads = 0;
+        assertFalse(bottom.isSafeLocation(block(WORLD, 0, 0, 0)));
+        assertEquals(0, blockReads);
+    }
+
+    @Test
+    public void testSearchReadsTheAreaOnce() throws Exception {
+        MultiverseCoreAPI api = MultiverseCoreAPIFactory.getMockedMultiverseCoreAPI();
+        when(api.getBlockSafety()).thenReturn(safety);
+        // A lava pool around the start that the search has to get out of.
+        for (int x = -4; x <= 4; x++) {
+            for (int z = -4; z <= 4; z++) {
+                setBlock(x, GROUND - 1, z, BlockTypes.LAVA);
+            }
+        }
+
+        EntityCoordinates safe = api.getSafeTeleporter().getSafeLocation(
+                Locations.getEntityCoordinates(WORLD, .5, GROUND, .5, 0F, 0F));
+        assertNotNull(safe);
+        assertEquals(GROUND, safe.getBlockY());
+        assertTrue(Math.abs(safe.getBlockX()) > 4 || Math.abs(safe.getBlockZ()) > 4);
+        assertEquals(1, areaReads);
+        assertEquals(0, blockReads);
+    }
+}